@@ -0,0 +1,129 @@
+package com.study.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.ApiBoardApplication;
+import com.study.board.dto.BoardRequestDto;
+import com.study.board.model.BoardBatchService;
+import com.study.board.model.BoardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 게시글 생성 처리량 : 단건 생성(POST /api/boards, 게시글마다 트랜잭션 하나)과 일괄 생성(POST /api/boards/batch, 청크마다 트랜잭션 하나, JDBC 배치) 비교
+// 한 번의 호출에서 게시글 ITEMS 건을 생성하며, 처리량은 게시글 수 기준(posts/ms)이다
+// persistence : jpa(기본, hibernate.jdbc.batch_size) 또는 mybatis(MyBatisBoardStore, 여러 행 INSERT)
+// BoardGroupCommitBenchmark 와 같이 H2 파일 DB(build/jmh-db) 를 사용하며, -PbenchmarkJdbcUrl 로 실제 DB 를 지정할 수 있다
+//
+// 측정 결과 (H2 파일 DB, 1 fork, 10 x 5 s warmup, 5 x 5 s, 1 vCPU, 단일 스레드, posts/ms, ± 는 99.9% 신뢰 구간)
+//   persistence  saveOneByOne       saveAll           (배율)
+//   jpa          12.1 ± 5.2         18.3 ± 7.9        x1.5
+//   mybatis       8.0 ± 1.9         13.4 ± 2.5        x1.7
+// 구동 직후에는 처리량이 몇 배 낮으므로(JIT) 예열을 충분히 해야 한다 (3 x 5 s 예열에서는 측정 구간에도 계속 증가)
+//   ./gradlew jmh -PjmhIncludes=BoardBatch -PjmhWarmupIterations=10
+// H2 는 커밋마다 fsync 하지 않으므로 단건 생성의 커밋 비용이 작게 측정된다. 커밋 비용이 큰 MariaDB(innodb_flush_log_at_trx_commit=1)에서는
+// 차이가 더 커지므로 -PbenchmarkJdbcUrl 로 다시 측정한다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BoardBatchBenchmark {
+
+  private static final int ITEMS = 500;
+
+  @Param({"jpa", "mybatis"})
+  private String persistence;
+
+  private ConfigurableApplicationContext context;
+  private BoardService boardService;
+  private BoardBatchService boardBatchService;
+  private List<BoardRequestDto> items;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    String jdbcUrl = System.getProperty("benchmark.jdbc-url", "");
+    boolean external = jdbcUrl.isEmpty() == false;
+    List<String> args = new ArrayList<>();
+    if (external) {
+      args.add("--spring.datasource.hikari.jdbc-url=" + jdbcUrl);
+      args.add("--spring.datasource.hikari.username=" + System.getProperty("benchmark.user", "root"));
+      args.add("--spring.datasource.hikari.password=" + System.getProperty("benchmark.password", ""));
+    } else {
+      args.add("--spring.datasource.hikari.driver-class-name=org.h2.Driver");
+      args.add("--spring.datasource.hikari.jdbc-url=jdbc:h2:file:./build/jmh-db/board;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+      args.add("--spring.datasource.hikari.username=sa");
+      args.add("--spring.datasource.hikari.password=");
+      args.add("--spring.jpa.database=h2");
+      args.add("--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect");
+    }
+    if (persistence.equals("mybatis")) {
+      args.add("--spring.profiles.active=mybatis");
+    }
+    args.add("--spring.jpa.show-sql=false");
+    args.add("--logging.level.com.study=INFO");
+
+    // 명령행 인자는 application.properties(@PropertySource) 보다 우선한다
+    context = new SpringApplicationBuilder(ApiBoardApplication.class)
+        .web(WebApplicationType.NONE)
+        .run(args.toArray(new String[0]));
+    boardService = context.getBean(BoardService.class);
+    boardBatchService = context.getBean(BoardBatchService.class);
+
+    if (external == false) {
+      DataSource dataSource = context.getBean(DataSource.class);
+      JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+      jdbcTemplate.execute("DROP TABLE IF EXISTS board");
+      jdbcTemplate.execute("DROP TABLE IF EXISTS board_id_seq");
+      new ResourceDatabasePopulator(new ClassPathResource("db/schema-h2.sql")).execute(dataSource);
+      jdbcTemplate.update("INSERT INTO board_id_seq (sequence_name, next_val) VALUES ('board', 1)");
+    }
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    items = new ArrayList<>();
+    for (int i = 0; i < ITEMS; i++) {
+      items.add(objectMapper.readValue("{\"title\":\"게시글 제목 " + i + "\",\"content\":\"게시글 내용\",\"writer\":\"writer\",\"deleteYn\":\"N\"}",
+          BoardRequestDto.class));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  // 단건 생성 ITEMS 번
+  @Benchmark
+  @OperationsPerInvocation(ITEMS)
+  public long saveOneByOne() {
+    long last = 0;
+    for (BoardRequestDto item : items) {
+      last = boardService.save(item);
+    }
+    return last;
+  }
+
+  // 일괄 생성 한 번 (ITEMS 건)
+  @Benchmark
+  @OperationsPerInvocation(ITEMS)
+  public Map<String, Object> saveAll() {
+    return boardBatchService.saveAll(items);
+  }
+}
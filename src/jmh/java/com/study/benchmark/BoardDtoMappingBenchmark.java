@@ -0,0 +1,57 @@
+package com.study.benchmark;
+
+import com.study.board.dto.BoardResponseDto;
+import com.study.board.entity.Board;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// BoardService.findAll() 의 Entity -> BoardResponseDto 변환 비용 (Stream API, for 문)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BoardDtoMappingBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  private int size;
+
+  private List<Board> entities;
+
+  @Setup
+  public void setUp() {
+    entities = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      entities.add(Board.builder()
+          .title("게시글 제목 " + i)
+          .content("게시글 내용 " + i)
+          .writer("작성자 " + (i % 100))
+          .hits(i % 500)
+          .deleteYn('N')
+          .build());
+    }
+  }
+
+  @Benchmark
+  public List<BoardResponseDto> stream() {
+    return entities.stream().map(BoardResponseDto::new).collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public List<BoardResponseDto> loop() {
+    List<BoardResponseDto> list = new ArrayList<>(entities.size());
+    for (Board entity : entities) {
+      list.add(new BoardResponseDto(entity));
+    }
+    return list;
+  }
+}
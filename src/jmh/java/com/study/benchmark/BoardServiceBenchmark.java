@@ -0,0 +1,126 @@
+package com.study.benchmark;
+
+import com.study.ApiBoardApplication;
+import com.study.board.dto.BoardResponseDto;
+import com.study.board.model.BoardService;
+import com.study.paging.CommonParams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// BoardService 리스트, 상세 조회 비용 (H2 인메모리 DB, MySQL 모드)
+// 애플리케이션 컨텍스트를 웹 서버 없이 띄우고, board 테이블에 합성 게시글을 benchmark.rows 건(기본 1,000,000) 저장한 뒤 측정한다
+// 50번째 게시글마다 삭제 상태(delete_yn = 'Y')로 저장하여 삭제 여부 조건이 의미를 갖도록 한다
+// countStrategy 로 게시글 수 조회 방식(board.list.count-strategy)별 리스트 조회 비용을 비교한다
+//
+// findAll 측정 결과 (게시글 1,000,000 건, 페이지당 10 건, 1 vCPU, H2 결과 재사용 끔, ms)
+//   countStrategy  page 1   page 1000   page 90000
+//   window         215      217         223
+//   parallel       206      211         222
+//   separate       212      213         219
+// H2 에서는 세 방식의 차이가 거의 없다. COUNT(*) OVER() 도 조건에 맞는 행을 모두 읽고, 코어가 하나라 parallel 의 COUNT 가 리스트 조회와 겹치지 않는다
+// window 방식이 줄이는 DB 왕복 한 번과 조건 평가 한 번은 네트워크를 거치는 MariaDB 에서 의미가 있으며, 이 벤치마크(인메모리 H2)로는 측정되지 않는다
+// (H2 의 OPTIMIZE_REUSE_RESULTS 를 켜 두면 같은 쿼리를 캐시에서 돌려주어 separate, parallel 이 0.2~0.3 ms 로 측정된다)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BoardServiceBenchmark {
+
+  private static final int SEED_BATCH_SIZE = 1000;  // 합성 게시글 INSERT 배치 크기
+
+  @Param({"1", "1000", "90000"})
+  private int page;
+
+  @Param({"window", "parallel", "separate"})
+  private String countStrategy;
+
+  private ConfigurableApplicationContext context;
+  private BoardService boardService;
+  private long rows;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    rows = Long.getLong("benchmark.rows", 1_000_000L);
+    // 명령행 인자는 application.properties(@PropertySource) 보다 우선한다
+    // H2 는 테이블이 바뀌지 않으면 같은 쿼리(같은 파라미터)의 결과를 다시 사용하므로(OPTIMIZE_REUSE_RESULTS) 꺼서 매번 실행하도록 한다
+    context = new SpringApplicationBuilder(ApiBoardApplication.class)
+        .web(WebApplicationType.NONE)
+        .run("--spring.datasource.hikari.driver-class-name=org.h2.Driver",
+            "--spring.datasource.hikari.jdbc-url=jdbc:h2:mem:board;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE",
+            "--spring.datasource.hikari.username=sa",
+            "--spring.datasource.hikari.password=",
+            "--spring.jpa.database=h2",
+            "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.show-sql=false",
+            "--board.list.count-strategy=" + countStrategy,
+            "--logging.level.com.study=INFO");
+    boardService = context.getBean(BoardService.class);
+
+    DataSource dataSource = context.getBean(DataSource.class);
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("DROP TABLE IF EXISTS board");
+    jdbcTemplate.execute("DROP TABLE IF EXISTS board_id_seq");
+    new ResourceDatabasePopulator(new ClassPathResource("db/schema-h2.sql")).execute(dataSource);
+    // H2 1.4.200 은 DATABASE_TO_LOWER=TRUE 에서 SYSTEM_RANGE 의 열(X)을 찾지 못하므로 JDBC 배치로 저장한다
+    String filler = " " + "가나다라마바사아자차카타파하 ".repeat(20);
+    LocalDateTime createdDate = LocalDateTime.of(2020, 1, 1, 0, 0);
+    List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+    for (long id = 1; id <= rows; id++) {
+      batch.add(new Object[] {id, "게시글 제목 " + id, "게시글 내용 " + id + filler, "writer" + id % 1000, id % 500,
+          id % 50 == 0 ? "Y" : "N", Timestamp.valueOf(createdDate.plusSeconds(id))});
+      if (batch.size() == SEED_BATCH_SIZE || id == rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO board (id, title, content, writer, hits, delete_yn, created_date)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+        batch.clear();
+      }
+    }
+    jdbcTemplate.update("INSERT INTO board_id_seq (sequence_name, next_val) VALUES ('board', ?)", rows + 50);  // pooled : 첫 구간 = rows + 1 ~ rows + 50
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  // 게시글 리스트 조회 (오프셋 페이징, COUNT 포함)
+  @Benchmark
+  public Map<String, Object> findAll() {
+    CommonParams params = new CommonParams();
+    params.setPage(page);
+    params.setRecordPerPage(10);
+    params.setPageSize(10);
+    return boardService.findAll(params);
+  }
+
+  // 게시글 상세 조회 (임의의 게시글, 삭제된 게시글은 건너뜀)
+  @Benchmark
+  public BoardResponseDto findById() {
+    long id = ThreadLocalRandom.current().nextLong(1, rows + 1);
+    if (id % 50 == 0) {
+      id--;
+    }
+    return boardService.findById(Math.max(id, 1));
+  }
+}
@@ -0,0 +1,68 @@
+package com.study.benchmark;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 지표 기록 1회의 비용 (매퍼 구문, 트랜잭션, Repository 호출마다 발생하는 추가 비용)
+// MapperMetricsInterceptor 와 같이 캐시에서 Meter 를 찾은 뒤 System.nanoTime() 2회 + Timer.record + DistributionSummary.record 를 실행
+// percentiles : application.properties 와 같이 0.5, 0.99, 0.999 백분위수를 계산하는 경우(true)와 계산하지 않는 경우(false)
+//
+// 측정 결과 (1 vCPU, 4 스레드이므로 스레드 간 시분할 시간이 포함된다, 호출당 평균 시간)
+//   benchmark            percentiles  time      alloc
+//   baseline             -             229 ns   -
+//   record               false         686 ns   16 B/op
+//   record               true         1300 ns   16 B/op
+// 기록 1회의 비용은 약 0.46 us (백분위수 계산 시 1.07 us) 이다
+// 리스트 조회 한 번에 약 4회(http.server.requests, board.transaction, count 와 findAll 구문) 기록하므로 요청당 약 1.8 us (4.3 us) 가 더해지며,
+// BoardServiceBenchmark 의 상세 조회(H2, 162 us) 대비 1~3% 수준이다 (실제 DB 는 네트워크 왕복이 있으므로 비율이 더 작다)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class MetricsOverheadBenchmark {
+
+  @Param({"false", "true"})
+  private boolean percentiles;
+
+  private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+  private DistributionSummary rows;
+  private SimpleMeterRegistry registry;
+
+  @Setup
+  public void setUp() {
+    registry = new SimpleMeterRegistry();
+    rows = DistributionSummary.builder("board.mapper.rows").tag("statement", "BoardMapper.findAll").register(registry);
+  }
+
+  @Benchmark
+  public long baseline() {
+    return System.nanoTime() - System.nanoTime();
+  }
+
+  @Benchmark
+  public void record() {
+    long start = System.nanoTime();
+    Timer timer = timers.computeIfAbsent("BoardMapper.findAll|success", key -> {
+      Timer.Builder builder = Timer.builder("board.mapper.statement").tag("statement", "BoardMapper.findAll").tag("outcome", "success");
+      if (percentiles) {
+        builder.publishPercentiles(0.5, 0.99, 0.999);
+      }
+      return builder.register(registry);
+    });
+    rows.record(10);
+    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+  }
+}
@@ -0,0 +1,57 @@
+package com.study.benchmark;
+
+import com.study.paging.CommonParams;
+import com.study.paging.Pagination;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// Pagination.calculation (Pagination 생성자) 의 페이지 범위별 비용
+// position : 첫 페이지, 중간 페이지, 마지막 페이지, 전체 페이지 수를 넘는 페이지(마지막 페이지로 보정)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaginationBenchmark {
+
+  @Param({"1000", "1000000", "100000000"})
+  private int totalRecordCount;
+
+  @Param({"first", "middle", "last", "overflow"})
+  private String position;
+
+  private int page;
+
+  @Setup
+  public void setUp() {
+    int totalPageCount = (totalRecordCount - 1) / 10 + 1;
+    switch (position) {
+      case "first":
+        page = 1;
+        break;
+      case "middle":
+        page = totalPageCount / 2;
+        break;
+      case "last":
+        page = totalPageCount;
+        break;
+      default:
+        page = Integer.MAX_VALUE;
+    }
+  }
+
+  @Benchmark
+  public Pagination calculation() {
+    CommonParams params = new CommonParams();
+    params.setPage(page);
+    params.setRecordPerPage(10);
+    params.setPageSize(10);
+    return new Pagination(totalRecordCount, params);
+  }
+}
@@ -0,0 +1,88 @@
+package com.study.admission;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// 커넥션 대기 시간, 사용 시간 측정 DataSource (ConcurrencyLimiter 의 입력)
+// 커넥션 풀 바로 바깥에 두어(DatabaseConfig) 실제로 풀에서 커넥션을 꺼내는 시간을 측정한다
+//  - 대기 시간 : getConnection() 호출부터 반환까지 (connection-timeout 으로 실패한 경우 포함)
+//  - 사용 시간 : 커넥션을 얻은 뒤 close() 로 반환하기까지
+// 수락 제어를 사용하지 않으면(limiter 가 없으면) 커넥션을 감싸지 않는다
+public class AdmissionDataSource extends DelegatingDataSource implements Closeable {
+
+  private volatile ConcurrencyLimiter limiter;
+
+  public AdmissionDataSource(final DataSource target) {
+    super(target);
+  }
+
+  // BoardAdmission 이 구동될 때 연결한다
+  public void setLimiter(final ConcurrencyLimiter limiter) {
+    this.limiter = limiter;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    ConcurrencyLimiter current = limiter;
+    if (current == null) {
+      return super.getConnection();
+    }
+    long start = System.nanoTime();
+    Connection connection;
+    try {
+      connection = super.getConnection();
+    } finally {
+      current.recordPoolWait(System.nanoTime() - start);
+    }
+    return wrap(connection, current);
+  }
+
+  @Override
+  public Connection getConnection(final String username, final String password) throws SQLException {
+    ConcurrencyLimiter current = limiter;
+    if (current == null) {
+      return super.getConnection(username, password);
+    }
+    long start = System.nanoTime();
+    Connection connection;
+    try {
+      connection = super.getConnection(username, password);
+    } finally {
+      current.recordPoolWait(System.nanoTime() - start);
+    }
+    return wrap(connection, current);
+  }
+
+  // close() 만 가로채서 사용 시간을 기록한다 (두 번째 close() 는 기록하지 않음)
+  private static Connection wrap(final Connection connection, final ConcurrencyLimiter limiter) {
+    long acquiredAt = System.nanoTime();
+    boolean[] closed = new boolean[1];
+    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+      if ("close".equals(method.getName()) && closed[0] == false) {
+        closed[0] = true;
+        limiter.recordLatency(System.nanoTime() - acquiredAt);
+      }
+      try {
+        return method.invoke(connection, args);
+      } catch (InvocationTargetException e) {
+        throw e.getTargetException();
+      }
+    });
+  }
+
+  // 애플리케이션 종료 시 커넥션 풀 종료
+  @Override
+  public void close() throws IOException {
+    DataSource target = getTargetDataSource();
+    if (target instanceof Closeable) {
+      ((Closeable) target).close();
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.study.admission;
+
+import com.study.admission.ConcurrencyLimiter.Priority;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+// 게시글 API 요청 수락 (BoardAdmission, 등록 : WebConfig)
+// 컨트롤러 실행 전에 요청을 분류하여 동시 처리 요청 수와 쓰기 허용량을 확인하고, 넘으면 예외를 던져 GlobalExceptionHandler 가 바로 응답한다
+// 동시 처리 요청 수를 먼저 확인하여, 503 으로 거절된 요청은 쓰기 토큰을 쓰지 않는다 (429 로 거절하면 받은 자리를 바로 반환)
+//  - CRITICAL : 게시글 상세 조회 (GET /api/boards/{id})
+//  - BULK : 일괄 생성, 수정, 삭제 (/api/boards/batch), 내보내기 (GET /api/boards/export)
+//  - NORMAL : 그 외 (리스트, 검색, 단건 생성, 수정, 삭제)
+// 비동기 응답(CompletableFuture)은 작업이 끝난 뒤의 ASYNC 디스패치에서 afterCompletion 이 호출되므로, 그때 반환한다
+@Component
+@RequiredArgsConstructor
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+  private static final String ADMITTED = AdmissionInterceptor.class.getName() + ".ADMITTED";
+
+  private final BoardAdmission admission;
+
+  @Override
+  public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+    // ASYNC 디스패치는 처음 요청에서 이미 수락되었다
+    if (admission.isEnabled() == false || request.getDispatcherType() != DispatcherType.REQUEST) {
+      return true;
+    }
+    String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    boolean bulk = pattern != null && (pattern.endsWith("/batch") || pattern.endsWith("/export"));
+    admission.acquire(priority(request.getMethod(), pattern, bulk));
+    if (isWrite(request.getMethod())) {
+      try {
+        admission.checkWriteRate(admission.clientKey(request), bulk ? admission.batchCost() : 1);
+      } catch (RuntimeException e) {
+        admission.release();
+        throw e;
+      }
+    }
+    request.setAttribute(ADMITTED, Boolean.TRUE);
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response, final Object handler, final Exception ex) {
+    if (request.getAttribute(ADMITTED) != null) {
+      request.removeAttribute(ADMITTED);
+      admission.release();
+    }
+  }
+
+  static Priority priority(final String method, final String pattern, final boolean bulk) {
+    if (bulk) {
+      return Priority.BULK;
+    }
+    if ("GET".equals(method) && "/api/boards/{id}".equals(pattern)) {
+      return Priority.CRITICAL;
+    }
+    return Priority.NORMAL;
+  }
+
+  private static boolean isWrite(final String method) {
+    return "GET".equals(method) == false && "HEAD".equals(method) == false && "OPTIONS".equals(method) == false;
+  }
+}
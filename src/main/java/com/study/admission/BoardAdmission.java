@@ -0,0 +1,214 @@
+package com.study.admission;
+
+import com.study.admission.ConcurrencyLimiter.Priority;
+import com.study.config.BoardProperties;
+import com.study.exception.ErrorCode;
+import com.study.exception.RetryLaterException;
+import com.zaxxer.hikari.HikariConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 게시글 API 요청 수락 제어 (board.admission.enabled=true 인 경우)
+// DB 가 느려졌을 때 요청이 커넥션을 기다리며 쌓이지 않도록, 처리할 수 없는 요청은 DB 에 가기 전에 바로 거절한다
+//  - 동시 처리 요청 수 : ConcurrencyLimiter 가 커넥션 대기, 사용 시간에 따라 조정하며, 넘으면 503 (Retry-After : retry-after-seconds)
+//  - 쓰기 허용량 : 클라이언트별 토큰 버킷, 넘으면 429 (Retry-After : 토큰이 채워질 때까지 남은 시간)
+//    503 으로 거절된 요청이 토큰을 쓰지 않도록 동시 처리 요청 수를 먼저 확인한다
+//    버킷은 max-clients 개까지 유지하며, 가득 차면 가장 먼저 만든 버킷을 제거한다 (가득 찬 버킷 정리는 scheduler 에서)
+// 요청 분류와 수락, 반환은 AdmissionInterceptor 가 호출한다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardAdmission {
+
+  private static final int DEFAULT_POOL_SIZE = 10;        // HikariCP 기본 최대 커넥션 수
+  private static final long SWEEP_INTERVAL_MS = 60000;    // 가득 찬(사용하지 않는) 쓰기 버킷 정리 주기 (ms)
+
+  private final BoardProperties properties;
+  private final HikariConfig hikariConfig;
+  private final DataSource dataSource;
+
+  private ConcurrencyLimiter limiter;
+  private ScheduledExecutorService scheduler;
+  private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedQueue<Map.Entry<String, TokenBucket>> bucketOrder = new ConcurrentLinkedQueue<>();  // 버킷을 만든 순서
+  private final LongAdder evicted = new LongAdder();    // max-clients 를 넘어 제거한 버킷 수
+  private final LongAdder throttled = new LongAdder();  // 쓰기 허용량 초과 (429)
+  private final LongAdder shed = new LongAdder();       // 동시 처리 요청 수 초과 (503)
+
+  @PostConstruct
+  public void init() {
+    BoardProperties.Admission config = properties.getAdmission();
+    if (config.isEnabled() == false) {
+      return;
+    }
+    int poolSize = hikariConfig.getMaximumPoolSize() > 0 ? hikariConfig.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+    int initialLimit = config.getInitialLimit() > 0 ? config.getInitialLimit() : poolSize * 2;
+    limiter = new ConcurrencyLimiter(initialLimit, config);
+    attach(limiter);
+
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "board-admission");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long interval = Math.max(config.getAdjustIntervalMs(), 10);
+    scheduler.scheduleWithFixedDelay(this::adjustQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    scheduler.scheduleWithFixedDelay(this::sweepQuietly, SWEEP_INTERVAL_MS, SWEEP_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    log.info("admission control started : limit={} (primary pool={})", limiter.getLimit(), poolSize);
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      attach(null);
+    }
+  }
+
+  // 커넥션 풀 바깥의 AdmissionDataSource 에 연결 (DataSource 는 SqlTraceDataSource 등으로 감싸져 있으므로 unwrap() 으로 꺼낸다)
+  private void attach(final ConcurrencyLimiter target) {
+    try {
+      if (dataSource.isWrapperFor(AdmissionDataSource.class)) {
+        dataSource.unwrap(AdmissionDataSource.class).setLimiter(target);
+        return;
+      }
+    } catch (SQLException e) {
+      // 아래에서 경고
+    }
+    log.warn("AdmissionDataSource not found, concurrency limit will not adapt to DB latency");
+  }
+
+  private void sweepQuietly() {
+    try {
+      sweep(System.nanoTime());
+    } catch (Exception e) {
+      log.warn("admission bucket sweep failed", e);
+    }
+  }
+
+  private void adjustQuietly() {
+    try {
+      limiter.adjust();
+    } catch (Exception e) {
+      log.warn("admission limit adjustment failed", e);
+    }
+  }
+
+  public boolean isEnabled() {
+    return limiter != null;
+  }
+
+  // 클라이언트 구분 값 (client-header 가 있으면 헤더, 없으면 접속 IP)
+  public String clientKey(final HttpServletRequest request) {
+    String header = properties.getAdmission().getClientHeader();
+    if (header != null && header.isEmpty() == false) {
+      String value = request.getHeader(header);
+      if (value != null && value.isEmpty() == false) {
+        return value;
+      }
+    }
+    return request.getRemoteAddr();
+  }
+
+  // 쓰기 허용량 확인 (초과하면 429)
+  public void checkWriteRate(final String client, final int cost) {
+    BoardProperties.Admission config = properties.getAdmission();
+    long now = System.nanoTime();
+    TokenBucket bucket = buckets.get(client);
+    if (bucket == null) {
+      evictOldest(Math.max(config.getMaxClients(), 1) - 1);
+      bucket = buckets.computeIfAbsent(client, key -> {
+        TokenBucket created = new TokenBucket(config.getWriteBurst(), config.getWriteRatePerSecond(), now);
+        bucketOrder.add(new AbstractMap.SimpleImmutableEntry<>(key, created));
+        return created;
+      });
+    }
+    long waitNanos = bucket.tryAcquire(cost, now);
+    if (waitNanos > 0) {
+      throttled.increment();
+      throw new RetryLaterException(ErrorCode.TOO_MANY_REQUESTS, Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000));
+    }
+  }
+
+  // 동시 처리 요청 수 확인 (초과하면 503, 수락한 경우 처리가 끝나면 release() 를 호출해야 한다)
+  public void acquire(final Priority priority) {
+    if (limiter.tryAcquire(priority) == false) {
+      shed.increment();
+      throw new RetryLaterException(ErrorCode.SERVICE_OVERLOADED, Math.max(1, properties.getAdmission().getRetryAfterSeconds()));
+    }
+  }
+
+  public void release() {
+    limiter.release();
+  }
+
+  // 일괄 처리 요청 한 번에 사용할 토큰 수
+  public int batchCost() {
+    return Math.max(properties.getAdmission().getBatchCost(), 1);
+  }
+
+  // 가득 찬 버킷 정리 (그동안 요청이 없던 클라이언트이므로 다시 만들어도 같은 상태)
+  private void sweep(final long now) {
+    buckets.values().removeIf(bucket -> bucket.isFull(now));
+    bucketOrder.removeIf(entry -> buckets.get(entry.getKey()) != entry.getValue());
+  }
+
+  // 버킷이 max 개 이하가 될 때까지 가장 먼저 만든 버킷부터 제거 (정리되었거나 다시 만든 버킷의 순서 항목은 건너뛴다)
+  // 제거된 클라이언트는 다음 요청에서 가득 찬 버킷을 받으므로, 클라이언트 수가 max-clients 를 넘는 동안에는 허용량이 조금 늘어날 수 있다
+  private void evictOldest(final int max) {
+    while (buckets.size() > max) {
+      Map.Entry<String, TokenBucket> oldest = bucketOrder.poll();
+      if (oldest == null) {
+        return;
+      }
+      if (buckets.remove(oldest.getKey(), oldest.getValue())) {
+        evicted.increment();
+      }
+    }
+  }
+
+  public int getLimit() {
+    return limiter == null ? 0 : limiter.getLimit();
+  }
+
+  public int getInflight() {
+    return limiter == null ? 0 : limiter.getInflight();
+  }
+
+  public long getThrottledCount() {
+    return throttled.sum();
+  }
+
+  public long getShedCount() {
+    return shed.sum();
+  }
+
+  public Map<String, Object> status() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("enabled", isEnabled());
+    if (isEnabled()) {
+      status.put("throttled", throttled.sum());
+      status.put("shed", shed.sum());
+      status.put("clients", buckets.size());
+      status.put("evictedClients", evicted.sum());
+      status.put("limiter", limiter.status());
+    }
+    return status;
+  }
+}
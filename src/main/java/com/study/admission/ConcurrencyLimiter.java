@@ -0,0 +1,184 @@
+package com.study.admission;
+
+import com.study.config.BoardProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// 적응형 동시 처리 요청 수 제한
+// DB 가 느려지면 요청이 커넥션 풀 앞에 쌓이고, 쌓인 요청이 모두 늦게 끝나 가벼운 상세 조회까지 함께 느려진다
+// 커넥션 대기 시간과 커넥션 사용 시간(AdmissionDataSource 가 기록)을 adjust-interval-ms 마다 확인하여 동시에 처리할 요청 수(limit)를 조정한다
+//  - 감소 : 평균 커넥션 대기 시간이 pool-wait-threshold-ms 를 넘으면 backoff-ratio 를 곱한다
+//           평균 커넥션 사용 시간이 기준의 latency-tolerance 배를 넘으면 (기준 * tolerance / 현재) 비율을 곱한다 (최소 backoff-ratio)
+//  - 증가 : 과부하가 아니고 limit 의 절반 이상을 사용했으면 1 증가 (AIMD)
+//  - 기준 : 가장 짧았던 커넥션 사용 시간이며, DB 가 계속 느린 경우를 따라가도록 주기마다 현재 값 쪽으로 조금씩 이동한다
+// 우선순위별로 limit 중 사용할 수 있는 비율이 달라, 부하가 높아지면 일괄 처리 -> 리스트, 쓰기 -> 상세 조회 순서로 거절된다
+public class ConcurrencyLimiter {
+
+  // 우선순위 (뒤로 갈수록 먼저 거절)
+  public enum Priority {
+    CRITICAL,  // 게시글 상세 조회
+    NORMAL,    // 리스트, 검색, 단건 생성, 수정, 삭제
+    BULK       // 일괄 처리, 내보내기
+  }
+
+  private static final double BASELINE_DRIFT = 0.01;  // 주기마다 기준이 현재 커넥션 사용 시간 쪽으로 이동하는 비율
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double backoffRatio;
+  private final double latencyTolerance;
+  private final long latencyFloorNanos;
+  private final long poolWaitThresholdNanos;
+  private final double[] shares = new double[Priority.values().length];
+
+  private volatile int limit;
+  private final AtomicInteger inflight = new AtomicInteger();
+  private final AtomicInteger peakInflight = new AtomicInteger();  // 조정 주기 동안 가장 많았던 동시 처리 요청 수
+
+  // 조정 주기 동안의 측정값 (조정할 때 비운다)
+  private final LongAdder latencyNanos = new LongAdder();
+  private final LongAdder latencyCount = new LongAdder();
+  private final LongAdder poolWaitNanos = new LongAdder();
+  private final LongAdder poolWaitCount = new LongAdder();
+
+  private volatile double baselineNanos;  // 기준 커넥션 사용 시간 (0 이면 아직 없음, 조정 스레드에서만 변경)
+  private volatile double lastLatencyMs;
+  private volatile double lastPoolWaitMs;
+  private volatile double lastGradient = 1.0;
+
+  private final LongAdder[] admitted = adders();
+  private final LongAdder[] rejected = adders();
+  private final LongAdder increases = new LongAdder();
+  private final LongAdder decreases = new LongAdder();
+
+  public ConcurrencyLimiter(final int initialLimit, final BoardProperties.Admission config) {
+    this.minLimit = Math.max(config.getMinLimit(), 1);
+    this.maxLimit = Math.max(config.getMaxLimit(), minLimit);
+    this.limit = Math.min(Math.max(initialLimit, minLimit), maxLimit);
+    this.backoffRatio = Math.min(Math.max(config.getBackoffRatio(), 0.1), 0.99);
+    this.latencyTolerance = Math.max(config.getLatencyTolerance(), 1.0);
+    this.latencyFloorNanos = TimeUnit.MILLISECONDS.toNanos(config.getLatencyFloorMs());
+    this.poolWaitThresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.getPoolWaitThresholdMs());
+    shares[Priority.CRITICAL.ordinal()] = 1.0;
+    shares[Priority.NORMAL.ordinal()] = clampShare(config.getNormalShare());
+    shares[Priority.BULK.ordinal()] = clampShare(config.getBulkShare());
+  }
+
+  // 요청 수락 (수락한 경우 처리가 끝나면 release() 를 호출해야 한다)
+  // 우선순위별 상한은 최소 1 이므로, limit 이 하한까지 줄어도 상세 조회는 한 건 이상 처리된다
+  public boolean tryAcquire(final Priority priority) {
+    int max = Math.max(1, (int) (limit * shares[priority.ordinal()]));
+    while (true) {
+      int current = inflight.get();
+      if (current >= max) {
+        rejected[priority.ordinal()].increment();
+        return false;
+      }
+      if (inflight.compareAndSet(current, current + 1)) {
+        peakInflight.accumulateAndGet(current + 1, Math::max);
+        admitted[priority.ordinal()].increment();
+        return true;
+      }
+    }
+  }
+
+  public void release() {
+    inflight.decrementAndGet();
+  }
+
+  // 커넥션 풀에서 커넥션을 얻기까지 걸린 시간 (시간 초과로 실패한 경우 포함)
+  public void recordPoolWait(final long nanos) {
+    poolWaitNanos.add(nanos);
+    poolWaitCount.increment();
+  }
+
+  // 커넥션을 얻은 뒤 반환하기까지 걸린 시간 (DB 작업 시간)
+  public void recordLatency(final long nanos) {
+    latencyNanos.add(nanos);
+    latencyCount.increment();
+  }
+
+  // limit 조정 (한 스레드에서 주기적으로 호출)
+  synchronized void adjust() {
+    long latencySamples = latencyCount.sumThenReset();
+    long latencySum = latencyNanos.sumThenReset();
+    long waitSamples = poolWaitCount.sumThenReset();
+    long waitSum = poolWaitNanos.sumThenReset();
+    int peak = peakInflight.getAndSet(inflight.get());
+    if (latencySamples == 0 && waitSamples == 0) {
+      // DB 를 사용한 요청이 없으면 판단할 근거가 없다
+      return;
+    }
+
+    double latency = latencySamples == 0 ? 0 : (double) latencySum / latencySamples;
+    double wait = waitSamples == 0 ? 0 : (double) waitSum / waitSamples;
+    if (latencySamples > 0) {
+      baselineNanos = baselineNanos == 0 || latency < baselineNanos ? latency : baselineNanos + (latency - baselineNanos) * BASELINE_DRIFT;
+    }
+    double gradient = latencySamples == 0 || latency <= latencyFloorNanos ? 1.0 : Math.min(1.0, baselineNanos * latencyTolerance / latency);
+    boolean poolSaturated = wait > poolWaitThresholdNanos;
+
+    int current = limit;
+    if (poolSaturated || gradient < 1.0) {
+      double ratio = poolSaturated ? backoffRatio : Math.max(backoffRatio, gradient);
+      limit = Math.max(minLimit, Math.min(current - 1, (int) (current * ratio)));
+      decreases.increment();
+    } else if (peak * 2 >= current && current < maxLimit) {
+      limit = current + 1;
+      increases.increment();
+    }
+    lastLatencyMs = latency / 1_000_000.0;
+    lastPoolWaitMs = wait / 1_000_000.0;
+    lastGradient = gradient;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public int getInflight() {
+    return inflight.get();
+  }
+
+  public long getRejectedCount(final Priority priority) {
+    return rejected[priority.ordinal()].sum();
+  }
+
+  public Map<String, Object> status() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("limit", limit);
+    status.put("minLimit", minLimit);
+    status.put("maxLimit", maxLimit);
+    status.put("inflight", inflight.get());
+    status.put("lastLatencyMs", lastLatencyMs);
+    status.put("baselineLatencyMs", baselineNanos / 1_000_000.0);
+    status.put("lastPoolWaitMs", lastPoolWaitMs);
+    status.put("lastGradient", lastGradient);
+    status.put("increases", increases.sum());
+    status.put("decreases", decreases.sum());
+    for (Priority priority : Priority.values()) {
+      Map<String, Object> counts = new LinkedHashMap<>();
+      counts.put("share", shares[priority.ordinal()]);
+      counts.put("admitted", admitted[priority.ordinal()].sum());
+      counts.put("rejected", rejected[priority.ordinal()].sum());
+      status.put(priority.name().toLowerCase(), counts);
+    }
+    return status;
+  }
+
+  private static double clampShare(final double share) {
+    return Math.min(Math.max(share, 0.0), 1.0);
+  }
+
+  private static LongAdder[] adders() {
+    LongAdder[] adders = new LongAdder[Priority.values().length];
+    for (int i = 0; i < adders.length; i++) {
+      adders[i] = new LongAdder();
+    }
+    return adders;
+  }
+}
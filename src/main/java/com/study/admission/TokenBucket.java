@@ -0,0 +1,44 @@
+package com.study.admission;
+
+// 토큰 버킷 (클라이언트별 쓰기 요청 허용량)
+// 초당 rate 개씩 최대 capacity 개까지 토큰이 채워지고, 요청마다 cost 개를 사용한다
+// 토큰은 따로 채우지 않고 사용할 때 지난 시간만큼 계산해서 더한다
+public class TokenBucket {
+
+  private final double capacity;
+  private final double tokensPerNano;
+  private double tokens;
+  private long updatedAt;
+
+  public TokenBucket(final double capacity, final double ratePerSecond, final long now) {
+    this.capacity = Math.max(capacity, 1);
+    this.tokensPerNano = Math.max(ratePerSecond, 0.001) / 1_000_000_000.0;
+    this.tokens = this.capacity;
+    this.updatedAt = now;
+  }
+
+  // 토큰 사용 (0 이면 허용, 아니면 cost 개가 채워질 때까지 기다려야 하는 시간 ns)
+  // 버킷 크기보다 많은 토큰이 필요한 요청은 버킷이 가득 찼을 때 허용한다
+  public synchronized long tryAcquire(final double cost, final long now) {
+    refill(now);
+    double required = Math.min(cost, capacity);
+    if (tokens >= required) {
+      tokens -= required;
+      return 0;
+    }
+    return (long) Math.ceil((required - tokens) / tokensPerNano);
+  }
+
+  // 가득 찬 버킷 (오래 사용하지 않은 클라이언트, 정리 대상)
+  public synchronized boolean isFull(final long now) {
+    refill(now);
+    return tokens >= capacity;
+  }
+
+  private void refill(final long now) {
+    if (now > updatedAt) {
+      tokens = Math.min(capacity, tokens + (now - updatedAt) * tokensPerNano);
+      updatedAt = now;
+    }
+  }
+}
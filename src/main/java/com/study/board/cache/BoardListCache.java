@@ -0,0 +1,253 @@
+package com.study.board.cache;
+
+import com.study.board.dto.BoardSummaryDto;
+import com.study.config.BoardProperties;
+import com.study.paging.CommonParams;
+import com.study.paging.Pagination;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 게시글 리스트 캐시
+// BoardService.findAll(CommonParams) 의 결과(리스트 + 페이지네이션 정보)를 검색 조건별로 저장한다
+//  - 유효성 : 저장 시점의 BoardVersion 과 현재 버전이 같아야 사용 (쓰기가 발생하면 전체가 한 번에 무효화)
+//           버전은 primary 의 커밋 기준이므로 저장할 결과는 primary 에서 읽은 것이어야 한다 (BoardApiController.findAll)
+//  - 만료 : 검색 키워드가 있는 항목은 search-ttl-ms, 그 외에는 ttl-ms 이후 만료 (조회 수 반영 등을 위해)
+//  - 메모리 : 결과에 포함된 게시글 길이로 계산한 무게의 합이 max-weight-bytes 를 넘으면 LRU 순서로 제거
+//  - 요청 파라미터 : 결과의 params 는 처음 조회한 요청의 객체이므로 저장하지 않고, 페이지네이션 정보와 (전체 페이지 수로 줄인) 페이지 번호만 보관했다가
+//    적중한 요청의 params 에 담아 응답한다
+// 캐시를 사용했을 때와 사용하지 않았을 때(캐시 미적중)의 응답 시간을 각각 board.list-cache.latency 타이머(result=hit, miss)로 기록한다
+// 백분위수는 최근 distributionStatisticExpiry(기본 2분) 동안의 값이다
+@Component
+@RequiredArgsConstructor
+public class BoardListCache {
+
+  private static final int ENTRY_OVERHEAD = 500;  // 페이지네이션 정보, 키 등 고정 크기 (byte)
+  private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+  private static final String[] PERCENTILE_NAMES = {"p50Ms", "p90Ms", "p99Ms", "p999Ms"};
+
+  private final BoardProperties properties;
+  private final BoardVersion boardVersion;
+  private final MeterRegistry meterRegistry;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+  private long weight;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private volatile Timer hitLatency;
+  private volatile Timer missLatency;
+
+  private static final class Entry {
+    private final Map<String, Object> response;  // params 를 제외한 결과
+    private final Pagination pagination;         // 저장 당시 params 의 페이지네이션 정보 (params 가 없는 결과이면 NULL)
+    private final int page;                      // 저장 당시 params 의 페이지 번호 (전체 페이지 수보다 큰 번호는 Pagination 에서 줄어든다)
+    private final long version;
+    private final long expiresAt;
+    private final int weight;
+
+    private Entry(Map<String, Object> response, Pagination pagination, int page, long version, long expiresAt, int weight) {
+      this.response = response;
+      this.pagination = pagination;
+      this.page = page;
+      this.version = version;
+      this.expiresAt = expiresAt;
+      this.weight = weight;
+    }
+  }
+
+  @PostConstruct
+  public void init() {
+    hitLatency = latencyTimer("hit");
+    missLatency = latencyTimer("miss");
+  }
+
+  public boolean isEnabled() {
+    return properties.getCache().getList().isEnabled();
+  }
+
+  // 캐시 키 (검색 키워드는 CommonParams 에서 정규화되어 있다)
+  public String key(final CommonParams params) {
+    String keyword = params.getKeyword() == null ? "" : params.getKeyword();
+    String searchType = params.getSearchType() == null ? "" : params.getSearchType();
+    return params.getPage() + ":" + params.getRecordPerPage() + ":" + params.getPageSize() + ":"
+        + params.isIncludeContent() + ":" + params.getPreviewLength() + ":" + searchType + ":" + keyword;
+  }
+
+  // 현재 버전 (결과를 조회하기 전에 받아두었다가 put() 에 전달)
+  public long version() {
+    return boardVersion.current();
+  }
+
+  // 캐시된 결과 (없거나 유효하지 않으면 NULL)
+  // 결과는 요청마다 새 맵으로 만들어, 요청한 params 에 저장된 페이지네이션 정보를 담아 응답한다
+  public Map<String, Object> get(final String key, final CommonParams params) {
+    Entry entry = entry(key);
+    if (entry == null || entry.response.isEmpty()) {
+      return entry == null ? null : entry.response;
+    }
+    Map<String, Object> response = new HashMap<>(entry.response);
+    if (entry.pagination != null) {
+      // 미적중 경로와 같이 전체 페이지 수보다 큰 페이지 번호는 마지막 페이지로 줄인다
+      params.setPage(entry.page);
+      params.setPagination(entry.pagination);
+      response.put("params", params);
+    }
+    return response;
+  }
+
+  private Entry entry(final String key) {
+    lock.lock();
+    try {
+      Entry entry = entries.get(key);
+      if (entry != null && (entry.version != boardVersion.current() || entry.expiresAt < System.currentTimeMillis())) {
+        entries.remove(key);
+        weight -= entry.weight;
+        entry = null;
+      }
+
+      if (entry == null) {
+        misses.increment();
+        return null;
+      }
+      hits.increment();
+      return entry;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // 결과 저장
+  // search : 검색 키워드가 있는 결과인지 여부
+  public void put(final String key, final long version, final Map<String, Object> response, final boolean search) {
+    BoardProperties.Cache.ListPage config = properties.getCache().getList();
+    long ttl = search ? config.getSearchTtlMs() : config.getTtlMs();
+    int entryWeight = weigh(response);
+    if (entryWeight > config.getMaxWeightBytes()) {
+      return;
+    }
+
+    lock.lock();
+    try {
+      if (version != boardVersion.current()) {
+        return;
+      }
+
+      Entry previous = entries.put(key, entry(response, version, System.currentTimeMillis() + ttl, entryWeight));
+      weight += entryWeight - (previous == null ? 0 : previous.weight);
+
+      Iterator<Entry> eldest = entries.values().iterator();
+      while (weight > config.getMaxWeightBytes() && eldest.hasNext()) {
+        Entry victim = eldest.next();
+        eldest.remove();
+        weight -= victim.weight;
+        evictions.increment();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static Entry entry(final Map<String, Object> response, final long version, final long expiresAt, final int weight) {
+    Object params = response.get("params");
+    if (params instanceof CommonParams == false) {
+      return new Entry(response, null, 0, version, expiresAt, weight);
+    }
+    Map<String, Object> stored = new HashMap<>(response);
+    stored.remove("params");
+    CommonParams storedParams = (CommonParams) params;
+    return new Entry(stored, storedParams.getPagination(), storedParams.getPage(), version, expiresAt, weight);
+  }
+
+  public void recordHit(final long startNanos) {
+    hitLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void recordMiss(final long startNanos) {
+    missLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+  }
+
+  // 캐시 통계 및 응답 시간 비교
+  public Map<String, Object> stats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("enabled", isEnabled());
+    stats.put("version", boardVersion.current());
+    lock.lock();
+    try {
+      stats.put("size", entries.size());
+      stats.put("weight", weight);
+    } finally {
+      lock.unlock();
+    }
+    stats.put("hits", hits.sum());
+    stats.put("misses", misses.sum());
+    stats.put("evictions", evictions.sum());
+    stats.put("hitLatency", snapshot(hitLatency));
+    stats.put("missLatency", snapshot(missLatency));
+    return stats;
+  }
+
+  // 응답 시간 기록 초기화 (Timer 는 값을 지울 수 없으므로 제거한 뒤 다시 등록한다)
+  public void resetLatency() {
+    meterRegistry.remove(hitLatency);
+    meterRegistry.remove(missLatency);
+    init();
+  }
+
+  // stats() 의 응답 시간 비교에 사용하므로 백분위수는 application.properties 설정과 관계없이 계산한다
+  private Timer latencyTimer(final String result) {
+    return Timer.builder("board.list-cache.latency")
+        .tag("result", result)
+        .publishPercentiles(PERCENTILES)
+        .percentilePrecision(2)
+        .register(meterRegistry);
+  }
+
+  // 요약 정보 (밀리초)
+  private static Map<String, Object> snapshot(final Timer timer) {
+    HistogramSnapshot histogram = timer.takeSnapshot();
+    Map<String, Object> snapshot = new LinkedHashMap<>();
+    snapshot.put("count", histogram.count());
+    snapshot.put("meanMs", histogram.mean(TimeUnit.MILLISECONDS));
+    ValueAtPercentile[] percentiles = histogram.percentileValues();
+    for (int i = 0; i < percentiles.length && i < PERCENTILE_NAMES.length; i++) {
+      snapshot.put(PERCENTILE_NAMES[i], percentiles[i].value(TimeUnit.MILLISECONDS));
+    }
+    snapshot.put("maxMs", histogram.max(TimeUnit.MILLISECONDS));
+    return snapshot;
+  }
+
+  // 결과 무게 (대략적인 메모리 사용량, byte)
+  private static int weigh(final Map<String, Object> response) {
+    long chars = 0;
+    Object list = response.get("list");
+    if (list instanceof List) {
+      for (Object item : (List<?>) list) {
+        if (item instanceof BoardSummaryDto) {
+          BoardSummaryDto board = (BoardSummaryDto) item;
+          chars += length(board.getTitle()) + length(board.getWriter()) + length(board.getPreview()) + length(board.getContent()) + 100;
+        }
+      }
+    }
+    return (int) Math.min(Integer.MAX_VALUE, chars * 2 + ENTRY_OVERHEAD);
+  }
+
+  private static int length(final String text) {
+    return text == null ? 0 : text.length();
+  }
+}
@@ -0,0 +1,67 @@
+package com.study.board.cache;
+
+import com.study.board.dto.BoardResponseDto;
+import com.study.exception.CustomException;
+import com.study.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// 조건부 GET(If-None-Match, If-Modified-Since) 에 사용하는 검증자(ETag, Last-Modified)
+//  - 게시글 : 게시글 번호와 버전(수정, 삭제될 때마다 증가)으로 만들고, Last-Modified 는 수정일(없으면 생성일)을 사용한다
+//           PATCH, DELETE 요청의 If-Match 로 받은 ETag 에서 버전을 꺼내 낙관적 잠금에 사용한다
+//  - 리스트 : 게시판 전체 버전(BoardVersion)으로 만든다 (어떤 게시글이든 변경되어 커밋되면 모든 리스트의 ETag 가 바뀐다)
+// 조회 수는 검증자에 넣지 않는다 (조회할 때마다 ETag 가 바뀌면 304 로 응답할 수 없으므로, 약한(W/) ETag 로 표시)
+// 버전은 애플리케이션이 시작될 때마다 0부터 다시 증가하므로, 시작 시각(bootId)을 함께 넣어 재시작 전의 ETag 와 구분한다
+@Component
+@RequiredArgsConstructor
+public class BoardValidators {
+
+  private final BoardVersion boardVersion;
+  private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+
+  // 게시글 ETag
+  public String postETag(final BoardResponseDto board) {
+    return "W/\"p" + board.getId() + "-v" + board.getVersion() + "\"";
+  }
+
+  // If-Match 로 받은 게시글 ETag 의 버전
+  // 헤더가 없거나 * 이면 NULL (버전을 확인하지 않음), 다른 게시글의 ETag 이거나 형식이 다르면 412
+  // 조회 수가 포함된 응답의 ETag 는 약한 ETag 이지만, 버전은 조회 수와 무관하게 게시글 내용을 식별하므로 If-Match 에도 사용한다
+  public Long expectedVersion(final Long id, final String ifMatch) {
+    if (ifMatch == null || "*".equals(ifMatch.trim())) {
+      return null;
+    }
+    String tag = ifMatch.trim();
+    tag = tag.startsWith("W/") ? tag.substring(2) : tag;
+    String prefix = "\"p" + id + "-v";
+    if (tag.startsWith(prefix) == false || tag.endsWith("\"") == false) {
+      throw new CustomException(ErrorCode.PRECONDITION_FAILED);
+    }
+    try {
+      return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+    } catch (NumberFormatException e) {
+      throw new CustomException(ErrorCode.PRECONDITION_FAILED);
+    }
+  }
+
+  // 게시글 Last-Modified (ms)
+  public long postLastModified(final BoardResponseDto board) {
+    LocalDateTime modified = board.getModifiedDate() != null ? board.getModifiedDate() : board.getCreatedDate();
+    return modified == null ? 0 : modified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+  // 리스트 ETag
+  // 조회 전에 받아두어야 한다 (조회 도중 커밋된 변경이 있으면 다음 요청에서 ETag 가 달라진다)
+  // 버전은 primary 의 커밋 기준이므로, 이 ETag 로 응답하는 리스트는 primary 에서 읽어야 한다 (DataSourceRouting.forcePrimary)
+  public String listETag() {
+    return "W/\"l" + bootId + "-" + boardVersion.current() + "\"";
+  }
+
+  // 리스트 Last-Modified (ms)
+  public long listLastModified() {
+    return boardVersion.lastModified();
+  }
+}
@@ -0,0 +1,32 @@
+package com.study.board.cache;
+
+import com.study.board.event.BoardEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// 게시판 전체 버전
+// 게시글이 생성, 수정, 삭제되어 커밋될 때마다 1씩 증가한다
+// 리스트 캐시는 조회 시점의 버전을 함께 저장하고, 버전이 달라진 항목은 사용하지 않으므로 키별로 무효화할 필요가 없다
+// (커밋 이후에 증가시키므로, 커밋 이전 데이터로 만든 결과는 항상 이전 버전으로 저장된다)
+@Component
+public class BoardVersion {
+
+  private final AtomicLong version = new AtomicLong();
+  private volatile long lastModified = System.currentTimeMillis();  // 마지막 변경 시각 (ms)
+
+  public long current() {
+    return version.get();
+  }
+
+  public long lastModified() {
+    return lastModified;
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBoardEvent(final BoardEvent event) {
+    lastModified = System.currentTimeMillis();
+    version.incrementAndGet();
+  }
+}
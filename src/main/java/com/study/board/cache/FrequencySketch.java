@@ -0,0 +1,60 @@
+package com.study.board.cache;
+
+// 게시글별 접근 빈도 추정 (Count-Min Sketch)
+// 게시글 번호마다 카운터를 두지 않고, 4개의 해시로 고정 크기 배열의 카운터를 증가시킨 뒤 그 중 최솟값을 빈도로 사용한다
+// 카운터는 15 에서 멈추며, 증가 횟수가 sampleSize 에 도달하면 모든 카운터를 절반으로 줄여(aging) 최근 빈도가 반영되도록 한다
+// 정확한 동기화 없이 사용해도 일부 증가가 유실될 뿐 결과에 큰 영향이 없으므로, TinyLfuPostCache 는 조회 시 잠금 없이 증가시키고
+// 빈도 비교(frequency)만 lock 안에서 사용한다
+final class FrequencySketch {
+
+  private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+  private static final int MAX_COUNT = 15;
+
+  private final int[] table;
+  private final int mask;
+  private final int sampleSize;
+  private int additions;
+
+  FrequencySketch(int expectedEntries) {
+    int width = Integer.highestOneBit(Math.max(1024, Math.min(expectedEntries, 1 << 22)) * 4 - 1);
+    this.table = new int[width];
+    this.mask = width - 1;
+    this.sampleSize = width * 10;
+  }
+
+  int frequency(long key) {
+    int frequency = MAX_COUNT;
+    for (int i = 0; i < SEEDS.length; i++) {
+      frequency = Math.min(frequency, table[index(key, i)]);
+    }
+    return frequency;
+  }
+
+  void increment(long key) {
+    boolean added = false;
+    for (int i = 0; i < SEEDS.length; i++) {
+      int index = index(key, i);
+      if (table[index] < MAX_COUNT) {
+        table[index]++;
+        added = true;
+      }
+    }
+
+    if (added && ++additions >= sampleSize) {
+      reset();
+    }
+  }
+
+  private void reset() {
+    for (int i = 0; i < table.length; i++) {
+      table[i] >>>= 1;
+    }
+    additions >>>= 1;
+  }
+
+  private int index(long key, int row) {
+    long hash = (key + SEEDS[row]) * SEEDS[row];
+    hash ^= hash >>> 32;
+    return (int) hash & mask;
+  }
+}
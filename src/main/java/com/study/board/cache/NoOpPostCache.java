@@ -0,0 +1,41 @@
+package com.study.board.cache;
+
+import com.study.board.dto.BoardResponseDto;
+
+import java.util.Collections;
+import java.util.Map;
+
+// 캐시를 사용하지 않는 경우의 구현체 (항상 DB 에서 조회)
+public class NoOpPostCache implements PostCache {
+
+  @Override
+  public BoardResponseDto get(Long id) {
+    return null;
+  }
+
+  @Override
+  public long stamp(Long id) {
+    return 0;
+  }
+
+  @Override
+  public void put(Long id, BoardResponseDto board, long stamp) {
+  }
+
+  @Override
+  public void beginHits(Long id) {
+  }
+
+  @Override
+  public void addHits(Long id, long delta) {
+  }
+
+  @Override
+  public void invalidate(Long id) {
+  }
+
+  @Override
+  public Map<String, Object> stats() {
+    return Collections.singletonMap("enabled", false);
+  }
+}
@@ -0,0 +1,34 @@
+package com.study.board.cache;
+
+import com.study.board.dto.BoardResponseDto;
+
+import java.util.Map;
+
+// 게시글 상세정보 캐시
+// 구현체는 CacheConfig 에서 board.cache.post.enabled 설정에 따라 선택된다
+public interface PostCache {
+
+  // 캐시된 게시글 (없으면 NULL)
+  BoardResponseDto get(Long id);
+
+  // 게시글의 현재 무효화 버전
+  // DB 에서 게시글을 읽기 전에 값을 받아두었다가 put() 에 전달하면,
+  // 그 사이에 게시글이 무효화된 경우 오래된 데이터가 캐시에 저장되지 않는다
+  long stamp(Long id);
+
+  // 게시글 저장
+  void put(Long id, BoardResponseDto board, long stamp);
+
+  // 조회 수 반영 시작 : addHits() 가 호출될 때까지 게시글을 저장하지 않는다
+  // (반영 도중에 DB 에서 읽은 게시글은 반영된 조회 수를 포함하는지 알 수 없다)
+  void beginHits(Long id);
+
+  // 조회 수 반영 종료 : DB 에 반영된 조회 수를 캐시된 게시글에 더한다 (캐시에 없으면 무시, 반영에 실패한 경우 delta 는 0)
+  void addHits(Long id, long delta);
+
+  // 게시글 무효화
+  void invalidate(Long id);
+
+  // 캐시 통계 (적중, 실패, 제거 등)
+  Map<String, Object> stats();
+}
@@ -0,0 +1,38 @@
+package com.study.board.cache;
+
+import com.study.board.event.BoardEvent;
+import com.study.board.event.BoardHitsFlushedEvent;
+import com.study.board.event.BoardHitsFlushingEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// 게시글 캐시 무효화
+// 게시글이 수정, 삭제되면 캐시된 게시글을 제거한다
+// 조회 수는 캐시된 값 + BoardHitsCounter 의 대기 중인 증가분으로 응답하므로, 증가분이 DB 에 반영되면 캐시된 조회 수에 그만큼 더한다
+// (제거하면 자주 조회되어 매 주기마다 반영되는 게시글일수록 캐시에 남아 있지 못한다)
+// 반영하는 동안(BoardHitsFlushingEvent ~ BoardHitsFlushedEvent)에는 DB 에서 읽은 게시글을 캐시에 저장하지 않는다
+@Component
+@RequiredArgsConstructor
+public class PostCacheInvalidator {
+
+  private final PostCache postCache;
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBoardEvent(final BoardEvent event) {
+    if (event.getType() != BoardEvent.Type.CREATED) {
+      postCache.invalidate(event.getId());
+    }
+  }
+
+  @EventListener
+  public void onHitsFlushing(final BoardHitsFlushingEvent event) {
+    event.getIds().forEach(postCache::beginHits);
+  }
+
+  @EventListener
+  public void onHitsFlushed(final BoardHitsFlushedEvent event) {
+    event.getDeltas().forEach(postCache::addHits);
+  }
+}
@@ -0,0 +1,230 @@
+package com.study.board.cache;
+
+import com.study.board.dto.BoardResponseDto;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// TinyLFU 방식의 게시글 캐시
+// 게시글 내용 길이로 계산한 무게(weight)의 합이 maxWeight 를 넘지 않도록 유지하며,
+// 공간이 부족할 때 가장 오래 사용되지 않은 게시글과 새 게시글의 접근 빈도(FrequencySketch)를 비교하여
+// 새 게시글이 더 자주 조회된 경우에만 교체한다 (admission)
+// 따라서 한 번씩만 조회되는 게시글이 대량으로 들어와도(scan) 자주 조회되는 게시글이 밀려나지 않는다
+//
+// 조회(get)는 잠금 없이 ConcurrentHashMap 에서 읽고, 항목에 사용 표시(referenced)만 남긴다
+// 저장, 제거 순서는 lock 안에서 삽입 순서(LinkedHashMap)로 관리하며, 제거 대상이 사용 표시를 가지고 있으면
+// 표시를 지우고 맨 뒤로 보내 한 번 더 기회를 준다 (CLOCK, LRU 의 근사)
+// 무효화 버전(stamp)은 게시글 번호별 구간(stripe)마다 따로 두어, 한 게시글의 무효화가 다른 게시글의 저장을 막지 않는다
+// (같은 구간의 다른 게시글 저장이 한 번 건너뛰어질 수는 있지만, 오래된 데이터가 저장되지는 않는다)
+// 조회 수가 DB 에 반영되면 캐시된 게시글을 제거하지 않고 조회 수만 더하며, 반영 중인 구간(flushing)에는 새로 읽은 게시글을 저장하지 않는다
+public class TinyLfuPostCache implements PostCache {
+
+  private static final int ENTRY_OVERHEAD = 200;  // 객체 헤더, 날짜 등 고정 크기 (byte)
+
+  private final long maxWeight;
+  private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LinkedHashMap<Long, Entry> order = new LinkedHashMap<>();  // 제거 순서 (lock 안에서만 사용)
+  private final FrequencySketch sketch;
+  private final AtomicLongArray stamps;
+  private final AtomicIntegerArray flushing;  // 조회 수를 반영 중인 게시글 수 (구간별)
+  private final int stampMask;
+  private long weight;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder rejections = new LongAdder();
+  private final LongAdder invalidations = new LongAdder();
+
+  private static final class Entry {
+    private final BoardResponseDto board;
+    private final int weight;
+    private volatile boolean referenced;
+
+    private Entry(BoardResponseDto board, int weight) {
+      this.board = board;
+      this.weight = weight;
+    }
+  }
+
+  public TinyLfuPostCache(long maxWeight) {
+    this.maxWeight = maxWeight;
+    // 게시글 평균 크기를 4KB 로 가정하여 빈도 추정 배열과 무효화 버전 구간의 크기를 결정
+    int expectedEntries = (int) Math.min(Integer.MAX_VALUE, maxWeight / 4096);
+    this.sketch = new FrequencySketch(expectedEntries);
+    int stripes = Integer.highestOneBit(Math.max(1024, Math.min(expectedEntries, 1 << 16)) * 2 - 1);
+    this.stamps = new AtomicLongArray(stripes);
+    this.flushing = new AtomicIntegerArray(stripes);
+    this.stampMask = stripes - 1;
+  }
+
+  @Override
+  public BoardResponseDto get(Long id) {
+    // 빈도 추정은 동기화 없이 증가시킨다 (FrequencySketch 참고)
+    sketch.increment(id);
+    Entry entry = entries.get(id);
+    if (entry == null) {
+      misses.increment();
+      return null;
+    }
+    if (entry.referenced == false) {
+      entry.referenced = true;
+    }
+    hits.increment();
+    return entry.board;
+  }
+
+  @Override
+  public long stamp(Long id) {
+    return stamps.get(stripe(id));
+  }
+
+  @Override
+  public void put(Long id, BoardResponseDto board, long stamp) {
+    int entryWeight = weigh(board);
+    if (entryWeight > maxWeight) {
+      return;
+    }
+
+    lock.lock();
+    try {
+      // 데이터를 읽는 동안 무효화가 발생했거나 조회 수를 반영 중이면 저장하지 않는다
+      int stripe = stripe(id);
+      if (stamps.get(stripe) != stamp || flushing.get(stripe) > 0) {
+        return;
+      }
+
+      Entry previous = order.remove(id);
+      if (previous != null) {
+        this.weight -= previous.weight;
+      }
+
+      if (previous == null && this.weight + entryWeight > maxWeight && order.isEmpty() == false) {
+        // 새 게시글이 제거 대상 게시글보다 자주 조회되지 않았다면 저장하지 않는다
+        Long victim = victim();
+        if (sketch.frequency(id) <= sketch.frequency(victim)) {
+          rejections.increment();
+          return;
+        }
+      }
+
+      while (this.weight + entryWeight > maxWeight && order.isEmpty() == false) {
+        Long victim = victim();
+        Entry evicted = order.remove(victim);
+        entries.remove(victim, evicted);
+        this.weight -= evicted.weight;
+        evictions.increment();
+      }
+
+      Entry entry = new Entry(board, entryWeight);
+      order.put(id, entry);
+      entries.put(id, entry);
+      this.weight += entryWeight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void beginHits(Long id) {
+    int stripe = stripe(id);
+    flushing.incrementAndGet(stripe);
+    stamps.incrementAndGet(stripe);
+  }
+
+  // 캐시에 남아 있는 게시글은 beginHits() 이전(커밋 이전)에 저장된 것이므로 증가분을 더한다
+  // 반영 이전에 stamp 를 받아 읽은 게시글은 stamp 가 바뀌어 저장되지 않는다
+  @Override
+  public void addHits(Long id, long delta) {
+    int stripe = stripe(id);
+    lock.lock();
+    try {
+      Entry entry = order.get(id);
+      if (entry != null && delta != 0) {
+        Entry updated = new Entry(entry.board.withPendingHits(delta), entry.weight);
+        updated.referenced = entry.referenced;
+        order.put(id, updated);
+        entries.put(id, updated);
+      }
+      stamps.incrementAndGet(stripe);
+      // 시작 이벤트를 받지 못한 경우(리스너 오류)에도 음수가 되지 않도록 한다
+      flushing.updateAndGet(stripe, count -> Math.max(0, count - 1));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void invalidate(Long id) {
+    stamps.incrementAndGet(stripe(id));
+    lock.lock();
+    try {
+      Entry entry = order.remove(id);
+      if (entry != null) {
+        entries.remove(id, entry);
+        weight -= entry.weight;
+        invalidations.increment();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Map<String, Object> stats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("enabled", true);
+    lock.lock();
+    try {
+      stats.put("size", order.size());
+      stats.put("weight", weight);
+    } finally {
+      lock.unlock();
+    }
+    stats.put("maxWeight", maxWeight);
+    stats.put("hits", hits.sum());
+    stats.put("misses", misses.sum());
+    stats.put("evictions", evictions.sum());
+    stats.put("rejections", rejections.sum());
+    stats.put("invalidations", invalidations.sum());
+    return stats;
+  }
+
+  // 제거 대상 (lock 안에서 호출)
+  // 앞에서부터 사용 표시가 있는 항목은 표시를 지우고 맨 뒤로 보내며, 한 바퀴를 돌면 모든 표시가 지워지므로 맨 앞 항목을 선택한다
+  private Long victim() {
+    for (int i = order.size(); i > 0; i--) {
+      Iterator<Map.Entry<Long, Entry>> iterator = order.entrySet().iterator();
+      Map.Entry<Long, Entry> head = iterator.next();
+      if (head.getValue().referenced == false) {
+        return head.getKey();
+      }
+      head.getValue().referenced = false;
+      iterator.remove();
+      order.put(head.getKey(), head.getValue());
+    }
+    return order.keySet().iterator().next();
+  }
+
+  private int stripe(Long id) {
+    long hash = id * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & stampMask;
+  }
+
+  // 게시글 무게 (대략적인 메모리 사용량, byte)
+  private static int weigh(BoardResponseDto board) {
+    long chars = length(board.getTitle()) + length(board.getContent()) + length(board.getWriter());
+    return (int) Math.min(Integer.MAX_VALUE, chars * 2 + ENTRY_OVERHEAD);
+  }
+
+  private static int length(String text) {
+    return text == null ? 0 : text.length();
+  }
+}
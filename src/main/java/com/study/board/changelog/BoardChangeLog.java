@@ -0,0 +1,144 @@
+package com.study.board.changelog;
+
+import com.study.board.dto.BoardChangeDto;
+import com.study.board.event.BoardEvent;
+import com.study.board.model.BoardMapper;
+import com.study.config.BoardProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+// 게시글 변경 로그 기록
+// 여러 인스턴스를 함께 운영하면 한 인스턴스에서 발생한 변경이 다른 인스턴스의 캐시(게시글, 리스트)와 인덱스에 반영되지 않는다
+// 게시글을 변경하는 트랜잭션에서 board_change_log 에 (게시글 번호, 변경 유형)을 함께 기록하여, 커밋된 변경만 다른 인스턴스에 전달한다 (outbox)
+//  - 트랜잭션 안에서 발생한 변경은 모아 두었다가 커밋 직전에 한 번의 INSERT 로 기록한다 (같은 게시글의 변경은 하나로 합친다)
+//  - 트랜잭션 밖에서 발생한 변경은 바로 기록한다
+//  - 기록에 실패하면 트랜잭션도 롤백된다 (변경은 있는데 로그가 없는 경우가 생기지 않도록)
+// 다른 인스턴스에서 전달된 변경(remote)은 다시 기록하지 않으며, 기록된 변경은 BoardChangeLogTailer 가 읽어 반영한다
+@Component
+@RequiredArgsConstructor
+public class BoardChangeLog {
+
+  private static final int INSERT_CHUNK_SIZE = 1000;  // INSERT 한 번에 기록할 최대 행 수
+
+  private final BoardMapper boardMapper;
+  private final BoardProperties properties;
+  private final MeterRegistry meterRegistry;
+
+  private String nodeId;
+  private final LongAdder written = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+
+  @PostConstruct
+  public void init() {
+    // 같은 JVM 에서 여러 애플리케이션 컨텍스트를 띄우는 경우에도 구분되도록 임의 값을 붙인다
+    String configured = properties.getChangeLog().getNodeId();
+    if (configured == null || configured.isEmpty()) {
+      configured = ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+    nodeId = configured.length() > 64 ? configured.substring(configured.length() - 64) : configured;
+
+    FunctionCounter.builder("board.change-log.written", this, BoardChangeLog::getWrittenCount).register(meterRegistry);
+  }
+
+  // 인스턴스 식별자 (자신이 기록한 변경은 이미 반영되어 있으므로 BoardChangeLogTailer 가 건너뛴다)
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  public long getWrittenCount() {
+    return written.sum();
+  }
+
+  public long getCoalescedCount() {
+    return coalesced.sum();
+  }
+
+  // 커밋 이후가 아닌 발행 시점에 전달받아, 변경과 같은 트랜잭션에서 기록한다
+  @EventListener
+  public void onBoardEvent(final BoardEvent event) {
+    if (properties.getChangeLog().isEnabled() == false || event.isRemote()) {
+      return;
+    }
+    if (TransactionSynchronizationManager.isActualTransactionActive() == false
+        || TransactionSynchronizationManager.isSynchronizationActive() == false) {
+      write(Collections.singletonMap(event.getId(), event.getType()));
+      return;
+    }
+
+    Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+    if (pending == null) {
+      pending = new Pending();
+      TransactionSynchronizationManager.bindResource(this, pending);
+      TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+    pending.add(event);
+  }
+
+  // 같은 게시글의 연속된 변경을 하나로 합친다
+  //  - 생성 이후 수정 : 생성 (다른 인스턴스는 게시글을 다시 읽으므로 마지막 내용이 반영된다)
+  //  - 이후 삭제 : 삭제
+  static BoardEvent.Type coalesce(final BoardEvent.Type previous, final BoardEvent.Type next) {
+    if (next == BoardEvent.Type.DELETED) {
+      return BoardEvent.Type.DELETED;
+    }
+    return previous == BoardEvent.Type.CREATED ? BoardEvent.Type.CREATED : next;
+  }
+
+  private void write(final Map<Long, BoardEvent.Type> changes) {
+    // 기록 시각은 인스턴스의 시간대와 관계없이 UTC 로 저장한다 (반영 지연 계산, 보관 기간 삭제에 사용)
+    LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+    List<BoardChangeDto> rows = new ArrayList<>(Math.min(changes.size(), INSERT_CHUNK_SIZE));
+    for (Map.Entry<Long, BoardEvent.Type> change : changes.entrySet()) {
+      rows.add(new BoardChangeDto(change.getKey(), change.getValue(), nodeId, now));
+      if (rows.size() == INSERT_CHUNK_SIZE) {
+        boardMapper.insertChanges(rows);
+        rows = new ArrayList<>(INSERT_CHUNK_SIZE);
+      }
+    }
+    if (rows.isEmpty() == false) {
+      boardMapper.insertChanges(rows);
+    }
+    written.add(changes.size());
+  }
+
+  // 트랜잭션별로 모아 둔 변경 (커밋 직전에 기록)
+  private final class Pending implements TransactionSynchronization {
+    private final Map<Long, BoardEvent.Type> changes = new LinkedHashMap<>();
+
+    private void add(final BoardEvent event) {
+      if (changes.containsKey(event.getId())) {
+        coalesced.increment();
+      }
+      changes.merge(event.getId(), event.getType(), BoardChangeLog::coalesce);
+    }
+
+    @Override
+    public void beforeCommit(final boolean readOnly) {
+      if (changes.isEmpty() == false) {
+        write(changes);
+      }
+    }
+
+    @Override
+    public void afterCompletion(final int status) {
+      TransactionSynchronizationManager.unbindResourceIfPossible(BoardChangeLog.this);
+    }
+  }
+}
@@ -0,0 +1,242 @@
+package com.study.board.changelog;
+
+import com.study.board.dto.BoardChangeDto;
+import com.study.board.dto.BoardSummaryDto;
+import com.study.board.event.BoardEvent;
+import com.study.board.model.BoardMapper;
+import com.study.config.BoardProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 게시글 변경 로그 반영
+// 다른 인스턴스가 board_change_log 에 기록한 변경을 poll-interval-ms 마다 읽어 BoardEvent(remote) 로 다시 발행한다
+// 캐시(PostCacheInvalidator, BoardVersion), 인덱스(BoardIdIndex, BoardSearchIndex), 인기 게시글(BoardTrending)은 자신의 변경과 같은 방식으로 반영한다
+//  - 묶음 처리 : 한 번에 batch-size 건까지 읽고, 같은 게시글의 변경은 하나로 합친 뒤, 생성, 수정된 게시글은 PK IN (...) 한 번으로 다시 조회한다
+//  - 순서 : 변경 번호(seq)는 INSERT 시점에 할당되어 커밋 순서와 다를 수 있으므로, 번호가 비어 있으면 gap-timeout-ms 동안 다음 조회에서 다시 확인한다
+//    (빈 번호 이후의 변경은 먼저 반영하고 두 번 반영하지 않도록 기억해 둔다. 롤백되어 끝내 채워지지 않는 번호는 시간이 지나면 건너뛴다)
+//  - 지연 : 변경이 기록된 시각부터 이 인스턴스에 반영된 시각까지의 시간 (인스턴스 간 시계 차이가 포함된다)
+// 변경 로그와 게시글은 트랜잭션 없이 조회하므로 replica 가 아닌 primary 에서 읽는다 (replica 지연으로 이전 게시글을 반영하지 않도록)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardChangeLogTailer {
+
+  private static final int PURGE_CHUNK_SIZE = 1000;  // DELETE 한 번에 삭제할 최대 행 수
+
+  private final BoardMapper boardMapper;
+  private final BoardChangeLog boardChangeLog;
+  private final BoardProperties properties;
+  private final ApplicationEventPublisher eventPublisher;
+  private final MeterRegistry meterRegistry;
+
+  private ScheduledExecutorService scheduler;
+  private volatile boolean positioned;                                 // 시작 위치(cursor)를 읽었는지 여부
+  private volatile long cursor;                                        // 반영을 마친 마지막 변경 번호 (이후 번호는 모두 비어 있지 않음)
+  private final Set<Long> appliedAhead = ConcurrentHashMap.newKeySet();  // 빈 번호 이후에 먼저 반영한 변경 번호
+  private long gapSince;                                               // cursor 다음 번호가 비어 있는 것을 처음 확인한 시각 (0 이면 없음)
+
+  private final LongAdder polls = new LongAdder();
+  private final LongAdder applied = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+  private final LongAdder skippedGaps = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private volatile long lastLagMs;
+  private volatile long maxLagMs;
+  private volatile long lastPollTime;
+
+  // 빈 생성 중에는 DB 를 조회하지 않고 board-change-log 스레드만 시작한다
+  // 시작 위치는 첫 조회에서 읽고, 실패하면(DB 가 아직 준비되지 않은 경우 등) 다음 주기에 다시 읽는다
+  @PostConstruct
+  public void start() {
+    FunctionCounter.builder("board.change-log.applied", this, BoardChangeLogTailer::getAppliedCount).register(meterRegistry);
+    Gauge.builder("board.change-log.lag", this, BoardChangeLogTailer::getLastLagMs).baseUnit("milliseconds").register(meterRegistry);
+    Gauge.builder("board.change-log.poll-age", this, BoardChangeLogTailer::getPollAgeMs).baseUnit("milliseconds").register(meterRegistry);
+
+    BoardProperties.ChangeLog config = properties.getChangeLog();
+    if (config.isEnabled() == false) {
+      return;
+    }
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "board-change-log");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long interval = Math.max(config.getPollIntervalMs(), 10);
+    scheduler.scheduleWithFixedDelay(this::pollQuietly, 0, interval, TimeUnit.MILLISECONDS);
+    long purgeInterval = Math.max(config.getPurgeIntervalMs(), 1000);
+    scheduler.scheduleWithFixedDelay(this::purgeQuietly, purgeInterval, purgeInterval, TimeUnit.MILLISECONDS);
+  }
+
+  // 시작 시점까지의 변경은 건너뛴다
+  // 캐시는 비어 있고 인덱스는 구동 완료 이후 DB 에서 구성하므로, 이후에 기록된 변경만 반영하면 된다
+  private void position() {
+    Long last = boardMapper.findLastChangeSeq();
+    cursor = last == null ? 0 : last;
+    positioned = true;
+    log.info("change log tailing started : node={}, cursor={}", boardChangeLog.getNodeId(), cursor);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+
+  private void pollQuietly() {
+    try {
+      if (positioned == false) {
+        position();
+        return;
+      }
+      poll();
+    } catch (Exception e) {
+      failures.increment();
+      log.warn("change log poll failed : cursor={}", cursor, e);
+    }
+  }
+
+  // 새 변경 반영 (board-change-log 스레드)
+  void poll() {
+    long now = System.currentTimeMillis();
+    lastPollTime = now;
+    polls.increment();
+    List<BoardChangeDto> rows = boardMapper.findChangesAfter(cursor, Math.max(properties.getChangeLog().getBatchSize(), 1));
+
+    Map<Long, BoardEvent.Type> changes = new LinkedHashMap<>();
+    int fresh = 0;
+    long oldest = Long.MAX_VALUE;  // 이번에 반영하는 변경 중 가장 먼저 기록된 시각 (ms)
+    boolean advancing = true;
+    for (BoardChangeDto row : rows) {
+      long seq = row.getSeq();
+      // 자신이 기록한 변경은 커밋 시점에 이미 반영되었다
+      if (appliedAhead.contains(seq) == false && boardChangeLog.getNodeId().equals(row.getNodeId()) == false) {
+        changes.merge(row.getBoardId(), row.getChangeType(), BoardChangeLog::coalesce);
+        fresh++;
+        oldest = Math.min(oldest, row.getCreatedDate().toInstant(ZoneOffset.UTC).toEpochMilli());
+      }
+
+      if (advancing && (seq == cursor + 1 || isGapExpired(now))) {
+        if (seq != cursor + 1) {
+          skippedGaps.increment();
+        }
+        cursor = seq;
+        gapSince = 0;
+        appliedAhead.remove(seq);
+      } else {
+        if (advancing && gapSince == 0) {
+          gapSince = now;
+        }
+        advancing = false;
+        appliedAhead.add(seq);
+      }
+    }
+
+    if (changes.isEmpty()) {
+      return;
+    }
+    coalesced.add(fresh - changes.size());
+    publish(changes);
+    applied.add(changes.size());
+
+    long lag = Math.max(System.currentTimeMillis() - oldest, 0);
+    lastLagMs = lag;
+    maxLagMs = Math.max(maxLagMs, lag);
+  }
+
+  private boolean isGapExpired(final long now) {
+    return gapSince != 0 && now - gapSince >= properties.getChangeLog().getGapTimeoutMs();
+  }
+
+  // 생성, 수정된 게시글은 현재 내용을 다시 읽어 발행한다 (읽는 시점에 삭제되어 있으면 삭제로 발행)
+  private void publish(final Map<Long, BoardEvent.Type> changes) {
+    List<Long> reload = new ArrayList<>();
+    changes.forEach((id, type) -> {
+      if (type != BoardEvent.Type.DELETED) {
+        reload.add(id);
+      }
+    });
+    Map<Long, BoardSummaryDto> posts = new HashMap<>();
+    if (reload.isEmpty() == false) {
+      for (BoardSummaryDto post : boardMapper.findAllByIds(reload, true, 0)) {
+        posts.put(post.getId(), post);
+      }
+    }
+
+    changes.forEach((id, type) -> {
+      BoardSummaryDto post = posts.get(id);
+      if (type == BoardEvent.Type.DELETED || post == null) {
+        eventPublisher.publishEvent(BoardEvent.remote(BoardEvent.Type.DELETED, id, null, null, null, 'Y'));
+      } else {
+        eventPublisher.publishEvent(BoardEvent.remote(type, id, post.getTitle(), post.getContent(), post.getWriter(), 'N'));
+      }
+    });
+  }
+
+  private void purgeQuietly() {
+    try {
+      LocalDateTime before = LocalDateTime.now(ZoneOffset.UTC).minusHours(properties.getChangeLog().getRetentionHours());
+      int deleted;
+      do {
+        deleted = boardMapper.deleteChangesBefore(before, PURGE_CHUNK_SIZE);
+      } while (deleted == PURGE_CHUNK_SIZE);
+    } catch (Exception e) {
+      log.warn("change log purge failed", e);
+    }
+  }
+
+  // 반영 지연 (ms, 마지막으로 반영한 묶음 기준)
+  public long getLastLagMs() {
+    return lastLagMs;
+  }
+
+  // 마지막 조회 이후 지난 시간 (ms, 조회가 멈추면 계속 증가)
+  public long getPollAgeMs() {
+    return lastPollTime == 0 ? 0 : System.currentTimeMillis() - lastPollTime;
+  }
+
+  public long getAppliedCount() {
+    return applied.sum();
+  }
+
+  public Map<String, Object> status() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("enabled", properties.getChangeLog().isEnabled());
+    status.put("nodeId", boardChangeLog.getNodeId());
+    status.put("positioned", positioned);
+    status.put("cursor", cursor);
+    status.put("appliedAhead", appliedAhead.size());
+    status.put("written", boardChangeLog.getWrittenCount());
+    status.put("writeCoalesced", boardChangeLog.getCoalescedCount());
+    status.put("polls", polls.sum());
+    status.put("applied", applied.sum());
+    status.put("coalesced", coalesced.sum());
+    status.put("skippedGaps", skippedGaps.sum());
+    status.put("failures", failures.sum());
+    status.put("lastLagMs", lastLagMs);
+    status.put("maxLagMs", maxLagMs);
+    status.put("pollAgeMs", getPollAgeMs());
+    return status;
+  }
+}
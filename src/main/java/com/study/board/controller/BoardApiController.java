@@ -1,57 +1,187 @@
 package com.study.board.controller;
 
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.study.board.cache.BoardValidators;
+import com.study.board.dto.BoardBatchUpdateDto;
 import com.study.board.dto.BoardRequestDto;
 import com.study.board.dto.BoardResponseDto;
+import com.study.board.feed.BoardChangeFeed;
+import com.study.board.model.BoardBatchService;
+import com.study.board.model.BoardExportService;
+import com.study.board.model.BoardGroupCommit;
 import com.study.board.model.BoardService;
+import com.study.board.suggest.BoardSuggestIndex;
+import com.study.board.trending.BoardTrending;
+import com.study.bulkhead.BoardBulkheads;
+import com.study.datasource.DataSourceRouting;
 import com.study.paging.CommonParams;
 
 import lombok.RequiredArgsConstructor;
 
+// 내보내기를 제외한 DB 작업은 BoardBulkheads 의 읽기, 쓰기 격벽에서 실행한다 (비동기 응답)
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
 public class BoardApiController {
 
   private final BoardService boardService;
+  private final BoardBatchService boardBatchService;
+  private final BoardExportService boardExportService;
+  private final BoardGroupCommit boardGroupCommit;
+  private final BoardBulkheads bulkheads;
+  private final BoardValidators boardValidators;
+  private final BoardTrending boardTrending;
+  private final BoardChangeFeed boardChangeFeed;
+  private final BoardSuggestIndex boardSuggestIndex;
 
   // 게시글 생성
+  // 그룹 커밋을 사용하면 동시에 들어온 생성 요청을 모아 하나의 트랜잭션으로 저장한다 (격벽 대신 커밋 스레드에서 실행)
   @PostMapping("/boards")
-  public Long save(@RequestBody final BoardRequestDto params) {
-    return boardService.save(params);
+  public CompletableFuture<Long> save(@RequestBody final BoardRequestDto params) {
+    if (boardGroupCommit.isEnabled()) {
+      return boardGroupCommit.submit(params);
+    }
+    return bulkheads.write(() -> boardService.save(params));
+  }
+
+  // 게시글 일괄 생성
+  @PostMapping("/boards/batch")
+  public CompletableFuture<Map<String, Object>> saveAll(@RequestBody final List<BoardRequestDto> params) {
+    return bulkheads.write(() -> boardBatchService.saveAll(params));
+  }
+
+  // 게시글 일괄 수정
+  @PatchMapping("/boards/batch")
+  public CompletableFuture<Map<String, Object>> updateAll(@RequestBody final List<BoardBatchUpdateDto> params) {
+    return bulkheads.write(() -> boardBatchService.updateAll(params));
+  }
+
+  // 게시글 일괄 삭제
+  @DeleteMapping("/boards/batch")
+  public CompletableFuture<Map<String, Object>> deleteAll(@RequestBody final List<Long> ids) {
+    return bulkheads.write(() -> boardBatchService.deleteAll(ids));
   }
 
   // 게시글 수정
+  // If-Match 에 조회 응답의 ETag 를 보내면, 그 사이에 다른 사용자가 수정(삭제)한 경우 412 로 응답한다
   @PatchMapping("/boards/{id}")
-  public Long update(@PathVariable final Long id, @RequestBody final BoardRequestDto params) {
-    return boardService.update(id, params);
+  public CompletableFuture<Long> update(@PathVariable final Long id, @RequestBody final BoardRequestDto params,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
+    Long version = boardValidators.expectedVersion(id, ifMatch);
+    return bulkheads.write(() -> boardService.update(id, params, version));
   }
 
   // 게시글 삭제
   @DeleteMapping("/boards/{id}")
-  public Long delete(@PathVariable final Long id) {
-    return boardService.delete(id);
+  public CompletableFuture<Long> delete(@PathVariable final Long id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
+    Long version = boardValidators.expectedVersion(id, ifMatch);
+    return bulkheads.write(() -> boardService.delete(id, version));
   }
 
   // 게시글 리스트 조회
+  // 리스트의 검증자는 게시판 전체 버전이므로, 304 응답은 격벽과 DB 를 거치지 않고 요청 스레드에서 바로 보낸다
+  // 응답의 changesSince 는 조회 직전의 변경 피드 버전으로, GET /api/boards/changes?since= 로 이후의 변경만 받을 수 있다
+  // 리스트의 ETag, Last-Modified, 리스트 캐시의 버전, changesSince 는 모두 primary 의 커밋 기준이므로 리스트는 primary 에서 읽는다
+  // (복제 지연된 replica 에서 읽으면 이전 결과가 새 버전의 ETag 로 저장되어, 다음 변경이 있을 때까지 304 와 캐시 적중으로 계속 응답된다)
+  // 리스트 조회의 부하는 304 응답과 리스트 캐시가 줄인다
   @GetMapping("/boards")
-  public Map<String, Object> findAll(final CommonParams params) {
-    return boardService.findAll(params);
+  public CompletableFuture<ResponseEntity<Map<String, Object>>> findAll(final CommonParams params, final HttpServletRequest request) {
+    String etag = boardValidators.listETag();
+    long lastModified = boardValidators.listLastModified();
+    if (ConditionalRequest.of(request).isNotModified(etag, lastModified)) {
+      return CompletableFuture.completedFuture(ConditionalRequest.notModified(etag, lastModified));
+    }
+    String changesSince = boardChangeFeed.currentVersion();
+    DataSourceRouting.forcePrimary();
+    return bulkheads.read(() -> {
+      Map<String, Object> response = params.isCursorPaging() ? boardService.findAllByCursor(params) : boardService.findAll(params);
+      if (changesSince != null && response.isEmpty() == false) {
+        // 리스트 캐시에 저장된 응답을 변경하지 않도록 복사해서 담는다
+        response = new LinkedHashMap<>(response);
+        response.put("changesSince", changesSince);
+      }
+      return ConditionalRequest.ok(response, etag, lastModified);
+    });
+  }
+
+  // 게시글 변경 피드 (Server-Sent Events)
+  // 생성, 수정, 삭제된 게시글의 요약을 커밋 순서대로 보내며, 재연결하면 Last-Event-ID(또는 since) 이후의 변경부터 이어서 보낸다
+  // 이어받을 수 없으면 reset 이벤트를 보낸다 (리스트를 다시 조회)
+  @GetMapping(value = "/boards/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter changes(@RequestParam(required = false) final String since,
+      @RequestHeader(value = "Last-Event-ID", required = false) final String lastEventId) {
+    return boardChangeFeed.subscribe(lastEventId != null ? lastEventId : since);
+  }
+
+  // 인기 게시글 조회 (window : 최근 기간, 예) 30m, 1h)
+  // 메모리에서 집계한 결과만 사용하므로 격벽을 거치지 않고 요청 스레드에서 응답한다
+  @GetMapping("/boards/trending")
+  public Map<String, Object> trending(@RequestParam(defaultValue = "1h") final String window,
+      @RequestParam(defaultValue = "10") final int limit) {
+    return boardTrending.top(window, limit);
+  }
+
+  // 제목, 작성자 자동완성 (prefix : 입력 중인 검색어, 한글은 입력 중인 글자도 포함)
+  // 메모리의 자동완성 인덱스만 사용하므로 격벽을 거치지 않고 요청 스레드에서 응답한다
+  @GetMapping("/boards/suggest")
+  public Map<String, Object> suggest(@RequestParam final String prefix, @RequestParam(defaultValue = "10") final int limit) {
+    return boardSuggestIndex.suggest(prefix, limit);
+  }
+
+  // 게시글 내보내기 (format : ndjson, csv)
+  // 검색 조건은 리스트 조회와 동일하며, 조회된 게시글을 모으지 않고 바로 응답에 쓴다
+  // 응답 스트림에 직접 쓰므로 격벽을 거치지 않고 요청 스레드에서 실행
+  @GetMapping("/boards/export")
+  public void export(final CommonParams params, @RequestParam(required = false) final String format,
+      final HttpServletResponse response) throws IOException {
+    String type = boardExportService.format(format);
+    response.setContentType(boardExportService.contentType(type));
+    response.setHeader("Content-Disposition", "attachment; filename=\"boards." + type + "\"");
+    boardExportService.export(params, type, response.getWriter());
   }
 
   // 게시글 상세정보 조회
+  // 검증자를 보낸 요청은 본문 대신 검증자만 조회하여 비교하고, 같으면 304 로 응답한다 (조회 수는 304 응답에서도 증가)
   @GetMapping("/boards/{id}")
-  public BoardResponseDto findById(@PathVariable final Long id) {
-    return boardService.findById(id);
+  public CompletableFuture<ResponseEntity<BoardResponseDto>> findById(@PathVariable final Long id, final HttpServletRequest request) {
+    ConditionalRequest conditional = ConditionalRequest.of(request);
+    return bulkheads.read(() -> {
+      if (conditional.isConditional()) {
+        BoardResponseDto current = boardService.findValidator(id);
+        String etag = boardValidators.postETag(current);
+        long lastModified = boardValidators.postLastModified(current);
+        if (conditional.isNotModified(etag, lastModified)) {
+          boardService.countView(current);
+          return ConditionalRequest.notModified(etag, lastModified);
+        }
+      }
+      BoardResponseDto board = boardService.findById(id);
+      return ConditionalRequest.ok(board, boardValidators.postETag(board), boardValidators.postLastModified(board));
+    });
   }
 
 }
@@ -0,0 +1,167 @@
+package com.study.board.controller;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.study.admission.BoardAdmission;
+import com.study.board.cache.BoardListCache;
+import com.study.board.changelog.BoardChangeLogTailer;
+import com.study.board.feed.BoardChangeFeed;
+import com.study.board.cache.PostCache;
+import com.study.board.index.BoardIdIndex;
+import com.study.board.model.BoardGroupCommit;
+import com.study.board.model.BoardListQuery;
+import com.study.board.search.BoardSearchIndex;
+import com.study.board.suggest.BoardSuggestIndex;
+import com.study.board.trending.BoardTrending;
+import com.study.bulkhead.BoardBulkheads;
+import com.study.datasource.ReplicaRoutingDataSource;
+import com.study.sqltrace.SqlTracer;
+
+import lombok.RequiredArgsConstructor;
+
+// 게시판 내부 구성 요소(인덱스, 캐시 등)의 상태를 조회하는 운영용 API
+@RestController
+@RequestMapping("/api/system")
+@RequiredArgsConstructor
+public class BoardSystemApiController {
+
+  private final BoardIdIndex boardIdIndex;
+  private final BoardSearchIndex boardSearchIndex;
+  private final BoardSuggestIndex boardSuggestIndex;
+  private final PostCache postCache;
+  private final BoardListCache boardListCache;
+  private final BoardListQuery boardListQuery;
+  private final DataSource dataSource;
+  private final SqlTracer sqlTracer;
+  private final BoardBulkheads bulkheads;
+  private final BoardGroupCommit boardGroupCommit;
+  private final BoardTrending boardTrending;
+  private final BoardChangeLogTailer boardChangeLogTailer;
+  private final BoardChangeFeed boardChangeFeed;
+  private final BoardAdmission boardAdmission;
+
+  // 게시글 번호 인덱스 상태 조회
+  @GetMapping("/id-index")
+  public Map<String, Object> idIndexStatus() {
+    return boardIdIndex.status();
+  }
+
+  // 게시글 번호 인덱스 정합성 검사
+  @PostMapping("/id-index/verify")
+  public Map<String, Object> verifyIdIndex() {
+    return boardIdIndex.verify();
+  }
+
+  // 검색 인덱스 상태 조회
+  @GetMapping("/search-index")
+  public Map<String, Object> searchIndexStatus() {
+    return boardSearchIndex.status();
+  }
+
+  // 자동완성 인덱스 상태 조회
+  @GetMapping("/suggest-index")
+  public Map<String, Object> suggestIndexStatus() {
+    return boardSuggestIndex.status();
+  }
+
+  // 게시글 캐시 통계 조회
+  @GetMapping("/post-cache")
+  public Map<String, Object> postCacheStats() {
+    return postCache.stats();
+  }
+
+  // 리스트 캐시 통계 조회 (캐시 적중, 미적중 응답 시간 비교 포함)
+  @GetMapping("/list-cache")
+  public Map<String, Object> listCacheStats() {
+    return boardListCache.stats();
+  }
+
+  // 리스트 캐시 응답 시간 기록 초기화
+  @PostMapping("/list-cache/reset-latency")
+  public Map<String, Object> resetListCacheLatency() {
+    boardListCache.resetLatency();
+    return boardListCache.stats();
+  }
+
+  // 게시글 리스트 조회 방식과 방식별 실행 횟수 조회
+  @GetMapping("/list-query")
+  public Map<String, Object> listQueryStatus() {
+    return boardListQuery.status();
+  }
+
+  // primary, replica 커넥션 풀 상태 조회
+  @GetMapping("/datasource")
+  public Map<String, Object> dataSourceStatus() throws SQLException {
+    Map<String, Object> status = new LinkedHashMap<>();
+    boolean routing = dataSource.isWrapperFor(ReplicaRoutingDataSource.class);
+    status.put("routing", routing);
+    if (routing) {
+      status.put("pools", dataSource.unwrap(ReplicaRoutingDataSource.class).status());
+    }
+    return status;
+  }
+
+  // SQL 추적 설정과 최근 기록 조회 (최신순)
+  @GetMapping("/sql-trace")
+  public Map<String, Object> sqlTraceStatus(@RequestParam(value = "limit", defaultValue = "50") final int limit) {
+    Map<String, Object> status = sqlTracer.status();
+    status.put("recent", sqlTracer.recent(Math.min(Math.max(limit, 0), 1000)));
+    return status;
+  }
+
+  // SQL 추적 설정 변경 (전달하지 않은 항목은 유지)
+  @PostMapping("/sql-trace")
+  public Map<String, Object> updateSqlTrace(@RequestParam(value = "enabled", required = false) final Boolean enabled,
+                                            @RequestParam(value = "sampleRate", required = false) final Double sampleRate,
+                                            @RequestParam(value = "slowThresholdMs", required = false) final Long slowThresholdMs) {
+    sqlTracer.update(enabled, sampleRate, slowThresholdMs);
+    return sqlTracer.status();
+  }
+
+  // 읽기, 쓰기 격벽 상태 조회 (실행 중, 대기 중, 거절, 시간 초과 건수)
+  @GetMapping("/bulkheads")
+  public Map<String, Object> bulkheadStatus() {
+    return bulkheads.status();
+  }
+
+  // 게시글 생성 그룹 커밋 상태 조회 (묶음 수, 평균 묶음 크기, 실패, 거절 건수)
+  @GetMapping("/group-commit")
+  public Map<String, Object> groupCommitStatus() {
+    return boardGroupCommit.status();
+  }
+
+  // 인기 게시글 집계 상태 조회 (기록, 버림 건수)
+  @GetMapping("/trending")
+  public Map<String, Object> trendingStatus() {
+    return boardTrending.status();
+  }
+
+  // 인스턴스 간 변경 전파 상태 조회 (변경 로그 반영 위치, 반영 지연)
+  @GetMapping("/change-log")
+  public Map<String, Object> changeLogStatus() {
+    return boardChangeLogTailer.status();
+  }
+
+  // 게시글 변경 피드 상태 조회 (구독자 수, 전송 건수)
+  @GetMapping("/change-feed")
+  public Map<String, Object> changeFeedStatus() {
+    return boardChangeFeed.status();
+  }
+
+  // 요청 수락 제어 상태 조회 (동시 처리 요청 수 상한, 커넥션 대기, 사용 시간, 우선순위별 거절 건수)
+  @GetMapping("/admission")
+  public Map<String, Object> admissionStatus() {
+    return boardAdmission.status();
+  }
+
+}
@@ -0,0 +1,74 @@
+package com.study.board.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import javax.servlet.http.HttpServletRequest;
+
+// 조건부 GET 요청 헤더 (If-None-Match, If-Modified-Since)
+// 응답은 격벽 스레드에서 만들어지므로, 요청 헤더는 요청 스레드에서 미리 읽어둔다
+// RFC 7232 : If-None-Match 가 있으면 If-Modified-Since 는 무시하고, ETag 는 약한 비교(W/ 무시)로 확인한다
+public final class ConditionalRequest {
+
+  private final String ifNoneMatch;
+  private final long ifModifiedSince;  // 없으면 -1
+
+  private ConditionalRequest(final String ifNoneMatch, final long ifModifiedSince) {
+    this.ifNoneMatch = ifNoneMatch;
+    this.ifModifiedSince = ifModifiedSince;
+  }
+
+  public static ConditionalRequest of(final HttpServletRequest request) {
+    long ifModifiedSince;
+    try {
+      ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+    } catch (IllegalArgumentException e) {
+      ifModifiedSince = -1;  // 형식이 잘못된 날짜는 헤더가 없는 것으로 처리
+    }
+    return new ConditionalRequest(request.getHeader(HttpHeaders.IF_NONE_MATCH), ifModifiedSince);
+  }
+
+  // 검증자를 보낸 요청이면 true (검증자를 구하기 위한 조회를 생략할 수 있다)
+  public boolean isConditional() {
+    return ifNoneMatch != null || ifModifiedSince >= 0;
+  }
+
+  // 클라이언트가 가진 응답이 최신이면 true (304 로 응답)
+  public boolean isNotModified(final String etag, final long lastModified) {
+    if (ifNoneMatch != null) {
+      return matches(ifNoneMatch, etag);
+    }
+    // HTTP 날짜는 초 단위이므로 초 단위로 비교
+    return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+  }
+
+  private static boolean matches(final String header, final String etag) {
+    String current = weak(etag);
+    for (String candidate : header.split(",")) {
+      String tag = candidate.trim();
+      if ("*".equals(tag) || current.equals(weak(tag))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String weak(final String etag) {
+    return etag.startsWith("W/") ? etag.substring(2) : etag;
+  }
+
+  // 304 응답 (본문 없음, 검증자만 포함)
+  public static <T> ResponseEntity<T> notModified(final String etag, final long lastModified) {
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache())
+        .eTag(etag).lastModified(lastModified).build();
+  }
+
+  // 200 응답
+  // Cache-Control: no-cache - 브라우저가 캐시한 응답을 그대로 쓰지 않고 매번 검증 요청을 보내도록 한다
+  // (Last-Modified 만 있으면 브라우저가 추정한 유효 기간 동안 요청 없이 캐시를 사용하여, 조회 수가 집계되지 않는다)
+  public static <T> ResponseEntity<T> ok(final T body, final String etag, final long lastModified) {
+    return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).lastModified(lastModified).body(body);
+  }
+}
@@ -0,0 +1,39 @@
+package com.study.board.dto;
+
+import com.study.exception.ErrorCode;
+import lombok.Getter;
+
+// 게시글 일괄 처리 결과 (요청 항목별)
+@Getter
+public class BoardBatchResultDto {
+
+  public enum Status {
+    CREATED, UPDATED, DELETED, NOT_FOUND, FAILED
+  }
+
+  private final int index;        // 요청 목록에서의 순서
+  private final Long id;          // 게시글 번호 (생성에 실패한 경우 NULL)
+  private final Status status;    // 처리 결과
+  private final String code;      // 실패 사유 코드 (ErrorCode)
+  private final String message;   // 실패 사유 (ErrorCode 의 메시지, SQL 이나 드라이버 오류 내용은 응답하지 않는다)
+
+  private BoardBatchResultDto(int index, Long id, Status status, ErrorCode errorCode) {
+    this.index = index;
+    this.id = id;
+    this.status = status;
+    this.code = errorCode == null ? null : errorCode.name();
+    this.message = errorCode == null ? null : errorCode.getMessage();
+  }
+
+  public static BoardBatchResultDto of(int index, Long id, Status status) {
+    return new BoardBatchResultDto(index, id, status, null);
+  }
+
+  public static BoardBatchResultDto failed(int index, Long id, ErrorCode errorCode) {
+    return new BoardBatchResultDto(index, id, Status.FAILED, errorCode);
+  }
+
+  public boolean isSucceeded() {
+    return status == Status.CREATED || status == Status.UPDATED || status == Status.DELETED;
+  }
+}
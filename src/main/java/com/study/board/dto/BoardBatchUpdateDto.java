@@ -0,0 +1,15 @@
+package com.study.board.dto;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 게시글 일괄 수정 요청 항목
+// 수정할 게시글 번호(id)와 BoardRequestDto 의 수정 내용을 함께 전달받는다
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class BoardBatchUpdateDto extends BoardRequestDto {
+
+  private Long id; // PK
+
+}
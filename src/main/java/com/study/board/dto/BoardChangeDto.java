@@ -0,0 +1,27 @@
+package com.study.board.dto;
+
+import com.study.board.event.BoardEvent;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 게시글 변경 로그 (board_change_log 테이블의 한 행)
+// 변경된 게시글 번호와 변경 유형만 기록하며, 다른 인스턴스는 게시글을 DB 에서 다시 읽어 반영한다
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class BoardChangeDto {
+  private Long seq; // 변경 번호 (AUTO_INCREMENT)
+  private Long boardId; // 게시글 번호
+  private BoardEvent.Type changeType; // 변경 유형
+  private String nodeId; // 변경이 발생한 인스턴스
+  private LocalDateTime createdDate; // 기록 시각 (변경이 발생한 인스턴스의 시계)
+
+  public BoardChangeDto(final Long boardId, final BoardEvent.Type changeType, final String nodeId, final LocalDateTime createdDate) {
+    this.boardId = boardId;
+    this.changeType = changeType;
+    this.nodeId = nodeId;
+    this.createdDate = createdDate;
+  }
+}
@@ -0,0 +1,27 @@
+package com.study.board.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 게시글 INSERT 파라미터 (MyBatis 전용 모드)
+// 미리 할당한 게시글 번호와 생성 요청(BoardRequestDto)을 함께 전달한다
+@Getter
+public class BoardInsertDto {
+
+  private final Long id; // PK (BoardIdAllocator 가 할당)
+  private final String title; // 제목
+  private final String content; // 내용
+  private final String writer; // 작성자
+  private final char deleteYn; // 삭제 여부
+  private final LocalDateTime createdDate; // 생성일
+
+  public BoardInsertDto(final Long id, final BoardRequestDto params, final LocalDateTime createdDate) {
+    this.id = id;
+    this.title = params.getTitle();
+    this.content = params.getContent();
+    this.writer = params.getWriter();
+    this.deleteYn = params.getDeleteYn();
+    this.createdDate = createdDate;
+  }
+}
@@ -0,0 +1,16 @@
+package com.study.board.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 게시글 리스트 조회 결과의 한 행 (게시글 요약 + 검색 조건에 해당하는 전체 게시글 수)
+// COUNT(*) OVER() 로 페이지와 전체 게시글 수를 한 번에 조회할 때 사용하며, 전체 게시글 수는 응답에 포함하지 않는다
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class BoardPageRowDto extends BoardSummaryDto {
+  @JsonIgnore
+  private int totalCount; // 전체 게시글 수 (검색 조건 적용)
+}
@@ -19,6 +19,7 @@ public class BoardResponseDto {
   private char deleteYn; // 삭제 여부
   private LocalDateTime createdDate; // 생성일
   private LocalDateTime modifiedDate; // 수정일
+  private long version; // 버전 (ETag, If-Match)
 
   public BoardResponseDto(Board entity) {
     this.id = entity.getId();
@@ -29,6 +30,23 @@ public class BoardResponseDto {
     this.deleteYn = entity.getDeleteYn();
     this.createdDate = entity.getCreatedDate();
     this.modifiedDate = entity.getModifiedDate();
+    this.version = entity.getVersion();
+  }
+
+  // 아직 DB 에 반영되지 않은 조회 수(pendingHits)를 더한 복사본
+  // 캐시에 저장된 객체는 여러 요청이 공유하므로 직접 변경하지 않고 복사해서 응답한다
+  public BoardResponseDto withPendingHits(long pendingHits) {
+    BoardResponseDto copy = new BoardResponseDto();
+    copy.id = this.id;
+    copy.title = this.title;
+    copy.content = this.content;
+    copy.writer = this.writer;
+    copy.hits = this.hits + (int) pendingHits;
+    copy.deleteYn = this.deleteYn;
+    copy.createdDate = this.createdDate;
+    copy.modifiedDate = this.modifiedDate;
+    copy.version = this.version;
+    return copy;
   }
 
   // 응답(Response)도 마찬가지로 Entity 클래스가 사용되어서는 안 되기에 클래스를 분리해서 사용
@@ -0,0 +1,30 @@
+package com.study.board.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 게시글 리스트 응답 (요약)
+// 리스트 화면에서는 내용을 보여주지 않으므로, 내용 대신 SQL 에서 잘라낸 미리보기(preview)만 선택적으로 담는다
+// 내용 전체는 includeContent=true 로 요청한 경우에만 조회한다
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class BoardSummaryDto {
+  private Long id; // PK
+  private String title; // 제목
+  private String writer; // 작성자
+  private int hits; // 조회 수
+  private char deleteYn; // 삭제 여부
+  private LocalDateTime createdDate; // 생성일
+  private LocalDateTime modifiedDate; // 수정일
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String preview; // 내용 미리보기 (previewLength 글자, 요청한 경우에만)
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String content; // 내용 (includeContent=true 인 경우에만)
+}
@@ -17,9 +17,14 @@ import java.time.LocalDateTime;
 public class Board {
 
   @Id // 해당 Entity 가 PK값임을 의미 보통 DB에서는 PK를 bigint타입으로 Entity에서는 Long 타입으로 선언
-  @GeneratedValue(strategy = GenerationType.IDENTITY) // PK생성 전략 설정 어노테이션 mysql 등 Auto_increment 를 지원하면 사용
+  @GeneratedValue(strategy = GenerationType.TABLE, generator = "board_id") // PK생성 전략 설정 어노테이션 mysql 등 Auto_increment 를 지원하면 IDENTITY 사용
                                                       // 오라클처럼 시퀀스를 설정할경우 GenerationType.SEQUENCE 사용
                                                       // GenerationType.AUTO 으로 설정할 경우 db에서 제공하는 PK의 생성 전략을 가져가게된다
+  @TableGenerator(name = "board_id", table = "board_id_seq", pkColumnName = "sequence_name", valueColumnName = "next_val",
+      pkColumnValue = "board", allocationSize = 50)
+                                                      // IDENTITY 는 INSERT 를 실행해야 PK 를 알 수 있어 Hibernate 가 INSERT 를 JDBC 배치로 묶지 못한다
+                                                      // 시퀀스 테이블(board_id_seq)에서 50개 단위로 번호를 미리 할당받아(pooled) 메모리에서 나눠 쓰고,
+                                                      // INSERT 는 hibernate.jdbc.batch_size 단위로 묶어서 실행한다 (테이블 생성 : db/board_id_seq.sql)
   private Long id; // PK
 
   private String title; // 제목
@@ -36,6 +41,10 @@ public class Board {
 
   private LocalDateTime modifiedDate; // 수정일
 
+  @Version  // 낙관적 잠금 - 수정, 삭제될 때마다 1씩 증가하며, UPDATE 의 WHERE 절에 읽은 시점의 버전을 넣어 동시 수정을 감지한다
+            // 행을 잠그지 않으며, 버전이 다르면 UPDATE 된 행이 없으므로 예외가 발생한다 (컬럼 추가 : db/board_version.sql)
+  private long version; // 버전
+
   @Builder  // 롬복에서 제공하는 기능으로 생성자 대신에 이용하는 패턴 (생성자를 대신함)
   public Board(String title, String content, String writer, int hits, char deleteYn) {
     this.title = title;
@@ -58,8 +67,9 @@ public class Board {
     this.hits++;
   }
 
-  // 게시글 삭제
+  // 게시글 삭제 (수정일도 바꾸어 Last-Modified 가 달라지게 한다)
   public void delete() {
     this.deleteYn = 'Y';
+    this.modifiedDate = LocalDateTime.now();
   }
 }
@@ -0,0 +1,57 @@
+package com.study.board.event;
+
+import com.study.board.dto.BoardRequestDto;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 게시글 변경 이벤트
+// BoardService 의 쓰기 작업(생성, 수정, 삭제)이 발생하면 ApplicationEventPublisher 로 발행되며
+// 인메모리 인덱스, 캐시 등은 @TransactionalEventListener 로 커밋된 변경만 전달받아 자신의 상태를 갱신한다
+// 다른 인스턴스에서 발생한 변경은 BoardChangeLogTailer 가 변경 로그에서 읽어 remote=true 로 다시 발행한다 (트랜잭션 밖에서 발행)
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class BoardEvent {
+
+  public enum Type {
+    CREATED, UPDATED, DELETED
+  }
+
+  private static final char LIVE = 'N';  // 노출 상태의 삭제 여부 값
+
+  private final Type type;         // 변경 유형
+  private final Long id;           // 게시글 번호
+  private final String title;      // 제목 (삭제 이벤트는 NULL)
+  private final String content;    // 내용 (삭제 이벤트는 NULL)
+  private final String writer;     // 작성자 (삭제 이벤트는 NULL)
+  private final char deleteYn;     // 삭제 여부
+  private final boolean remote;    // 다른 인스턴스에서 발생한 변경 여부
+
+  // 게시글 생성
+  public static BoardEvent created(final Long id, final BoardRequestDto params) {
+    return new BoardEvent(Type.CREATED, id, params.getTitle(), params.getContent(), params.getWriter(), params.getDeleteYn(), false);
+  }
+
+  // 게시글 수정
+  // 삭제된 게시글은 수정되지 않으므로(updateById 의 delete_yn = 'N' 조건, JpaBoardStore.updateAll 의 삭제 여부 확인) 수정된 게시글은 항상 노출 상태다
+  // 요청의 deleteYn 은 클라이언트가 보낸 값이며 수정 쿼리에 사용되지 않으므로 이벤트에도 사용하지 않는다
+  public static BoardEvent updated(final Long id, final BoardRequestDto params) {
+    return new BoardEvent(Type.UPDATED, id, params.getTitle(), params.getContent(), params.getWriter(), LIVE, false);
+  }
+
+  // 게시글 삭제
+  public static BoardEvent deleted(final Long id) {
+    return new BoardEvent(Type.DELETED, id, null, null, null, 'Y', false);
+  }
+
+  // 다른 인스턴스에서 발생한 변경 (변경 로그에서 읽은 뒤 DB 에서 다시 조회한 게시글)
+  public static BoardEvent remote(final Type type, final Long id, final String title, final String content, final String writer,
+      final char deleteYn) {
+    return new BoardEvent(type, id, title, content, writer, deleteYn, true);
+  }
+
+  // 변경 이후 게시글이 목록에 노출되는지 여부
+  public boolean isLive() {
+    return deleteYn == LIVE;
+  }
+}
@@ -0,0 +1,16 @@
+package com.study.board.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+
+// 조회 수 반영 이벤트
+// BoardHitsCounter 가 누적된 조회 수를 DB 에 커밋한 뒤 발행하며, 게시글 번호별 증가분을 담고 있다
+// 반영에 실패한 경우에도 BoardHitsFlushingEvent 로 알린 게시글에 대해 증가분 0 으로 발행한다
+@Getter
+@RequiredArgsConstructor
+public class BoardHitsFlushedEvent {
+
+  private final Map<Long, Long> deltas;  // 게시글 번호, 반영된 증가분
+}
@@ -0,0 +1,16 @@
+package com.study.board.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+
+// 조회 수 반영 시작 이벤트
+// BoardHitsCounter 가 누적된 조회 수를 DB 에 반영하는 트랜잭션을 시작하기 전에 발행하며,
+// 반영이 끝나면(실패한 경우 증가분 0 으로) 같은 게시글에 대한 BoardHitsFlushedEvent 가 뒤따른다
+@Getter
+@RequiredArgsConstructor
+public class BoardHitsFlushingEvent {
+
+  private final Set<Long> ids;  // 반영할 게시글 번호
+}
@@ -0,0 +1,349 @@
+package com.study.board.feed;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.study.board.event.BoardEvent;
+import com.study.config.BoardProperties;
+import com.study.exception.CustomException;
+import com.study.exception.ErrorCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// 게시글 변경 피드 (GET /api/boards/changes, Server-Sent Events)
+// 리스트 화면이 변경을 확인하려고 리스트 조회(게시글 수, 페이지 조회)를 반복하지 않도록, 커밋된 게시글 변경(생성, 수정, 삭제)의 요약을 구독자에게 보낸다
+//  - 변경은 모든 구독자가 함께 읽는 하나의 링 버퍼(buffer-size)에 한 번만 저장한다 (구독자별 대기열 없음)
+//  - 구독자는 다음에 보낼 변경 번호(cursor)만 가지며, 대기 중인 구독자는 스레드도 DB 커넥션도 사용하지 않는다 (비동기 응답)
+//  - 전송 : 변경이 추가되면 board-feed 스레드가 뒤처진 구독자를 전송 스레드(sender-threads)에 넘기고, 전송 스레드는 max-batch 건씩 보낸다
+//    한 구독자에게는 한 번에 하나의 전송만 진행하므로 느린 구독자는 전송 스레드 하나만 붙잡고, 보내지 못한 변경은 구독자별로 쌓이지 않는다
+//    버퍼 크기보다 더 뒤처지면 reset 이벤트를 보내고 현재 시점부터 다시 보낸다
+//  - 재연결 : 이벤트 id 는 "{epoch}-{변경 번호}" 이며, 브라우저(EventSource)는 재연결할 때 Last-Event-ID 로 보내 이어받는다 (since 파라미터도 가능)
+//    버퍼에서 이미 밀려난 변경이거나 다른 인스턴스(재시작 포함)의 id 이면 reset 이벤트를 보낸다 (클라이언트는 리스트를 다시 조회)
+// 다른 인스턴스의 변경(BoardChangeLogTailer 가 발행한 remote 이벤트)도 함께 보낸다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardChangeFeed {
+
+  private final BoardProperties properties;
+
+  // 변경 요약 (이벤트 data)
+  @Getter
+  public static final class Change {
+    @JsonIgnore
+    private final long seq;         // 변경 번호
+    private final String type;      // 변경 유형 (created, updated, deleted)
+    private final Long id;          // 게시글 번호
+    private final String title;     // 제목 (삭제는 NULL)
+    private final String writer;    // 작성자 (삭제는 NULL)
+    private final char deleteYn;    // 삭제 여부
+    private final long changedAt;   // 반영 시각 (ms)
+
+    private Change(final long seq, final BoardEvent event) {
+      this.seq = seq;
+      this.type = event.getType().name().toLowerCase();
+      this.id = event.getId();
+      this.title = event.getTitle();
+      this.writer = event.getWriter();
+      this.deleteYn = event.getDeleteYn();
+      this.changedAt = System.currentTimeMillis();
+    }
+  }
+
+  // 구독자 (SSE 연결 하나)
+  private static final class Subscriber {
+    private final SseEmitter emitter;
+    private final AtomicBoolean sending = new AtomicBoolean();  // 전송 중 여부 (한 번에 하나의 전송만)
+    private volatile long cursor;                               // 다음에 보낼 변경 번호
+    private volatile long lastSentAt = System.currentTimeMillis();
+    private volatile boolean closed;
+
+    private Subscriber(final SseEmitter emitter) {
+      this.emitter = emitter;
+    }
+  }
+
+  // 인스턴스(시작)마다 다른 값 - 다른 인스턴스나 재시작 이전의 이벤트 id 로는 이어받지 않는다
+  private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final AtomicBoolean dispatchPending = new AtomicBoolean();
+
+  private AtomicReferenceArray<Change> ring;
+  private int mask;
+  private volatile long head = 1;  // 다음에 저장할 변경 번호 (마지막 변경 = head - 1)
+  private ScheduledExecutorService dispatcher;
+  private ExecutorService senders;
+
+  private final LongAdder published = new LongAdder();
+  private final LongAdder sent = new LongAdder();
+  private final LongAdder resets = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+
+  @PostConstruct
+  public void start() {
+    BoardProperties.Feed config = properties.getFeed();
+    if (config.isEnabled() == false) {
+      return;
+    }
+    // 버퍼 크기는 2의 거듭제곱으로 맞추어 & mask 로 위치를 계산한다
+    int capacity = Integer.highestOneBit(Math.max(config.getBufferSize() - 1, 1)) << 1;
+    ring = new AtomicReferenceArray<>(capacity);
+    mask = capacity - 1;
+
+    dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "board-feed");
+      thread.setDaemon(true);
+      return thread;
+    });
+    AtomicInteger sequence = new AtomicInteger();
+    senders = Executors.newFixedThreadPool(Math.max(config.getSenderThreads(), 1), runnable -> {
+      Thread thread = new Thread(runnable, "board-feed-sender-" + sequence.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    long heartbeat = Math.max(config.getHeartbeatMs(), 1000);
+    dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (dispatcher != null) {
+      dispatcher.shutdownNow();
+      senders.shutdownNow();
+    }
+    subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    subscribers.clear();
+  }
+
+  // 변경 저장 (커밋 이후)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBoardEvent(final BoardEvent event) {
+    if (ring == null) {
+      return;
+    }
+    synchronized (this) {
+      long seq = head;
+      ring.set((int) (seq & mask), new Change(seq, event));
+      head = seq + 1;
+    }
+    published.increment();
+
+    // 연속된 변경은 한 번의 전달로 모은다
+    if (dispatchPending.compareAndSet(false, true)) {
+      try {
+        dispatcher.execute(this::dispatch);
+      } catch (RejectedExecutionException e) {
+        dispatchPending.set(false);
+      }
+    }
+  }
+
+  // 구독 (요청 스레드)
+  // lastEventId : 마지막으로 받은 이벤트 id (없으면 현재 시점부터)
+  public SseEmitter subscribe(final String lastEventId) {
+    if (ring == null) {
+      throw new CustomException(ErrorCode.FEATURE_DISABLED);
+    }
+    BoardProperties.Feed config = properties.getFeed();
+    if (subscribers.size() >= config.getMaxSubscribers()) {
+      rejected.increment();
+      throw new CustomException(ErrorCode.SERVICE_BUSY);
+    }
+
+    SseEmitter emitter = new SseEmitter(config.getTimeoutMs());
+    Subscriber subscriber = new Subscriber(emitter);
+    emitter.onCompletion(() -> close(subscriber));
+    emitter.onTimeout(emitter::complete);  // 클라이언트는 Last-Event-ID 로 다시 연결한다
+    emitter.onError(e -> close(subscriber));
+
+    long current = head;
+    long last = lastSeq(lastEventId);
+    try {
+      if (lastEventId == null || lastEventId.isEmpty()) {
+        subscriber.cursor = current;
+        emitter.send(SseEmitter.event().id(token(current - 1)).name("ready").data(Collections.singletonMap("version", token(current - 1))));
+      } else if (last >= oldest(current) - 1 && last < current) {
+        subscriber.cursor = last + 1;
+        emitter.send(SseEmitter.event().id(token(last)).name("ready").data(Collections.singletonMap("version", token(last))));
+      } else {
+        reset(subscriber, current, last < 0 ? "unknown-version" : "expired");
+      }
+    } catch (IOException e) {
+      emitter.completeWithError(e);
+      return emitter;
+    }
+
+    subscribers.add(subscriber);
+    schedule(subscriber);
+    return emitter;
+  }
+
+  // 현재 변경 버전 (리스트 응답에 담아, 리스트를 조회한 이후의 변경부터 구독할 수 있도록 한다)
+  public String currentVersion() {
+    return ring == null ? null : token(head - 1);
+  }
+
+  public int getSubscriberCount() {
+    return subscribers.size();
+  }
+
+  public long getPublishedCount() {
+    return published.sum();
+  }
+
+  public long getSentCount() {
+    return sent.sum();
+  }
+
+  // 뒤처진 구독자를 전송 스레드에 넘긴다 (board-feed 스레드)
+  private void dispatch() {
+    dispatchPending.set(false);
+    for (Subscriber subscriber : subscribers) {
+      schedule(subscriber);
+    }
+  }
+
+  private void schedule(final Subscriber subscriber) {
+    if (subscriber.closed || subscriber.cursor >= head || subscriber.sending.compareAndSet(false, true) == false) {
+      return;
+    }
+    try {
+      senders.execute(() -> drain(subscriber));
+    } catch (RejectedExecutionException e) {
+      subscriber.sending.set(false);
+    }
+  }
+
+  // 구독자에게 최대 max-batch 건 전송 (전송 스레드)
+  private void drain(final Subscriber subscriber) {
+    try {
+      long end = head;
+      long from = subscriber.cursor;
+      if (from < oldest(end)) {
+        reset(subscriber, end, "overrun");
+        return;
+      }
+      long until = Math.min(end, from + Math.max(properties.getFeed().getMaxBatch(), 1));
+      for (long seq = from; seq < until; seq++) {
+        Change change = ring.get((int) (seq & mask));
+        if (change == null || change.getSeq() != seq) {
+          // 전송하는 사이에 버퍼에서 밀려났다
+          reset(subscriber, head, "overrun");
+          return;
+        }
+        subscriber.emitter.send(SseEmitter.event().id(token(seq)).name(change.getType()).data(change));
+        subscriber.cursor = seq + 1;
+        subscriber.lastSentAt = System.currentTimeMillis();
+        sent.increment();
+      }
+    } catch (IOException | IllegalStateException e) {
+      // 연결이 끊어졌거나 이미 완료된 응답
+      close(subscriber);
+      subscriber.emitter.completeWithError(e);
+    } finally {
+      subscriber.sending.set(false);
+    }
+    // 남은 변경이 있으면 이어서 전송 (다른 구독자와 번갈아 가며)
+    schedule(subscriber);
+  }
+
+  // 이어받을 수 없는 경우 : 현재 시점부터 보내며, 클라이언트는 reset 을 받으면 리스트를 다시 조회한다
+  private void reset(final Subscriber subscriber, final long current, final String reason) throws IOException {
+    resets.increment();
+    subscriber.cursor = current;
+    Map<String, Object> data = new LinkedHashMap<>();
+    data.put("reason", reason);
+    data.put("version", token(current - 1));
+    subscriber.emitter.send(SseEmitter.event().id(token(current - 1)).name("reset").data(data));
+    subscriber.lastSentAt = System.currentTimeMillis();
+  }
+
+  // 전송이 없던 구독자에게 주석을 보내 연결을 유지하고, 끊어진 연결을 정리한다 (board-feed 스레드)
+  private void heartbeat() {
+    long threshold = System.currentTimeMillis() - properties.getFeed().getHeartbeatMs();
+    for (Subscriber subscriber : subscribers) {
+      if (subscriber.lastSentAt > threshold || subscriber.sending.compareAndSet(false, true) == false) {
+        continue;
+      }
+      try {
+        senders.execute(() -> {
+          try {
+            subscriber.emitter.send(SseEmitter.event().comment("keepalive"));
+            subscriber.lastSentAt = System.currentTimeMillis();
+          } catch (IOException | IllegalStateException e) {
+            close(subscriber);
+            subscriber.emitter.completeWithError(e);
+          } finally {
+            subscriber.sending.set(false);
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        subscriber.sending.set(false);
+      }
+    }
+  }
+
+  private void close(final Subscriber subscriber) {
+    subscriber.closed = true;
+    subscribers.remove(subscriber);
+  }
+
+  // 버퍼에 남아 있는 가장 오래된 변경 번호
+  private long oldest(final long current) {
+    return Math.max(current - ring.length(), 1);
+  }
+
+  private String token(final long seq) {
+    return epoch + "-" + seq;
+  }
+
+  // 이벤트 id 의 변경 번호 (형식이 다르거나 다른 epoch 이면 -1)
+  private long lastSeq(final String lastEventId) {
+    if (lastEventId == null) {
+      return -1;
+    }
+    int separator = lastEventId.lastIndexOf('-');
+    if (separator < 0 || lastEventId.substring(0, separator).equals(epoch) == false) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(lastEventId.substring(separator + 1));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  public Map<String, Object> status() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("enabled", ring != null);
+    status.put("version", currentVersion());
+    status.put("bufferSize", ring == null ? 0 : ring.length());
+    status.put("subscribers", subscribers.size());
+    status.put("published", published.sum());
+    status.put("sent", sent.sum());
+    status.put("resets", resets.sum());
+    status.put("rejected", rejected.sum());
+    return status;
+  }
+}
@@ -0,0 +1,225 @@
+package com.study.board.hits;
+
+import com.study.board.event.BoardHitsFlushedEvent;
+import com.study.board.event.BoardHitsFlushingEvent;
+import com.study.board.model.BoardMapper;
+import com.study.config.BoardProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// 조회 수 카운터 (write-behind)
+// 게시글 상세 조회마다 UPDATE 와 커밋을 실행하는 대신, 게시글별 LongAdder 에 증가분을 누적해 두었다가
+// 주기적으로(또는 대기 중인 게시글이 많아지면) UPDATE board SET hits = hits + ? 를 JDBC 배치로 한 번에 반영한다
+// LongAdder 는 내부적으로 셀(cell)을 나누어 증가시키기 때문에 인기 게시글에 조회가 몰려도 스레드 간 경합이 적다
+//  - 누적 값은 초기화하지 않고, DB 에 반영한 값(flushed)만 커밋 이후에 올린다 (증가분 = 누적 값 - flushed)
+//    sumThenReset() 은 초기화 도중의 증가를 잃을 수 있고, 반영 중인 증가분을 따로 보관하지 않아도 pending() 이 커밋 전후로 일관된다
+//  - 반영에 실패하면 flushed 가 그대로이므로 다음 주기에 같은 증가분을 다시 반영한다
+//  - 한 주기 동안 조회가 없던 게시글은 맵에서 제거한다. 제거하는 동안 증가 중인 스레드가 끝나기를 기다린 뒤 남은 값을 옮긴다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardHitsCounter {
+
+  // 게시글별 조회 수
+  private static final class Counter {
+    private final LongAdder views = new LongAdder();    // 누적 조회 수 (초기화하지 않음)
+    private final LongAdder writers = new LongAdder();  // 증가 중인 스레드 수
+    private volatile long flushed;                      // DB 에 반영한 조회 수 (board-hits-flush 스레드에서만 변경)
+    private volatile boolean retired;                   // 맵에서 제거됨 (이후의 증가는 새 Counter 에 누적)
+
+    // flushed 를 먼저 읽으므로 반영 중에도 음수가 되지 않는다
+    private long unflushed() {
+      long base = flushed;
+      return views.sum() - base;
+    }
+  }
+
+  // 한 번의 반영에 포함된 게시글별 증가분
+  @RequiredArgsConstructor
+  private static final class Delta {
+    private final Long id;
+    private final Counter counter;
+    private final long count;
+  }
+
+  private final SqlSessionFactory sqlSessionFactory;
+  private final PlatformTransactionManager transactionManager;
+  private final BoardProperties properties;
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final ConcurrentHashMap<Long, Counter> counters = new ConcurrentHashMap<>();
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+  private ScheduledExecutorService scheduler;
+  private SqlSessionTemplate batchSqlSession;
+  private TransactionTemplate transactionTemplate;
+
+  @PostConstruct
+  public void start() {
+    // 배치 실행을 위해 ExecutorType.BATCH 로 동작하는 SqlSessionTemplate 을 별도로 사용
+    batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+    transactionTemplate = new TransactionTemplate(transactionManager);
+
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "board-hits-flush");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long interval = properties.getHits().getFlushIntervalMs();
+    scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  // 애플리케이션 종료 시 남아 있는 증가분을 모두 반영
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    scheduler.shutdown();
+    scheduler.awaitTermination(10, TimeUnit.SECONDS);
+    flush();
+  }
+
+  // 조회 수 증가
+  public void increase(final Long id) {
+    add(id, 1);
+
+    // 대기 중인 게시글이 많아지면 주기를 기다리지 않고 반영
+    if (counters.size() >= properties.getHits().getMaxPendingPosts() && flushRequested.compareAndSet(false, true)) {
+      try {
+        scheduler.execute(this::flushQuietly);
+      } catch (RejectedExecutionException e) {
+        // 종료 중 : stop() 의 마지막 반영에 맡긴다
+        flushRequested.set(false);
+      }
+    }
+  }
+
+  // 아직 DB 에 반영되지 않은 증가분 (반영 중인 증가분 포함)
+  public long pending(final Long id) {
+    Counter counter = counters.get(id);
+    return counter == null ? 0 : counter.unflushed();
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      log.error("BoardHitsCounter flush failed: {}", e.getMessage());
+    }
+  }
+
+  // 누적된 증가분을 DB 에 반영
+  public synchronized void flush() {
+    flushRequested.set(false);
+    List<Delta> deltas = collect();
+    int batchSize = Math.max(1, properties.getHits().getFlushBatchSize());
+    for (int from = 0; from < deltas.size(); from += batchSize) {
+      List<Delta> chunk = deltas.subList(from, Math.min(from + batchSize, deltas.size()));
+      // 반영 전후로 알려서, 캐시가 반영 도중에 DB 에서 읽은 게시글(조회 수 포함 여부를 알 수 없음)을 저장하지 않도록 한다
+      publish(new BoardHitsFlushingEvent(chunk.stream().map(delta -> delta.id).collect(Collectors.toSet())));
+      boolean committed = false;
+      try {
+        transactionTemplate.executeWithoutResult(status -> write(chunk));
+        committed = true;
+      } finally {
+        if (committed) {
+          // 커밋된 증가분은 pending() 에서 빼고 나서 알린다 (캐시가 DB 값을 다시 읽을 때 두 번 더해지지 않도록)
+          chunk.forEach(delta -> delta.counter.flushed += delta.count);
+        }
+        publish(new BoardHitsFlushedEvent(toMap(chunk, committed)));
+      }
+    }
+  }
+
+  // 이벤트 발행에 실패해도 반영 결과는 그대로 둔다 (이미 커밋된 증가분을 다시 반영하지 않는다, 종료 중 리스너 빈을 찾지 못하는 경우 등)
+  private void publish(final Object event) {
+    try {
+      eventPublisher.publishEvent(event);
+    } catch (RuntimeException e) {
+      log.warn("{} publish failed: {}", event.getClass().getSimpleName(), e.getMessage());
+    }
+  }
+
+  private void write(final List<Delta> chunk) {
+    BoardMapper mapper = batchSqlSession.getMapper(BoardMapper.class);
+    for (Delta delta : chunk) {
+      mapper.increaseHits(delta.id, delta.count);
+    }
+    batchSqlSession.flushStatements();
+  }
+
+  // 게시글별 반영할 증가분
+  // 직전 주기 이후 조회가 없던 게시글은 맵에서 제거하고, 제거하는 사이에 증가된 값은 새 Counter 로 옮긴다
+  private List<Delta> collect() {
+    List<Delta> deltas = new ArrayList<>();
+    for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+      Counter counter = entry.getValue();
+      long count = counter.unflushed();
+      if (count > 0) {
+        deltas.add(new Delta(entry.getKey(), counter, count));
+      } else {
+        retire(entry.getKey(), counter);
+      }
+    }
+    return deltas;
+  }
+
+  private void retire(final Long id, final Counter counter) {
+    counter.retired = true;
+    counters.remove(id, counter);
+    // retired 를 보기 전에 writers 를 올린 스레드의 증가가 끝나기를 기다린다 (add() 참고)
+    while (counter.writers.sum() != 0) {
+      Thread.onSpinWait();
+    }
+    long late = counter.unflushed();
+    if (late > 0) {
+      add(id, late);
+    }
+  }
+
+  // 증가분 누적
+  // writers 를 올린 뒤 retired 를 확인하고, retire() 는 retired 를 설정한 뒤 writers 를 확인하므로
+  // 둘 중 적어도 한쪽은 상대의 변경을 본다 : 증가하는 스레드가 retired 를 보면 새 Counter 에 다시 누적하고,
+  // 보지 못했으면 retire() 가 증가가 끝나기를 기다린 뒤 남은 값을 옮긴다
+  private void add(final Long id, final long count) {
+    while (true) {
+      Counter counter = counters.computeIfAbsent(id, key -> new Counter());
+      counter.writers.increment();
+      try {
+        if (counter.retired == false) {
+          counter.views.add(count);
+          return;
+        }
+      } finally {
+        counter.writers.decrement();
+      }
+    }
+  }
+
+  // 반영에 실패한 경우 증가분 0
+  private static Map<Long, Long> toMap(final List<Delta> chunk, final boolean committed) {
+    Map<Long, Long> deltas = new HashMap<>();
+    chunk.forEach(delta -> deltas.put(delta.id, committed ? delta.count : 0L));
+    return deltas;
+  }
+
+}
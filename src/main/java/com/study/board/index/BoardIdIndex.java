@@ -0,0 +1,208 @@
+package com.study.board.index;
+
+import com.study.board.event.BoardEvent;
+import com.study.board.model.BoardMapper;
+import com.study.config.BoardProperties;
+import com.study.paging.CommonParams;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 게시글 번호 인덱스
+// 삭제되지 않은 게시글의 번호(id)를 오름차순 long 배열로 메모리에 보관하여
+// 검색 조건이 없는 리스트 조회에서 COUNT(*) 쿼리와 LIMIT offset 스캔을 대체한다
+//  - 전체 게시글 수 : 배열의 크기 O(1)
+//  - 페이지에 해당하는 게시글 번호 : 배열의 뒤에서부터 잘라낸 값 O(recordPerPage)
+//  - 게시글 데이터 : PK IN (...) 조회
+// 메모리 사용량은 게시글 1건당 8 byte 로, 1,000만 건 기준 약 80MB (재구성 중에는 기존 배열과 합쳐 약 160MB)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardIdIndex {
+
+  private final BoardMapper boardMapper;
+  private final BoardProperties properties;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private SortedLongArray ids = new SortedLongArray(0);
+  private Queue<BoardEvent> pending;  // 재구성 중에 커밋된 변경 이벤트
+  private volatile boolean ready;     // 인덱스 사용 가능 여부
+  private volatile Boolean consistent;          // 마지막 정합성 검사 결과
+  private volatile LocalDateTime lastVerifiedAt;  // 마지막 정합성 검사 시각
+
+  // 애플리케이션 구동이 완료되면 인덱스 구성
+  @EventListener(ApplicationReadyEvent.class)
+  public void init() {
+    if (properties.getIdIndex().isEnabled()) {
+      rebuild();
+    }
+  }
+
+  // 인덱스 사용 가능 여부
+  // 검색 조건(keyword)이 있는 경우에는 조건을 평가할 수 없으므로 DB 에서 조회한다
+  public boolean isAvailable(final CommonParams params) {
+    return ready && (params.getKeyword() == null || params.getKeyword().isEmpty());
+  }
+
+  // 전체 게시글 수
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return ids.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // 페이지에 해당하는 게시글 번호 (id DESC)
+  public List<Long> page(final int limitStart, final int recordPerPage) {
+    long[] slice;
+    lock.readLock().lock();
+    try {
+      slice = ids.sliceDescending(limitStart, recordPerPage);
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    List<Long> page = new ArrayList<>(slice.length);
+    for (long id : slice) {
+      page.add(id);
+    }
+    return page;
+  }
+
+  // 인덱스 재구성
+  // DB 를 읽는 동안 커밋된 변경은 pending 큐에 쌓아두었다가 교체 직전에 다시 반영한다
+  // (추가, 삭제 모두 멱등이므로 DB 조회 결과에 이미 포함된 변경이 다시 반영되어도 문제가 없다)
+  public void rebuild() {
+    Queue<BoardEvent> queue = new ConcurrentLinkedQueue<>();
+    lock.writeLock().lock();
+    try {
+      pending = queue;
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    long start = System.currentTimeMillis();
+    SortedLongArray loaded;
+    try {
+      // 전체 게시글 수로 배열 크기를 미리 잡아, 적재 중 배열 복사가 일어나지 않도록 한다
+      loaded = new SortedLongArray(boardMapper.count(new CommonParams()) + 1024);
+      boardMapper.findAllIds(context -> loaded.add(context.getResultObject()));
+    } catch (RuntimeException e) {
+      lock.writeLock().lock();
+      try {
+        pending = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      throw e;
+    }
+
+    lock.writeLock().lock();
+    try {
+      BoardEvent event;
+      while ((event = queue.poll()) != null) {
+        apply(loaded, event);
+      }
+      ids = loaded;
+      pending = null;
+      ready = true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    log.info("BoardIdIndex rebuilt: {} ids, {} bytes, {} ms", loaded.size(), loaded.capacityBytes(), System.currentTimeMillis() - start);
+  }
+
+  // 게시글 변경 반영 (커밋 이후)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBoardEvent(final BoardEvent event) {
+    if (properties.getIdIndex().isEnabled() == false) {
+      return;
+    }
+
+    lock.writeLock().lock();
+    try {
+      if (pending != null) {
+        pending.add(event);
+      }
+      apply(ids, event);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void apply(final SortedLongArray target, final BoardEvent event) {
+    if (event.isLive()) {
+      target.add(event.getId());
+    } else {
+      target.remove(event.getId());
+    }
+  }
+
+  // DB 정합성 검사
+  // 게시글 수와 게시글 번호의 합계를 DB 와 비교하며, 검사 도중 커밋된 변경으로 인한 일시적인 차이를 고려해 한 번 더 확인한다
+  @Scheduled(fixedDelayString = "${board.id-index.verify-interval-ms:600000}", initialDelayString = "${board.id-index.verify-interval-ms:600000}")
+  public void scheduledVerify() {
+    if (ready) {
+      verify();
+    }
+  }
+
+  public Map<String, Object> verify() {
+    boolean matched = ready && (compare() || compare());
+    consistent = matched;
+    lastVerifiedAt = LocalDateTime.now();
+
+    if (ready && matched == false) {
+      log.warn("BoardIdIndex is inconsistent with the database");
+      if (properties.getIdIndex().isRepairOnMismatch()) {
+        rebuild();
+      }
+    }
+    return status();
+  }
+
+  private boolean compare() {
+    Map<String, Object> checksum = boardMapper.checksumIds();
+    long count = ((Number) checksum.get("cnt")).longValue();
+    long sum = ((Number) checksum.get("id_sum")).longValue();
+
+    lock.readLock().lock();
+    try {
+      return ids.size() == count && ids.sum() == sum;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // 인덱스 상태
+  public Map<String, Object> status() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    lock.readLock().lock();
+    try {
+      status.put("enabled", properties.getIdIndex().isEnabled());
+      status.put("ready", ready);
+      status.put("size", ids.size());
+      status.put("memoryBytes", ids.capacityBytes());
+    } finally {
+      lock.readLock().unlock();
+    }
+    status.put("consistent", consistent);
+    status.put("lastVerifiedAt", lastVerifiedAt);
+    return status;
+  }
+}
@@ -0,0 +1,97 @@
+package com.study.board.index;
+
+import java.util.Arrays;
+
+// 오름차순으로 정렬된 long 배열
+// 게시글 번호는 AUTO_INCREMENT 로 증가하기 때문에 대부분의 추가는 배열 끝에 붙이는 O(1) 연산이 되고,
+// 삭제(또는 중간 삽입)만 System.arraycopy 로 뒤쪽 요소를 이동시킨다
+// 박싱(Long)이나 노드 객체가 없기 때문에 게시글 1건당 8 byte 만 사용한다
+// 동기화는 사용하는 쪽(BoardIdIndex)에서 처리한다
+public class SortedLongArray {
+
+  private long[] values;
+  private int size;
+
+  public SortedLongArray(int capacity) {
+    this.values = new long[Math.max(capacity, 16)];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  // 배열이 점유하고 있는 메모리 (byte)
+  public long capacityBytes() {
+    return (long) values.length * Long.BYTES;
+  }
+
+  public boolean contains(long value) {
+    return Arrays.binarySearch(values, 0, size, value) >= 0;
+  }
+
+  // 값 추가 (이미 존재하면 false)
+  public boolean add(long value) {
+    if (size == 0 || value > values[size - 1]) {
+      ensureCapacity(size + 1);
+      values[size++] = value;
+      return true;
+    }
+
+    int index = Arrays.binarySearch(values, 0, size, value);
+    if (index >= 0) {
+      return false;
+    }
+
+    int insertion = -(index + 1);
+    ensureCapacity(size + 1);
+    System.arraycopy(values, insertion, values, insertion + 1, size - insertion);
+    values[insertion] = value;
+    size++;
+    return true;
+  }
+
+  // 값 삭제 (존재하지 않으면 false)
+  public boolean remove(long value) {
+    int index = Arrays.binarySearch(values, 0, size, value);
+    if (index < 0) {
+      return false;
+    }
+
+    System.arraycopy(values, index + 1, values, index, size - index - 1);
+    size--;
+    return true;
+  }
+
+  // 내림차순 기준 offset 번째부터 limit 개의 값
+  // 게시글 리스트는 id DESC 로 정렬되므로 배열의 뒤에서부터 읽는다
+  public long[] sliceDescending(int offset, int limit) {
+    int from = size - 1 - Math.max(offset, 0);
+    if (from < 0 || limit < 1) {
+      return new long[0];
+    }
+
+    int length = Math.min(limit, from + 1);
+    long[] slice = new long[length];
+    for (int i = 0; i < length; i++) {
+      slice[i] = values[from - i];
+    }
+    return slice;
+  }
+
+  // 전체 값의 합계 (DB 정합성 검사용)
+  public long sum() {
+    long sum = 0;
+    for (int i = 0; i < size; i++) {
+      sum += values[i];
+    }
+    return sum;
+  }
+
+  private void ensureCapacity(int required) {
+    if (required <= values.length) {
+      return;
+    }
+    int capacity = Math.max(values.length + (values.length >> 1), required);
+    values = Arrays.copyOf(values, capacity);
+  }
+}
@@ -0,0 +1,222 @@
+package com.study.board.model;
+
+import com.study.board.dto.BoardBatchResultDto;
+import com.study.board.dto.BoardBatchResultDto.Status;
+import com.study.board.dto.BoardBatchUpdateDto;
+import com.study.board.dto.BoardRequestDto;
+import com.study.board.event.BoardEvent;
+import com.study.config.BoardProperties;
+import com.study.exception.CustomException;
+import com.study.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 게시글 일괄 생성, 수정, 삭제
+// 요청 항목을 board.batch.chunk-size 단위로 나누어 청크마다 하나의 트랜잭션으로 처리한다
+//  - 청크의 INSERT/UPDATE 는 flush 시점에 hibernate.jdbc.batch_size 단위의 JDBC 배치로 실행 (PK 는 시퀀스 테이블에서 미리 할당)
+//    mybatis 프로파일에서는 청크의 INSERT 를 한 번의 INSERT (여러 행)로, 삭제를 한 번의 UPDATE 로 실행한다 (MyBatisBoardStore)
+//  - 청크가 실패하면 해당 청크만 롤백한 뒤, 항목별 트랜잭션으로 다시 처리하여 실패한 항목을 찾아낸다
+//  - 이미 커밋된 청크는 되돌리지 않으며, 응답에는 항목별 처리 결과를 담는다
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BoardBatchService {
+
+  private final BoardStore boardStore;
+  private final PlatformTransactionManager transactionManager;
+  private final BoardProperties properties;
+  private final ApplicationEventPublisher eventPublisher;
+
+  private TransactionTemplate transactionTemplate;
+
+  // 청크(from ~ to) 처리 로직, 결과는 results 의 같은 위치에 기록
+  private interface ChunkWriter {
+    void write(int from, int to, BoardBatchResultDto[] results);
+  }
+
+  @PostConstruct
+  public void init() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  // 게시글 일괄 생성
+  public Map<String, Object> saveAll(final List<BoardRequestDto> items) {
+    validate(items);
+    return process(items.size(), (from, to, results) -> {
+      List<Integer> positions = new ArrayList<>();
+      List<BoardRequestDto> valid = new ArrayList<>();
+      for (int i = from; i < to; i++) {
+        BoardRequestDto item = items.get(i);
+        if (item == null) {
+          results[i] = BoardBatchResultDto.failed(i, null, ErrorCode.BAD_REQUEST);
+          continue;
+        }
+        positions.add(i);
+        valid.add(item);
+      }
+      if (valid.isEmpty()) {
+        return;
+      }
+
+      List<Long> ids = boardStore.saveAll(valid);
+      for (int k = 0; k < ids.size(); k++) {
+        int i = positions.get(k);
+        eventPublisher.publishEvent(BoardEvent.created(ids.get(k), valid.get(k)));
+        results[i] = BoardBatchResultDto.of(i, ids.get(k), Status.CREATED);
+      }
+    });
+  }
+
+  // 게시글 일괄 수정 (삭제된 게시글은 NOT_FOUND)
+  public Map<String, Object> updateAll(final List<BoardBatchUpdateDto> items) {
+    validate(items);
+    return process(items.size(), (from, to, results) -> {
+      List<BoardBatchUpdateDto> valid = new ArrayList<>();
+      for (int i = from; i < to; i++) {
+        BoardBatchUpdateDto item = items.get(i);
+        if (item != null && item.getId() != null) {
+          valid.add(item);
+        }
+      }
+      Set<Long> updated = valid.isEmpty() ? Collections.emptySet() : boardStore.updateAll(valid);
+
+      for (int i = from; i < to; i++) {
+        BoardBatchUpdateDto item = items.get(i);
+        if (item == null || item.getId() == null) {
+          results[i] = BoardBatchResultDto.failed(i, null, ErrorCode.BAD_REQUEST);
+          continue;
+        }
+        if (updated.contains(item.getId()) == false) {
+          results[i] = BoardBatchResultDto.of(i, item.getId(), Status.NOT_FOUND);
+          continue;
+        }
+        eventPublisher.publishEvent(BoardEvent.updated(item.getId(), item));
+        results[i] = BoardBatchResultDto.of(i, item.getId(), Status.UPDATED);
+      }
+    });
+  }
+
+  // 게시글 일괄 삭제
+  public Map<String, Object> deleteAll(final List<Long> ids) {
+    validate(ids);
+    return process(ids.size(), (from, to, results) -> {
+      List<Long> valid = new ArrayList<>();
+      for (int i = from; i < to; i++) {
+        if (ids.get(i) != null) {
+          valid.add(ids.get(i));
+        }
+      }
+      Set<Long> found = valid.isEmpty() ? Collections.emptySet() : boardStore.deleteAll(valid);
+
+      for (int i = from; i < to; i++) {
+        Long id = ids.get(i);
+        if (id == null) {
+          results[i] = BoardBatchResultDto.failed(i, null, ErrorCode.BAD_REQUEST);
+          continue;
+        }
+        if (found.contains(id) == false) {
+          results[i] = BoardBatchResultDto.of(i, id, Status.NOT_FOUND);
+          continue;
+        }
+        eventPublisher.publishEvent(BoardEvent.deleted(id));
+        results[i] = BoardBatchResultDto.of(i, id, Status.DELETED);
+      }
+    });
+  }
+
+  // 요청 항목 수 검사
+  private void validate(final List<?> items) {
+    if (items == null || items.isEmpty() || items.size() > properties.getBatch().getMaxItems()) {
+      throw new CustomException(ErrorCode.BAD_REQUEST);
+    }
+  }
+
+  // 청크 단위 처리
+  private Map<String, Object> process(final int size, final ChunkWriter writer) {
+    long start = System.nanoTime();
+    int chunkSize = Math.max(properties.getBatch().getChunkSize(), 1);
+    BoardBatchResultDto[] results = new BoardBatchResultDto[size];
+    int chunks = 0;
+    int retriedChunks = 0;
+
+    for (int from = 0; from < size; from += chunkSize) {
+      int to = Math.min(from + chunkSize, size);
+      chunks++;
+      try {
+        writeInTransaction(writer, from, to, results);
+      } catch (RuntimeException e) {
+        log.warn("board batch chunk [{}, {}) failed, retrying item by item : {}", from, to, e.getMessage());
+        retriedChunks++;
+        writeOneByOne(writer, from, to, results);
+      }
+    }
+
+    int succeeded = 0;
+    for (BoardBatchResultDto result : results) {
+      if (result.isSucceeded()) {
+        succeeded++;
+      }
+    }
+
+    // 데이터 반환
+    Map<String, Object> response = new LinkedHashMap<>();
+    response.put("total", size);
+    response.put("succeeded", succeeded);
+    response.put("failed", size - succeeded);
+    response.put("chunks", chunks);
+    response.put("retriedChunks", retriedChunks);
+    response.put("elapsedMs", (System.nanoTime() - start) / 1_000_000);
+    response.put("results", Arrays.asList(results));
+    return response;
+  }
+
+  // 청크에 실패한 항목이 있으면, 항목별 트랜잭션으로 처리하여 성공한 항목만 반영
+  private void writeOneByOne(final ChunkWriter writer, final int from, final int to, final BoardBatchResultDto[] results) {
+    for (int i = from; i < to; i++) {
+      try {
+        writeInTransaction(writer, i, i + 1, results);
+      } catch (RuntimeException e) {
+        // 생성 요청은 롤백된 번호를 응답하지 않는다
+        Long id = results[i] == null || results[i].getStatus() == Status.CREATED ? null : results[i].getId();
+        log.warn("board batch item {} failed : {}", i, e.getMessage());
+        results[i] = BoardBatchResultDto.failed(i, id, errorCode(e));
+      }
+    }
+  }
+
+  // 항목별 실패 사유 (예외 메시지에는 SQL, 제약 조건 이름, 드라이버 정보가 포함되므로 ErrorCode 로 바꾸어 응답한다)
+  //  - CustomException : 예외의 ErrorCode
+  //  - 제약 조건 위반, 컬럼 길이 초과 등 요청 값으로 인한 오류 : BAD_REQUEST
+  //  - 그 밖의 오류 : INTERNAL_SERVER_ERROR
+  private static ErrorCode errorCode(final RuntimeException e) {
+    if (e instanceof CustomException) {
+      return ((CustomException) e).getErrorCode();
+    }
+    if (e instanceof DataIntegrityViolationException) {
+      return ErrorCode.BAD_REQUEST;
+    }
+    return ErrorCode.INTERNAL_SERVER_ERROR;
+  }
+
+  private void writeInTransaction(final ChunkWriter writer, final int from, final int to, final BoardBatchResultDto[] results) {
+    transactionTemplate.executeWithoutResult(status -> {
+      writer.write(from, to, results);
+      // 커밋 전에 INSERT/UPDATE 를 JDBC 배치로 실행하고, 영속성 컨텍스트를 비워 청크가 끝날 때마다 메모리를 반환 (JPA)
+      boardStore.flush();
+    });
+  }
+}
@@ -0,0 +1,109 @@
+package com.study.board.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.board.dto.BoardResponseDto;
+import com.study.exception.CustomException;
+import com.study.exception.ErrorCode;
+import com.study.paging.CommonParams;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+
+// 게시글 내보내기 (NDJSON, CSV)
+// BoardMapper.findAllForExport 의 Cursor 에서 한 건씩 읽은 게시글을 바로 응답에 쓰기 때문에
+// 게시글 수와 관계없이 메모리에는 드라이버의 fetchSize 만큼의 행과 응답 버퍼만 유지된다
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BoardExportService {
+
+  public static final String NDJSON = "ndjson";
+  public static final String CSV = "csv";
+
+  private static final String[] CSV_HEADER = {"id", "title", "content", "writer", "hits", "created_date", "modified_date"};
+
+  private final BoardMapper boardMapper;
+  private final ObjectMapper objectMapper;
+
+  // 지원하는 형식인지 검사 (응답을 쓰기 시작하기 전에 호출)
+  public String format(final String format) {
+    String value = format == null ? NDJSON : format.trim().toLowerCase();
+    if (NDJSON.equals(value) == false && CSV.equals(value) == false) {
+      throw new CustomException(ErrorCode.BAD_REQUEST);
+    }
+    return value;
+  }
+
+  public String contentType(final String format) {
+    return CSV.equals(format) ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8";
+  }
+
+  // 게시글 내보내기
+  // Cursor 는 트랜잭션이 끝나면 닫히므로, 응답을 모두 쓸 때까지 읽기 전용 트랜잭션을 유지한다
+  @Transactional(readOnly = true)
+  public long export(final CommonParams params, final String format, final Writer writer) throws IOException {
+    boolean csv = CSV.equals(format);
+    if (csv) {
+      // 엑셀에서 한글이 깨지지 않도록 BOM 을 붙인다
+      writer.write('\uFEFF');
+      writer.write(String.join(",", CSV_HEADER));
+      writer.write("\r\n");
+    }
+
+    long count = 0;
+    try (Cursor<BoardResponseDto> cursor = boardMapper.findAllForExport(params)) {
+      for (BoardResponseDto board : cursor) {
+        if (csv) {
+          writeCsv(board, writer);
+        } else {
+          writer.write(objectMapper.writeValueAsString(board));
+          writer.write('\n');
+        }
+        count++;
+      }
+    }
+    writer.flush();
+    log.debug("board export finished : format={}, rows={}", format, count);
+    return count;
+  }
+
+  private static void writeCsv(final BoardResponseDto board, final Writer writer) throws IOException {
+    writer.write(String.valueOf(board.getId()));
+    writer.write(',');
+    writer.write(escape(board.getTitle()));
+    writer.write(',');
+    writer.write(escape(board.getContent()));
+    writer.write(',');
+    writer.write(escape(board.getWriter()));
+    writer.write(',');
+    writer.write(String.valueOf(board.getHits()));
+    writer.write(',');
+    writer.write(format(board.getCreatedDate()));
+    writer.write(',');
+    writer.write(format(board.getModifiedDate()));
+    writer.write("\r\n");
+  }
+
+  // RFC 4180 : 쉼표, 큰따옴표, 줄바꿈이 포함된 값은 큰따옴표로 감싸고 내부의 큰따옴표는 두 번 쓴다
+  private static String escape(final String value) {
+    if (value == null) {
+      return "";
+    }
+    boolean quote = false;
+    for (int i = 0; i < value.length() && quote == false; i++) {
+      char c = value.charAt(i);
+      quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+    return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+  }
+
+  private static String format(final LocalDateTime dateTime) {
+    return dateTime == null ? "" : dateTime.toString();
+  }
+}
@@ -0,0 +1,266 @@
+package com.study.board.model;
+
+import com.study.board.dto.BoardRequestDto;
+import com.study.board.event.BoardEvent;
+import com.study.config.BoardProperties;
+import com.study.datasource.DataSourceRouting;
+import com.study.exception.CustomException;
+import com.study.exception.ErrorCode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// 게시글 생성 그룹 커밋 (board.group-commit.enabled=true 인 경우)
+// 동시에 들어온 생성 요청을 대기열에 모아, 커밋 스레드가 여러 건을 하나의 트랜잭션으로 저장한다
+//  - 첫 요청을 꺼낸 뒤 window-ms 동안 또는 max-batch-size 건이 모일 때까지 다음 요청을 모은다
+//  - INSERT 는 flush 시점에 JDBC 배치로(mybatis 프로파일은 한 번의 INSERT 로) 실행되고(PK 는 시퀀스 테이블에서 미리 할당), 커밋(로그 flush)은 묶음당 한 번만 발생한다
+//  - 요청마다 CompletableFuture 로 자신의 게시글 번호를 돌려받는다
+//  - 묶음이 실패하면 failure-isolation=individual 이면 한 건씩 다시 저장하여 실패한 요청만 오류로 응답하고, group 이면 묶음 전체를 오류로 응답한다
+// 커밋 스레드는 하나이므로, 커밋 중에 들어온 요청은 다음 묶음에 모인다 (요청이 많을수록 묶음이 커진다)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardGroupCommit {
+
+  public static final String INDIVIDUAL = "individual";
+  public static final String GROUP = "group";
+
+  private final BoardStore boardStore;
+  private final PlatformTransactionManager transactionManager;
+  private final BoardProperties properties;
+  private final ApplicationEventPublisher eventPublisher;
+  private final MeterRegistry meterRegistry;
+
+  // 대기 중인 생성 요청
+  private static final class Pending {
+    private final BoardRequestDto params;
+    private final CompletableFuture<Long> future = new CompletableFuture<>();
+
+    private Pending(final BoardRequestDto params) {
+      this.params = params;
+    }
+  }
+
+  private TransactionTemplate transactionTemplate;
+  private BlockingQueue<Pending> queue;
+  private Thread committer;
+  private volatile boolean running;
+
+  private final LongAdder groups = new LongAdder();        // 커밋한 묶음 수
+  private final LongAdder committed = new LongAdder();     // 저장된 게시글 수
+  private final LongAdder failedGroups = new LongAdder();  // 실패한 묶음 수
+  private final LongAdder failed = new LongAdder();        // 실패한 요청 수
+  private final LongAdder rejected = new LongAdder();      // 대기열이 가득 차 거절한 요청 수
+  private final AtomicInteger maxGroupSize = new AtomicInteger();
+
+  @PostConstruct
+  public void init() {
+    BoardProperties.GroupCommit config = properties.getGroupCommit();
+    if (INDIVIDUAL.equals(config.getFailureIsolation()) == false && GROUP.equals(config.getFailureIsolation()) == false) {
+      throw new IllegalArgumentException("board.group-commit.failure-isolation must be one of individual, group: " + config.getFailureIsolation());
+    }
+    transactionTemplate = new TransactionTemplate(transactionManager);
+
+    // BoardStore(mybatis 프로파일은 BoardMapper)를 사용하는 빈이므로 MeterBinder 가 아닌 여기서 직접 등록한다 (MetricsConfig 참고)
+    Gauge.builder("board.group-commit.queued", this, BoardGroupCommit::getQueuedCount).register(meterRegistry);
+    FunctionCounter.builder("board.group-commit.groups", this, BoardGroupCommit::getGroupCount).register(meterRegistry);
+    FunctionCounter.builder("board.group-commit.committed", this, BoardGroupCommit::getCommittedCount).register(meterRegistry);
+    FunctionCounter.builder("board.group-commit.failed", this, BoardGroupCommit::getFailedCount).register(meterRegistry);
+    if (config.isEnabled() == false) {
+      return;
+    }
+    queue = new ArrayBlockingQueue<>(Math.max(config.getQueueCapacity(), 1));
+    running = true;
+    committer = new Thread(this::run, "board-group-commit");
+    committer.setDaemon(true);
+    committer.start();
+  }
+
+  // 대기 중인 요청을 모두 저장한 뒤 종료
+  @PreDestroy
+  public void destroy() throws InterruptedException {
+    if (committer == null) {
+      return;
+    }
+    running = false;
+    committer.join(TimeUnit.SECONDS.toMillis(10));
+    Pending pending;
+    while ((pending = queue.poll()) != null) {
+      pending.future.completeExceptionally(new CustomException(ErrorCode.SERVICE_BUSY));
+    }
+  }
+
+  public boolean isEnabled() {
+    return committer != null;
+  }
+
+  // 게시글 생성 요청 (커밋되면 게시글 번호로 완료)
+  public CompletableFuture<Long> submit(final BoardRequestDto params) {
+    Pending pending = new Pending(params);
+    if (running == false || queue.offer(pending) == false) {
+      rejected.increment();
+      pending.future.completeExceptionally(new CustomException(ErrorCode.SERVICE_BUSY));
+      return pending.future;
+    }
+    // 커밋 스레드의 쓰기는 요청의 라우팅 상태에 남지 않으므로, 저장이 끝나면 요청 상태에 쓰기를 기록한다 (read-your-writes 쿠키)
+    // 응답(비동기 디스패치)은 아래 단계가 끝난 뒤 완료되는 future 로 만들어진다
+    DataSourceRouting.Context context = DataSourceRouting.current();
+    if (context == null) {
+      return pending.future;
+    }
+    return pending.future.thenApply(id -> {
+      DataSourceRouting.markWritten(context);
+      return id;
+    });
+  }
+
+  private void run() {
+    while (running || queue.isEmpty() == false) {
+      try {
+        List<Pending> group = collect();
+        if (group.isEmpty() == false) {
+          commit(group);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        log.error("board group commit loop failed", e);
+      }
+    }
+  }
+
+  // 첫 요청 이후 window-ms 가 지나거나 max-batch-size 건이 모이면 반환
+  private List<Pending> collect() throws InterruptedException {
+    Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+    if (first == null) {
+      return Collections.emptyList();
+    }
+    BoardProperties.GroupCommit config = properties.getGroupCommit();
+    int maxBatchSize = Math.max(config.getMaxBatchSize(), 1);
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getWindowMs());
+
+    List<Pending> group = new ArrayList<>(Math.min(maxBatchSize, 256));
+    group.add(first);
+    while (group.size() < maxBatchSize) {
+      // 이미 대기 중인 요청은 기다리지 않고 꺼낸다
+      if (queue.drainTo(group, maxBatchSize - group.size()) > 0) {
+        continue;
+      }
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        break;
+      }
+      Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        break;
+      }
+      group.add(next);
+    }
+    return group;
+  }
+
+  private void commit(final List<Pending> group) {
+    maxGroupSize.accumulateAndGet(group.size(), Math::max);
+    try {
+      List<Long> ids = write(group);
+      groups.increment();
+      committed.add(ids.size());
+      for (int i = 0; i < group.size(); i++) {
+        group.get(i).future.complete(ids.get(i));
+      }
+    } catch (RuntimeException e) {
+      failedGroups.increment();
+      if (group.size() == 1 || GROUP.equals(properties.getGroupCommit().getFailureIsolation())) {
+        log.warn("board group commit of {} posts failed : {}", group.size(), e.getMessage());
+        failed.add(group.size());
+        for (Pending pending : group) {
+          pending.future.completeExceptionally(e);
+        }
+        return;
+      }
+      // 한 건씩 다시 저장하여 실패한 요청만 오류로 응답
+      log.warn("board group commit of {} posts failed, retrying one by one : {}", group.size(), e.getMessage());
+      for (Pending pending : group) {
+        try {
+          Long id = write(Collections.singletonList(pending)).get(0);
+          committed.increment();
+          pending.future.complete(id);
+        } catch (RuntimeException retryFailure) {
+          failed.increment();
+          pending.future.completeExceptionally(retryFailure);
+        }
+      }
+    }
+  }
+
+  // 묶음을 하나의 트랜잭션으로 저장 (이벤트는 커밋 이후에 전달된다)
+  private List<Long> write(final List<Pending> group) {
+    return transactionTemplate.execute(status -> {
+      List<BoardRequestDto> params = new ArrayList<>(group.size());
+      for (Pending pending : group) {
+        params.add(pending.params);
+      }
+      List<Long> ids = boardStore.saveAll(params);
+      for (int i = 0; i < ids.size(); i++) {
+        eventPublisher.publishEvent(BoardEvent.created(ids.get(i), params.get(i)));
+      }
+      boardStore.flush();
+      return ids;
+    });
+  }
+
+  public int getQueuedCount() {
+    return queue == null ? 0 : queue.size();
+  }
+
+  public long getGroupCount() {
+    return groups.sum();
+  }
+
+  public long getCommittedCount() {
+    return committed.sum();
+  }
+
+  public long getFailedCount() {
+    return failed.sum();
+  }
+
+  public Map<String, Object> status() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    long groupCount = groups.sum();
+    status.put("enabled", isEnabled());
+    status.put("maxBatchSize", properties.getGroupCommit().getMaxBatchSize());
+    status.put("windowMs", properties.getGroupCommit().getWindowMs());
+    status.put("failureIsolation", properties.getGroupCommit().getFailureIsolation());
+    status.put("queued", getQueuedCount());
+    status.put("groups", groupCount);
+    status.put("committed", committed.sum());
+    status.put("averageGroupSize", groupCount == 0 ? 0 : (double) committed.sum() / groupCount);
+    status.put("maxGroupSize", maxGroupSize.get());
+    status.put("failedGroups", failedGroups.sum());
+    status.put("failed", failed.sum());
+    status.put("rejected", rejected.sum());
+    return status;
+  }
+}
@@ -0,0 +1,88 @@
+package com.study.board.model;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+
+// 게시글 번호 할당 (mybatis 프로파일)
+// Board 엔티티의 @TableGenerator(allocationSize = 50) 와 같은 board_id_seq 행을 Hibernate pooled 방식 그대로 사용하므로,
+// JPA 모드와 번갈아 실행하거나 함께 실행해도 번호가 겹치지 않는다
+//  - next_val 을 읽어 ALLOCATION_SIZE 만큼 증가시키고, 읽은 값 이하의 50개 번호(next_val - 49 ~ next_val)를 메모리에서 나눠 쓴다
+//  - 처음 읽은 값이 초기값(1)이면 한 번 더 읽어 1 ~ 두 번째로 읽은 값까지 사용한다 (Hibernate 와 동일)
+//  - 번호 구간은 별도 트랜잭션(REQUIRES_NEW)에서 할당한다 (게시글을 저장하는 트랜잭션이 끝날 때까지 board_id_seq 행을 잠그지 않도록)
+@Component
+@Profile("mybatis")
+@RequiredArgsConstructor
+public class BoardIdAllocator {
+
+  static final String SEQUENCE_NAME = "board";  // board_id_seq.sequence_name (Board 엔티티의 pkColumnValue)
+  static final int ALLOCATION_SIZE = 50;        // Board 엔티티의 allocationSize 와 같아야 한다
+  private static final long INITIAL_VALUE = 1;  // Hibernate TableGenerator 의 초기값
+
+  private final BoardMapper boardMapper;
+  private final PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate newTransaction;
+  private long hi;            // 현재 구간의 마지막 번호
+  private long value;         // 다음에 할당할 번호
+  private boolean allocated;  // 구간을 한 번이라도 할당했는지 여부
+
+  @PostConstruct
+  public void init() {
+    newTransaction = new TransactionTemplate(transactionManager);
+    newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  // 게시글 번호 한 개
+  public synchronized Long next() {
+    if (allocated == false) {
+      long first = fetch();
+      if (first == INITIAL_VALUE) {
+        value = first;
+        hi = fetch();
+      } else {
+        value = first - (ALLOCATION_SIZE - 1);
+        hi = first;
+      }
+      allocated = true;
+    } else if (value > hi) {
+      hi = fetch();
+      value = hi - (ALLOCATION_SIZE - 1);
+    }
+    return value++;
+  }
+
+  // 게시글 번호 count 개 (오름차순)
+  public synchronized List<Long> next(final int count) {
+    List<Long> ids = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      ids.add(next());
+    }
+    return ids;
+  }
+
+  // board_id_seq 의 현재 값을 읽고 ALLOCATION_SIZE 만큼 증가 (읽은 값을 반환)
+  // 행을 잠그고 읽으므로 보통 한 번에 끝나며, 다른 인스턴스가 먼저 증가시킨 경우에는 다시 읽는다
+  private long fetch() {
+    while (true) {
+      Long current = newTransaction.execute(status -> {
+        Long read = boardMapper.findIdSequence(SEQUENCE_NAME);
+        if (read == null) {
+          boardMapper.insertIdSequence(SEQUENCE_NAME, INITIAL_VALUE);
+          read = INITIAL_VALUE;
+        }
+        return boardMapper.updateIdSequence(SEQUENCE_NAME, read, read + ALLOCATION_SIZE) == 1 ? read : null;
+      });
+      if (current != null) {
+        return current;
+      }
+    }
+  }
+}
@@ -0,0 +1,205 @@
+package com.study.board.model;
+
+import com.study.board.dto.BoardPageRowDto;
+import com.study.board.dto.BoardSummaryDto;
+import com.study.bulkhead.ContextPropagatingTaskDecorator;
+import com.study.config.BoardProperties;
+import com.study.paging.CommonParams;
+import com.study.paging.Pagination;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// 게시글 리스트와 게시글 수 조회 (오프셋 페이징, DB 조회)
+// board.list.count-strategy 로 조회 방식을 선택한다
+//  - separate : count() 후 findAll() (BoardService 에서 순서대로 실행)
+//  - window : findAllWithCount() 한 번으로 페이지와 COUNT(*) OVER() 를 함께 조회 (같은 시점의 데이터, 검색 조건 한 번 평가)
+//  - parallel : count() 와 findAll() 을 서로 다른 커넥션에서 동시에 실행 (응답 시간은 둘 중 느린 쿼리 기준, 두 결과의 시점은 다를 수 있음)
+// parallel 은 두 쿼리를 모두 별도 스레드의 읽기 전용 트랜잭션에서 실행하고, 요청 스레드는 커넥션을 잡지 않은 채 결과를 기다린다
+// (요청 스레드가 커넥션을 잡고 다른 커넥션이 필요한 작업을 기다리면, 동시 요청이 풀 크기에 이르렀을 때 서로 커넥션을 기다리며 멈춘다)
+// 호출하는 쪽의 트랜잭션은 아직 커넥션을 가져오지 않은 상태여야 한다 (DatabaseConfig 의 LazyConnectionDataSourceProxy)
+// 조회 스레드가 모두 사용 중이면 요청 스레드에서 순서대로 조회한다 (separate 와 같음)
+// window 쿼리가 SQL 문법 오류로 실패하면(윈도 함수를 지원하지 않는 DB) 그 요청만 요청 스레드에서 순서대로 다시 조회한다
+// (실패한 쿼리로 이미 커넥션을 가져왔으므로 parallel 로 조회하지 않는다)
+// (연결 실패, 시간 초과 같은 일시적인 오류는 그대로 전달하고, 설정한 조회 방식은 바꾸지 않는다)
+// 요청한 페이지가 마지막 페이지를 넘으면 조회된 게시글이 없으므로, 게시글 수로 페이지 번호를 보정한 뒤 다시 조회한다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardListQuery {
+
+  public static final String SEPARATE = "separate";
+  public static final String WINDOW = "window";
+  public static final String PARALLEL = "parallel";
+
+  private final BoardMapper boardMapper;
+  private final BoardProperties properties;
+  private final PlatformTransactionManager transactionManager;
+
+  private String strategy;
+  private TransactionTemplate readOnlyTransaction;
+  private ThreadPoolTaskExecutor queryExecutor;
+  private Semaphore queryThreads;  // 사용 중이 아닌 조회 스레드 수 (요청 하나가 두 개를 사용)
+
+  private final LongAdder windowQueries = new LongAdder();
+  private final LongAdder parallelQueries = new LongAdder();
+  private final LongAdder sequentialQueries = new LongAdder();  // 조회 스레드가 부족하여 순서대로 조회한 parallel 요청
+  private final LongAdder windowFallbacks = new LongAdder();  // window 쿼리 실패로 순서대로 다시 조회한 요청
+  private final LongAdder requeries = new LongAdder();  // 마지막 페이지를 넘은 요청의 재조회
+
+  @PostConstruct
+  public void init() {
+    String configured = properties.getList().getCountStrategy();
+    if (WINDOW.equals(configured) == false && PARALLEL.equals(configured) == false && SEPARATE.equals(configured) == false) {
+      throw new IllegalArgumentException("board.list.count-strategy must be one of separate, window, parallel: " + configured);
+    }
+    strategy = configured;
+
+    // 게시글 리스트와 게시글 수는 각각 별도 스레드의 읽기 전용 트랜잭션에서 조회 (replica 가 설정된 경우 replica 로 라우팅)
+    readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+
+    // 스레드 수만큼의 허가(queryThreads)를 얻은 요청만 제출하므로 대기열에는 작업이 쌓이지 않는다
+    int threads = Math.max(2, properties.getList().getParallelThreads());
+    queryThreads = new Semaphore(threads);
+    queryExecutor = new ThreadPoolTaskExecutor();
+    queryExecutor.setCorePoolSize(threads);
+    queryExecutor.setMaxPoolSize(threads);
+    queryExecutor.setThreadNamePrefix("board-list-");
+    queryExecutor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+    queryExecutor.initialize();
+  }
+
+  @PreDestroy
+  public void destroy() {
+    queryExecutor.shutdown();
+  }
+
+  // 게시글 수와 게시글 리스트를 따로 조회하는 방식이면 true (BoardService 에서 조회)
+  public boolean isSeparate() {
+    return SEPARATE.equals(strategy);
+  }
+
+  // 게시글 리스트 조회 (params 에 페이지네이션 정보 설정, 게시글이 없으면 NULL)
+  public List<BoardSummaryDto> findPage(final CommonParams params) {
+    if (WINDOW.equals(strategy)) {
+      try {
+        return findPageWithWindow(params);
+      } catch (BadSqlGrammarException e) {
+        log.warn("COUNT(*) OVER() list query failed, retrying with a separate count: {}", e.getMessage());
+        windowFallbacks.increment();
+        params.setPagination(null);
+        return findPageSequentially(params);
+      }
+    }
+    return findPageInParallel(params);
+  }
+
+  private List<BoardSummaryDto> findPageWithWindow(final CommonParams params) {
+    windowQueries.increment();
+    List<BoardPageRowDto> rows = boardMapper.findAllWithCount(params);
+    if (rows.isEmpty()) {
+      return params.getPage() > 1 ? requery(params, boardMapper.count(params)) : null;
+    }
+
+    // 조회된 게시글이 있으면 요청한 페이지가 전체 페이지 수 이내이므로 페이지 번호는 바뀌지 않는다
+    params.setPagination(new Pagination(rows.get(0).getTotalCount(), params));
+    return new ArrayList<>(rows);
+  }
+
+  private List<BoardSummaryDto> findPageInParallel(final CommonParams params) {
+    if (queryThreads.tryAcquire(2) == false) {
+      sequentialQueries.increment();
+      return findPageSequentially(params);
+    }
+
+    parallelQueries.increment();
+    Future<Integer> count = queryExecutor.submit(() -> inReadOnlyTransaction(() -> boardMapper.count(params)));
+    Future<List<BoardSummaryDto>> page = queryExecutor.submit(() -> inReadOnlyTransaction(() -> boardMapper.findAll(params)));
+    Integer counted = await(count);
+    int total = counted == null ? 0 : counted;
+    List<BoardSummaryDto> list = await(page);
+    if (total < 1) {
+      return null;
+    }
+    if (list.isEmpty()) {
+      return requery(params, total);
+    }
+    params.setPagination(new Pagination(total, params));
+    return list;
+  }
+
+  // 조회 스레드에서 실행하고, 끝나면 스레드를 반납
+  private <T> T inReadOnlyTransaction(final Supplier<T> query) {
+    try {
+      return readOnlyTransaction.execute(status -> query.get());
+    } finally {
+      queryThreads.release();
+    }
+  }
+
+  // 요청 스레드에서 게시글 수, 게시글 리스트 순서대로 조회
+  private List<BoardSummaryDto> findPageSequentially(final CommonParams params) {
+    int total = boardMapper.count(params);
+    if (total < 1) {
+      return null;
+    }
+    params.setPagination(new Pagination(total, params));
+    List<BoardSummaryDto> list = boardMapper.findAll(params);
+    // 게시글 수를 기준으로 페이지 번호를 보정했으므로, 그 사이에 게시글이 삭제된 경우에만 다시 조회한다
+    return list.isEmpty() && params.getPage() > 1 ? requery(params, boardMapper.count(params)) : list;
+  }
+
+  // 요청한 페이지에 게시글이 없는 경우 : 페이지 번호를 마지막 페이지로 보정하여 다시 조회
+  private List<BoardSummaryDto> requery(final CommonParams params, final int total) {
+    if (total < 1) {
+      return null;
+    }
+    requeries.increment();
+    params.setPagination(new Pagination(total, params));
+    return boardMapper.findAll(params);
+  }
+
+  private static <T> T await(final Future<T> result) {
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("interrupted while listing posts", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  public Map<String, Object> status() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("configuredStrategy", properties.getList().getCountStrategy());
+    status.put("strategy", strategy);
+    status.put("windowQueries", windowQueries.sum());
+    status.put("parallelQueries", parallelQueries.sum());
+    status.put("sequentialQueries", sequentialQueries.sum());
+    status.put("availableQueryThreads", queryThreads.availablePermits());
+    status.put("windowFallbacks", windowFallbacks.sum());
+    status.put("requeries", requeries.sum());
+    return status;
+  }
+}
@@ -1,10 +1,21 @@
 package com.study.board.model;
 
+import com.study.board.dto.BoardChangeDto;
+import com.study.board.dto.BoardInsertDto;
+import com.study.board.dto.BoardPageRowDto;
+import com.study.board.dto.BoardRequestDto;
 import com.study.board.dto.BoardResponseDto;
+import com.study.board.dto.BoardSummaryDto;
 import com.study.paging.CommonParams;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @Mapper
 // MyBatis는 @Mapper가 선언된 인터페이스와 연결된 XML Mapper 에서 메서드명과 동일한 SQL을 찾아 쿼리를 실행
@@ -23,7 +34,111 @@ public interface BoardMapper {
   // 검색 조건이 있는 경우에는 조건에 해당되는 데이터 개수가 된다
 
   //게시글 리스트 조회
-  List<BoardResponseDto> findAll(final CommonParams params);
+  List<BoardSummaryDto> findAll(final CommonParams params);
   // findAll 은 count()와 마찬가지로, 검색 조건의 유무를 기준으로 게시글 데이터를 조회한다
+  // 리스트 조회는 내용 대신 미리보기만 담은 요약(BoardSummaryDto)을 조회한다 (includeContent=true 면 내용 포함)
+
+  // 게시글 리스트, 게시글 수 조회 - (한 번의 쿼리)
+  List<BoardPageRowDto> findAllWithCount(final CommonParams params);
+  // findAll 과 동일한 조건으로 요청한 페이지의 게시글을 조회하면서, 각 행에 COUNT(*) OVER() 로 구한 전체 게시글 수를 함께 담는다
+  // count() 와 findAll() 이 같은 시점의 데이터를 기준으로 계산되며, 검색 조건도 한 번만 평가된다
+  // 요청한 페이지에 게시글이 없으면 결과가 비어 있으므로 전체 게시글 수를 알 수 없다 (count() 로 다시 조회)
+
+  // 게시글 리스트 조회 - (커서 기반)
+  List<BoardSummaryDto> findAllByCursor(final CommonParams params);
+  // findAll 과 동일한 검색 조건에 커서(기준 게시글 번호) 조건을 추가하여 조회한다
+  // LIMIT 의 시작 위치를 사용하지 않으므로 페이지가 뒤로 갈수록 느려지는 문제가 없다
+
+  // 게시글 리스트 조회 - (게시글 번호 기준)
+  List<BoardSummaryDto> findAllByIds(@Param("ids") final List<Long> ids, @Param("includeContent") final boolean includeContent,
+      @Param("previewLength") final int previewLength);
+  // 게시글 번호 인덱스(BoardIdIndex)에서 잘라낸 페이지의 게시글을 PK 로 조회한다
+
+  // 게시글 검증자 조회
+  BoardResponseDto findValidatorById(final Long id);
+  // 조건부 GET 에서 ETag, Last-Modified 를 계산하기 위해 게시글 번호, 삭제 여부, 생성일, 수정일, 버전만 PK 로 조회한다
+
+  // 전체 게시글 번호 조회
+  void findAllIds(final ResultHandler<Long> handler);
+  // 게시글 번호 인덱스 구성에 사용되며, 결과를 List 로 모으지 않고 한 건씩 handler 로 전달한다
+
+  // 게시글 수, 게시글 번호 합계 조회
+  Map<String, Object> checksumIds();
+  // 게시글 번호 인덱스의 정합성 검사에 사용
+
+  // 검색 인덱스 구성용 게시글 조회
+  void findAllForIndex(final ResultHandler<BoardResponseDto> handler);
+  // 검색 인덱스(BoardSearchIndex) 구성에 사용되며, 제목, 내용, 작성자만 한 건씩 handler 로 전달한다
+
+  // 자동완성 인덱스 구성용 게시글 조회
+  void findAllForSuggest(final ResultHandler<BoardSummaryDto> handler);
+  // 자동완성 인덱스(BoardSuggestIndex) 구성에 사용되며, 제목, 작성자, 조회 수만 한 건씩 handler 로 전달한다
+
+  // 게시글 내보내기
+  Cursor<BoardResponseDto> findAllForExport(final CommonParams params);
+  // findAll 과 동일한 검색 조건으로 전체 게시글을 조회하되, List 로 모으지 않고 Cursor 로 한 건씩 읽는다
+  // Cursor 는 트랜잭션(SqlSession)이 열려 있는 동안에만 읽을 수 있다
+
+  // 게시글 수정
+  int updateById(@Param("id") final Long id, @Param("params") final BoardRequestDto params,
+      @Param("modifiedDate") final LocalDateTime modifiedDate, @Param("version") final Long version);
+  // 엔티티를 조회하지 않고 삭제되지 않은 게시글을 한 번의 UPDATE 로 수정하며, 버전을 1 증가시킨다
+  // version 이 있으면 버전이 같은 경우에만 수정한다 (낙관적 잠금, 행을 미리 잠그지 않음)
+  // 수정된 행 수를 반환하며, 0 이면 게시글이 없거나 삭제되었거나 버전이 다른 경우
+
+  // 게시글 삭제
+  int deleteById(@Param("id") final Long id, @Param("modifiedDate") final LocalDateTime modifiedDate, @Param("version") final Long version);
+  // updateById 와 마찬가지로 한 번의 UPDATE 로 삭제 여부를 변경하며, 수정일을 바꾸고 버전을 1 증가시킨다
+  // (수정일이 그대로면 If-Modified-Since 만 보낸 조건부 GET 이 삭제된 게시글에 304 로 응답한다)
+
+  // 조회 수 증가
+  int increaseHits(@Param("id") final Long id, @Param("count") final long count);
+  // 조회 수 카운터(BoardHitsCounter)에 모인 증가분을 배치로 반영한다
+
+  // 변경 로그 기록
+  int insertChanges(@Param("changes") final List<BoardChangeDto> changes);
+  // 트랜잭션에서 발생한 게시글 변경을 한 번의 INSERT (여러 행)로 기록한다 (BoardChangeLog)
+
+  // 변경 로그 조회
+  List<BoardChangeDto> findChangesAfter(@Param("after") final long after, @Param("limit") final int limit);
+  // 변경 번호(seq)가 after 보다 큰 변경을 번호 순으로 limit 건까지 조회한다 (BoardChangeLogTailer)
+
+  // 마지막 변경 번호 조회
+  Long findLastChangeSeq();
+  // 변경 로그가 비어 있으면 NULL
+
+  // 보관 기간이 지난 변경 로그 삭제
+  int deleteChangesBefore(@Param("before") final LocalDateTime before, @Param("limit") final int limit);
+
+  // 게시글 생성 (MyBatis 전용 모드)
+  int insertAll(@Param("boards") final List<BoardInsertDto> boards);
+  // 게시글 번호(BoardIdAllocator 가 할당)를 포함하여 여러 건을 한 번의 INSERT (여러 행)로 생성한다 (MyBatisBoardStore)
+
+  // 게시글 조회 (MyBatis 전용 모드)
+  BoardResponseDto findById(final Long id);
+  // 삭제된 게시글을 포함하여 PK 로 조회한다
+
+  // 전체 게시글 조회 (MyBatis 전용 모드)
+  List<BoardResponseDto> findAllByDeleteYn(@Param("deleteYn") final Character deleteYn);
+  // deleteYn 이 NULL 이면 삭제 여부와 관계없이 조회한다 (id, 생성일 역순)
+
+  // 존재하는(삭제되지 않은) 게시글 번호 조회 (MyBatis 전용 모드)
+  List<Long> findExistingIds(@Param("ids") final List<Long> ids);
+  // 삭제된 게시글 포함
+
+  // 게시글 여러 건 삭제 (MyBatis 전용 모드)
+  int deleteByIds(@Param("ids") final Collection<Long> ids, @Param("modifiedDate") final LocalDateTime modifiedDate);
+  // deleteById 와 마찬가지로 삭제 여부, 수정일을 변경하며, 버전을 1 증가시킨다 (이미 삭제된 게시글은 변경하지 않음)
+
+  // 게시글 번호 시퀀스 조회 (MyBatis 전용 모드)
+  Long findIdSequence(final String name);
+  // board_id_seq 행을 잠그고(FOR UPDATE) 다음 값을 조회한다 (BoardIdAllocator, 행이 없으면 NULL)
+
+  // 게시글 번호 시퀀스 생성
+  int insertIdSequence(@Param("name") final String name, @Param("value") final long value);
+
+  // 게시글 번호 시퀀스 증가
+  int updateIdSequence(@Param("name") final String name, @Param("current") final long current, @Param("next") final long next);
+  // 조회한 값(current)이 그대로인 경우에만 next 로 변경한다 (변경된 행 수가 0 이면 다시 조회)
 
 }
@@ -1,96 +1,137 @@
 package com.study.board.model;
 
-import com.study.board.entity.Board;
+import com.study.board.cache.BoardListCache;
+import com.study.board.cache.PostCache;
+import com.study.board.event.BoardEvent;
+import com.study.board.hits.BoardHitsCounter;
+import com.study.board.index.BoardIdIndex;
+import com.study.board.search.BoardSearchIndex;
+import com.study.board.trending.BoardTrending;
 import com.study.paging.CommonParams;
+import com.study.paging.CursorPagination;
 import com.study.paging.Pagination;
-import com.study.board.entity.BoardRepository;
 import com.study.board.dto.BoardRequestDto;
 import com.study.board.dto.BoardResponseDto;
+import com.study.board.dto.BoardSummaryDto;
 import com.study.exception.CustomException;
 import com.study.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.domain.Sort.Direction;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.annotation.PostConstruct;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BoardService {
-  private final BoardRepository boardRepository;
-  // boardRepository = JPA Repository 인터페이스
+  private final BoardStore boardStore;
+  // boardStore = 게시글 저장소 (기본은 JPA Repository 를 사용하는 JpaBoardStore, mybatis 프로파일은 MyBatisBoardStore)
   // 보통 @Autowired 로 빈(Bean)을 주입받는 방식으로 사용했지만,(스프링부트는 생성자로 빈을 주입하는 방식을 권장)
   // 클래스 레벨에 선언된 @RequiredArgsConstructor 는 롬복에서 제공해주는 언테이션으로,
   // 클래스 내에 final 로 선언된 모든 멤버에 대한 생성자를 만들어준다. 아래는 예시
-  // public BoardService(BoardRepository boardRepository) {
-  //     this.boardRepository = boardRepository;
+  // public BoardService(BoardStore boardStore) {
+  //     this.boardStore = boardStore;
   // }
   private final BoardMapper boardMapper;
+  private final BoardIdIndex boardIdIndex;
+  private final BoardSearchIndex boardSearchIndex;
+  private final BoardHitsCounter boardHitsCounter;
+  private final BoardTrending boardTrending;
+  private final PostCache postCache;
+  private final BoardListCache boardListCache;
+  private final BoardListQuery boardListQuery;
+  private final ApplicationEventPublisher eventPublisher;
+  // 쓰기 작업이 끝나면 BoardEvent 를 발행하고, 인메모리 인덱스 등은 커밋 이후에 이벤트를 전달받아 상태를 갱신한다
+  private final PlatformTransactionManager transactionManager;
+  private TransactionTemplate readOnlyTransaction;
+  // 리스트 조회는 읽기 전용 트랜잭션으로 실행하여 replica 가 설정된 경우 replica 로 라우팅되도록 한다
+  // 캐시에서 응답하는 경우에는 커넥션을 가져오지 않도록, 캐시 확인 이후에 TransactionTemplate 으로 트랜잭션을 시작한다
+
+  @PostConstruct
+  public void init() {
+    readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+  }
 
   // 게시글 생성
   @Transactional  // Transactional 는 JPA를 사용한다면, 서비스(Service) 클래스에서 필수적으로 사용되어야 하는 어노테이션이다
                   // 일반적으로 메서드 레벨에 선언하게 되며, 메서드의 실행, 종료, 예외를 기준으로 각각 실행(begin), 종료(commit), 예외(rollback)를 자동 처리
   public Long save(final BoardRequestDto params) {
     // save() 메서드
-    // boardRepository 의 save() 메서드가 실행되면 새로운 게시글이 생성된다.
+    // boardStore 의 save() 메서드가 실행되면 새로운 게시글이 생성된다.
     // Entity 클래스는 요청(Request)에 사용되어서는 안 되기 때문에
-    // BoardRequestDto의 toEntity() 메서드를 이용하여 boardRepository의 save() 메서드를 실행
-    // save() 메서드가 실행된 후 entiry 객체에는 생성된 게시글 정보가 담기며 메서드가 종료되면 생성된 게시글의 id(PK)를 리턴.
-    Board entity = boardRepository.save(params.toEntity());
-    return entity.getId();
+    // JpaBoardStore 는 BoardRequestDto의 toEntity() 메서드를 이용하여 boardRepository의 save() 메서드를 실행
+    // save() 메서드가 실행되면 생성된 게시글의 id(PK)를 리턴.
+    Long id = boardStore.save(params);
+    eventPublisher.publishEvent(BoardEvent.created(id, params));
+    return id;
   }
 
   // 게시글 수정
   @Transactional
-  public Long update(final Long id, final BoardRequestDto params) {
-    // update() 메서드
-    // 중요하니 기억해둘것!
-    // 해당 메서드에는 update 쿼리를 실행하는 로직이 없음.
-    // 하지만 해당 메서드의 실행이 종료(commit) 되면 update 쿼리가 자동 실행
-    // JPA에는 영속성 컨텍스트 라는 개념이 있는데
-    // Entity를 영구히 저장하는 환경이라는 뜻 이며
-    // 애플리케이션과 데이터베이스 사이에서 객체를 보관하는 가상의 영역
-    // JPA의 엔티티 매니저(Entity Manager) 라는 녀석은 Entity가 생성되거나 조회를 하는 시점에 영속성 컨텍스트에 Entity 를 보관 및 관리함
-    // Entity 를 조회 -> Entity 가 영속성 컨텍스트에 보관(포함) -> 영속성 컨텍스트에 포함된 Entity 객체의 값이 변경되면
-    // 트랜댁션(Transaction)이 종료(commit) 시점에 update 쿼리를 실행
-    Board entity = boardRepository.findById(id).orElseThrow(() -> new CustomException(ErrorCode.POSTS_NOT_FOUND));
-    entity.update(params.getTitle(), params.getContent(), params.getWriter());
+  public Long update(final Long id, final BoardRequestDto params, final Long version) {
+    // 엔티티를 조회한 뒤 변경 감지(dirty checking)로 수정하면 SELECT 와 전체 컬럼 UPDATE 가 실행되고,
+    // 수정할 값만 알고 있어도 엔티티 전체가 영속성 컨텍스트에 올라간다
+    // 엔티티를 조회하지 않고 한 번의 UPDATE 로 수정하며, 수정된 행 수로 게시글 존재 여부(버전 일치 여부)를 확인한다
+    // version : If-Match 로 전달받은 버전 (NULL 이면 버전을 확인하지 않음)
+    int updated = boardMapper.updateById(id, params, LocalDateTime.now(), version);
+    if (updated < 1) {
+      throw notUpdated(id, version);
+    }
+    eventPublisher.publishEvent(BoardEvent.updated(id, params));
     return id;
   }
 
   // 게시글 삭제
   @Transactional
-  public Long delete(final Long id) {
-    Board entity = boardRepository.findById(id).orElseThrow(() -> new CustomException(ErrorCode.POSTS_NOT_FOUND));
-    entity.delete();
+  public Long delete(final Long id, final Long version) {
+    int deleted = boardMapper.deleteById(id, LocalDateTime.now(), version);
+    if (deleted < 1) {
+      throw notUpdated(id, version);
+    }
+    eventPublisher.publishEvent(BoardEvent.deleted(id));
     return id;
   }
 
+  // 수정(삭제)된 행이 없는 경우 : 버전을 확인했고 게시글이 남아 있으면 다른 사용자가 먼저 수정한 것
+  // 실패한 경우에만 조회하므로 정상적인 수정은 UPDATE 한 번으로 끝난다
+  private CustomException notUpdated(final Long id, final Long version) {
+    if (version != null) {
+      BoardResponseDto current = boardMapper.findValidatorById(id);
+      if (current != null && current.getDeleteYn() == 'N') {
+        return new CustomException(ErrorCode.PRECONDITION_FAILED);
+      }
+    }
+    return new CustomException(ErrorCode.POSTS_NOT_FOUND);
+  }
+
   /**
    * 게시글 리스트 조회
    */
+  @Transactional(readOnly = true)
   public List<BoardResponseDto> findAll() {
-    Sort sort = Sort.by(Direction.DESC, "id", "createdDate");
-    List<Board> list = boardRepository.findAll(sort);
-    return list.stream().map(BoardResponseDto::new).collect(Collectors.toList());
+    return boardStore.findAll();
   }
 
   // 게시글 리스트 조회 - (삭제 여부 기준)
+  @Transactional(readOnly = true)
   public List<BoardResponseDto> findAllByDeleteYn(final char deleteYn) {
     // findAll() 메서드
-    // boardRepository의 findAll() 메서드의 인자로 sort 객체를 전달하여 전체 게시글을 조회
-    // sort 객체는 ORDER BY id DESC, created_date DESC 를 의미
-    // return 을 보면 Java의 stream API을 사용한것을 확인할수 있는데
+    // JpaBoardStore 는 boardRepository의 findAll() 메서드의 인자로 sort 객체를 전달하여 전체 게시글을 조회
+    // sort 객체는 ORDER BY id DESC, created_date DESC 를 의미 (MyBatisBoardStore 는 같은 ORDER BY 로 조회)
+    // JpaBoardStore 의 return 을 보면 Java의 stream API을 사용한것을 확인할수 있는데
     // list변수에는 게시글 Entity 가 담겨있고 각각의 Entity를 BoardResponseDto 타입으로 변경(생성)해서 리턴 해준다고 생각하면 된다
-    Sort sort = Sort.by(Direction.DESC, "id", "createdDate");
-    List<Board> list = boardRepository.findAllByDeleteYn(deleteYn, sort);
-    return list.stream().map(BoardResponseDto::new).collect(Collectors.toList());
+    return boardStore.findAllByDeleteYn(deleteYn);
 
     //만약 findAll() 메서드를 Stream API 없이 풀어서 사용한다면 다음과 같을것이다.
     /*
@@ -108,6 +149,56 @@ public class BoardService {
 
   // 게시글 리스트 조회  - (With. pagination information)
   public Map<String, Object> findAll(CommonParams params) {
+    long start = System.nanoTime();
+    if (boardListCache.isEnabled() == false) {
+      Map<String, Object> response = readOnlyTransaction.execute(status -> findAllWithoutCache(params));
+      boardListCache.recordMiss(start);
+      return response;
+    }
+
+    // 캐시된 결과가 있으면 쿼리를 실행하지 않는다
+    String key = boardListCache.key(params);
+    Map<String, Object> cached = boardListCache.get(key, params);
+    if (cached != null) {
+      boardListCache.recordHit(start);
+      return cached;
+    }
+
+    // 조회 전에 버전을 받아두어, 조회 도중 커밋된 변경이 있으면 결과를 저장하지 않도록 한다
+    long version = boardListCache.version();
+    boolean search = params.getKeyword() != null && params.getKeyword().isEmpty() == false;
+    Map<String, Object> response = readOnlyTransaction.execute(status -> findAllWithoutCache(params));
+    boardListCache.put(key, version, response, search);
+    boardListCache.recordMiss(start);
+    return response;
+  }
+
+  private Map<String, Object> findAllWithoutCache(CommonParams params) {
+
+    // 검색 조건이 없는 경우, 게시글 번호 인덱스로 조회
+    if (boardIdIndex.isAvailable(params)) {
+      return findAllByIdIndex(params);
+    }
+
+    // 검색 조건이 있는 경우, 검색 인덱스로 조회 (인덱스로 처리할 수 없는 조건이면 DB 에서 조회)
+    if (boardSearchIndex.isAvailable(params)) {
+      long[] ids = boardSearchIndex.search(params);
+      if (ids != null) {
+        return findAllBySearchIndex(params, ids);
+      }
+    }
+
+    // 게시글 수와 게시글 리스트를 한 번의 쿼리(COUNT(*) OVER()) 또는 병렬 쿼리로 조회 (board.list.count-strategy)
+    if (boardListQuery.isSeparate() == false) {
+      List<BoardSummaryDto> list = boardListQuery.findPage(params);
+      if (list == null) {
+        return Collections.emptyMap();
+      }
+      Map<String, Object> response = new HashMap<>();
+      response.put("params", params);
+      response.put("list", list);
+      return response;
+    }
 
     //게시글 수 조회
     int count = boardMapper.count(params);
@@ -140,22 +231,149 @@ public class BoardService {
     // CommonParams 가 Pagination을 멤버로 가지도록 해주면 된다
 
     // 게시글 리스트 조회
-    List<BoardResponseDto> list = boardMapper.findAll(params);
+    List<BoardSummaryDto> list = boardMapper.findAll(params);
+
+    // 데이터 반환
+    Map<String, Object> response = new HashMap<>();
+    response.put("params", params);
+    response.put("list", list);
+    return response;
+
+  }
+
+  // 게시글 리스트 조회 - (With. id index)
+  private Map<String, Object> findAllByIdIndex(CommonParams params) {
+
+    // 게시글 수 조회 (COUNT 쿼리 없이 인덱스의 크기를 사용)
+    int count = boardIdIndex.size();
+
+    // 등록된 게시글이 없는 경우, 로직 종료
+    if (count < 1) {
+      return Collections.emptyMap();
+    }
+
+    // 페이지네이션 정보 계산
+    Pagination pagination = new Pagination(count, params);
+    params.setPagination(pagination);
+
+    // 페이지에 해당하는 게시글 번호를 인덱스에서 잘라낸 뒤, PK 로 게시글 리스트 조회
+    List<Long> ids = boardIdIndex.page(pagination.getLimitStart(), params.getRecordPerPage());
+    List<BoardSummaryDto> list = ids.isEmpty() ? Collections.emptyList()
+        : boardMapper.findAllByIds(ids, params.isIncludeContent(), params.getPreviewLength());
 
     // 데이터 반환
     Map<String, Object> response = new HashMap<>();
     response.put("params", params);
     response.put("list", list);
     return response;
+  }
+
+  // 게시글 리스트 조회 - (With. search index)
+  private Map<String, Object> findAllBySearchIndex(CommonParams params, long[] ids) {
+
+    // 검색 결과가 없는 경우, 로직 종료
+    if (ids.length < 1) {
+      return Collections.emptyMap();
+    }
 
+    // 페이지네이션 정보 계산 (검색 결과 수 = 인덱스에서 찾은 게시글 번호의 개수)
+    Pagination pagination = new Pagination(ids.length, params);
+    params.setPagination(pagination);
+
+    // 페이지에 해당하는 게시글 번호만 잘라낸 뒤, PK 로 게시글 리스트 조회
+    int from = Math.max(pagination.getLimitStart(), 0);
+    int to = Math.min(from + params.getRecordPerPage(), ids.length);
+    List<Long> page = new ArrayList<>();
+    for (int i = from; i < to; i++) {
+      page.add(ids[i]);
+    }
+    List<BoardSummaryDto> list = page.isEmpty() ? Collections.emptyList()
+        : boardMapper.findAllByIds(page, params.isIncludeContent(), params.getPreviewLength());
+
+    // 데이터 반환
+    Map<String, Object> response = new HashMap<>();
+    response.put("params", params);
+    response.put("list", list);
+    return response;
+  }
+
+  // 게시글 리스트 조회 - (With. cursor pagination information)
+  @Transactional(readOnly = true)
+  public Map<String, Object> findAllByCursor(CommonParams params) {
+
+    // 커서 정보 해석
+    CursorPagination cursorPagination = new CursorPagination(params);
+    params.setCursorPagination(cursorPagination);
+    // 오프셋 방식과 달리 COUNT 쿼리를 실행하지 않는다
+    // 전체 페이지 수 대신 recordPerPage + 1 건을 조회하여 다음(이전) 페이지 존재 여부만 확인
+
+    // 게시글 리스트 조회
+    List<BoardSummaryDto> list = new ArrayList<>(boardMapper.findAllByCursor(params));
+
+    // 조회된 게시글이 없는 경우, 로직 종료
+    if (list.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    boolean hasMore = list.size() > params.getRecordPerPage();
+    if (hasMore) {
+      list.remove(list.size() - 1);
+    }
+
+    // 이전 페이지는 오름차순으로 조회되므로, 화면 정렬(id DESC)에 맞게 순서를 뒤집는다
+    if (cursorPagination.isBackward()) {
+      Collections.reverse(list);
+    }
+
+    // 다음, 이전 페이지 커서 계산
+    cursorPagination.calculation(hasMore, list.get(0).getId(), list.get(list.size() - 1).getId());
+
+    // 데이터 반환
+    Map<String, Object> response = new HashMap<>();
+    response.put("params", params);
+    response.put("list", list);
+    return response;
   }
 
   // 게시글 상세 조회
-  @Transactional
   public BoardResponseDto findById(final Long id) {
-    Board entity = boardRepository.findById(id).orElseThrow(() -> new CustomException(ErrorCode.POSTS_NOT_FOUND));
-    entity.increaseHits();
-    return new BoardResponseDto(entity);
+    // 조회 수는 Entity 를 변경(dirty checking)하지 않고 BoardHitsCounter 에 누적한 뒤 주기적으로 한 번에 반영한다
+    // 따라서 상세 조회는 boardStore.findById() 의 읽기 전용 트랜잭션으로 실행되며, 조회할 때마다 UPDATE 와 커밋이 발생하지 않는다
+    // 캐시에 게시글이 있으면 트랜잭션(커넥션) 없이 응답한다
+    BoardResponseDto board = postCache.get(id);
+    if (board == null) {
+      long stamp = postCache.stamp(id);
+      board = readOnlyTransaction.execute(status -> boardStore.findById(id))
+          .orElseThrow(() -> new CustomException(ErrorCode.POSTS_NOT_FOUND));
+      postCache.put(id, board, stamp);
+    }
+
+    // 캐시된 게시글의 조회 수는 DB 에 반영된 값이므로, 대기 중인 증가분을 더해서 응답
+    boardHitsCounter.increase(id);
+    boardTrending.record(board);
+    return board.withPendingHits(boardHitsCounter.pending(id));
+  }
+
+  // 게시글 검증자(ETag, Last-Modified) 조회 - 조건부 GET
+  // 캐시에 게시글이 있으면 DB 를 조회하지 않고, 없으면 내용을 제외한 수정일, 삭제 여부만 PK 로 조회한다
+  // 검증자가 다르면 findById() 로 다시 조회하므로, 여기서는 캐시에 저장하지 않는다
+  // 삭제된 게시글은 검증자와 관계없이 404 (If-None-Match: * 에 304 로 응답하지 않도록)
+  public BoardResponseDto findValidator(final Long id) {
+    BoardResponseDto board = postCache.get(id);
+    if (board == null) {
+      board = readOnlyTransaction.execute(status -> boardMapper.findValidatorById(id));
+    }
+    if (board == null || board.getDeleteYn() == 'Y') {
+      throw new CustomException(ErrorCode.POSTS_NOT_FOUND);
+    }
+    return board;
+  }
+
+  // 조회 수 증가 - 본문 없이 304 로 응답한 상세 조회도 조회 수(인기 게시글 집계 포함)에 포함한다
+  // board : findValidator() 의 결과
+  public void countView(final BoardResponseDto board) {
+    boardHitsCounter.increase(board.getId());
+    boardTrending.record(board);
   }
 
 }
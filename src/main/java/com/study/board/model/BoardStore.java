@@ -0,0 +1,43 @@
+package com.study.board.model;
+
+import com.study.board.dto.BoardBatchUpdateDto;
+import com.study.board.dto.BoardRequestDto;
+import com.study.board.dto.BoardResponseDto;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// 게시글 저장소
+// 게시글 생성, 상세 조회, 전체 조회, 일괄 수정, 삭제를 영속성 방식과 관계없이 사용하기 위한 인터페이스
+// 구현체는 실행 프로파일에 따라 선택된다
+//  - 기본 : JpaBoardStore (Spring Data JPA, Hibernate)
+//  - mybatis : MyBatisBoardStore (MyBatis 구문만 사용, JPA 자동 구성 제외 : application-mybatis.properties)
+// 조건부 수정, 삭제, 리스트 조회 등 이미 BoardMapper 를 사용하는 작업은 두 방식 모두 BoardMapper 를 그대로 사용한다
+// 모든 메서드는 호출한 쪽의 트랜잭션 안에서 실행된다
+public interface BoardStore {
+
+  // 게시글 생성 (생성된 게시글 번호)
+  Long save(BoardRequestDto params);
+
+  // 게시글 여러 건 생성 (요청 순서대로 생성된 게시글 번호)
+  List<Long> saveAll(List<BoardRequestDto> params);
+
+  // 게시글 조회 (삭제된 게시글 포함)
+  Optional<BoardResponseDto> findById(Long id);
+
+  // 전체 게시글 조회 (id, 생성일 역순)
+  List<BoardResponseDto> findAll();
+
+  // 삭제 여부 기준 게시글 조회 (id, 생성일 역순)
+  List<BoardResponseDto> findAllByDeleteYn(char deleteYn);
+
+  // 게시글 여러 건 수정 (삭제되지 않은 게시글만 수정하며, 수정된 게시글 번호를 반환)
+  Set<Long> updateAll(List<BoardBatchUpdateDto> items);
+
+  // 게시글 여러 건 삭제 (존재하는 게시글 번호를 반환, 이미 삭제된 게시글 포함)
+  Set<Long> deleteAll(List<Long> ids);
+
+  // 쓰기 작업을 DB 에 반영하고 사용한 메모리를 정리 (JPA : flush, clear)
+  void flush();
+}
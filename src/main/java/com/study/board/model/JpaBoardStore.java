@@ -0,0 +1,112 @@
+package com.study.board.model;
+
+import com.study.board.dto.BoardBatchUpdateDto;
+import com.study.board.dto.BoardRequestDto;
+import com.study.board.dto.BoardResponseDto;
+import com.study.board.entity.Board;
+import com.study.board.entity.BoardRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// 게시글 저장소 - JPA (기본)
+// 생성한 엔티티의 INSERT 와 변경 감지(dirty checking)로 만들어진 UPDATE 는 flush 시점에 hibernate.jdbc.batch_size 단위의 JDBC 배치로 실행된다
+// PK 는 @TableGenerator 가 board_id_seq 에서 50개 단위로 미리 할당한다
+@Component
+@Profile("!mybatis")
+@RequiredArgsConstructor
+public class JpaBoardStore implements BoardStore {
+
+  private static final Sort LATEST = Sort.by(Direction.DESC, "id", "createdDate");  // ORDER BY id DESC, created_date DESC
+
+  private final BoardRepository boardRepository;
+  private final EntityManager entityManager;
+
+  @Override
+  public Long save(final BoardRequestDto params) {
+    return boardRepository.save(params.toEntity()).getId();
+  }
+
+  @Override
+  public List<Long> saveAll(final List<BoardRequestDto> params) {
+    List<Long> ids = new ArrayList<>(params.size());
+    for (BoardRequestDto item : params) {
+      ids.add(boardRepository.save(item.toEntity()).getId());
+    }
+    return ids;
+  }
+
+  @Override
+  public Optional<BoardResponseDto> findById(final Long id) {
+    return boardRepository.findById(id).map(BoardResponseDto::new);
+  }
+
+  @Override
+  public List<BoardResponseDto> findAll() {
+    return boardRepository.findAll(LATEST).stream().map(BoardResponseDto::new).collect(Collectors.toList());
+  }
+
+  @Override
+  public List<BoardResponseDto> findAllByDeleteYn(final char deleteYn) {
+    return boardRepository.findAllByDeleteYn(deleteYn, LATEST).stream().map(BoardResponseDto::new).collect(Collectors.toList());
+  }
+
+  @Override
+  public Set<Long> updateAll(final List<BoardBatchUpdateDto> items) {
+    Map<Long, Board> entities = findAllById(items.stream().map(BoardBatchUpdateDto::getId).collect(Collectors.toList()));
+    Set<Long> updated = new LinkedHashSet<>();
+    for (BoardBatchUpdateDto item : items) {
+      Board entity = entities.get(item.getId());
+      if (entity != null && entity.getDeleteYn() != 'Y') {
+        entity.update(item.getTitle(), item.getContent(), item.getWriter());
+        updated.add(entity.getId());
+      }
+    }
+    return updated;
+  }
+
+  @Override
+  public Set<Long> deleteAll(final List<Long> ids) {
+    // 이미 삭제된 게시글은 제외한다 (MyBatisBoardStore.findExistingIds 의 delete_yn = 'N' 조건과 같음, 단건 삭제에서는 404)
+    Map<Long, Board> entities = findAllById(ids);
+    Set<Long> deleted = new LinkedHashSet<>();
+    for (Board entity : entities.values()) {
+      if (entity.getDeleteYn() != 'Y') {
+        entity.delete();
+        deleted.add(entity.getId());
+      }
+    }
+    return deleted;
+  }
+
+  // 영속성 컨텍스트를 비워 청크가 끝날 때마다 메모리를 반환
+  @Override
+  public void flush() {
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  // PK 목록으로 게시글 조회 (IN 쿼리 한 번)
+  private Map<Long, Board> findAllById(final List<Long> ids) {
+    Map<Long, Board> entities = new HashMap<>();
+    if (ids.isEmpty()) {
+      return entities;
+    }
+    for (Board entity : boardRepository.findAllById(ids)) {
+      entities.put(entity.getId(), entity);
+    }
+    return entities;
+  }
+}
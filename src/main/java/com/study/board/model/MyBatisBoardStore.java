@@ -0,0 +1,103 @@
+package com.study.board.model;
+
+import com.study.board.dto.BoardBatchUpdateDto;
+import com.study.board.dto.BoardInsertDto;
+import com.study.board.dto.BoardRequestDto;
+import com.study.board.dto.BoardResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// 게시글 저장소 - MyBatis (mybatis 프로파일)
+// JPA 와 같은 테이블, 같은 게시글 번호 시퀀스를 사용하므로 두 방식을 번갈아 실행해도 데이터가 호환된다
+//  - 생성 : BoardIdAllocator 가 할당한 번호로 INSERT_CHUNK_SIZE 건씩 한 번의 INSERT (여러 행)
+//  - 수정 : 게시글마다 한 번의 UPDATE (updateById)
+//  - 삭제 : 존재하는 게시글 번호를 조회한 뒤 한 번의 UPDATE (deleteByIds)
+// 구문은 호출 즉시 실행되므로 flush 할 내용이 없다
+@Component
+@Profile("mybatis")
+@RequiredArgsConstructor
+public class MyBatisBoardStore implements BoardStore {
+
+  private static final int INSERT_CHUNK_SIZE = 500;  // INSERT 한 번에 생성할 최대 행 수
+
+  private final BoardMapper boardMapper;
+  private final BoardIdAllocator boardIdAllocator;
+
+  @Override
+  public Long save(final BoardRequestDto params) {
+    Long id = boardIdAllocator.next();
+    boardMapper.insertAll(Collections.singletonList(new BoardInsertDto(id, params, LocalDateTime.now())));
+    return id;
+  }
+
+  @Override
+  public List<Long> saveAll(final List<BoardRequestDto> params) {
+    List<Long> ids = boardIdAllocator.next(params.size());
+    LocalDateTime now = LocalDateTime.now();
+    List<BoardInsertDto> rows = new ArrayList<>(Math.min(params.size(), INSERT_CHUNK_SIZE));
+    for (int i = 0; i < params.size(); i++) {
+      rows.add(new BoardInsertDto(ids.get(i), params.get(i), now));
+      if (rows.size() == INSERT_CHUNK_SIZE) {
+        boardMapper.insertAll(rows);
+        rows = new ArrayList<>(INSERT_CHUNK_SIZE);
+      }
+    }
+    if (rows.isEmpty() == false) {
+      boardMapper.insertAll(rows);
+    }
+    return ids;
+  }
+
+  @Override
+  public Optional<BoardResponseDto> findById(final Long id) {
+    return Optional.ofNullable(boardMapper.findById(id));
+  }
+
+  @Override
+  public List<BoardResponseDto> findAll() {
+    return boardMapper.findAllByDeleteYn(null);
+  }
+
+  @Override
+  public List<BoardResponseDto> findAllByDeleteYn(final char deleteYn) {
+    return boardMapper.findAllByDeleteYn(deleteYn);
+  }
+
+  @Override
+  public Set<Long> updateAll(final List<BoardBatchUpdateDto> items) {
+    LocalDateTime now = LocalDateTime.now();
+    Set<Long> updated = new LinkedHashSet<>();
+    for (BoardBatchUpdateDto item : items) {
+      if (boardMapper.updateById(item.getId(), item, now, null) > 0) {
+        updated.add(item.getId());
+      }
+    }
+    return updated;
+  }
+
+  @Override
+  public Set<Long> deleteAll(final List<Long> ids) {
+    if (ids.isEmpty()) {
+      return Collections.emptySet();
+    }
+    Set<Long> existing = new LinkedHashSet<>(boardMapper.findExistingIds(ids));
+    if (existing.isEmpty() == false) {
+      boardMapper.deleteByIds(existing, LocalDateTime.now());
+    }
+    return existing;
+  }
+
+  @Override
+  public void flush() {
+    // 구문이 호출 시점에 실행되므로 할 일이 없다
+  }
+}
@@ -0,0 +1,172 @@
+package com.study.board.search;
+
+import com.study.board.dto.BoardResponseDto;
+import com.study.board.event.BoardEvent;
+import com.study.board.model.BoardMapper;
+import com.study.config.BoardProperties;
+import com.study.paging.CommonParams;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 키워드 검색 인덱스
+// BoardMapper.xml 의 LIKE CONCAT('%', #{keyword}, '%') 조건은 인덱스를 사용할 수 없어 검색과 검색 결과 수 조회마다 테이블 전체를 읽는다
+// 게시글을 2-gram 역색인(NgramIndex)으로 메모리에 구성하여, 검색 결과에 해당하는 게시글 번호와 전체 수를 DB 없이 계산한다
+// 메모리 사용량은 (게시글, 서로 다른 2-gram) 쌍 하나당 약 3 byte 와 2-gram 출현 위치 하나당 약 1~2 byte 이며 (원문은 보관하지 않는다), 내용까지 색인하면 게시글 길이에 비례하여 커지므로
+// board.search.index-content 로 내용 색인 여부를 선택할 수 있다 (내용을 색인하지 않으면 내용, 전체 검색은 DB 에서 처리)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardSearchIndex {
+
+  private final BoardMapper boardMapper;
+  private final BoardProperties properties;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private NgramIndex index;
+  private Queue<BoardEvent> pending;  // 재구성 중에 커밋된 변경 이벤트
+  private volatile boolean ready;     // 인덱스 사용 가능 여부
+
+  // 애플리케이션 구동이 완료되면 인덱스 구성
+  @EventListener(ApplicationReadyEvent.class)
+  public void init() {
+    if (properties.getSearch().isEnabled()) {
+      rebuild();
+    }
+  }
+
+  // 인덱스 사용 가능 여부 (검색 조건이 있는 경우에만 사용)
+  public boolean isAvailable(final CommonParams params) {
+    return ready && params.getKeyword() != null && params.getKeyword().isEmpty() == false;
+  }
+
+  // 검색 조건에 해당하는 게시글 번호 (id DESC)
+  // 인덱스로 처리할 수 없는 조건인 경우 NULL
+  public long[] search(final CommonParams params) {
+    lock.readLock().lock();
+    try {
+      return index.search(params.getKeyword(), params.getSearchType());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // 인덱스 재구성
+  // 재구성 중에 커밋된 변경은 pending 큐에 쌓아두었다가 교체 직전에 다시 반영한다
+  public void rebuild() {
+    Queue<BoardEvent> queue = new ConcurrentLinkedQueue<>();
+    lock.writeLock().lock();
+    try {
+      pending = queue;
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    long start = System.currentTimeMillis();
+    NgramIndex loaded = new NgramIndex(properties.getSearch().isIndexContent());
+    try {
+      boardMapper.findAllForIndex(context -> {
+        BoardResponseDto board = context.getResultObject();
+        loaded.put(board.getId(), board.getTitle(), board.getContent(), board.getWriter());
+      });
+    } catch (RuntimeException e) {
+      lock.writeLock().lock();
+      try {
+        pending = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      throw e;
+    }
+
+    lock.writeLock().lock();
+    try {
+      BoardEvent event;
+      while ((event = queue.poll()) != null) {
+        apply(loaded, event);
+      }
+      index = loaded;
+      pending = null;
+      ready = true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    log.info("BoardSearchIndex rebuilt: {} posts, {} postings, {} bytes, {} ms",
+        loaded.size(), loaded.entries(), loaded.bytes(), System.currentTimeMillis() - start);
+  }
+
+  // 게시글 변경 반영 (커밋 이후)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBoardEvent(final BoardEvent event) {
+    if (properties.getSearch().isEnabled() == false) {
+      return;
+    }
+
+    lock.writeLock().lock();
+    try {
+      if (pending != null) {
+        pending.add(event);
+      }
+      if (index != null) {
+        apply(index, event);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void apply(final NgramIndex target, final BoardEvent event) {
+    if (event.isLive()) {
+      target.put(event.getId(), event.getTitle(), event.getContent(), event.getWriter());
+    } else {
+      target.remove(event.getId());
+    }
+  }
+
+  // 이전 세대 항목 정리
+  // 정리되지 않은 항목의 비율이 설정값을 넘으면 포스팅 리스트를 다시 압축한다
+  @Scheduled(fixedDelayString = "${board.search.compact-interval-ms:60000}")
+  public void compactIfNeeded() {
+    if (ready == false) {
+      return;
+    }
+
+    lock.writeLock().lock();
+    try {
+      if (index.staleEntries() > index.entries() * properties.getSearch().getCompactStaleRatio()) {
+        index.compact();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // 인덱스 상태
+  public Map<String, Object> status() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("enabled", properties.getSearch().isEnabled());
+    status.put("ready", ready);
+    lock.readLock().lock();
+    try {
+      if (index != null) {
+        status.put("size", index.size());
+        status.put("entries", index.entries());
+        status.put("staleEntries", index.staleEntries());
+        status.put("memoryBytes", index.bytes());
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    return status;
+  }
+}
@@ -0,0 +1,264 @@
+package com.study.board.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// 2-gram(bigram) 역색인
+// 제목, 내용, 작성자를 각각 별도의 색인으로 구성하며, 문자 두 개를 int 하나(상위 16bit + 하위 16bit)로 묶어 키로 사용한다
+// 한글은 음절 단위(char)로 잘라내므로 형태소 분석 없이도 "게시판" -> "게시", "시판" 과 같이 부분 문자열 검색이 가능하다
+// 대소문자는 DB 의 기본 collation 과 같이 구분하지 않는다
+//
+// 게시글이 수정되면 세대(generation)를 증가시켜 새 세대로 다시 색인하고, 이전 세대의 항목은 조회 시 무시했다가 compact() 에서 정리한다
+// 원문은 보관하지 않고, 포스팅 항목마다 2-gram 이 나타나는 위치를 기록하여 keyword 의 2-gram 이 연속된 위치에 있는지로 LIKE '%keyword%' 와 동일한 결과를 만든다
+// (2-gram 을 모두 포함해도 keyword 가 연속으로 나타나지 않을 수 있다 : "게시판" 검색에 "게시글 판매")
+// 후보는 keyword 의 2-gram 중 포스팅 리스트가 가장 짧은 하나에서 읽고, 나머지 포스팅 리스트는 커서로 같은 게시글까지 건너뛰며 위치를 확인한다
+// 동기화는 사용하는 쪽(BoardSearchIndex)에서 처리한다
+public class NgramIndex {
+
+  public static final int TITLE = 0;
+  public static final int CONTENT = 1;
+  public static final int WRITER = 2;
+
+  private final boolean indexContent;
+  private final Map<Integer, PostingList>[] fields;
+  private final Map<Long, Doc> docs = new HashMap<>();
+  private long entries;       // 전체 포스팅 항목 수
+  private long staleEntries;  // 정리되지 않은 이전 세대(또는 삭제된) 항목 수
+
+  private static final class Doc {
+    private final int generation;
+    private int entries;
+
+    private Doc(int generation) {
+      this.generation = generation;
+    }
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public NgramIndex(boolean indexContent) {
+    this.indexContent = indexContent;
+    this.fields = new Map[] { new HashMap<>(), new HashMap<>(), new HashMap<>() };
+  }
+
+  public int size() {
+    return docs.size();
+  }
+
+  public long entries() {
+    return entries;
+  }
+
+  public long staleEntries() {
+    return staleEntries;
+  }
+
+  // 포스팅 리스트가 점유하고 있는 메모리 (byte)
+  public long bytes() {
+    long bytes = 0;
+    for (Map<Integer, PostingList> field : fields) {
+      for (PostingList postings : field.values()) {
+        bytes += postings.bytes();
+      }
+    }
+    return bytes;
+  }
+
+  // 게시글 색인 (신규 또는 수정)
+  public void put(long id, String title, String content, String writer) {
+    Doc previous = docs.get(id);
+    int generation = previous == null ? 0 : (previous.generation + 1) & PostingList.GENERATION_MASK;
+    if (previous != null) {
+      staleEntries += previous.entries;
+    }
+
+    Doc doc = new Doc(generation);
+    doc.entries += addGrams(TITLE, id, generation, normalize(title));
+    doc.entries += addGrams(WRITER, id, generation, normalize(writer));
+    if (indexContent) {
+      doc.entries += addGrams(CONTENT, id, generation, normalize(content));
+    }
+    docs.put(id, doc);
+    entries += doc.entries;
+  }
+
+  // 게시글 삭제
+  public void remove(long id) {
+    Doc previous = docs.remove(id);
+    if (previous != null) {
+      staleEntries += previous.entries;
+    }
+  }
+
+  // 이전 세대, 삭제된 게시글의 항목 정리
+  public void compact() {
+    for (Map<Integer, PostingList> field : fields) {
+      field.values().removeIf(postings -> {
+        postings.compact(this::isValid);
+        return postings.size() == 0;
+      });
+    }
+    entries -= staleEntries;
+    staleEntries = 0;
+  }
+
+  // 검색
+  // 검색 유형(searchType)은 BoardMapper.xml 의 conditions 와 동일하게 처리한다 (NULL 또는 공백 : 전체)
+  // 색인으로 처리할 수 없는 경우(키워드가 한 글자, 내용 미색인, 알 수 없는 검색 유형) NULL 을 리턴한다
+  // 결과는 게시글 번호 내림차순
+  public long[] search(String keyword, String searchType) {
+    String normalized = normalize(keyword);
+    if (normalized.length() < 2) {
+      return null;
+    }
+
+    long[] ids;
+    if (searchType == null || searchType.isEmpty()) {
+      if (indexContent == false) {
+        return null;
+      }
+      ids = union(union(match(TITLE, normalized), match(CONTENT, normalized)), match(WRITER, normalized));
+    } else if (searchType.equals("title")) {
+      ids = match(TITLE, normalized);
+    } else if (searchType.equals("content")) {
+      if (indexContent == false) {
+        return null;
+      }
+      ids = match(CONTENT, normalized);
+    } else if (searchType.equals("writer")) {
+      ids = match(WRITER, normalized);
+    } else {
+      return null;
+    }
+
+    // 오름차순 -> 내림차순
+    for (int i = 0, j = ids.length - 1; i < j; i++, j--) {
+      long temp = ids[i];
+      ids[i] = ids[j];
+      ids[j] = temp;
+    }
+    return ids;
+  }
+
+  // 필드 하나에 대한 검색 (게시글 번호 오름차순)
+  private long[] match(int field, String keyword) {
+    int grams = keyword.length() - 1;
+    PostingList[] postings = new PostingList[grams];
+    int shortest = 0;
+    for (int i = 0; i < grams; i++) {
+      postings[i] = fields[field].get(gram(keyword, i));
+      if (postings[i] == null) {
+        return new long[0];
+      }
+      if (postings[i].size() < postings[shortest].size()) {
+        shortest = i;
+      }
+    }
+
+    // 같은 2-gram 이 keyword 에 여러 번 나오면 커서를 하나만 사용한다
+    PostingList.Cursor[] cursors = new PostingList.Cursor[grams];
+    for (int i = 0; i < grams; i++) {
+      for (int j = 0; j < i && cursors[i] == null; j++) {
+        if (postings[j] == postings[i]) {
+          cursors[i] = cursors[j];
+        }
+      }
+      if (cursors[i] == null) {
+        cursors[i] = postings[i].cursor();
+      }
+    }
+
+    long[] result = new long[postings[shortest].size()];
+    int size = 0;
+    PostingList.Cursor driver = cursors[shortest];
+    while (driver.next()) {
+      long packed = driver.packed();
+      if (isValid(packed) && matches(cursors, shortest, packed)) {
+        result[size++] = PostingList.id(packed);
+      }
+    }
+    return Arrays.copyOf(result, size);
+  }
+
+  // keyword 의 i 번째 2-gram 이 (시작 위치 + i) 에 있는 시작 위치가 하나라도 있는지 확인
+  private static boolean matches(PostingList.Cursor[] cursors, int shortest, long packed) {
+    for (int i = 0; i < cursors.length; i++) {
+      if (i != shortest && cursors[i].skipTo(packed) == false) {
+        return false;
+      }
+    }
+
+    int[] driverPositions = cursors[shortest].positions();
+    int driverCount = cursors[shortest].positionCount();
+    for (int p = 0; p < driverCount; p++) {
+      int start = driverPositions[p] - shortest;
+      boolean found = start >= 0;
+      for (int i = 0; i < cursors.length && found; i++) {
+        if (i != shortest) {
+          found = Arrays.binarySearch(cursors[i].positions(), 0, cursors[i].positionCount(), start + i) >= 0;
+        }
+      }
+      if (found) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isValid(long packed) {
+    Doc doc = docs.get(PostingList.id(packed));
+    return doc != null && doc.generation == PostingList.generation(packed);
+  }
+
+  private int addGrams(int field, long id, int generation, String text) {
+    Map<Integer, int[]> grams = grams(text);
+    grams.forEach((gram, positions) ->
+        fields[field].computeIfAbsent(gram, key -> new PostingList()).add(id, generation, positions));
+    return grams.size();
+  }
+
+  // 2-gram 별 출현 위치 (오름차순)
+  private static Map<Integer, int[]> grams(String text) {
+    Map<Integer, int[]> counts = new HashMap<>();
+    for (int i = 0; i + 1 < text.length(); i++) {
+      counts.computeIfAbsent(gram(text, i), key -> new int[1])[0]++;
+    }
+    Map<Integer, int[]> grams = new HashMap<>(counts.size() * 2);
+    counts.forEach((gram, count) -> grams.put(gram, new int[count[0]]));
+    for (int i = 0; i + 1 < text.length(); i++) {
+      int gram = gram(text, i);
+      int[] positions = grams.get(gram);
+      positions[positions.length - counts.get(gram)[0]--] = i;
+    }
+    return grams;
+  }
+
+  private static int gram(String text, int index) {
+    return (text.charAt(index) << 16) | text.charAt(index + 1);
+  }
+
+  private static String normalize(String text) {
+    return text == null ? "" : text.toLowerCase(Locale.ROOT);
+  }
+
+  // 정렬된 두 배열의 합집합 (중복 제거)
+  private static long[] union(long[] a, long[] b) {
+    long[] merged = new long[a.length + b.length];
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    while (i < a.length || j < b.length) {
+      long value;
+      if (j >= b.length || (i < a.length && a[i] <= b[j])) {
+        value = a[i++];
+      } else {
+        value = b[j++];
+      }
+      if (k == 0 || merged[k - 1] != value) {
+        merged[k++] = value;
+      }
+    }
+    return Arrays.copyOf(merged, k);
+  }
+}
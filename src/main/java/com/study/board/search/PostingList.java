@@ -0,0 +1,265 @@
+package com.study.board.search;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+// N-gram 하나에 대한 포스팅 리스트
+// (게시글 번호, 세대, 출현 위치) 를 게시글 번호 오름차순으로 보관하며, 번호의 차이(delta)와 세대, 위치의 차이를 가변 길이 정수(varint)로 압축한다
+// 위치 목록 앞에는 위치 목록의 byte 수를 기록하여, 위치가 필요 없는 항목은 풀지 않고 건너뛴다
+// 새 게시글은 항상 가장 큰 번호를 가지므로 대부분 압축 영역 끝에 덧붙이고,
+// 오래된 게시글이 수정되어 중간에 들어가야 하는 값만 작은 정렬 배열(tail)에 모았다가 일정 개수가 되면 다시 압축한다
+// 조회는 Cursor 로 압축 영역과 tail 을 병합하며 (id << 24 | 세대) 형태의 long 값 순서대로 읽는다
+final class PostingList {
+
+  static final int GENERATION_BITS = 24;
+  static final int GENERATION_MASK = (1 << GENERATION_BITS) - 1;
+  private static final int TAIL_LIMIT = 64;
+
+  private byte[] data = new byte[8];  // 압축 영역
+  private int length;                 // 압축 영역에서 사용 중인 byte 수
+  private int count;                  // 압축 영역의 항목 수
+  private long lastId;                // 압축 영역의 마지막 게시글 번호
+  private long[] tail = new long[0];  // 압축 영역 뒤에 붙일 수 없는 항목 (packed, 오름차순)
+  private int[][] tailPositions = new int[0][];
+  private int tailSize;
+
+  static long pack(long id, int generation) {
+    return (id << GENERATION_BITS) | (generation & GENERATION_MASK);
+  }
+
+  static long id(long packed) {
+    return packed >>> GENERATION_BITS;
+  }
+
+  static int generation(long packed) {
+    return (int) (packed & GENERATION_MASK);
+  }
+
+  int size() {
+    return count + tailSize;
+  }
+
+  long bytes() {
+    long bytes = data.length + (long) tail.length * Long.BYTES;
+    for (int i = 0; i < tailSize; i++) {
+      bytes += (long) tailPositions[i].length * Integer.BYTES;
+    }
+    return bytes;
+  }
+
+  // positions : 게시글 안에서 N-gram 이 나타나는 위치 (오름차순)
+  void add(long id, int generation, int[] positions) {
+    if (count == 0 || id > lastId) {
+      append(id, generation, positions);
+      return;
+    }
+
+    long packed = pack(id, generation);
+    int index = Arrays.binarySearch(tail, 0, tailSize, packed);
+    if (index >= 0) {
+      return;
+    }
+    int insertion = -(index + 1);
+    if (tailSize == tail.length) {
+      tail = Arrays.copyOf(tail, Math.max(4, tail.length * 2));
+      tailPositions = Arrays.copyOf(tailPositions, tail.length);
+    }
+    System.arraycopy(tail, insertion, tail, insertion + 1, tailSize - insertion);
+    System.arraycopy(tailPositions, insertion, tailPositions, insertion + 1, tailSize - insertion);
+    tail[insertion] = packed;
+    tailPositions[insertion] = positions;
+    tailSize++;
+
+    if (tailSize >= TAIL_LIMIT) {
+      compact(packedValue -> true);
+    }
+  }
+
+  Cursor cursor() {
+    return new Cursor();
+  }
+
+  // 유효하지 않은(삭제 또는 수정 전 세대의) 항목 제거
+  void compact(LongPredicate valid) {
+    long[] values = new long[size()];
+    int[][] positions = new int[size()][];
+    int size = 0;
+    Cursor cursor = cursor();
+    while (cursor.next()) {
+      if (valid.test(cursor.packed()) && (size == 0 || values[size - 1] != cursor.packed())) {
+        values[size] = cursor.packed();
+        positions[size] = Arrays.copyOf(cursor.positions(), cursor.positionCount());
+        size++;
+      }
+    }
+
+    data = new byte[Math.max(8, length)];
+    length = 0;
+    count = 0;
+    lastId = 0;
+    tail = new long[0];
+    tailPositions = new int[0][];
+    tailSize = 0;
+    // 같은 게시글의 여러 세대는 delta 0 으로 이어서 기록한다
+    for (int i = 0; i < size; i++) {
+      append(id(values[i]), generation(values[i]), positions[i]);
+    }
+  }
+
+  private void append(long id, int generation, int[] positions) {
+    writeVarLong(id - lastId);
+    writeVarLong(generation);
+    int bytes = 0;
+    int previous = 0;
+    for (int position : positions) {
+      bytes += varLongSize(position - previous);
+      previous = position;
+    }
+    writeVarLong(bytes);
+    previous = 0;
+    for (int position : positions) {
+      writeVarLong(position - previous);
+      previous = position;
+    }
+    lastId = id;
+    count++;
+  }
+
+  private void writeVarLong(long value) {
+    if (length + 10 > data.length) {
+      data = Arrays.copyOf(data, Math.max(data.length + (data.length >> 1), length + 10));
+    }
+    while ((value & ~0x7FL) != 0) {
+      data[length++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    data[length++] = (byte) value;
+  }
+
+  private static int varLongSize(long value) {
+    int size = 1;
+    while ((value & ~0x7FL) != 0) {
+      value >>>= 7;
+      size++;
+    }
+    return size;
+  }
+
+  // 포스팅 리스트를 오름차순으로 읽는 커서 (배열로 풀지 않고 압축 영역과 tail 을 병합하며 읽는다)
+  // 위치는 positions() 를 호출한 항목만 풀며, 돌려준 배열은 다음 항목으로 이동하면 재사용된다
+  final class Cursor {
+    private int position;        // 압축 영역에서 다음에 읽을 위치
+    private int read;            // 압축 영역에서 읽은 항목 수
+    private long id;             // 압축 영역에서 마지막으로 읽은 게시글 번호
+    private boolean buffered;    // 압축 영역에서 읽었지만 아직 전달하지 않은 항목이 있는지
+    private long bufferedPacked;
+    private int bufferedOffset;  // 버퍼 항목의 위치 목록 시작 (data)
+    private int bufferedLength;  // 버퍼 항목의 위치 목록 byte 수
+    private int nextTail;        // 다음에 전달할 tail 위치
+
+    private boolean started;
+    private boolean done;
+    private long packed;
+    private int currentTail = -1;  // 현재 항목이 tail 이면 tail 의 위치, 압축 영역이면 -1
+    private int currentOffset;
+    private int currentLength;
+    private int[] decoded = new int[8];
+    private int decodedCount = -1;  // 현재 항목의 위치를 아직 풀지 않았으면 -1
+
+    long packed() {
+      return packed;
+    }
+
+    // 다음 항목으로 이동 (없으면 false)
+    boolean next() {
+      if (done) {
+        return false;
+      }
+      started = true;
+      decodedCount = -1;
+      if (buffered == false && read < count) {
+        id += readVarLong();
+        bufferedPacked = pack(id, (int) readVarLong());
+        bufferedLength = (int) readVarLong();
+        bufferedOffset = position;
+        position += bufferedLength;
+        read++;
+        buffered = true;
+      }
+      if (nextTail < tailSize && (buffered == false || tail[nextTail] <= bufferedPacked)) {
+        packed = tail[nextTail];
+        currentTail = nextTail++;
+        return true;
+      }
+      if (buffered) {
+        packed = bufferedPacked;
+        currentTail = -1;
+        currentOffset = bufferedOffset;
+        currentLength = bufferedLength;
+        buffered = false;
+        return true;
+      }
+      done = true;
+      return false;
+    }
+
+    // target 이상인 첫 항목으로 이동하고, 그 항목이 target 과 같은지 리턴
+    boolean skipTo(long target) {
+      while (started == false || packed < target) {
+        if (next() == false) {
+          return false;
+        }
+      }
+      return packed == target;
+    }
+
+    // 현재 항목의 위치 (앞에서부터 positionCount() 개가 유효)
+    int[] positions() {
+      if (currentTail >= 0) {
+        return tailPositions[currentTail];
+      }
+      if (decodedCount < 0) {
+        decodedCount = 0;
+        int offset = currentOffset;
+        int end = currentOffset + currentLength;
+        int previous = 0;
+        while (offset < end) {
+          long delta = 0;
+          int shift = 0;
+          byte b;
+          do {
+            b = data[offset++];
+            delta |= (long) (b & 0x7F) << shift;
+            shift += 7;
+          } while (b < 0);
+          previous += (int) delta;
+          if (decodedCount == decoded.length) {
+            decoded = Arrays.copyOf(decoded, decoded.length * 2);
+          }
+          decoded[decodedCount++] = previous;
+        }
+      }
+      return decoded;
+    }
+
+    int positionCount() {
+      if (currentTail >= 0) {
+        return tailPositions[currentTail].length;
+      }
+      positions();
+      return decodedCount;
+    }
+
+    private long readVarLong() {
+      long value = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = data[position++];
+        value |= (long) (b & 0x7F) << shift;
+        shift += 7;
+      } while (b < 0);
+      return value;
+    }
+  }
+}
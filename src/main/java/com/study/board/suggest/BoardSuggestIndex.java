@@ -0,0 +1,197 @@
+package com.study.board.suggest;
+
+import com.study.board.dto.BoardSummaryDto;
+import com.study.board.event.BoardEvent;
+import com.study.board.event.BoardHitsFlushedEvent;
+import com.study.board.model.BoardMapper;
+import com.study.config.BoardProperties;
+import com.study.exception.CustomException;
+import com.study.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 제목, 작성자 자동완성 인덱스
+// 검색창에서 글자를 입력할 때마다 리스트 조회(LIKE '%keyword%')를 보내면 입력 한 번마다 테이블 전체를 읽는다
+// 게시글 제목, 작성자를 접두어 색인(SuggestIndex)으로 메모리에 구성하여, 입력 중인 접두어로 시작하는 제목, 작성자를 조회 수 순으로 DB 없이 찾는다
+//  - 게시글 변경 : BoardEvent (커밋 이후, 다른 인스턴스의 변경 포함)
+//  - 조회 수 : BoardHitsFlushedEvent (이 인스턴스에서 반영한 증가분만 더하므로, 다른 인스턴스의 조회 수는 재구성할 때 DB 값으로 맞춰진다)
+// 추가, 삭제된 항목은 별도로 보관했다가 compact-threshold 를 넘으면 정렬 배열에 합친다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardSuggestIndex {
+
+  private final BoardMapper boardMapper;
+  private final BoardProperties properties;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private SuggestIndex index;
+  private Queue<Object> pending;   // 재구성 중에 커밋된 변경, 조회 수 반영 이벤트
+  private volatile boolean ready;  // 인덱스 사용 가능 여부
+
+  // 애플리케이션 구동이 완료되면 인덱스 구성
+  @EventListener(ApplicationReadyEvent.class)
+  public void init() {
+    if (properties.getSuggest().isEnabled()) {
+      rebuild();
+    }
+  }
+
+  // 접두어로 시작하는 제목, 작성자 (조회 수 내림차순)
+  // 기능이 꺼져 있으면 404, 구동 직후 첫 구성이 끝나기 전이면 503 (재시도하면 되는 상태)
+  public Map<String, Object> suggest(final String prefix, final int limit) {
+    if (properties.getSuggest().isEnabled() == false) {
+      throw new CustomException(ErrorCode.FEATURE_DISABLED);
+    }
+    if (ready == false) {
+      throw new CustomException(ErrorCode.INDEX_NOT_READY);
+    }
+    int size = Math.min(Math.max(limit, 1), properties.getSuggest().getMaxLimit());
+    Map<String, Object> response = new LinkedHashMap<>();
+    response.put("prefix", prefix);
+    lock.readLock().lock();
+    try {
+      response.put("titles", index.titles(prefix, size));
+      response.put("writers", index.writers(prefix, size));
+    } finally {
+      lock.readLock().unlock();
+    }
+    return response;
+  }
+
+  // 인덱스 재구성
+  // 재구성 중에 커밋된 변경은 pending 큐에 쌓아두었다가 교체 직전에 다시 반영한다
+  // (재구성 중에 반영된 조회 수는 DB 에서 읽은 값과 겹쳐 더해질 수 있다. 순위에만 사용하므로 다음 재구성까지 그대로 둔다)
+  public void rebuild() {
+    Queue<Object> queue = new ConcurrentLinkedQueue<>();
+    lock.writeLock().lock();
+    try {
+      pending = queue;
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    long start = System.currentTimeMillis();
+    SuggestIndex loaded = new SuggestIndex();
+    try {
+      boardMapper.findAllForSuggest(context -> {
+        BoardSummaryDto board = context.getResultObject();
+        loaded.put(board.getId(), board.getTitle(), board.getWriter(), board.getHits());
+      });
+    } catch (RuntimeException e) {
+      lock.writeLock().lock();
+      try {
+        pending = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      throw e;
+    }
+    loaded.compact();
+
+    lock.writeLock().lock();
+    try {
+      Object event;
+      while ((event = queue.poll()) != null) {
+        apply(loaded, event);
+      }
+      index = loaded;
+      pending = null;
+      ready = true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    log.info("BoardSuggestIndex rebuilt: {} posts, {} writers, {} entries, {} ms",
+        loaded.size(), loaded.writers(), loaded.entries(), System.currentTimeMillis() - start);
+  }
+
+  // 게시글 변경 반영 (커밋 이후)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onBoardEvent(final BoardEvent event) {
+    update(event);
+  }
+
+  // 조회 수 반영 (BoardHitsCounter 가 커밋한 뒤 발행)
+  @EventListener
+  public void onHitsFlushed(final BoardHitsFlushedEvent event) {
+    update(event);
+  }
+
+  private void update(final Object event) {
+    if (properties.getSuggest().isEnabled() == false) {
+      return;
+    }
+
+    lock.writeLock().lock();
+    try {
+      if (pending != null) {
+        pending.add(event);
+      }
+      if (index != null) {
+        apply(index, event);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void apply(final SuggestIndex target, final Object event) {
+    if (event instanceof BoardHitsFlushedEvent) {
+      ((BoardHitsFlushedEvent) event).getDeltas().forEach(target::addHits);
+      return;
+    }
+    BoardEvent change = (BoardEvent) event;
+    if (change.isLive()) {
+      target.put(change.getId(), change.getTitle(), change.getWriter());
+    } else {
+      target.remove(change.getId());
+    }
+  }
+
+  // 추가, 삭제된 항목 정리
+  @Scheduled(fixedDelay = 10000)
+  public void compactIfNeeded() {
+    if (ready == false) {
+      return;
+    }
+
+    lock.writeLock().lock();
+    try {
+      if (index.pendingEntries() > properties.getSuggest().getCompactThreshold()) {
+        index.compact();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // 인덱스 상태
+  public Map<String, Object> status() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("enabled", properties.getSuggest().isEnabled());
+    status.put("ready", ready);
+    lock.readLock().lock();
+    try {
+      if (index != null) {
+        status.put("size", index.size());
+        status.put("writers", index.writers());
+        status.put("entries", index.entries());
+        status.put("pendingEntries", index.pendingEntries());
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    return status;
+  }
+}
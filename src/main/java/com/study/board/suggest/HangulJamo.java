@@ -0,0 +1,69 @@
+package com.study.board.suggest;
+
+// 자동완성 키 정규화 (한글 음절 -> 자모)
+// 한글은 입력 중인 글자가 다음 글자의 초성을 받침으로 가지고 있거나("게시" 입력 중 "겟"), 겹모음, 겹받침이 덜 입력된 상태("과" 입력 중 "고")로 전달된다
+// 음절을 초성, 중성, 종성의 호환 자모(U+3131 ~)로 나누고 겹모음, 겹받침은 기본 자모로 다시 나누어, 입력 중인 상태도 완성된 글자의 앞부분이 되도록 한다
+//  - "게시판" -> ㄱㅔㅅㅣㅍㅏㄴ, "겟" -> ㄱㅔㅅ, "게ㅅ" -> ㄱㅔㅅ
+//  - "닭" -> ㄷㅏㄹㄱ, "과" -> ㄱㅗㅏ
+// 영문은 소문자로 바꾸고, 연속된 공백은 하나로 줄인다
+final class HangulJamo {
+
+  private static final char SYLLABLE_BASE = 0xAC00;
+  private static final char SYLLABLE_LAST = 0xD7A3;
+  private static final char COMPAT_BASE = 0x3131;
+  private static final char COMPAT_LAST = 0x3163;
+
+  private static final String[] INITIALS = split("ㄱ ㄲ ㄴ ㄷ ㄸ ㄹ ㅁ ㅂ ㅃ ㅅ ㅆ ㅇ ㅈ ㅉ ㅊ ㅋ ㅌ ㅍ ㅎ");
+  private static final String[] MEDIALS = split("ㅏ ㅐ ㅑ ㅒ ㅓ ㅔ ㅕ ㅖ ㅗ ㅗㅏ ㅗㅐ ㅗㅣ ㅛ ㅜ ㅜㅓ ㅜㅔ ㅜㅣ ㅠ ㅡ ㅡㅣ ㅣ");
+  private static final String[] FINALS = split("- ㄱ ㄲ ㄱㅅ ㄴ ㄴㅈ ㄴㅎ ㄷ ㄹ ㄹㄱ ㄹㅁ ㄹㅂ ㄹㅅ ㄹㅌ ㄹㅍ ㄹㅎ ㅁ ㅂ ㅂㅅ ㅅ ㅆ ㅇ ㅈ ㅊ ㅋ ㅌ ㅍ ㅎ");
+
+  // 호환 자모(ㄱ ~ ㅣ)를 그대로 입력한 경우의 분해 결과 (겹받침, 겹모음만 나뉜다)
+  private static final String[] COMPAT = new String[COMPAT_LAST - COMPAT_BASE + 1];
+
+  static {
+    String compound = "ㄳㄱㅅ ㄵㄴㅈ ㄶㄴㅎ ㄺㄹㄱ ㄻㄹㅁ ㄼㄹㅂ ㄽㄹㅅ ㄾㄹㅌ ㄿㄹㅍ ㅀㄹㅎ ㅄㅂㅅ ㅘㅗㅏ ㅙㅗㅐ ㅚㅗㅣ ㅝㅜㅓ ㅞㅜㅔ ㅟㅜㅣ ㅢㅡㅣ";
+    for (String entry : split(compound)) {
+      COMPAT[entry.charAt(0) - COMPAT_BASE] = entry.substring(1);
+    }
+  }
+
+  private HangulJamo() {
+  }
+
+  // 정규화 (maxLength 자까지, 공백으로 끝나지 않는다)
+  static String normalize(String text, int maxLength) {
+    if (text == null) {
+      return "";
+    }
+    StringBuilder builder = new StringBuilder(Math.min(text.length() * 3, maxLength));
+    for (int i = 0; i < text.length() && builder.length() < maxLength; i++) {
+      char c = text.charAt(i);
+      if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+        int offset = c - SYLLABLE_BASE;
+        builder.append(INITIALS[offset / 588]).append(MEDIALS[offset % 588 / 28]);
+        if (offset % 28 != 0) {
+          builder.append(FINALS[offset % 28]);
+        }
+      } else if (c >= COMPAT_BASE && c <= COMPAT_LAST && COMPAT[c - COMPAT_BASE] != null) {
+        builder.append(COMPAT[c - COMPAT_BASE]);
+      } else if (Character.isWhitespace(c)) {
+        if (builder.length() > 0 && builder.charAt(builder.length() - 1) != ' ') {
+          builder.append(' ');
+        }
+      } else {
+        builder.append(Character.toLowerCase(c));
+      }
+    }
+    if (builder.length() > maxLength) {
+      builder.setLength(maxLength);
+    }
+    while (builder.length() > 0 && builder.charAt(builder.length() - 1) == ' ') {
+      builder.setLength(builder.length() - 1);
+    }
+    return builder.toString();
+  }
+
+  private static String[] split(String values) {
+    return values.split(" ");
+  }
+}
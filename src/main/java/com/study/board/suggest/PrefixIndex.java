@@ -0,0 +1,226 @@
+package com.study.board.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// 가중치 순 접두어 색인
+// 항목(번호, 가중치)마다 정규화된 키를 하나 이상 가지며, 접두어로 시작하는 키를 가진 항목을 가중치가 큰 순서로 찾는다
+//  - 정렬 배열 : (키, 항목) 쌍을 키 순서로 보관하므로 접두어가 같은 키는 연속된 구간에 모이고, 이진 탐색 두 번으로 구간을 찾는다
+//  - 최대값 세그먼트 트리 : 배열 위치별 가중치의 구간 최대값을 보관하여, 구간이 넓어도(한 글자 입력) 가중치 순으로 limit 개를 O(limit * log n) 에 꺼낸다
+//  - 가중치 변경 : 항목이 배열에서 차지하는 위치의 트리 값만 고친다 (O(log n))
+//  - 추가 : 정렬 배열에 끼워 넣지 않고 정렬 맵(delta)에 보관했다가 compact() 에서 합친다 (조회 시 delta 에서 접두어에 해당하는 항목을 함께 확인)
+//  - 삭제 : 트리 값을 -1 로 바꿔 조회에서 제외하고(stale), compact() 에서 배열에서도 뺀다
+// 동기화는 사용하는 쪽(SuggestIndex)에서 처리한다
+public class PrefixIndex {
+
+  private static final long REMOVED = -1;
+
+  private static final class Item {
+    private final long id;
+    private final String[] keys;  // 정렬된 키
+    private long weight;
+    private int[] positions;  // 정렬 배열에서의 위치 (delta 에 있으면 NULL)
+
+    private Item(long id, String[] keys, long weight) {
+      this.id = id;
+      this.keys = keys;
+      this.weight = weight;
+    }
+  }
+
+  private final Map<Long, Item> items = new HashMap<>();
+  private String[] keys = new String[0];
+  private Item[] owners = new Item[0];  // 정렬 배열 위치별 항목
+  private long[] tree = { REMOVED, REMOVED };
+  private int leaves = 1;               // 세그먼트 트리의 잎 수 (2의 거듭제곱, tree[leaves + 위치] 가 위치별 가중치)
+  private final TreeMap<String, List<Item>> delta = new TreeMap<>();
+  private int deltaEntries;             // compact() 이후 추가된 (키, 항목) 수
+  private int staleEntries;             // 정렬 배열에서 제외되지 않은 삭제(또는 수정 이전) 항목 수
+
+  public int size() {
+    return items.size();
+  }
+
+  // 조회 대상 (키, 항목) 수
+  public int entries() {
+    return keys.length - staleEntries + deltaEntries;
+  }
+
+  public int deltaEntries() {
+    return deltaEntries;
+  }
+
+  public int staleEntries() {
+    return staleEntries;
+  }
+
+  public boolean contains(long id) {
+    return items.containsKey(id);
+  }
+
+  // 항목 추가 (이미 있으면 키를 바꾼다)
+  public void put(long id, String[] itemKeys, long weight) {
+    remove(id);
+    // 키는 중복을 제거하고 정렬하여 보관한다 (compact() 에서 키로 위치를 찾는다)
+    Item item = new Item(id, new TreeSet<>(Arrays.asList(itemKeys)).toArray(new String[0]), weight);
+    items.put(id, item);
+    for (String key : item.keys) {
+      delta.computeIfAbsent(key, k -> new ArrayList<>(1)).add(item);
+    }
+    deltaEntries += item.keys.length;
+  }
+
+  public void remove(long id) {
+    Item item = items.remove(id);
+    if (item == null) {
+      return;
+    }
+    if (item.positions != null) {
+      for (int position : item.positions) {
+        set(position, REMOVED);
+      }
+      staleEntries += item.positions.length;
+      item.positions = null;
+      return;
+    }
+    for (String key : item.keys) {
+      List<Item> owned = delta.get(key);
+      owned.remove(item);
+      if (owned.isEmpty()) {
+        delta.remove(key);
+      }
+    }
+    deltaEntries -= item.keys.length;
+  }
+
+  public void setWeight(long id, long weight) {
+    Item item = items.get(id);
+    if (item == null) {
+      return;
+    }
+    item.weight = weight;
+    if (item.positions != null) {
+      for (int position : item.positions) {
+        set(position, weight);
+      }
+    }
+  }
+
+  // 접두어로 시작하는 키를 가진 항목 번호 (가중치 내림차순, 같으면 번호 내림차순)
+  public long[] top(String prefix, int limit) {
+    String upper = prefix + Character.MAX_VALUE;
+    Set<Item> found = new HashSet<>();
+
+    // 정렬 배열 : 구간을 덮는 트리 노드에서 시작하여, 가중치가 가장 큰 노드를 잎까지 내려가며 꺼낸다
+    // 같은 항목이 구간 안에 여러 키로 들어 있을 수 있으므로 서로 다른 항목이 limit 개가 될 때까지 꺼낸다
+    PriorityQueue<Integer> queue = new PriorityQueue<>((a, b) -> Long.compare(tree[b], tree[a]));
+    int from = lowerBound(prefix) + leaves;
+    int to = lowerBound(upper) + leaves;
+    while (from < to) {
+      if ((from & 1) == 1) {
+        queue.add(from++);
+      }
+      if ((to & 1) == 1) {
+        queue.add(--to);
+      }
+      from >>= 1;
+      to >>= 1;
+    }
+    while (found.size() < limit && queue.isEmpty() == false && tree[queue.peek()] != REMOVED) {
+      int node = queue.poll();
+      if (node >= leaves) {
+        found.add(owners[node - leaves]);
+      } else {
+        queue.add(node * 2);
+        queue.add(node * 2 + 1);
+      }
+    }
+
+    // delta : 접두어에 해당하는 항목을 모두 후보에 넣는다 (compact() 주기 사이에 추가된 항목만 있으므로 작다)
+    for (List<Item> owned : delta.subMap(prefix, true, upper, false).values()) {
+      found.addAll(owned);
+    }
+
+    return found.stream()
+        .sorted((a, b) -> a.weight != b.weight ? Long.compare(b.weight, a.weight) : Long.compare(b.id, a.id))
+        .limit(limit)
+        .mapToLong(item -> item.id)
+        .toArray();
+  }
+
+  // delta 와 삭제된 항목을 정리하여 정렬 배열, 세그먼트 트리를 다시 만든다
+  // 정렬 배열과 delta 가 모두 키 순서이므로 다시 정렬하지 않고 한 번에 합친다 (O(n))
+  public void compact() {
+    String[] mergedKeys = new String[entries()];
+    Item[] mergedOwners = new Item[mergedKeys.length];
+    int size = 0;
+    Iterator<Map.Entry<String, List<Item>>> added = delta.entrySet().iterator();
+    Map.Entry<String, List<Item>> next = added.hasNext() ? added.next() : null;
+    for (int position = 0; position <= keys.length; position++) {
+      while (next != null && (position == keys.length || next.getKey().compareTo(keys[position]) < 0)) {
+        for (Item item : next.getValue()) {
+          mergedKeys[size] = next.getKey();
+          mergedOwners[size++] = item;
+        }
+        next = added.hasNext() ? added.next() : null;
+      }
+      // 삭제(또는 다시 추가)된 항목은 items 에 남아 있지 않다
+      if (position < keys.length && items.get(owners[position].id) == owners[position]) {
+        mergedKeys[size] = keys[position];
+        mergedOwners[size++] = owners[position];
+      }
+    }
+
+    keys = mergedKeys;
+    owners = mergedOwners;
+    leaves = Integer.highestOneBit(Math.max(size, 1) * 2 - 1);
+    tree = new long[leaves * 2];
+    Arrays.fill(tree, REMOVED);
+    for (int position = 0; position < size; position++) {
+      Item item = owners[position];
+      if (item.positions == null) {
+        item.positions = new int[item.keys.length];
+      }
+      item.positions[Arrays.binarySearch(item.keys, keys[position])] = position;
+      tree[leaves + position] = item.weight;
+    }
+    for (int node = leaves - 1; node > 0; node--) {
+      tree[node] = Math.max(tree[node * 2], tree[node * 2 + 1]);
+    }
+    delta.clear();
+    deltaEntries = 0;
+    staleEntries = 0;
+  }
+
+  private void set(int position, long weight) {
+    int node = leaves + position;
+    tree[node] = weight;
+    for (node >>= 1; node > 0; node >>= 1) {
+      tree[node] = Math.max(tree[node * 2], tree[node * 2 + 1]);
+    }
+  }
+
+  // key 이상인 첫 번째 위치
+  private int lowerBound(String key) {
+    int low = 0;
+    int high = keys.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (keys[mid].compareTo(key) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
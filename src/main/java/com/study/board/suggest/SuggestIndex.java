@@ -0,0 +1,200 @@
+package com.study.board.suggest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 게시글 제목, 작성자 자동완성 색인
+//  - 제목 : 단어가 시작하는 위치마다 키를 만들어 ("스프링 게시판" -> "스프링 게시판", "게시판") 중간 단어로도 찾을 수 있고, 게시글 조회 수 순으로 정렬한다
+//  - 작성자 : 이름 전체를 키로 사용하고, 작성자의 게시글 조회 수 합계 순으로 정렬한다
+// 키는 HangulJamo 로 정규화하며 앞 MAX_KEY_LENGTH 자(자모)까지만 보관하므로, 그보다 긴 입력은 앞부분만 비교한다
+// 응답에 사용할 제목, 작성자 원문을 함께 보관한다 (DB 조회 없음)
+// 동기화는 사용하는 쪽(BoardSuggestIndex)에서 처리한다
+public class SuggestIndex {
+
+  static final int MAX_KEY_LENGTH = 24;    // 키 최대 길이 (자모 기준, 한글 8 ~ 12 글자)
+  private static final int MAX_WORDS = 8;  // 제목에서 키를 만들 최대 단어 수
+
+  private static final class Post {
+    private final String title;
+    private final String writer;
+    private long hits;
+
+    private Post(String title, String writer, long hits) {
+      this.title = title;
+      this.writer = writer;
+      this.hits = hits;
+    }
+  }
+
+  private static final class Writer {
+    private final long id;
+    private final String name;
+    private int posts;
+    private long hits;
+
+    private Writer(long id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+  }
+
+  private final PrefixIndex titles = new PrefixIndex();
+  private final PrefixIndex writers = new PrefixIndex();
+  private final Map<Long, Post> posts = new HashMap<>();
+  private final Map<String, Writer> writersByName = new HashMap<>();
+  private final Map<Long, Writer> writersById = new HashMap<>();
+  private long nextWriterId;
+
+  public int size() {
+    return posts.size();
+  }
+
+  public int writers() {
+    return writersByName.size();
+  }
+
+  // 조회 대상 (키, 항목) 수
+  public long entries() {
+    return (long) titles.entries() + writers.entries();
+  }
+
+  // 정렬 배열에 합쳐지지 않은 (추가, 삭제된) 항목 수
+  public long pendingEntries() {
+    return (long) titles.deltaEntries() + titles.staleEntries() + writers.deltaEntries() + writers.staleEntries();
+  }
+
+  // 게시글 추가, 수정 (수정이면 조회 수를 유지한다)
+  public void put(long id, String title, String writer) {
+    Post previous = posts.get(id);
+    put(id, title, writer, previous == null ? 0 : previous.hits);
+  }
+
+  public void put(long id, String title, String writer, long hits) {
+    Post post = new Post(title == null ? "" : title, writer == null ? "" : writer, hits);
+    Post previous = posts.put(id, post);
+    // 내용만 수정된 경우 제목 키는 그대로 둔다
+    if (previous != null && previous.title.equals(post.title)) {
+      titles.setWeight(id, hits);
+    } else {
+      titles.put(id, titleKeys(post.title), hits);
+    }
+    // 작성자가 같으면 작성자 키를 다시 만들지 않도록 추가한 뒤에 이전 게시글을 뺀다
+    attach(post);
+    if (previous != null) {
+      detach(previous);
+    }
+  }
+
+  public void remove(long id) {
+    Post post = posts.remove(id);
+    if (post != null) {
+      titles.remove(id);
+      detach(post);
+    }
+  }
+
+  // 조회 수 반영
+  public void addHits(long id, long delta) {
+    Post post = posts.get(id);
+    if (post == null) {
+      return;
+    }
+    post.hits += delta;
+    titles.setWeight(id, post.hits);
+    Writer writer = writersByName.get(post.writer);
+    writer.hits += delta;
+    writers.setWeight(writer.id, writer.hits);
+  }
+
+  // 제목 자동완성 (조회 수 내림차순, 같으면 최신 게시글 먼저)
+  public List<Map<String, Object>> titles(String prefix, int limit) {
+    List<Map<String, Object>> result = new ArrayList<>();
+    String key = HangulJamo.normalize(prefix, MAX_KEY_LENGTH);
+    if (key.isEmpty()) {
+      return result;
+    }
+    for (long id : titles.top(key, limit)) {
+      Post post = posts.get(id);
+      Map<String, Object> row = new LinkedHashMap<>();
+      row.put("id", id);
+      row.put("title", post.title);
+      row.put("writer", post.writer);
+      row.put("hits", post.hits);
+      result.add(row);
+    }
+    return result;
+  }
+
+  // 작성자 자동완성 (게시글 조회 수 합계 내림차순)
+  public List<Map<String, Object>> writers(String prefix, int limit) {
+    List<Map<String, Object>> result = new ArrayList<>();
+    String key = HangulJamo.normalize(prefix, MAX_KEY_LENGTH);
+    if (key.isEmpty()) {
+      return result;
+    }
+    for (long id : writers.top(key, limit)) {
+      Writer writer = writersById.get(id);
+      Map<String, Object> row = new LinkedHashMap<>();
+      row.put("writer", writer.name);
+      row.put("posts", writer.posts);
+      row.put("hits", writer.hits);
+      result.add(row);
+    }
+    return result;
+  }
+
+  // 추가, 삭제된 항목을 정렬 배열에 합친다
+  public void compact() {
+    titles.compact();
+    writers.compact();
+  }
+
+  private void attach(Post post) {
+    Writer writer = writersByName.get(post.writer);
+    if (writer == null) {
+      writer = new Writer(nextWriterId++, post.writer);
+      writersByName.put(writer.name, writer);
+      writersById.put(writer.id, writer);
+    }
+    writer.posts++;
+    writer.hits += post.hits;
+    if (writers.contains(writer.id)) {
+      writers.setWeight(writer.id, writer.hits);
+    } else {
+      writers.put(writer.id, new String[] { HangulJamo.normalize(writer.name, MAX_KEY_LENGTH) }, writer.hits);
+    }
+  }
+
+  private void detach(Post post) {
+    Writer writer = writersByName.get(post.writer);
+    writer.posts--;
+    writer.hits -= post.hits;
+    if (writer.posts == 0) {
+      writersByName.remove(writer.name);
+      writersById.remove(writer.id);
+      writers.remove(writer.id);
+    } else {
+      writers.setWeight(writer.id, writer.hits);
+    }
+  }
+
+  // 단어가 시작하는 위치부터 MAX_KEY_LENGTH 자까지를 키로 사용한다
+  static String[] titleKeys(String title) {
+    String normalized = HangulJamo.normalize(title, Integer.MAX_VALUE);
+    List<String> keys = new ArrayList<>();
+    int start = 0;
+    while (start < normalized.length() && keys.size() < MAX_WORDS) {
+      String key = normalized.substring(start, Math.min(start + MAX_KEY_LENGTH, normalized.length())).trim();
+      keys.add(key);
+      int space = normalized.indexOf(' ', start);
+      if (space < 0) {
+        break;
+      }
+      start = space + 1;
+    }
+    return keys.toArray(new String[0]);
+  }
+}
@@ -0,0 +1,312 @@
+package com.study.board.trending;
+
+import com.study.board.dto.BoardResponseDto;
+import com.study.board.event.BoardEvent;
+import com.study.config.BoardProperties;
+import com.study.exception.CustomException;
+import com.study.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 인기 게시글 (최근 기간 동안 조회 수가 많은 게시글)
+// 게시글의 hits 는 전체 기간 누적값이고 정렬하려면 테이블을 읽어야 하므로, 상세 조회를 메모리에서 시간 구간별로 집계한다
+//  - 기록 : 요청 스레드는 스레드별로 나뉜 버퍼(stripe) 중 하나에 게시글을 넣기만 한다 (잠금 없음, 순번 증가 + 배열 쓰기)
+//  - 집계 : board-trending 스레드가 drain-interval-ms 마다 버퍼를 비우고, 현재 시간 구간의 Space-Saving 요약에 반영한다
+//  - 조회 : 요청한 기간에 해당하는 시간 구간의 요약을 합쳐 조회 수가 많은 순으로 응답한다 (DB 조회 없음)
+// 메모리는 게시글 수와 관계없이 buckets * capacity 개의 카운터와 stripes * stripe-buffer-size 개의 버퍼 칸으로 제한된다
+// 조회 수는 근사값이다 (views 는 실제 조회 수 이상이며, views - error 이하로는 내려가지 않는다. 버퍼가 넘치면 일부 조회가 빠진다)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardTrending {
+
+  private static final Pattern WINDOW = Pattern.compile("(\\d{1,9})([smhd])");  // 자릿수를 제한하여 long 범위를 넘지 않게 한다
+
+  private final BoardProperties properties;
+
+  // 조회 기록 버퍼 (여러 요청 스레드가 쓰고 집계 스레드 하나가 읽는다)
+  private static final class Stripe {
+    private final AtomicReferenceArray<BoardResponseDto> buffer;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();  // 다음에 쓸 순번
+    private long tail;                                  // 다음에 읽을 순번 (집계 스레드만 사용)
+
+    private Stripe(final int capacity) {
+      buffer = new AtomicReferenceArray<>(capacity);
+      mask = capacity - 1;
+    }
+  }
+
+  private volatile Stripe[] stripes;
+  private int stripeMask;
+  private SpaceSaving[] buckets;
+  private long[] bucketEpochs;  // 시간 구간별로 담고 있는 구간 번호 (시각 / bucketMillis)
+  private long bucketMillis;
+  private ScheduledExecutorService scheduler;
+
+  // 조회 결과 (합치는 시간 구간 수, 개수별) - 집계가 반영되거나 게시글이 변경되면 비운다
+  // 요청 문자열이 아닌 해석한 기간으로 찾으므로 1h, 60m, 01h 는 같은 결과를 사용한다
+  private final Map<String, List<Map<String, Object>>> results = new HashMap<>();
+  private final LongAdder recorded = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+
+  @PostConstruct
+  public void start() {
+    BoardProperties.Trending config = properties.getTrending();
+    if (config.isEnabled() == false) {
+      return;
+    }
+    bucketMillis = TimeUnit.SECONDS.toMillis(Math.max(config.getBucketSeconds(), 1));
+    buckets = new SpaceSaving[Math.max(config.getBuckets(), 1)];
+    bucketEpochs = new long[buckets.length];
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new SpaceSaving(config.getCapacity());
+      bucketEpochs[i] = -1;
+    }
+
+    // 버퍼 수, 버퍼 크기는 2의 거듭제곱으로 맞추어 & mask 로 위치를 계산한다
+    int count = config.getStripes() > 0 ? config.getStripes() : Runtime.getRuntime().availableProcessors() * 2;
+    count = Integer.highestOneBit(Math.max(count - 1, 1)) << 1;
+    int capacity = Integer.highestOneBit(Math.max(config.getStripeBufferSize() - 1, 1)) << 1;
+    Stripe[] created = new Stripe[count];
+    for (int i = 0; i < count; i++) {
+      created[i] = new Stripe(capacity);
+    }
+    stripeMask = count - 1;
+    stripes = created;
+
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "board-trending");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long interval = Math.max(config.getDrainIntervalMs(), 10);
+    scheduler.scheduleWithFixedDelay(this::drainQuietly, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+
+  // 게시글 조회 기록 (요청 스레드, lock-free)
+  // 제목은 집계 스레드에서 꺼내 쓰며, 제목이 없는 객체(검증자 조회 결과)면 이전에 기록된 제목을 유지한다
+  public void record(final BoardResponseDto board) {
+    Stripe[] current = stripes;
+    if (current == null || board == null) {
+      return;
+    }
+    Stripe stripe = current[(int) Thread.currentThread().getId() & stripeMask];
+    long sequence = stripe.head.getAndIncrement();
+    stripe.buffer.lazySet((int) (sequence & stripe.mask), board);
+  }
+
+  private void drainQuietly() {
+    try {
+      drain();
+    } catch (RuntimeException e) {
+      log.error("BoardTrending drain failed: {}", e.getMessage());
+    }
+  }
+
+  // 버퍼에 쌓인 조회 기록을 현재 시간 구간에 반영
+  synchronized void drain() {
+    Map<Long, long[]> counts = new HashMap<>();
+    Map<Long, String> titles = new HashMap<>();
+    for (Stripe stripe : stripes) {
+      long end = stripe.head.get();
+      // 집계가 한 바퀴 이상 뒤처진 경우, 덮어쓴 기록은 건너뛴다
+      if (end - stripe.tail > stripe.buffer.length()) {
+        dropped.add(end - stripe.tail - stripe.buffer.length());
+        stripe.tail = end - stripe.buffer.length();
+      }
+      while (stripe.tail < end) {
+        BoardResponseDto board = stripe.buffer.getAndSet((int) (stripe.tail & stripe.mask), null);
+        if (board == null) {
+          // 순번은 받았지만 아직 기록하지 않은 칸 : 다음 주기에 다시 확인
+          break;
+        }
+        counts.computeIfAbsent(board.getId(), id -> new long[1])[0]++;
+        if (board.getTitle() != null) {
+          titles.put(board.getId(), board.getTitle());
+        }
+        stripe.tail++;
+      }
+    }
+    if (counts.isEmpty()) {
+      return;
+    }
+
+    long views = 0;
+    SpaceSaving bucket = bucket(System.currentTimeMillis() / bucketMillis);
+    for (Map.Entry<Long, long[]> entry : counts.entrySet()) {
+      bucket.offer(entry.getKey(), entry.getValue()[0], titles.get(entry.getKey()));
+      views += entry.getValue()[0];
+    }
+    recorded.add(views);
+    results.clear();
+  }
+
+  // 구간 번호에 해당하는 시간 구간 (이전 구간의 데이터가 남아 있으면 비운다)
+  private SpaceSaving bucket(final long epoch) {
+    int index = (int) (epoch % buckets.length);
+    if (bucketEpochs[index] != epoch) {
+      buckets[index].clear();
+      bucketEpochs[index] = epoch;
+    }
+    return buckets[index];
+  }
+
+  // 게시글이 수정되면 제목을 바꾸고, 삭제되면 집계에서 제거
+  @TransactionalEventListener(fallbackExecution = true)
+  public synchronized void onBoardEvent(final BoardEvent event) {
+    if (buckets == null || event.getType() == BoardEvent.Type.CREATED) {
+      return;
+    }
+    for (SpaceSaving bucket : buckets) {
+      if (event.isLive()) {
+        bucket.rename(event.getId(), event.getTitle());
+      } else {
+        bucket.remove(event.getId());
+      }
+    }
+    results.clear();
+  }
+
+  // 인기 게시글 조회 (window : 30s, 15m, 1h, 1d 형식)
+  public synchronized Map<String, Object> top(final String window, final int limit) {
+    if (buckets == null) {
+      throw new CustomException(ErrorCode.BAD_REQUEST);
+    }
+    long windowMillis = parseWindow(window);
+    int size = Math.min(Math.max(limit, 1), properties.getTrending().getMaxLimit());
+    long spans = Math.min((windowMillis + bucketMillis - 1) / bucketMillis, buckets.length);
+    String key = spans + ":" + size;
+    List<Map<String, Object>> list = results.get(key);
+    if (list == null) {
+      list = merge(spans, size);
+      results.put(key, list);
+    }
+
+    Map<String, Object> response = new LinkedHashMap<>();
+    response.put("window", window);
+    response.put("windowSeconds", spans * bucketMillis / 1000);
+    response.put("list", list);
+    return response;
+  }
+
+  // 최근 spans 개의 시간 구간(현재 구간 포함)을 합쳐 조회 수가 많은 size 개
+  // 요약에 없는 게시글의 조회 수는 그 구간의 최소 카운트 이하이므로, 합친 오차에 더한다
+  private List<Map<String, Object>> merge(final long spans, final int size) {
+    long now = System.currentTimeMillis() / bucketMillis;
+    Map<Long, Merged> merged = new HashMap<>();
+    long floors = 0;
+    for (long epoch = now - spans + 1; epoch <= now; epoch++) {
+      int index = (int) (epoch % buckets.length);
+      if (epoch < 0 || bucketEpochs[index] != epoch) {
+        continue;
+      }
+      SpaceSaving bucket = buckets[index];
+      long floor = bucket.minCount();
+      floors += floor;
+      for (int slot = 0; slot < bucket.size(); slot++) {
+        Merged item = merged.computeIfAbsent(bucket.id(slot), Merged::new);
+        item.views += bucket.count(slot);
+        item.error += bucket.error(slot) - floor;
+        if (bucket.title(slot) != null && epoch >= item.titleEpoch) {
+          item.title = bucket.title(slot);
+          item.titleEpoch = epoch;
+        }
+      }
+    }
+
+    List<Merged> ranked = new ArrayList<>(merged.values());
+    ranked.sort((a, b) -> Long.compare(b.views, a.views));
+    List<Map<String, Object>> list = new ArrayList<>();
+    for (Merged item : ranked.subList(0, Math.min(size, ranked.size()))) {
+      Map<String, Object> post = new LinkedHashMap<>();
+      post.put("id", item.id);
+      post.put("title", item.title);
+      post.put("views", item.views);
+      post.put("error", item.error + floors);
+      list.add(post);
+    }
+    return list;
+  }
+
+  // 기간 해석 (조회 가능한 최대 기간을 넘거나 형식이 다르면 400, 숫자는 9자리까지)
+  private long parseWindow(final String window) {
+    Matcher matcher = window == null ? null : WINDOW.matcher(window.trim());
+    if (matcher == null || matcher.matches() == false) {
+      throw new CustomException(ErrorCode.BAD_REQUEST);
+    }
+    long amount = Long.parseLong(matcher.group(1));
+    TimeUnit unit;
+    switch (matcher.group(2)) {
+      case "s":
+        unit = TimeUnit.SECONDS;
+        break;
+      case "m":
+        unit = TimeUnit.MINUTES;
+        break;
+      case "h":
+        unit = TimeUnit.HOURS;
+        break;
+      default:
+        unit = TimeUnit.DAYS;
+        break;
+    }
+    long millis = unit.toMillis(amount);
+    if (millis <= 0 || millis > bucketMillis * buckets.length) {
+      throw new CustomException(ErrorCode.BAD_REQUEST);
+    }
+    return millis;
+  }
+
+  // 여러 시간 구간을 합친 게시글별 조회 수
+  private static final class Merged {
+    private final long id;
+    private long views;
+    private long error;       // 요약에 포함된 구간의 오차 - 그 구간의 최소 카운트 (응답할 때 전체 구간의 최소 카운트 합을 더한다)
+    private String title;
+    private long titleEpoch = -1;
+
+    private Merged(final long id) {
+      this.id = id;
+    }
+  }
+
+  public Map<String, Object> status() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    Stripe[] current = stripes;
+    status.put("enabled", current != null);
+    status.put("stripes", current == null ? 0 : current.length);
+    status.put("stripeBufferSize", current == null ? 0 : current[0].buffer.length());
+    status.put("bucketSeconds", bucketMillis / 1000);
+    status.put("buckets", buckets == null ? 0 : buckets.length);
+    status.put("capacity", properties.getTrending().getCapacity());
+    status.put("recorded", recorded.sum());
+    status.put("dropped", dropped.sum());
+    return status;
+  }
+}
@@ -0,0 +1,185 @@
+package com.study.board.trending;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Space-Saving 상위 K 요약
+// 최대 capacity 개의 게시글만 카운터를 가지며, 가득 찬 상태에서 새 게시글이 들어오면 카운트가 가장 작은 카운터를 넘겨받는다
+//  - 넘겨받은 게시글의 카운트 = 이전 최소 카운트 + 증가분, 오차(error) = 이전 최소 카운트 (실제 조회 수는 count - error 이상 count 이하)
+//  - 실제 조회 수가 전체 조회 수 / capacity 보다 많은 게시글은 반드시 요약에 남는다
+// 게시글 수와 관계없이 메모리는 capacity 에 비례하며, 최소 카운터는 인덱스 최소 힙으로 찾는다 (갱신 O(log k))
+// 스레드 안전하지 않다 (BoardTrending 이 잠금 안에서 사용)
+final class SpaceSaving {
+
+  private final int capacity;
+  private final long[] ids;
+  private final long[] counts;
+  private final long[] errors;
+  private final String[] titles;
+  private final int[] heap;      // 카운트 기준 최소 힙 (값 = 슬롯 번호)
+  private final int[] position;  // 슬롯의 힙 위치
+  private final Map<Long, Integer> slots;
+  private int size;
+
+  SpaceSaving(final int capacity) {
+    this.capacity = Math.max(capacity, 1);
+    this.ids = new long[this.capacity];
+    this.counts = new long[this.capacity];
+    this.errors = new long[this.capacity];
+    this.titles = new String[this.capacity];
+    this.heap = new int[this.capacity];
+    this.position = new int[this.capacity];
+    this.slots = new HashMap<>(this.capacity * 2);
+  }
+
+  // 조회 수 추가 (title 이 NULL 이면 기존 제목 유지)
+  void offer(final long id, final long count, final String title) {
+    Integer slot = slots.get(id);
+    if (slot != null) {
+      counts[slot] += count;
+      if (title != null) {
+        titles[slot] = title;
+      }
+      siftDown(position[slot]);
+      return;
+    }
+
+    if (size < capacity) {
+      int empty = size;
+      ids[empty] = id;
+      counts[empty] = count;
+      errors[empty] = 0;
+      titles[empty] = title;
+      heap[size] = empty;
+      position[empty] = size;
+      size++;
+      slots.put(id, empty);
+      siftUp(size - 1);
+      return;
+    }
+
+    // 가장 작은 카운터를 넘겨받는다
+    int min = heap[0];
+    slots.remove(ids[min]);
+    errors[min] = counts[min];
+    counts[min] += count;
+    ids[min] = id;
+    titles[min] = title;
+    slots.put(id, min);
+    siftDown(0);
+  }
+
+  // 제목 변경 (요약에 없는 게시글이면 무시)
+  void rename(final long id, final String title) {
+    Integer slot = slots.get(id);
+    if (slot != null) {
+      titles[slot] = title;
+    }
+  }
+
+  // 게시글 제거 (삭제된 게시글)
+  void remove(final long id) {
+    Integer removed = slots.remove(id);
+    if (removed == null) {
+      return;
+    }
+    int slot = removed;
+
+    // 힙에서 제거 : 마지막 원소를 빈 자리로 옮긴 뒤 위치 조정
+    int index = position[slot];
+    int moved = heap[size - 1];
+    size--;
+    if (index < size) {
+      heap[index] = moved;
+      position[moved] = index;
+      siftDown(index);
+      siftUp(position[moved]);
+    }
+
+    // 슬롯을 0 ~ size-1 로 유지 : 마지막 슬롯을 빈 슬롯으로 옮긴다
+    int last = size;
+    if (slot != last) {
+      ids[slot] = ids[last];
+      counts[slot] = counts[last];
+      errors[slot] = errors[last];
+      titles[slot] = titles[last];
+      int heapIndex = position[last];
+      heap[heapIndex] = slot;
+      position[slot] = heapIndex;
+      slots.put(ids[slot], slot);
+    }
+    titles[last] = null;
+  }
+
+  void clear() {
+    slots.clear();
+    Arrays.fill(titles, null);
+    size = 0;
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isFull() {
+    return size == capacity;
+  }
+
+  // 요약에 없는 게시글의 조회 수 상한 (가득 차지 않았으면 0)
+  long minCount() {
+    return isFull() ? counts[heap[0]] : 0;
+  }
+
+  long id(final int slot) {
+    return ids[slot];
+  }
+
+  long count(final int slot) {
+    return counts[slot];
+  }
+
+  long error(final int slot) {
+    return errors[slot];
+  }
+
+  String title(final int slot) {
+    return titles[slot];
+  }
+
+  private void siftUp(int index) {
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (counts[heap[index]] >= counts[heap[parent]]) {
+        break;
+      }
+      swap(index, parent);
+      index = parent;
+    }
+  }
+
+  private void siftDown(int index) {
+    while (true) {
+      int left = index * 2 + 1;
+      if (left >= size) {
+        break;
+      }
+      int right = left + 1;
+      int smaller = right < size && counts[heap[right]] < counts[heap[left]] ? right : left;
+      if (counts[heap[index]] <= counts[heap[smaller]]) {
+        break;
+      }
+      swap(index, smaller);
+      index = smaller;
+    }
+  }
+
+  private void swap(final int a, final int b) {
+    int slotA = heap[a];
+    int slotB = heap[b];
+    heap[a] = slotB;
+    heap[b] = slotA;
+    position[slotB] = a;
+    position[slotA] = b;
+  }
+}
@@ -0,0 +1,122 @@
+package com.study.bulkhead;
+
+import com.study.config.BoardProperties;
+import com.zaxxer.hikari.HikariConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.function.Supplier;
+
+// BoardApiController 의 DB 작업을 읽기, 쓰기 격벽으로 나누어 실행
+// 톰캣 요청 스레드는 작업을 넘기고 바로 반환되며(CompletableFuture), 응답은 작업이 끝났을 때 작업 스레드에서 완료된다
+// 읽기가 몰려도 쓰기 스레드는 남아 있고, 반대의 경우도 마찬가지
+// 스레드 수(max-concurrent)를 0 으로 두면 커넥션 풀 크기에 맞춘다
+//  - 쓰기 : primary 풀의 1/4 (최소 1)
+//  - 읽기 : replica 가 있으면 replica 풀 크기의 합, 없으면 primary 풀의 나머지
+// board.bulkhead.enabled=false 이면 요청 스레드에서 바로 실행한다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardBulkheads {
+
+  private static final int DEFAULT_POOL_SIZE = 10;  // HikariCP 기본 최대 커넥션 수
+
+  private final BoardProperties properties;
+  private final HikariConfig hikariConfig;
+
+  private ScheduledExecutorService timer;
+  private Bulkhead read;
+  private Bulkhead write;
+
+  @PostConstruct
+  public void init() {
+    BoardProperties.Bulkhead config = properties.getBulkhead();
+    if (config.isEnabled() == false) {
+      return;
+    }
+    int primary = poolSize(hikariConfig);
+    int replicas = 0;
+    for (HikariConfig replica : properties.getDatasource().getReplicas()) {
+      replicas += poolSize(replica);
+    }
+    int writeThreads = config.getWrite().getMaxConcurrent() > 0 ? config.getWrite().getMaxConcurrent() : Math.max(1, primary / 4);
+    int readThreads = config.getRead().getMaxConcurrent() > 0 ? config.getRead().getMaxConcurrent()
+        : Math.max(1, replicas > 0 ? replicas : primary - writeThreads);
+
+    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+      Thread thread = new Thread(runnable, "board-bulkhead-timer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.setRemoveOnCancelPolicy(true);
+    timer = executor;
+
+    ContextPropagatingTaskDecorator decorator = new ContextPropagatingTaskDecorator();
+    read = create("read", readThreads, config.getRead(), decorator);
+    write = create("write", writeThreads, config.getWrite(), decorator);
+    log.info("bulkheads: read={} threads, write={} threads (primary pool={}, replica pools={})", readThreads, writeThreads, primary, replicas);
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (read != null) {
+      read.shutdown();
+      write.shutdown();
+      timer.shutdownNow();
+    }
+  }
+
+  private Bulkhead create(final String name, final int threads, final BoardProperties.Bulkhead.Pool pool, final ContextPropagatingTaskDecorator decorator) {
+    return new Bulkhead(name, threads, pool.getQueueCapacity(), pool.getQueueTimeoutMs(), pool.getTimeoutMs(),
+        properties.getBulkhead().getDrainTimeoutMs(), decorator, timer);
+  }
+
+  private static int poolSize(final HikariConfig config) {
+    return config.getMaximumPoolSize() > 0 ? config.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+  }
+
+  // 조회 작업
+  public <T> CompletableFuture<T> read(final Supplier<T> task) {
+    return submit(read, task);
+  }
+
+  // 생성, 수정, 삭제 작업
+  public <T> CompletableFuture<T> write(final Supplier<T> task) {
+    return submit(write, task);
+  }
+
+  private static <T> CompletableFuture<T> submit(final Bulkhead bulkhead, final Supplier<T> task) {
+    if (bulkhead == null) {
+      return CompletableFuture.completedFuture(task.get());
+    }
+    return bulkhead.submit(task);
+  }
+
+  // 사용 중인 격벽 (사용하지 않으면 빈 Map)
+  public Map<String, Bulkhead> bulkheads() {
+    Map<String, Bulkhead> bulkheads = new LinkedHashMap<>();
+    if (read != null) {
+      bulkheads.put(read.getName(), read);
+      bulkheads.put(write.getName(), write);
+    }
+    return bulkheads;
+  }
+
+  public Map<String, Object> status() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("enabled", read != null);
+    for (Map.Entry<String, Bulkhead> entry : bulkheads().entrySet()) {
+      status.put(entry.getKey(), entry.getValue().status());
+    }
+    return status;
+  }
+}
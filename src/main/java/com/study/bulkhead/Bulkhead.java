@@ -0,0 +1,139 @@
+package com.study.bulkhead;
+
+import com.study.exception.CustomException;
+import com.study.exception.ErrorCode;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// 격벽(bulkhead) : 크기가 정해진 스레드 풀과 대기열에서 작업을 실행한다
+//  - 동시 실행 수(threads)를 커넥션 풀 크기 이하로 두어, 작업 스레드가 커넥션을 기다리며 쌓이지 않게 한다
+//  - 대기열이 가득 차면 즉시 거절 (SERVICE_BUSY)
+//  - 대기열에서 queueTimeoutMs 이상 기다린 작업은 실행하지 않고 거절 (클라이언트가 이미 포기했을 가능성이 높은 작업)
+//  - 제출 후 timeoutMs 안에 끝나지 않으면 응답은 SERVICE_TIMEOUT 으로 끝내고, 실행 중인 쿼리는 결과만 버린다
+//    작업은 계속 실행되므로 쓰기 격벽에서는 사용하지 않는다 (timeoutMs = 0, 응답은 503 인데 커밋되면 재시도한 요청이 중복 저장된다)
+//  - 종료 시 실행 중, 대기 중인 작업이 끝나기를 drainTimeoutMs 동안 기다린다 (응답 제한 시간과 무관, 쓰기 작업이 중간에 끊기지 않도록)
+public class Bulkhead {
+
+  private final String name;
+  private final ThreadPoolTaskExecutor executor;
+  private final ScheduledExecutorService timer;
+  private final long queueTimeoutNanos;
+  private final long timeoutMs;
+
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();       // 대기열이 가득 차서 거절
+  private final LongAdder expired = new LongAdder();        // 대기 시간 초과로 거절
+  private final LongAdder timedOut = new LongAdder();       // 실행 시간 초과
+
+  public Bulkhead(final String name, final int threads, final int queueCapacity, final long queueTimeoutMs, final long timeoutMs,
+                  final long drainTimeoutMs, final TaskDecorator taskDecorator, final ScheduledExecutorService timer) {
+    this.name = name;
+    this.timer = timer;
+    this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMs);
+    this.timeoutMs = timeoutMs;
+
+    executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("board-" + name + "-");
+    executor.setTaskDecorator(taskDecorator);
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationMillis(Math.max(0, drainTimeoutMs));
+    executor.initialize();
+  }
+
+  public <T> CompletableFuture<T> submit(final Supplier<T> task) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    long enqueuedAt = System.nanoTime();
+    try {
+      executor.execute(() -> run(task, result, enqueuedAt));
+    } catch (TaskRejectedException e) {
+      rejected.increment();
+      result.completeExceptionally(new CustomException(ErrorCode.SERVICE_BUSY));
+      return result;
+    }
+
+    if (timeoutMs <= 0) {
+      return result;
+    }
+    ScheduledFuture<?> timeout = timer.schedule(() -> {
+      if (result.completeExceptionally(new CustomException(ErrorCode.SERVICE_TIMEOUT))) {
+        timedOut.increment();
+      }
+    }, timeoutMs, TimeUnit.MILLISECONDS);
+    result.whenComplete((value, e) -> timeout.cancel(false));
+    return result;
+  }
+
+  private <T> void run(final Supplier<T> task, final CompletableFuture<T> result, final long enqueuedAt) {
+    if (result.isDone()) {
+      // 대기열에 있는 동안 시간 초과로 응답이 끝난 작업
+      return;
+    }
+    if (System.nanoTime() - enqueuedAt > queueTimeoutNanos) {
+      if (result.completeExceptionally(new CustomException(ErrorCode.SERVICE_BUSY))) {
+        expired.increment();
+      }
+      return;
+    }
+    try {
+      if (result.complete(task.get())) {
+        completed.increment();
+      }
+    } catch (Throwable e) {
+      result.completeExceptionally(e);
+    }
+  }
+
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getActiveCount() {
+    return executor.getActiveCount();
+  }
+
+  public int getQueueSize() {
+    return executor.getThreadPoolExecutor().getQueue().size();
+  }
+
+  public Map<String, Object> status() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("threads", executor.getMaxPoolSize());
+    status.put("queueCapacity", executor.getThreadPoolExecutor().getQueue().size() + executor.getThreadPoolExecutor().getQueue().remainingCapacity());
+    status.put("queueTimeoutMs", TimeUnit.NANOSECONDS.toMillis(queueTimeoutNanos));
+    status.put("timeoutMs", timeoutMs);
+    status.put("active", getActiveCount());
+    status.put("queued", getQueueSize());
+    status.put("completed", completed.sum());
+    status.put("rejected", rejected.sum());
+    status.put("expired", expired.sum());
+    status.put("timedOut", timedOut.sum());
+    return status;
+  }
+
+  public long getRejectedCount() {
+    return rejected.sum() + expired.sum();
+  }
+
+  public long getTimedOutCount() {
+    return timedOut.sum();
+  }
+}
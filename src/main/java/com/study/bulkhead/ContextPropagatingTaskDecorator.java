@@ -0,0 +1,39 @@
+package com.study.bulkhead;
+
+import com.study.datasource.DataSourceRouting;
+import com.study.sqltrace.SqlTraceContext;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+// 요청 스레드의 ThreadLocal 상태를 작업 스레드로 전달
+//  - DataSourceRouting : read-your-writes (primary 고정 여부, 쓰기 후 쿠키 발급)
+//  - SqlTraceContext : 요청 단위 SQL 추적
+//  - MDC : 로그 컨텍스트
+// 작업이 끝나면 작업 스레드의 상태를 비워서 다음 작업에 남지 않게 한다
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+  @Override
+  public Runnable decorate(final Runnable runnable) {
+    DataSourceRouting.Context routing = DataSourceRouting.current();
+    boolean sqlTraceForced = SqlTraceContext.isForced();
+    Map<String, String> mdc = MDC.getCopyOfContextMap();
+    return () -> {
+      DataSourceRouting.attach(routing);
+      if (sqlTraceForced) {
+        SqlTraceContext.force();
+      }
+      if (mdc != null) {
+        MDC.setContextMap(mdc);
+      }
+      try {
+        runnable.run();
+      } finally {
+        DataSourceRouting.end();
+        SqlTraceContext.clear();
+        MDC.clear();
+      }
+    };
+  }
+}
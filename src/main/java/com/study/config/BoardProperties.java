@@ -0,0 +1,213 @@
+package com.study.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// application.properties 의 board.* 설정
+// 각 기능별 설정은 내부 클래스로 구분한다
+@Getter
+@Component
+@ConfigurationProperties(prefix = "board")
+public class BoardProperties {
+
+  private final IdIndex idIndex = new IdIndex();  // 게시글 번호 인덱스
+  private final Hits hits = new Hits();           // 조회 수 카운터
+  private final Search search = new Search();     // 키워드 검색 인덱스
+  private final Cache cache = new Cache();        // 캐시
+  private final Batch batch = new Batch();        // 일괄 처리
+  private final Datasource datasource = new Datasource();  // 읽기 전용 replica
+  private final SqlTrace sqlTrace = new SqlTrace();        // SQL 추적
+  private final Bulkhead bulkhead = new Bulkhead();        // 비동기 실행 격벽
+  private final ListQuery list = new ListQuery();          // 게시글 리스트 조회
+  private final GroupCommit groupCommit = new GroupCommit();  // 게시글 생성 그룹 커밋
+  private final Trending trending = new Trending();           // 인기 게시글
+  private final ChangeLog changeLog = new ChangeLog();        // 인스턴스 간 변경 전파
+  private final Feed feed = new Feed();                       // 게시글 변경 피드 (SSE)
+  private final Admission admission = new Admission();        // 요청 수락 제어 (과부하 시 거절)
+  private final Suggest suggest = new Suggest();              // 제목, 작성자 자동완성
+
+  @Getter
+  @Setter
+  public static class IdIndex {
+    private boolean enabled = false;              // 사용 여부
+    private long verifyIntervalMs = 600000;       // DB 정합성 검사 주기 (ms)
+    private boolean repairOnMismatch = true;      // 정합성 불일치 시 인덱스 재구성 여부
+  }
+
+  @Getter
+  @Setter
+  public static class Hits {
+    private long flushIntervalMs = 1000;          // DB 반영 주기 (ms)
+    private int flushBatchSize = 500;             // 한 트랜잭션에서 실행할 UPDATE 개수
+    private int maxPendingPosts = 10000;          // 반영 대기 게시글이 이 개수를 넘으면 주기와 관계없이 반영
+  }
+
+  @Getter
+  @Setter
+  public static class Search {
+    private boolean enabled = false;              // 사용 여부
+    private boolean indexContent = true;          // 내용 색인 여부
+    private double compactStaleRatio = 0.2;       // 이전 세대 항목이 이 비율을 넘으면 정리
+    private long compactIntervalMs = 60000;       // 정리 필요 여부를 확인하는 주기 (ms)
+  }
+
+  @Getter
+  public static class Cache {
+    private final Post post = new Post();         // 게시글 상세정보 캐시
+    private final ListPage list = new ListPage(); // 게시글 리스트 캐시
+
+    @Getter
+    @Setter
+    public static class Post {
+      private boolean enabled = false;            // 사용 여부
+      private long maxWeightBytes = 64 * 1024 * 1024;  // 최대 크기 (게시글 길이 기준, byte)
+    }
+
+    @Getter
+    @Setter
+    public static class ListPage {
+      private boolean enabled = false;            // 사용 여부
+      private long ttlMs = 60000;                 // 검색 조건이 없는 결과의 만료 시간 (ms)
+      private long searchTtlMs = 10000;           // 검색 결과의 만료 시간 (ms)
+      private long maxWeightBytes = 32 * 1024 * 1024;  // 최대 크기 (게시글 길이 기준, byte)
+    }
+  }
+
+  @Getter
+  @Setter
+  public static class Batch {
+    private int chunkSize = 500;                  // 한 트랜잭션에서 처리할 항목 수
+    private int maxItems = 10000;                 // 한 번의 요청으로 처리할 수 있는 최대 항목 수
+  }
+
+  @Getter
+  @Setter
+  public static class Datasource {
+    private List<HikariConfig> replicas = new ArrayList<>();  // replica 커넥션 풀 (없으면 primary 만 사용)
+    private String replicaSelection = "round-robin";        // replica 선택 방식 (round-robin, least-busy)
+    private long stickyWindowMs = 5000;                      // 쓰기 이후 읽기를 primary 로 보내는 시간 (ms)
+  }
+
+  @Getter
+  @Setter
+  public static class SqlTrace {
+    private boolean enabled = true;               // 사용 여부 (false 면 커넥션을 감싸지 않음)
+    private double sampleRate = 0.0;              // 무작위로 기록할 구문 비율 (0 ~ 1)
+    private long slowThresholdMs = 200;           // 이 시간 이상 걸린 구문은 항상 기록 (ms, 음수면 사용하지 않음)
+    private int bufferSize = 4096;                // 기록 대기 링 버퍼 크기 (2의 거듭제곱으로 올림)
+    private boolean requestHeaderEnabled = false; // 요청 헤더(X-Sql-Trace: on)로 요청 단위 추적 허용 여부 (누구나 보낼 수 있으므로 기본 꺼짐)
+  }
+
+  @Getter
+  @Setter
+  public static class Bulkhead {
+    private boolean enabled = false;              // 사용 여부 (false 면 요청 스레드에서 실행)
+    private long drainTimeoutMs = 10000;          // 종료 시 실행 중, 대기 중인 작업을 기다릴 시간 (ms, 0 이면 기다리지 않음)
+    private final Pool read = new Pool(100, 3000);   // 조회
+    private final Pool write = new Pool(20, 0);      // 생성, 수정, 삭제 (응답 제한 시간 없음)
+
+    @Getter
+    @Setter
+    public static class Pool {
+      private int maxConcurrent = 0;              // 작업 스레드 수 (0 이면 커넥션 풀 크기에 맞춤)
+      private int queueCapacity;                  // 대기열 크기 (가득 차면 503)
+      private long queueTimeoutMs = 1000;         // 대기열에서 기다릴 수 있는 시간 (ms, 넘으면 실행하지 않고 503)
+      private long timeoutMs;                     // 제출부터 응답까지 제한 시간 (ms, 넘으면 503, 0 이면 사용하지 않음)
+
+      public Pool(int queueCapacity, long timeoutMs) {
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeoutMs;
+      }
+    }
+  }
+
+  @Getter
+  @Setter
+  public static class ListQuery {
+    private String countStrategy = "window";      // 게시글 수 조회 방식 (window : COUNT(*) OVER(), parallel : 병렬 조회, separate : 순서대로 조회)
+    private int parallelThreads = 4;              // parallel 방식에서 게시글 리스트, 게시글 수를 조회할 스레드 수 (요청 하나가 두 개 사용, 최소 2)
+  }
+
+  @Getter
+  @Setter
+  public static class GroupCommit {
+    private boolean enabled = false;              // 사용 여부 (false 면 요청마다 트랜잭션 하나로 저장)
+    private int maxBatchSize = 100;               // 한 트랜잭션에 모을 최대 게시글 수
+    private long windowMs = 5;                    // 첫 요청 이후 다음 요청을 기다리는 최대 시간 (ms, 0 이면 이미 대기 중인 요청만 모음)
+    private int queueCapacity = 5000;             // 대기열 크기 (가득 차면 503)
+    private String failureIsolation = "individual";  // 묶음 실패 시 처리 (individual : 한 건씩 다시 저장, group : 묶음 전체 실패)
+  }
+
+  @Getter
+  @Setter
+  public static class Trending {
+    private boolean enabled = true;               // 사용 여부
+    private int bucketSeconds = 60;               // 시간 구간 하나의 길이 (초)
+    private int buckets = 60;                     // 보관할 시간 구간 수 (조회 가능한 최대 기간 = bucket-seconds * buckets)
+    private int capacity = 500;                   // 시간 구간별로 조회 수를 세는 최대 게시글 수 (Space-Saving 카운터 수)
+    private int stripes = 0;                      // 조회 기록 버퍼 수 (0 이면 CPU 수의 2배)
+    private int stripeBufferSize = 1024;          // 버퍼별 크기 (집계 전에 가득 차면 오래된 기록부터 버림)
+    private long drainIntervalMs = 200;           // 버퍼를 시간 구간에 반영하는 주기 (ms)
+    private int maxLimit = 50;                    // 한 번에 조회할 수 있는 최대 게시글 수
+  }
+
+  @Getter
+  @Setter
+  public static class ChangeLog {
+    private boolean enabled = false;              // 사용 여부 (여러 인스턴스를 함께 운영하는 경우, board_change_log 테이블 필요)
+    private String nodeId = "";                   // 인스턴스 식별자 (비어 있으면 프로세스 이름 + 임의 값)
+    private long pollIntervalMs = 200;            // 변경 로그를 읽는 주기 (ms)
+    private int batchSize = 500;                  // 한 번에 읽을 최대 변경 수
+    private long gapTimeoutMs = 2000;             // 번호가 비어 있는 변경(커밋 전, 롤백)을 기다리는 최대 시간 (ms)
+    private int retentionHours = 24;              // 변경 로그 보관 기간 (시간)
+    private long purgeIntervalMs = 300000;        // 보관 기간이 지난 변경을 삭제하는 주기 (ms)
+  }
+
+  @Getter
+  @Setter
+  public static class Feed {
+    private boolean enabled = true;               // 사용 여부
+    private int bufferSize = 4096;                // 보관할 최근 변경 수 (재연결 시 이어받을 수 있는 범위)
+    private int maxSubscribers = 10000;           // 최대 구독자 수 (초과하면 503)
+    private int senderThreads = 4;                // 전송 스레드 수
+    private int maxBatch = 256;                   // 구독자 한 명에게 한 번에 보낼 최대 변경 수
+    private long heartbeatMs = 15000;             // 전송이 없는 연결에 keepalive 주석을 보내는 주기 (ms)
+    private long timeoutMs = 600000;              // 연결 유지 시간 (ms, 지나면 응답을 끝내고 클라이언트가 다시 연결)
+  }
+
+  @Getter
+  @Setter
+  public static class Admission {
+    private boolean enabled = false;              // 사용 여부
+    private String clientHeader = "";             // 클라이언트 구분 헤더 (비어 있으면 접속 IP, 게이트웨이가 설정하는 헤더만 지정)
+    private double writeRatePerSecond = 5;        // 클라이언트별 쓰기 요청 허용량 (초당 토큰, 넘으면 429)
+    private int writeBurst = 20;                  // 클라이언트별 쓰기 버킷 크기 (연속으로 허용할 요청 수)
+    private int batchCost = 10;                   // 일괄 처리 요청 한 번에 사용할 토큰 수
+    private int maxClients = 100000;              // 쓰기 버킷을 유지할 최대 클라이언트 수 (넘으면 가장 먼저 만든 버킷부터 제거)
+    private int initialLimit = 0;                 // 동시 처리 요청 수 초기값 (0 이면 primary 커넥션 풀 크기의 2배)
+    private int minLimit = 2;                     // 동시 처리 요청 수 하한
+    private int maxLimit = 200;                   // 동시 처리 요청 수 상한
+    private long adjustIntervalMs = 500;          // 동시 처리 요청 수 조정 주기 (ms)
+    private double backoffRatio = 0.8;            // 커넥션 대기 시 동시 처리 요청 수에 곱하는 비율 (지연 증가 시 최소 비율)
+    private double latencyTolerance = 2.0;        // 커넥션 사용 시간이 기준(평상시)의 몇 배를 넘으면 줄일지
+    private long latencyFloorMs = 20;             // 이 시간 이하의 커넥션 사용 시간으로는 줄이지 않음 (ms)
+    private long poolWaitThresholdMs = 20;        // 평균 커넥션 대기 시간이 이 값을 넘으면 줄임 (ms)
+    private double normalShare = 0.8;             // 리스트, 검색, 단건 쓰기가 사용할 수 있는 동시 처리 비율 (상세 조회는 1.0)
+    private double bulkShare = 0.5;               // 일괄 처리, 내보내기가 사용할 수 있는 동시 처리 비율
+    private long retryAfterSeconds = 1;           // 과부하(503) 응답의 Retry-After (초)
+  }
+
+  @Getter
+  @Setter
+  public static class Suggest {
+    private boolean enabled = false;              // 사용 여부
+    private int maxLimit = 20;                    // 제목, 작성자별로 한 번에 조회할 수 있는 최대 개수
+    private int compactThreshold = 1000;          // 정렬 배열에 합쳐지지 않은 추가, 삭제 항목이 이 수를 넘으면 정리
+  }
+}
@@ -0,0 +1,28 @@
+package com.study.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.study.board.cache.NoOpPostCache;
+import com.study.board.cache.PostCache;
+import com.study.board.cache.TinyLfuPostCache;
+
+@Configuration
+public class CacheConfig {
+
+  // 게시글 상세정보 캐시
+  // board.cache.post.enabled=true 인 경우에만 TinyLFU 캐시를 사용하고, 그 외에는 캐시를 사용하지 않는다
+  @Bean
+  @ConditionalOnProperty(prefix = "board.cache.post", name = "enabled", havingValue = "true")
+  public PostCache tinyLfuPostCache(BoardProperties properties) {
+    return new TinyLfuPostCache(properties.getCache().getPost().getMaxWeightBytes());
+  }
+
+  @Bean
+  @ConditionalOnMissingBean(PostCache.class)
+  public PostCache noOpPostCache() {
+    return new NoOpPostCache();
+  }
+}
@@ -1,7 +1,14 @@
 package com.study.config;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
 
+import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.mybatis.spring.SqlSessionFactoryBean;
 import org.mybatis.spring.SqlSessionTemplate;
@@ -9,10 +16,21 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.study.admission.AdmissionDataSource;
+import com.study.datasource.ReplicaRoutingDataSource;
+import com.study.metrics.MeteredDataSourceTransactionManager;
+import com.study.metrics.MeteredJpaTransactionManager;
+import com.study.sqltrace.SqlTraceDataSource;
+import com.study.sqltrace.SqlTracer;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 import lombok.RequiredArgsConstructor;
 
@@ -24,6 +42,8 @@ public class DatabaseConfig {
   private final ApplicationContext context;
   // 스프링 컨테이너(Container)중 하나로, 빈(Bean)의 생성과 사용, 관계, 생명 주기 등을 관리
   // 여기서는 MyBatis의 Mapper XML 경로를 처리하기위해 사용
+  private final BoardProperties properties;
+  private final SqlTracer sqlTracer;
 
   @Bean
   @ConfigurationProperties(prefix = "spring.datasource.hikari")
@@ -33,7 +53,50 @@ public class DatabaseConfig {
 
   @Bean
   public DataSource dataSource() {
-    return new HikariDataSource(hikariConfig());
+    // 실행한 SQL 중 샘플링, 느린 구문, 요청 헤더로 선택된 구문만 기록 (SqlTracer)
+    // 커넥션 풀 또는 라우팅 DataSource 는 unwrap() 으로 꺼내서 사용한다
+    return new SqlTraceDataSource(targetDataSource(), sqlTracer);
+  }
+
+  private DataSource targetDataSource() {
+    HikariDataSource primary = new HikariDataSource(hikariConfig());
+    List<HikariConfig> replicaConfigs = properties.getDatasource().getReplicas();
+    if (replicaConfigs.isEmpty()) {
+      return new PoolDataSourceProxy(new AdmissionDataSource(primary));
+    }
+
+    // replica 가 설정된 경우, 읽기 전용 트랜잭션을 replica 로 보내는 라우팅 DataSource 사용
+    // 트랜잭션 시작 시점에는 readOnly 여부가 아직 설정되지 않으므로, 첫 쿼리를 실행할 때 라우팅 대상을 결정한다
+    List<HikariDataSource> replicas = new ArrayList<>();
+    for (int i = 0; i < replicaConfigs.size(); i++) {
+      HikariConfig config = replicaConfigs.get(i);
+      if (config.getPoolName() == null) {
+        config.setPoolName("board-replica-" + i);
+      }
+      replicas.add(new HikariDataSource(config));
+    }
+    return new PoolDataSourceProxy(
+        new AdmissionDataSource(new ReplicaRoutingDataSource(primary, replicas, properties.getDatasource().getReplicaSelection())));
+  }
+
+  // 애플리케이션 종료 시 커넥션 풀을 닫을 수 있도록 close() 를 제공하는 프록시
+  // LazyConnectionDataSourceProxy 이므로 트랜잭션 시작 시점이 아닌 첫 쿼리를 실행할 때 커넥션을 가져온다
+  // 게시글 번호는 별도 커넥션으로 board_id_seq 에서 할당받는데(@TableGenerator), 트랜잭션 시작과 함께 커넥션을 잡으면
+  // 풀 크기 이상의 동시 생성 요청이 커넥션을 잡은 채 번호 할당(PooledOptimizer 잠금)을 기다리고, 잠금을 잡은 요청은 커넥션을 기다려 멈춘다
+  // AdmissionDataSource 는 커넥션 풀 바로 바깥에서 커넥션 대기, 사용 시간을 측정한다 (요청 수락 제어 : BoardAdmission)
+  // 실제 커넥션은 첫 쿼리에서 가져오므로, AdmissionDataSource 는 이 프록시 안쪽(커넥션 풀, 라우팅 DataSource 바깥)에 둔다
+  public static class PoolDataSourceProxy extends LazyConnectionDataSourceProxy implements Closeable {
+    private final AdmissionDataSource admissionDataSource;
+
+    public PoolDataSourceProxy(AdmissionDataSource admissionDataSource) {
+      super(admissionDataSource);
+      this.admissionDataSource = admissionDataSource;
+    }
+
+    @Override
+    public void close() throws IOException {
+      admissionDataSource.close();
+    }
   }
 
   @Bean
@@ -45,9 +108,28 @@ public class DatabaseConfig {
     SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
     factoryBean.setDataSource(dataSource());
     factoryBean.setMapperLocations(context.getResources("classpath:/mappers/**/*Mapper.xml"));
+    // MyBatis 플러그인(Interceptor) 빈 등록 (매퍼 구문 지표 : MetricsConfig)
+    factoryBean.setPlugins(context.getBeanProvider(Interceptor.class).orderedStream().toArray(Interceptor[]::new));
     return factoryBean.getObject();
   }
 
+  @Bean
+  @Profile("!mybatis")
+  public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+    // 트랜잭션 실행 시간을 기록하는 JpaTransactionManager (JPA, MyBatis 가 함께 사용)
+    MeteredJpaTransactionManager transactionManager = new MeteredJpaTransactionManager(meterRegistry);
+    transactionManager.setEntityManagerFactory(entityManagerFactory);
+    return transactionManager;
+  }
+
+  @Bean(name = "transactionManager")
+  @Profile("mybatis")
+  public PlatformTransactionManager dataSourceTransactionManager(MeterRegistry meterRegistry) {
+    // MyBatis 전용 모드 (JPA 자동 구성 제외 : application-mybatis.properties)
+    // EntityManagerFactory 가 없으므로 트랜잭션 실행 시간을 기록하는 DataSourceTransactionManager 를 사용한다
+    return new MeteredDataSourceTransactionManager(dataSource(), meterRegistry);
+  }
+
   @Bean
   public SqlSessionTemplate sqlSession() throws Exception {
     // sqlSession
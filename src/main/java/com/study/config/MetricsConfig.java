@@ -0,0 +1,105 @@
+package com.study.config;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.study.admission.BoardAdmission;
+import com.study.board.feed.BoardChangeFeed;
+import com.study.bulkhead.BoardBulkheads;
+import com.study.bulkhead.Bulkhead;
+import com.study.datasource.ReplicaRoutingDataSource;
+import com.study.metrics.MapperMetricsInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// 지표(Micrometer) 설정, /actuator/metrics 로 조회
+//  - http.server.requests : 엔드포인트별 응답 시간 (스프링 부트 기본 제공, 백분위수는 application.properties 에서 설정)
+//  - board.mapper.* : MyBatis 매퍼 구문별 실행 시간, 행 수 (MapperMetricsInterceptor)
+//  - board.repository.* : JPA Repository 메서드별 실행 시간, 결과 건수 (RepositoryMetricsAspect)
+//  - board.transaction : 트랜잭션 실행 시간 (MeteredJpaTransactionManager)
+//  - board.list-cache.latency : 게시글 리스트 캐시 적중, 미적중 응답 시간 (BoardListCache)
+//  - board.bulkhead.* : 격벽별 실행 중, 대기 중 작업 수와 거절, 시간 초과 건수 (BoardBulkheads)
+//  - board.group-commit.* : 게시글 생성 그룹 커밋의 대기 중 요청 수, 커밋한 묶음 수, 저장된 게시글 수 (BoardGroupCommit)
+//  - board.change-log.* : 인스턴스 간 변경 전파의 기록, 반영 건수와 반영 지연, 마지막 조회 이후 지난 시간 (BoardChangeLog, BoardChangeLogTailer)
+//    group-commit, change-log 는 BoardMapper 를 사용하는 빈이라 MeterBinder 로 연결하면 MeterRegistry 와 순환 참조가 생기므로(BoardMapper -> MapperMetricsInterceptor -> MeterRegistry), 각 빈에서 직접 등록한다
+//  - board.feed.* : 게시글 변경 피드의 구독자 수와 저장, 전송한 변경 수 (BoardChangeFeed)
+//  - board.admission.* : 요청 수락 제어의 동시 처리 요청 수 상한, 처리 중 요청 수, 우선순위별 거절 건수 (BoardAdmission)
+//  - hikaricp.* : 커넥션 풀 활성, 유휴, 대기 커넥션 수와 커넥션 획득 시간
+// DataSource 생성이 MeterRegistry 에 의존하지 않도록, 커넥션 풀 지표는 풀이 만들어진 뒤 MeterBinder 에서 연결한다
+@Configuration
+public class MetricsConfig {
+
+  @Bean
+  public MapperMetricsInterceptor mapperMetricsInterceptor(MeterRegistry meterRegistry) {
+    return new MapperMetricsInterceptor(meterRegistry);
+  }
+
+  @Bean
+  public MeterBinder hikariPoolMetrics(DataSource dataSource) {
+    return registry -> {
+      for (HikariDataSource pool : pools(dataSource)) {
+        // 스프링 부트가 이미 연결한 풀(primary 단일 구성)은 건너뛴다
+        if (pool.getMetricRegistry() == null && pool.getMetricsTrackerFactory() == null) {
+          pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+      }
+    };
+  }
+
+  @Bean
+  public MeterBinder bulkheadMetrics(BoardBulkheads bulkheads) {
+    return registry -> {
+      for (Bulkhead bulkhead : bulkheads.bulkheads().values()) {
+        Gauge.builder("board.bulkhead.active", bulkhead, Bulkhead::getActiveCount).tag("name", bulkhead.getName()).register(registry);
+        Gauge.builder("board.bulkhead.queued", bulkhead, Bulkhead::getQueueSize).tag("name", bulkhead.getName()).register(registry);
+        FunctionCounter.builder("board.bulkhead.rejected", bulkhead, Bulkhead::getRejectedCount).tag("name", bulkhead.getName()).register(registry);
+        FunctionCounter.builder("board.bulkhead.timeout", bulkhead, Bulkhead::getTimedOutCount).tag("name", bulkhead.getName()).register(registry);
+      }
+    };
+  }
+
+  @Bean
+  public MeterBinder changeFeedMetrics(BoardChangeFeed changeFeed) {
+    return registry -> {
+      Gauge.builder("board.feed.subscribers", changeFeed, BoardChangeFeed::getSubscriberCount).register(registry);
+      FunctionCounter.builder("board.feed.published", changeFeed, BoardChangeFeed::getPublishedCount).register(registry);
+      FunctionCounter.builder("board.feed.sent", changeFeed, BoardChangeFeed::getSentCount).register(registry);
+    };
+  }
+
+  @Bean
+  public MeterBinder admissionMetrics(BoardAdmission admission) {
+    return registry -> {
+      Gauge.builder("board.admission.limit", admission, BoardAdmission::getLimit).register(registry);
+      Gauge.builder("board.admission.inflight", admission, BoardAdmission::getInflight).register(registry);
+      FunctionCounter.builder("board.admission.rejected", admission, BoardAdmission::getThrottledCount).tag("reason", "throttled").register(registry);
+      FunctionCounter.builder("board.admission.rejected", admission, BoardAdmission::getShedCount).tag("reason", "overloaded").register(registry);
+    };
+  }
+
+  // DataSource 는 SqlTraceDataSource 로 감싸져 있으므로 unwrap() 으로 커넥션 풀을 꺼낸다
+  private static List<HikariDataSource> pools(DataSource dataSource) {
+    try {
+      if (dataSource.isWrapperFor(ReplicaRoutingDataSource.class)) {
+        return dataSource.unwrap(ReplicaRoutingDataSource.class).pools();
+      }
+      if (dataSource.isWrapperFor(HikariDataSource.class)) {
+        return Collections.singletonList(dataSource.unwrap(HikariDataSource.class));
+      }
+    } catch (SQLException e) {
+      // 커넥션 풀을 꺼낼 수 없으면 지표를 연결하지 않는다
+    }
+    return Collections.emptyList();
+  }
+}
@@ -0,0 +1,25 @@
+package com.study.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.study.admission.AdmissionInterceptor;
+
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+  private final AdmissionInterceptor admissionInterceptor;
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    // 게시글 API 요청 수락 제어 (BoardAdmission)
+    // 변경 피드(SSE 연결 유지), 인기 게시글, 자동완성(메모리 조회)은 DB 를 사용하지 않으므로 제외
+    registry.addInterceptor(admissionInterceptor)
+        .addPathPatterns("/api/boards", "/api/boards/**")
+        .excludePathPatterns("/api/boards/changes", "/api/boards/trending", "/api/boards/suggest");
+  }
+}
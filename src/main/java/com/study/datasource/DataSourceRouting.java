@@ -0,0 +1,95 @@
+package com.study.datasource;
+
+// 요청(스레드) 단위의 DataSource 라우팅 상태
+// ReadYourWritesFilter 가 요청 시작 시 begin(), 종료 시 end() 를 호출한다
+//  - primaryForced : 최근에 쓰기를 한 클라이언트의 요청이면 읽기 전용 트랜잭션도 primary 로 보낸다
+//  - onWrite : 요청 중 쓰기 트랜잭션이 primary 커넥션을 처음 가져갈 때 한 번 실행 (쿠키 발급)
+//    begin() 을 호출한 요청 스레드에서만 실행하고, 작업 스레드(bulkhead)의 쓰기는 written 으로만 남긴다
+//    (작업 스레드가 응답을 직접 건드리면 시간 초과로 이미 끝난 응답에 쓸 수 있으므로, ReadYourWritesFilter 가 비동기 디스패치에서 처리)
+// 요청 밖(스케줄러 등)에서는 상태가 없으므로 트랜잭션 속성만으로 라우팅한다
+// 비동기 실행(bulkhead) 시에는 current() 로 꺼낸 상태를 작업 스레드에서 attach() 로 이어받는다
+public final class DataSourceRouting {
+
+  private static final ThreadLocal<Context> CONTEXT = new ThreadLocal<>();
+
+  public static final class Context {
+    private final Thread owner = Thread.currentThread();
+    private volatile boolean primaryForced;
+    private Runnable onWrite;
+    private volatile boolean written;
+
+    // 쓰기 트랜잭션 실행 여부
+    public boolean isWritten() {
+      return written;
+    }
+  }
+
+  private DataSourceRouting() {
+  }
+
+  public static void begin(final boolean primaryForced, final Runnable onWrite) {
+    Context context = new Context();
+    context.primaryForced = primaryForced;
+    context.onWrite = onWrite;
+    CONTEXT.set(context);
+  }
+
+  public static void end() {
+    CONTEXT.remove();
+  }
+
+  // 현재 스레드의 상태 (없으면 NULL)
+  public static Context current() {
+    return CONTEXT.get();
+  }
+
+  // 다른 스레드의 상태를 이어받음 (같은 객체를 공유하므로 작업 스레드의 쓰기도 요청에 반영된다)
+  public static void attach(final Context context) {
+    if (context == null) {
+      CONTEXT.remove();
+    } else {
+      CONTEXT.set(context);
+    }
+  }
+
+  public static boolean isPrimaryForced() {
+    Context context = CONTEXT.get();
+    return context != null && context.primaryForced;
+  }
+
+  // 현재 요청의 읽기를 primary 로 보낸다 (쓰기로 기록하지 않으므로 쿠키는 발급하지 않는다)
+  // primary 의 상태(변경 피드 버전 등)를 함께 응답하는 조회가 복제 지연된 replica 의 결과와 섞이지 않도록 할 때 사용한다
+  public static void forcePrimary() {
+    Context context = CONTEXT.get();
+    if (context != null) {
+      context.primaryForced = true;
+    }
+  }
+
+  // 다른 스레드(그룹 커밋 등)가 요청 대신 쓰기를 실행한 경우 요청 상태에 쓰기를 기록 (쿠키는 ReadYourWritesFilter 가 비동기 디스패치에서 발급)
+  public static void markWritten(final Context context) {
+    if (context == null) {
+      return;
+    }
+    context.primaryForced = true;
+    context.written = true;
+  }
+
+  // 쓰기 발생 : 이후 같은 요청의 읽기도 primary 로 보내고, 다음 요청을 위해 onWrite 실행
+  static void markWrite() {
+    Context context = CONTEXT.get();
+    if (context == null) {
+      return;
+    }
+    context.primaryForced = true;
+    context.written = true;
+    if (Thread.currentThread() != context.owner) {
+      return;
+    }
+    Runnable onWrite = context.onWrite;
+    context.onWrite = null;
+    if (onWrite != null) {
+      onWrite.run();
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.study.datasource;
+
+import com.study.config.BoardProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+// read-your-writes 필터
+// 쓰기 트랜잭션이 실행된 요청의 응답에 쿠키(만료 시각)를 발급하고,
+// 쿠키의 만료 시각 전까지 같은 클라이언트의 읽기 요청은 replica 대신 primary 로 보낸다 (복제 지연 동안 방금 쓴 글이 보이지 않는 문제 방지)
+// 격벽(bulkhead)의 작업 스레드에서 쓰기를 한 요청은 결과를 응답에 쓰는 비동기 디스패치에서 쿠키를 발급한다
+@Component
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  public static final String COOKIE_NAME = "board-primary-until";
+  private static final String CONTEXT_ATTRIBUTE = ReadYourWritesFilter.class.getName() + ".context";
+
+  private final BoardProperties properties;
+
+  // 비동기 디스패치에서도 실행 (작업 스레드의 쓰기에 대한 쿠키 발급)
+  @Override
+  protected boolean shouldNotFilterAsyncDispatch() {
+    return false;
+  }
+
+  @Override
+  protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain chain)
+      throws ServletException, IOException {
+    if (isAsyncDispatch(request)) {
+      DataSourceRouting.Context context = (DataSourceRouting.Context) request.getAttribute(CONTEXT_ATTRIBUTE);
+      if (context != null && context.isWritten()) {
+        issueCookie(response);
+      }
+      chain.doFilter(request, response);
+      return;
+    }
+
+    // 요청 스레드의 쓰기는 응답 본문을 쓰기 전(서비스 실행 중)에 발생하므로 이 시점에 헤더를 추가할 수 있다
+    DataSourceRouting.begin(isSticky(request), () -> issueCookie(response));
+    request.setAttribute(CONTEXT_ATTRIBUTE, DataSourceRouting.current());
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      DataSourceRouting.end();
+    }
+  }
+
+  private void issueCookie(final HttpServletResponse response) {
+    long window = properties.getDatasource().getStickyWindowMs();
+    if (window > 0 && response.isCommitted() == false) {
+      Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(System.currentTimeMillis() + window));
+      cookie.setPath("/");
+      cookie.setHttpOnly(true);
+      cookie.setMaxAge((int) Math.max(1, (window + 999) / 1000));
+      response.addCookie(cookie);
+    }
+  }
+
+  private static boolean isSticky(final HttpServletRequest request) {
+    Cookie[] cookies = request.getCookies();
+    if (cookies == null) {
+      return false;
+    }
+    for (Cookie cookie : cookies) {
+      if (COOKIE_NAME.equals(cookie.getName())) {
+        try {
+          return System.currentTimeMillis() < Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException e) {
+          return false;
+        }
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,157 @@
+package com.study.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// primary / replica 라우팅 DataSource
+//  - 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 replica 로, 그 외에는 primary 로 보낸다
+//  - replica 는 round-robin 또는 least-busy(활성 커넥션이 가장 적은 풀) 방식으로 선택
+//  - 최근 쓰기를 한 요청(DataSourceRouting.isPrimaryForced)은 읽기도 primary 로 보내 read-your-writes 를 보장
+//  - replica 에서 커넥션을 가져오지 못하면 primary 로 대신 처리
+// 트랜잭션 속성은 트랜잭션 시작 이후에 확인할 수 있으므로 반드시 LazyConnectionDataSourceProxy 로 감싸서 사용한다
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+  public static final String PRIMARY = "primary";
+  public static final String ROUND_ROBIN = "round-robin";
+  public static final String LEAST_BUSY = "least-busy";
+
+  private final HikariDataSource primary;
+  private final List<HikariDataSource> replicas;
+  private final boolean leastBusy;
+  private final AtomicInteger next = new AtomicInteger();
+
+  public ReplicaRoutingDataSource(final HikariDataSource primary, final List<HikariDataSource> replicas, final String selection) {
+    this.primary = primary;
+    this.replicas = new ArrayList<>(replicas);
+    this.leastBusy = LEAST_BUSY.equals(selection);
+
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(PRIMARY, primary);
+    for (int i = 0; i < this.replicas.size(); i++) {
+      targets.put(replicaKey(i), this.replicas.get(i));
+    }
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+    afterPropertiesSet();
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    if (readOnly && replicas.isEmpty() == false && DataSourceRouting.isPrimaryForced() == false) {
+      return replicaKey(selectReplica());
+    }
+    if (readOnly == false && TransactionSynchronizationManager.isActualTransactionActive()) {
+      DataSourceRouting.markWrite();
+    }
+    return PRIMARY;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    Object key = determineCurrentLookupKey();
+    return getConnection(key);
+  }
+
+  @Override
+  public Connection getConnection(final String username, final String password) throws SQLException {
+    // 풀마다 계정이 설정되어 있으므로 전달된 계정은 사용하지 않는다
+    return getConnection();
+  }
+
+  private Connection getConnection(final Object key) throws SQLException {
+    if (PRIMARY.equals(key)) {
+      return primary.getConnection();
+    }
+    try {
+      return replicas.get(replicaIndex(key)).getConnection();
+    } catch (SQLException e) {
+      log.warn("replica connection failed, falling back to primary : {} ({})", key, e.getMessage());
+      return primary.getConnection();
+    }
+  }
+
+  // replica 선택
+  private int selectReplica() {
+    int size = replicas.size();
+    int start = Math.floorMod(next.getAndIncrement(), size);
+    if (leastBusy == false || size == 1) {
+      return start;
+    }
+
+    // 활성 커넥션이 가장 적은 풀 (같으면 round-robin 순서)
+    int selected = start;
+    int minActive = Integer.MAX_VALUE;
+    for (int i = 0; i < size; i++) {
+      int index = (start + i) % size;
+      HikariPoolMXBean pool = replicas.get(index).getHikariPoolMXBean();
+      int active = pool == null ? 0 : pool.getActiveConnections();
+      if (active < minActive) {
+        minActive = active;
+        selected = index;
+      }
+    }
+    return selected;
+  }
+
+  // 전체 커넥션 풀 (primary, replica 순)
+  public List<HikariDataSource> pools() {
+    List<HikariDataSource> pools = new ArrayList<>();
+    pools.add(primary);
+    pools.addAll(replicas);
+    return pools;
+  }
+
+  // 풀 상태 (운영 API 용)
+  public List<Map<String, Object>> status() {
+    List<Map<String, Object>> status = new ArrayList<>();
+    status.add(poolStatus(PRIMARY, primary));
+    for (int i = 0; i < replicas.size(); i++) {
+      status.add(poolStatus(replicaKey(i), replicas.get(i)));
+    }
+    return status;
+  }
+
+  private static Map<String, Object> poolStatus(final String key, final HikariDataSource dataSource) {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("key", key);
+    status.put("pool", dataSource.getPoolName());
+    HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+    if (pool != null) {
+      status.put("active", pool.getActiveConnections());
+      status.put("idle", pool.getIdleConnections());
+      status.put("waiting", pool.getThreadsAwaitingConnection());
+    }
+    return status;
+  }
+
+  @Override
+  public void close() {
+    for (HikariDataSource replica : replicas) {
+      replica.close();
+    }
+    primary.close();
+  }
+
+  private static String replicaKey(final int index) {
+    return "replica-" + index;
+  }
+
+  private static int replicaIndex(final Object key) {
+    return Integer.parseInt(((String) key).substring("replica-".length()));
+  }
+}
@@ -12,12 +12,25 @@ public enum ErrorCode {
 
 //  404 NOT_FOUND: 리소스를 찾을 수 없음
   POSTS_NOT_FOUND(HttpStatus.NOT_FOUND, "게시글 정보를 찾을 수 없습니다."),
+  FEATURE_DISABLED(HttpStatus.NOT_FOUND, "사용하지 않도록 설정된 기능입니다."),
 
 //  405 METHOD_NOT_ALLOWED: 허용되지 않은 Request Method 호출
   METHOD_NOT_ALLOWED(HttpStatus.METHOD_NOT_ALLOWED, "허용되지 않은 메서드입니다."),
 
+//  412 PRECONDITION_FAILED: If-Match 로 전달한 버전이 현재 게시글 버전과 다름 (다른 사용자가 먼저 수정)
+  PRECONDITION_FAILED(HttpStatus.PRECONDITION_FAILED, "다른 사용자가 게시글을 먼저 수정했습니다. 다시 조회한 뒤 수정해 주세요."),
+
+//  429 TOO_MANY_REQUESTS: 클라이언트별 쓰기 허용량 초과 (Retry-After)
+  TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "요청이 너무 많습니다. 잠시 후 다시 시도해 주세요."),
+
 //  500 INTERNAL_SERVER_ERROR: 내부 서버 오류
   INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "내부 서버 오류입니다."),
+
+//  503 SERVICE_UNAVAILABLE: 처리 가능한 요청 수 초과
+  SERVICE_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."),
+  SERVICE_TIMEOUT(HttpStatus.SERVICE_UNAVAILABLE, "요청 처리 시간이 초과되었습니다."),
+  SERVICE_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "서버 부하가 높아 요청을 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."),
+  INDEX_NOT_READY(HttpStatus.SERVICE_UNAVAILABLE, "색인을 구성하는 중입니다. 잠시 후 다시 시도해 주세요."),
   ;
 
   private final HttpStatus status;
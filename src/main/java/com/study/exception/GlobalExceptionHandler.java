@@ -1,11 +1,17 @@
 package com.study.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 @RestControllerAdvice // 스프링 예외처리를 위해 @ControllerAdvice 와 @ExceptionHandler 등의 기능을 지원
                       // @ControllerAdvice 는 컨트롤러 전역에서 발생할 수 있는 예외를 잡아 Throw 해주고
                       // @ExceptionHandler 는 특정 클래스에서 발생할 수 있는 예외를 잡아 Throw 해준다
@@ -15,6 +21,12 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @Slf4j  // 롬복에서 제공해주는 기능으로 해당 어노테이션이 선언된 클래스에 자동으로 로그 객체를 생성
         // 코드에서 보이는 것 처럼 log.error(), log.debug()와 같이 로깅 관련 메서드를 사용할 수 있다
 public class GlobalExceptionHandler {
+
+  // 과부하로 거절한 요청(요청 수락 제어, 격벽)은 한꺼번에 발생하므로 별도 로거에 debug 로 기록한다 (logback-spring.xml 에서 기본으로 끔)
+  // 거절 횟수는 지표(board.admission.rejected, board.bulkhead.rejected, board.bulkhead.timeout)로 확인한다
+  private static final Logger rejectedLog = LoggerFactory.getLogger("board.rejected");
+  private static final Set<ErrorCode> REJECTED = EnumSet.of(ErrorCode.SERVICE_BUSY, ErrorCode.SERVICE_TIMEOUT, ErrorCode.SERVICE_OVERLOADED);
+
 //  @ExceptionHandler(RuntimeException.class) // 속성으로는 RuntimeException.class 를 지정했으며
 //                                            // BoardApiController의 test() 메서드를 보면 RuntimeException을 throw 하고 있다
 //  public String handleRuntimeException(final RuntimeException e) {
@@ -25,10 +37,24 @@ public class GlobalExceptionHandler {
 //  Developer Custom Exception
   @ExceptionHandler(CustomException.class)
   protected ResponseEntity<ErrorResponse> handleCustomException(final CustomException e) {
-    log.error("handleCustomException: {}", e.getErrorCode());
+    if (REJECTED.contains(e.getErrorCode())) {
+      rejectedLog.debug("handleCustomException: {}", e.getErrorCode());
+    } else {
+      log.error("handleCustomException: {}", e.getErrorCode());
+    }
     return ResponseEntity.status(e.getErrorCode().getStatus().value()).body(new ErrorResponse(e.getErrorCode()));
   }
 
+//  HTTP 429, 503 Exception (요청 수락 제어, Retry-After 포함)
+//  과부하 중에는 거절이 한꺼번에 발생하므로 error 가 아닌 거절 로거(board.rejected)에 debug 로 기록한다
+  @ExceptionHandler(RetryLaterException.class)
+  protected ResponseEntity<ErrorResponse> handleRetryLaterException(final RetryLaterException e) {
+    rejectedLog.debug("handleRetryLaterException: {}", e.getErrorCode());
+    return ResponseEntity.status(e.getErrorCode().getStatus().value())
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+        .body(new ErrorResponse(e.getErrorCode()));
+  }
+
 //  HTTP 405 Exception
   @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
   protected ResponseEntity<ErrorResponse> handleHttpRequestMethodNotSupportedException(final HttpRequestMethodNotSupportedException e) {
@@ -0,0 +1,20 @@
+package com.study.exception;
+
+import lombok.Getter;
+
+// 잠시 후 다시 시도하면 처리될 수 있는 거절 (429, 503 + Retry-After)
+// 과부하 중에 대량으로 만들어지므로 스택 트레이스를 채우지 않는다
+@Getter
+public class RetryLaterException extends CustomException {
+  private final long retryAfterSeconds;
+
+  public RetryLaterException(ErrorCode errorCode, long retryAfterSeconds) {
+    super(errorCode);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
@@ -0,0 +1,86 @@
+package com.study.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// MyBatis 매퍼 구문별 실행 시간, 행 수 측정
+//  - board.mapper.statement (Timer) : statement(BoardMapper.findAll 등), outcome(success, error)
+//  - board.mapper.rows (DistributionSummary) : 조회된 행 수 또는 변경된 행 수
+// ResultHandler 로 결과를 전달받는 구문(인덱스 구성 등)과 배치 실행은 행 수를 알 수 없으므로 시간만 기록한다
+// 구문 이름과 결과별 Meter 를 캐싱하여, 실행할 때마다 Meter 를 조회(태그 생성)하는 비용을 줄인다
+@Intercepts({
+    @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class MapperMetricsInterceptor implements Interceptor {
+
+  private final MeterRegistry registry;
+  private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, DistributionSummary> rows = new ConcurrentHashMap<>();
+
+  public MapperMetricsInterceptor(final MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public Object intercept(final Invocation invocation) throws Throwable {
+    MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+    String name = statementName(statement.getId());
+    long start = System.nanoTime();
+    boolean success = false;
+    try {
+      Object result = invocation.proceed();
+      success = true;
+      recordRows(name, result, invocation.getArgs().length == 4 && invocation.getArgs()[3] != Executor.NO_RESULT_HANDLER);
+      return result;
+    } finally {
+      timer(name, success).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  // ResultHandler 로 전달한 조회는 빈 List 를, 배치 실행(CachingExecutor 로 감싸진 BatchExecutor)은 BATCH_UPDATE_RETURN_VALUE 를 반환한다
+  private void recordRows(final String name, final Object result, final boolean resultHandler) {
+    long count = -1;
+    if (result instanceof List && resultHandler == false) {
+      count = ((List<?>) result).size();
+    } else if (result instanceof Integer && (Integer) result != BatchExecutor.BATCH_UPDATE_RETURN_VALUE) {
+      count = (Integer) result;
+    }
+    if (count >= 0) {
+      rows.computeIfAbsent(name, key -> DistributionSummary.builder("board.mapper.rows")
+          .description("Rows returned or affected by a MyBatis statement")
+          .tag("statement", key)
+          .register(registry)).record(count);
+    }
+  }
+
+  private Timer timer(final String name, final boolean success) {
+    String outcome = success ? "success" : "error";
+    return timers.computeIfAbsent(name + '|' + outcome, key -> Timer.builder("board.mapper.statement")
+        .description("MyBatis statement execution time")
+        .tag("statement", name)
+        .tag("outcome", outcome)
+        .register(registry));
+  }
+
+  // com.study.board.model.BoardMapper.findAll -> BoardMapper.findAll
+  private static String statementName(final String id) {
+    int last = id.lastIndexOf('.');
+    int previous = last > 0 ? id.lastIndexOf('.', last - 1) : -1;
+    return previous < 0 ? id : id.substring(previous + 1);
+  }
+}
@@ -0,0 +1,25 @@
+package com.study.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import javax.sql.DataSource;
+
+// 트랜잭션 실행 시간을 측정하는 DataSourceTransactionManager (MyBatis 전용 모드, 기록 방식 : TransactionTimers)
+public class MeteredDataSourceTransactionManager extends DataSourceTransactionManager {
+
+  private final transient TransactionTimers timers;
+
+  public MeteredDataSourceTransactionManager(final DataSource dataSource, final MeterRegistry registry) {
+    super(dataSource);
+    this.timers = new TransactionTimers(registry);
+  }
+
+  @Override
+  protected void prepareSynchronization(final DefaultTransactionStatus status, final TransactionDefinition definition) {
+    super.prepareSynchronization(status, definition);
+    timers.start(status, definition);
+  }
+}
@@ -0,0 +1,22 @@
+package com.study.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+// 트랜잭션 실행 시간을 측정하는 JpaTransactionManager (기록 방식 : TransactionTimers)
+public class MeteredJpaTransactionManager extends JpaTransactionManager {
+
+  private final transient TransactionTimers timers;
+
+  public MeteredJpaTransactionManager(final MeterRegistry registry) {
+    this.timers = new TransactionTimers(registry);
+  }
+
+  @Override
+  protected void prepareSynchronization(final DefaultTransactionStatus status, final TransactionDefinition definition) {
+    super.prepareSynchronization(status, definition);
+    timers.start(status, definition);
+  }
+}
@@ -0,0 +1,67 @@
+package com.study.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// JPA Repository(BoardRepository) 메서드별 실행 시간, 결과 건수 측정
+//  - board.repository.invocation (Timer) : method(findById 등), outcome(success, error)
+//  - board.repository.rows (DistributionSummary) : 반환된 엔티티 수 (Collection 크기, Optional 은 0 또는 1)
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+  private final MeterRegistry registry;
+  private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, DistributionSummary> rows = new ConcurrentHashMap<>();
+
+  @Around("execution(* com.study.board.entity.BoardRepository+.*(..))")
+  public Object measure(final ProceedingJoinPoint joinPoint) throws Throwable {
+    String method = joinPoint.getSignature().getName();
+    long start = System.nanoTime();
+    boolean success = false;
+    try {
+      Object result = joinPoint.proceed();
+      success = true;
+      recordRows(method, result);
+      return result;
+    } finally {
+      timer(method, success).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private void recordRows(final String method, final Object result) {
+    long count;
+    if (result instanceof Collection) {
+      count = ((Collection<?>) result).size();
+    } else if (result instanceof Optional) {
+      count = ((Optional<?>) result).isPresent() ? 1 : 0;
+    } else {
+      return;
+    }
+    rows.computeIfAbsent(method, key -> DistributionSummary.builder("board.repository.rows")
+        .description("Entities returned by a BoardRepository method")
+        .tag("method", key)
+        .register(registry)).record(count);
+  }
+
+  private Timer timer(final String method, final boolean success) {
+    String outcome = success ? "success" : "error";
+    return timers.computeIfAbsent(method + '|' + outcome, key -> Timer.builder("board.repository.invocation")
+        .description("BoardRepository method execution time")
+        .tag("method", method)
+        .tag("outcome", outcome)
+        .register(registry));
+  }
+}
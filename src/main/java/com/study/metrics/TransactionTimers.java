@@ -0,0 +1,59 @@
+package com.study.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 트랜잭션 실행 시간 기록
+//  - board.transaction (Timer) : name(@Transactional 메서드 이름, TransactionTemplate 은 unnamed), readOnly, outcome(commit, rollback, unknown)
+// 새 트랜잭션이 시작될 때 TransactionSynchronization 을 등록하고, 완료(afterCompletion) 시점까지의 시간을 기록한다
+// 기존 트랜잭션에 참여하는 경우는 바깥 트랜잭션에 포함되므로 따로 기록하지 않는다
+// 트랜잭션 매니저(MeteredJpaTransactionManager, MeteredDataSourceTransactionManager)의 prepareSynchronization 에서 호출한다
+public class TransactionTimers {
+
+  private final MeterRegistry registry;
+  private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+  public TransactionTimers(final MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  public void start(final DefaultTransactionStatus status, final TransactionDefinition definition) {
+    if (status.isNewTransaction() == false || TransactionSynchronizationManager.isSynchronizationActive() == false) {
+      return;
+    }
+
+    String name = definition.getName() == null ? "unnamed" : shortName(definition.getName());
+    boolean readOnly = definition.isReadOnly();
+    long start = System.nanoTime();
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(final int completionStatus) {
+        String outcome = completionStatus == STATUS_COMMITTED ? "commit" : completionStatus == STATUS_ROLLED_BACK ? "rollback" : "unknown";
+        timer(name, readOnly, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
+    });
+  }
+
+  private Timer timer(final String name, final boolean readOnly, final String outcome) {
+    return timers.computeIfAbsent(name + '|' + readOnly + '|' + outcome, key -> Timer.builder("board.transaction")
+        .description("Transaction duration from begin to completion")
+        .tag("name", name)
+        .tag("readOnly", String.valueOf(readOnly))
+        .tag("outcome", outcome)
+        .register(registry));
+  }
+
+  // com.study.board.model.BoardService.save -> BoardService.save
+  private static String shortName(final String name) {
+    int last = name.lastIndexOf('.');
+    int previous = last > 0 ? name.lastIndexOf('.', last - 1) : -1;
+    return previous < 0 ? name : name.substring(previous + 1);
+  }
+}
@@ -1,16 +1,51 @@
 package com.study.paging;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter
 @Setter
 public class CommonParams {
+  public static final int MAX_PREVIEW_LENGTH = 200;  // 미리보기 최대 글자 수
+
   private int page;           // 현재 페이지 번호
   private int recordPerPage;  // 페이지당 출력할 데이터 개수
   private int pageSize;       // 화면 하단에 출력할 페이지 개수
   private String keyword;     // 검색 키워드
   private String searchType;  // 검색 유형
   private Pagination pagination;  // 페이지네이션 정보
+  private String pagingType;  // 페이징 방식 (cursor : 커서 기반, 그 외 : 오프셋 기반)
+  private String cursor;      // 커서 (이전 응답의 nextCursor 또는 prevCursor)
+  private CursorPagination cursorPagination;  // 커서 페이지네이션 정보
+  private boolean includeContent; // 리스트 조회 시 내용 포함 여부 (기본은 내용 제외)
+  private int previewLength;  // 리스트 조회 시 내용 미리보기 글자 수 (0 이면 미리보기 없음)
+
+  // 검색 키워드 (앞뒤 공백 제거)
+  // 리스트 캐시 키, 검색 인덱스, 쿼리가 모두 같은 값을 사용하도록 전달받을 때 한 번만 정규화한다
+  public void setKeyword(String keyword) {
+    this.keyword = keyword == null ? null : keyword.trim();
+  }
+
+  // 커서 기반 페이징 여부
+  // pagingType 이 cursor 이거나, 커서가 전달된 경우 커서 기반으로 조회한다
+  public boolean isCursorPaging() {
+    return "cursor".equals(pagingType) || (cursor != null && cursor.isEmpty() == false);
+  }
+
+  // 미리보기 글자 수 (0 ~ MAX_PREVIEW_LENGTH)
+  public int getPreviewLength() {
+    return Math.min(Math.max(previewLength, 0), MAX_PREVIEW_LENGTH);
+  }
+
+  // 요청한 페이지 번호 기준 LIMIT 시작 위치
+  // 게시글 수를 모르는 상태(페이지와 게시글 수를 함께 조회하는 경우)에서 사용하며, 응답에는 포함하지 않는다
+  // 페이지 번호가 매우 크면 int 곱셈이 넘쳐 음수가 되므로 long 으로 계산하고 int 최대값으로 제한한다
+  @JsonIgnore
+  public int getOffset() {
+    long offset = (long) (Math.max(page, 1) - 1) * Math.max(recordPerPage, 0);
+    return (int) Math.min(offset, Integer.MAX_VALUE);
+  }
 
 }
@@ -0,0 +1,79 @@
+package com.study.paging;
+
+import com.study.exception.CustomException;
+import com.study.exception.ErrorCode;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Getter
+public class CursorPagination {
+
+  private static final char NEXT = 'n';  // 다음 페이지 커서
+  private static final char PREV = 'p';  // 이전 페이지 커서
+
+  private Long cursorId;          // 기준 게시글 번호
+  // 클라이언트가 마지막으로 조회한 게시글의 번호로, 커서가 없는 경우(첫 페이지) NULL
+  // OFFSET 방식과 달리 id < cursorId (또는 id > cursorId) 조건으로 인덱스를 바로 탐색하기 때문에
+  // 페이지 번호가 커져도 앞쪽의 데이터를 읽고 버리는 비용이 발생하지 않는다
+  private boolean backward;       // 조회 방향 (true : 이전 페이지, false : 다음 페이지)
+  private int fetchSize;          // 조회할 데이터 개수
+  // 다음(이전) 페이지 존재 여부를 COUNT 쿼리 없이 확인하기 위해 recordPerPage 보다 1건 더 조회
+  private String nextCursor;      // 다음 페이지 커서
+  private String prevCursor;      // 이전 페이지 커서
+  private boolean existPrevPage;  // 이전 페이지 존재 여부
+  private boolean existNextPage;  // 다음 페이지 존재 여부
+
+  public CursorPagination(CommonParams params) {
+    if (params.getRecordPerPage() < 1) {
+      throw new CustomException(ErrorCode.BAD_REQUEST);
+    }
+    this.fetchSize = params.getRecordPerPage() + 1;
+    this.decode(params.getCursor());
+  }
+
+  // 커서 해석
+  // 커서는 방향(n/p)과 게시글 번호를 Base64(URL Safe)로 인코딩한 값으로, 클라이언트에게는 불투명한(opaque) 문자열이다
+  private void decode(String cursor) {
+    if (cursor == null || cursor.isEmpty()) {
+      return;
+    }
+
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      char direction = value.charAt(0);
+      if (direction != NEXT && direction != PREV) {
+        throw new CustomException(ErrorCode.BAD_REQUEST);
+      }
+      this.backward = direction == PREV;
+      this.cursorId = Long.parseLong(value.substring(1));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+      throw new CustomException(ErrorCode.BAD_REQUEST);
+    }
+  }
+
+  private static String encode(char direction, Long id) {
+    String value = direction + String.valueOf(id);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  // 커서 정보 계산
+  // hasMore : fetchSize 만큼 조회되어 조회 방향으로 데이터가 더 존재하는지 여부
+  // firstId, lastId : 화면에 출력되는(정렬된) 리스트의 첫 번째, 마지막 게시글 번호
+  public void calculation(boolean hasMore, Long firstId, Long lastId) {
+
+    if (backward) {
+      // 이전 페이지를 조회한 경우, 기준 게시글이 존재하므로 다음 페이지는 무조건 존재
+      existPrevPage = hasMore;
+      existNextPage = true;
+    } else {
+      // 다음 페이지를 조회한 경우, 커서가 있었다면 이전 페이지가 존재
+      existPrevPage = cursorId != null;
+      existNextPage = hasMore;
+    }
+
+    nextCursor = existNextPage ? encode(NEXT, lastId) : null;
+    prevCursor = existPrevPage ? encode(PREV, firstId) : null;
+  }
+}
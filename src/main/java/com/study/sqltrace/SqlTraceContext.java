@@ -0,0 +1,23 @@
+package com.study.sqltrace;
+
+// 요청(스레드) 단위 SQL 추적 강제 여부
+// SqlTraceFilter 가 요청 헤더(X-Sql-Trace: on)를 확인하여 설정하며, 설정된 요청의 모든 SQL 은 샘플링과 관계없이 기록된다
+public final class SqlTraceContext {
+
+  private static final ThreadLocal<Boolean> FORCED = new ThreadLocal<>();
+
+  private SqlTraceContext() {
+  }
+
+  public static void force() {
+    FORCED.set(Boolean.TRUE);
+  }
+
+  public static void clear() {
+    FORCED.remove();
+  }
+
+  public static boolean isForced() {
+    return FORCED.get() != null;
+  }
+}
@@ -0,0 +1,194 @@
+package com.study.sqltrace;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+// SQL 추적 DataSource (log4jdbc DriverSpy 대체)
+// 커넥션과 구문(Statement)을 프록시로 감싸 실행 시간을 측정하고, 기록 대상인 구문만 SqlTracer 에 전달한다
+//  - 바인딩 파라미터는 기록할 구문에서만, 문자열로 변환하지 않고 값(참조)만 배열에 보관 (SqlTracer.capturesParameters)
+//  - 추적이 꺼져 있으면 커넥션을 감싸지 않는다
+//  - 결과(ResultSet)는 감싸지 않으므로 조회 결과를 읽는 비용에는 영향이 없다
+public class SqlTraceDataSource extends DelegatingDataSource implements Closeable {
+
+  private static final Object[] NO_PARAMETERS = new Object[0];
+
+  private final SqlTracer tracer;
+
+  public SqlTraceDataSource(final DataSource target, final SqlTracer tracer) {
+    super(target);
+    this.tracer = tracer;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return wrap(super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(final String username, final String password) throws SQLException {
+    return wrap(super.getConnection(username, password));
+  }
+
+  private Connection wrap(final Connection connection) {
+    if (tracer.isEnabled() == false) {
+      return connection;
+    }
+    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+        new ConnectionHandler(connection));
+  }
+
+  // 애플리케이션 종료 시 커넥션 풀 종료
+  @Override
+  public void close() throws IOException {
+    DataSource target = getTargetDataSource();
+    if (target instanceof Closeable) {
+      ((Closeable) target).close();
+    }
+  }
+
+  private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+
+  // 커넥션 : 구문 생성 메서드만 가로챈다
+  private class ConnectionHandler implements InvocationHandler {
+    private final Connection connection;
+
+    private ConnectionHandler(final Connection connection) {
+      this.connection = connection;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+      Object result = SqlTraceDataSource.invoke(connection, method, args);
+      String name = method.getName();
+      if (result instanceof Statement && ("prepareStatement".equals(name) || "prepareCall".equals(name) || "createStatement".equals(name))) {
+        String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+        Class<?> type = result instanceof CallableStatement ? CallableStatement.class
+            : result instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] {type},
+            new StatementHandler((Statement) result, sql, tracer.sample()));
+      }
+      return result;
+    }
+  }
+
+  // 구문 : 파라미터 설정, 배치 추가, 실행 메서드를 가로챈다
+  private class StatementHandler implements InvocationHandler {
+    private final Statement statement;
+    private final String preparedSql;
+    private final SqlTraceEvent.Reason sampled;
+    private final boolean capture;
+    private Object[] parameters = NO_PARAMETERS;
+    private int parameterCount;  // 설정된 가장 큰 파라미터 번호 (parameters 는 두 배씩 늘리므로 뒤쪽은 비어 있을 수 있다)
+    private int batchSize;
+    private String batchSql;
+
+    private StatementHandler(final Statement statement, final String preparedSql, final SqlTraceEvent.Reason sampled) {
+      this.statement = statement;
+      this.preparedSql = preparedSql;
+      this.sampled = sampled;
+      this.capture = tracer.capturesParameters(sampled, preparedSql);
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+      String name = method.getName();
+
+      // setString(1, value), setLong(2, value), setNull(3, type) ... : 값의 참조만 보관
+      if (capture && args != null && args.length >= 2 && args[0] instanceof Integer && name.startsWith("set")) {
+        capture((Integer) args[0], "setNull".equals(name) ? null : args[1]);
+        return SqlTraceDataSource.invoke(statement, method, args);
+      }
+      if ("clearParameters".equals(name)) {
+        parameters = NO_PARAMETERS;
+        parameterCount = 0;
+      } else if ("addBatch".equals(name)) {
+        batchSize++;
+        if (args != null && args.length == 1 && batchSql == null) {
+          batchSql = (String) args[0];
+        }
+      } else if ("clearBatch".equals(name)) {
+        batchSize = 0;
+      }
+      if (name.startsWith("execute") == false) {
+        return SqlTraceDataSource.invoke(statement, method, args);
+      }
+
+      // 실행 : 시간 측정
+      String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+      boolean batch = name.contains("Batch");
+      long start = System.nanoTime();
+      Object result = null;
+      boolean failed = true;
+      try {
+        result = SqlTraceDataSource.invoke(statement, method, args);
+        failed = false;
+        return result;
+      } finally {
+        long elapsed = System.nanoTime() - start;
+        SqlTraceEvent.Reason reason = tracer.reason(sampled, elapsed);
+        if (reason == SqlTraceEvent.Reason.SLOW && capture == false) {
+          tracer.slow(preparedSql);
+        }
+        if (reason != null) {
+          tracer.publish(new SqlTraceEvent(batch && sql == null ? batchSql : String.valueOf(sql),
+              parameterCount == 0 ? NO_PARAMETERS : Arrays.copyOf(parameters, parameterCount), batch ? batchSize : 0, elapsed, rows(result), failed, reason));
+        }
+        if (batch) {
+          batchSize = 0;
+          batchSql = null;
+        }
+      }
+    }
+
+    private void capture(final int index, final Object value) {
+      if (index < 1) {
+        return;
+      }
+      if (index > parameters.length) {
+        parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+      }
+      parameters[index - 1] = value;
+      parameterCount = Math.max(parameterCount, index);
+    }
+
+    private long rows(final Object result) {
+      if (result instanceof Integer || result instanceof Long) {
+        return ((Number) result).longValue();
+      }
+      if (result instanceof int[]) {
+        long sum = 0;
+        for (int count : (int[]) result) {
+          sum += Math.max(count, 0);
+        }
+        return sum;
+      }
+      if (result instanceof long[]) {
+        long sum = 0;
+        for (long count : (long[]) result) {
+          sum += Math.max(count, 0);
+        }
+        return sum;
+      }
+      return -1;
+    }
+  }
+}
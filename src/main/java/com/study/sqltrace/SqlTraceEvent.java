@@ -0,0 +1,83 @@
+package com.study.sqltrace;
+
+import lombok.Getter;
+
+// SQL 실행 기록
+// 요청 스레드에서는 값(참조)만 담고, 문자열 변환은 SqlTracer 의 기록 스레드에서 한다
+@Getter
+public class SqlTraceEvent {
+
+  public enum Reason {
+    SAMPLED, SLOW, FORCED
+  }
+
+  private final String sql;           // 실행한 SQL
+  private final Object[] parameters;  // 바인딩 파라미터 (1번부터 순서대로, 없으면 빈 배열)
+  private final int batchSize;        // 배치 실행 건수 (배치가 아니면 0)
+  private final long elapsedNanos;    // 실행 시간
+  private final long rows;            // 변경된 행 수 (조회 또는 알 수 없는 경우 -1)
+  private final boolean failed;       // 예외 발생 여부
+  private final Reason reason;        // 기록 사유
+  private final String thread;        // 실행 스레드
+  private final long timestamp;       // 실행 종료 시각 (epoch ms)
+  private volatile long sequence;     // 링 버퍼 순번 (SqlTracer 가 설정)
+
+  SqlTraceEvent(String sql, Object[] parameters, int batchSize, long elapsedNanos, long rows, boolean failed, Reason reason) {
+    this.sql = sql;
+    this.parameters = parameters;
+    this.batchSize = batchSize;
+    this.elapsedNanos = elapsedNanos;
+    this.rows = rows;
+    this.failed = failed;
+    this.reason = reason;
+    this.thread = Thread.currentThread().getName();
+    this.timestamp = System.currentTimeMillis();
+  }
+
+  void setSequence(long sequence) {
+    this.sequence = sequence;
+  }
+
+  // 로그 출력용 문자열 (기록 스레드에서 호출)
+  public String format() {
+    StringBuilder builder = new StringBuilder(sql.length() + 64);
+    builder.append('[').append(reason).append("] ")
+        .append(elapsedNanos / 1000 / 1000.0).append("ms");
+    if (rows >= 0) {
+      builder.append(" rows=").append(rows);
+    }
+    if (batchSize > 0) {
+      builder.append(" batch=").append(batchSize);
+    }
+    if (failed) {
+      builder.append(" FAILED");
+    }
+    builder.append(" | ").append(sql.replaceAll("\\s+", " ").trim());
+    if (parameters.length > 0) {
+      builder.append(" | params=[");
+      for (int i = 0; i < parameters.length; i++) {
+        if (i > 0) {
+          builder.append(", ");
+        }
+        builder.append(formatParameter(parameters[i]));
+      }
+      builder.append(']');
+    }
+    return builder.toString();
+  }
+
+  private static String formatParameter(Object value) {
+    if (value == null) {
+      return "NULL";
+    }
+    if (value instanceof CharSequence || value instanceof Character) {
+      String text = value.toString();
+      return "'" + (text.length() > 200 ? text.substring(0, 200) + "..." : text) + "'";
+    }
+    if (value instanceof Number || value instanceof Boolean || value instanceof java.util.Date || value instanceof java.time.temporal.Temporal) {
+      return value.toString();
+    }
+    // 스트림, LOB 등은 타입만 출력
+    return "<" + value.getClass().getSimpleName() + ">";
+  }
+}
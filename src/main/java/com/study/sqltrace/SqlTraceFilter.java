@@ -0,0 +1,39 @@
+package com.study.sqltrace;
+
+import com.study.config.BoardProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+// 요청 단위 SQL 추적 필터
+// 요청 헤더가 X-Sql-Trace: on 이면 해당 요청에서 실행한 SQL 을 샘플링과 관계없이 모두 기록한다
+@Component
+@RequiredArgsConstructor
+public class SqlTraceFilter extends OncePerRequestFilter {
+
+  public static final String HEADER_NAME = "X-Sql-Trace";
+
+  private final BoardProperties properties;
+
+  @Override
+  protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain chain)
+      throws ServletException, IOException {
+    boolean forced = properties.getSqlTrace().isRequestHeaderEnabled() && "on".equalsIgnoreCase(request.getHeader(HEADER_NAME));
+    if (forced) {
+      SqlTraceContext.force();
+    }
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      if (forced) {
+        SqlTraceContext.clear();
+      }
+    }
+  }
+}
@@ -0,0 +1,207 @@
+package com.study.sqltrace;
+
+import com.study.config.BoardProperties;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// SQL 추적기
+// SqlTraceDataSource 가 실행한 SQL 중 다음에 해당하는 것만 기록한다
+//  - SAMPLED : sample-rate 확률로 선택된 구문
+//  - SLOW : 실행 시간이 slow-threshold-ms 이상인 구문
+//  - FORCED : 요청 헤더로 추적을 켠 요청의 구문 (SqlTraceContext)
+// 요청 스레드는 링 버퍼의 칸을 하나 차지하고 이벤트를 넣기만 하며, 문자열 변환과 로그 출력은 기록 스레드(sql-trace)에서 한다
+// 기록 스레드가 따라가지 못하면 오래된 이벤트부터 덮어쓰고 dropped 로 집계한다 (요청 스레드는 기다리지 않는다)
+// 바인딩 파라미터는 기록할 구문에서만 보관한다
+//  - SAMPLED, FORCED : 구문 생성 시점에 기록이 정해지므로 보관
+//  - SLOW : 실행이 끝나야 알 수 있으므로 처음에는 파라미터 없이 기록하고, 그 SQL 을 기억해 두었다가 다음 실행부터 보관한다
+// 설정은 /api/system/sql-trace 로 실행 중에 변경할 수 있다
+@Component
+@RequiredArgsConstructor
+public class SqlTracer {
+
+  private static final Logger log = LoggerFactory.getLogger("sql.trace");
+  private static final int MAX_SLOW_STATEMENTS = 256;  // 파라미터를 보관할 느린 SQL 최대 수
+
+  private final BoardProperties properties;
+
+  private volatile boolean enabled;
+  private volatile double sampleRate;
+  private volatile long slowThresholdNanos;  // 0 보다 작으면 사용하지 않음
+
+  private AtomicReferenceArray<SqlTraceEvent> buffer;
+  private int mask;
+  private final AtomicLong head = new AtomicLong();  // 다음에 쓸 순번
+  private long tail;                                  // 다음에 읽을 순번 (기록 스레드만 사용)
+  private final LongAdder recorded = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final Set<String> slowStatements = ConcurrentHashMap.newKeySet();  // 느린 구문으로 기록된 SQL
+  private Thread writer;
+  private volatile boolean running = true;
+
+  @PostConstruct
+  public void start() {
+    BoardProperties.SqlTrace config = properties.getSqlTrace();
+    enabled = config.isEnabled();
+    sampleRate = config.getSampleRate();
+    slowThresholdNanos = config.getSlowThresholdMs() < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(config.getSlowThresholdMs());
+
+    // 크기를 2의 거듭제곱으로 맞추어 순번 & mask 로 위치 계산
+    int capacity = Integer.highestOneBit(Math.max(config.getBufferSize() - 1, 1)) << 1;
+    buffer = new AtomicReferenceArray<>(capacity);
+    mask = capacity - 1;
+
+    writer = new Thread(this::drainLoop, "sql-trace");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    writer.interrupt();
+    writer.join(TimeUnit.SECONDS.toMillis(5));
+  }
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  // 구문 생성 시점에 호출 : 샘플링 여부 결정 (기록하지 않을 구문이면 NULL)
+  SqlTraceEvent.Reason sample() {
+    if (SqlTraceContext.isForced()) {
+      return SqlTraceEvent.Reason.FORCED;
+    }
+    double rate = sampleRate;
+    if (rate > 0 && (rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate)) {
+      return SqlTraceEvent.Reason.SAMPLED;
+    }
+    return null;
+  }
+
+  // 구문 생성 시점에 호출 : 파라미터 보관 여부 (기록이 정해진 구문, 이전에 느린 구문으로 기록된 SQL)
+  boolean capturesParameters(final SqlTraceEvent.Reason sampled, final String sql) {
+    return sampled != null || (slowThresholdNanos >= 0 && sql != null && slowStatements.contains(sql));
+  }
+
+  // 파라미터 없이 느린 구문으로 기록된 SQL : 다음 실행부터 파라미터를 보관한다
+  void slow(final String sql) {
+    if (sql != null && slowStatements.size() < MAX_SLOW_STATEMENTS) {
+      slowStatements.add(sql);
+    }
+  }
+
+  // 실행 종료 후 기록 여부 결정 (sampled : sample() 의 결과)
+  SqlTraceEvent.Reason reason(final SqlTraceEvent.Reason sampled, final long elapsedNanos) {
+    if (sampled != null) {
+      return sampled;
+    }
+    long threshold = slowThresholdNanos;
+    return threshold >= 0 && elapsedNanos >= threshold ? SqlTraceEvent.Reason.SLOW : null;
+  }
+
+  // 이벤트 추가 (요청 스레드, lock-free)
+  void publish(final SqlTraceEvent event) {
+    long sequence = head.getAndIncrement();
+    event.setSequence(sequence);
+    buffer.set((int) (sequence & mask), event);
+  }
+
+  private void drainLoop() {
+    while (running) {
+      drain();
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    drain();
+  }
+
+  private void drain() {
+    long end = head.get();
+    while (tail < end) {
+      // 기록 스레드가 한 바퀴 이상 뒤처진 경우, 덮어쓴 이벤트는 건너뛴다
+      if (end - tail > buffer.length()) {
+        dropped.add(end - tail - buffer.length());
+        tail = end - buffer.length();
+      }
+      SqlTraceEvent event = buffer.get((int) (tail & mask));
+      if (event == null || event.getSequence() < tail) {
+        // 순번은 받았지만 아직 이벤트를 넣지 않은 칸 : 다음 주기에 다시 확인
+        return;
+      }
+      if (event.getSequence() > tail) {
+        dropped.increment();
+      } else {
+        recorded.increment();
+        if (log.isInfoEnabled()) {
+          log.info(event.format());
+        }
+      }
+      tail++;
+    }
+  }
+
+  // 최근 이벤트 (최대 limit 건, 최신순)
+  public List<Map<String, Object>> recent(final int limit) {
+    List<Map<String, Object>> events = new ArrayList<>();
+    long end = head.get();
+    for (long sequence = end - 1; sequence >= 0 && sequence >= end - buffer.length() && events.size() < limit; sequence--) {
+      SqlTraceEvent event = buffer.get((int) (sequence & mask));
+      if (event == null || event.getSequence() != sequence) {
+        continue;
+      }
+      Map<String, Object> item = new LinkedHashMap<>();
+      item.put("timestamp", event.getTimestamp());
+      item.put("thread", event.getThread());
+      item.put("trace", event.format());
+      events.add(item);
+    }
+    return events;
+  }
+
+  // 설정 변경 (NULL 이면 유지)
+  public void update(final Boolean enabled, final Double sampleRate, final Long slowThresholdMs) {
+    if (enabled != null) {
+      this.enabled = enabled;
+    }
+    if (sampleRate != null) {
+      this.sampleRate = Math.min(Math.max(sampleRate, 0), 1);
+    }
+    if (slowThresholdMs != null) {
+      this.slowThresholdNanos = slowThresholdMs < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+      slowStatements.clear();
+    }
+  }
+
+  public Map<String, Object> status() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("enabled", enabled);
+    status.put("sampleRate", sampleRate);
+    status.put("slowThresholdMs", slowThresholdNanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos));
+    status.put("bufferSize", buffer.length());
+    status.put("published", head.get());
+    status.put("recorded", recorded.sum());
+    status.put("dropped", dropped.sum());
+    status.put("slowStatements", slowStatements.size());
+    return status;
+  }
+}
@@ -0,0 +1,13 @@
+-- 게시글 변경 로그 (인스턴스 간 변경 전파)
+-- 게시글을 생성, 수정, 삭제하는 트랜잭션에서 변경된 게시글 번호와 유형을 함께 기록하고 (BoardChangeLog)
+-- 각 인스턴스는 seq 순서로 새 변경을 읽어 자신의 캐시, 인덱스에 반영한다 (BoardChangeLogTailer)
+-- 보관 기간(board.change-log.retention-hours)이 지난 행은 주기적으로 삭제된다
+CREATE TABLE IF NOT EXISTS board_change_log (
+  seq BIGINT NOT NULL AUTO_INCREMENT,
+  board_id BIGINT NOT NULL,
+  change_type VARCHAR(10) NOT NULL,
+  node_id VARCHAR(64) NOT NULL,
+  created_date DATETIME(3) NOT NULL,
+  PRIMARY KEY (seq),
+  KEY idx_board_change_log_created_date (created_date)
+) ENGINE = InnoDB;
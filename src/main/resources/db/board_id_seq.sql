@@ -0,0 +1,16 @@
+-- 게시글 번호(PK) 시퀀스 테이블
+-- Board 엔티티의 @TableGenerator(board_id) 가 사용하며, next_val 은 다음에 할당할 번호 구간의 마지막 번호를 의미한다
+-- Hibernate(pooled) 는 next_val 을 읽고 allocationSize(50) 만큼 증가시킨 뒤, 읽은 값까지의 50개 번호(next_val - 49 ~ next_val)를 메모리에서 나눠 쓴다
+-- 따라서 시작값은 기존 최대 번호 + allocationSize 로 둔다
+-- MyBatis 전용 모드(mybatis 프로파일)의 BoardIdAllocator 도 같은 방식으로 번호를 할당한다
+CREATE TABLE IF NOT EXISTS board_id_seq (
+  sequence_name VARCHAR(50) NOT NULL,
+  next_val BIGINT NOT NULL,
+  PRIMARY KEY (sequence_name)
+) ENGINE = InnoDB;
+
+-- 기존 AUTO_INCREMENT 로 생성된 게시글 번호와 겹치지 않도록 현재 최대값 + allocationSize(50) 로 시작한다
+-- (첫 구간이 최대값 + 1 ~ 최대값 + 50 이 된다. 최대값 + 1 로 두면 첫 구간이 최대값 - 48 ~ 최대값 + 1 이 되어 기존 번호와 겹친다)
+INSERT INTO board_id_seq (sequence_name, next_val)
+SELECT 'board', COALESCE(MAX(id), 0) + 50 FROM board
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
@@ -0,0 +1,4 @@
+-- 게시글 버전 컬럼 (낙관적 잠금)
+-- Board 엔티티의 @Version 과 게시글 수정, 삭제 UPDATE(BoardMapper.updateById, deleteById)가 사용한다
+-- 수정, 삭제될 때마다 1씩 증가하며, 게시글 ETag 에 포함되어 If-Match 로 전달된다
+ALTER TABLE board ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,233 @@
+package com.study.admission;
+
+import com.study.admission.ConcurrencyLimiter.Priority;
+import com.study.config.BoardProperties;
+import com.study.exception.GlobalExceptionHandler;
+import com.study.exception.RetryLaterException;
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 요청 수락 제어 : 우선순위별 동시 처리 상한, 커넥션 대기, 사용 시간에 따른 상한 조정, 쓰기 허용량, 429/503 + Retry-After 응답
+class BoardAdmissionTests {
+
+  private BoardProperties properties;
+  private BoardAdmission admission;
+  private MockMvc mockMvc;
+
+  @RestController
+  static class BoardController {
+    @GetMapping("/api/boards/{id}")
+    Long findById(@PathVariable Long id) {
+      return id;
+    }
+
+    @PostMapping("/api/boards")
+    Long save() {
+      return 1L;
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    properties = new BoardProperties();
+    BoardProperties.Admission config = properties.getAdmission();
+    config.setEnabled(true);
+    config.setInitialLimit(10);
+    config.setMinLimit(2);
+    config.setWriteBurst(2);
+    config.setWriteRatePerSecond(0.5);
+    config.setAdjustIntervalMs(600000);  // 테스트에서 직접 조정
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (admission != null) {
+      admission.destroy();
+    }
+  }
+
+  @Test
+  void lowerPrioritiesAreShedFirst() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, properties.getAdmission());
+
+    // 일괄 처리 5, 일반 8, 상세 조회 10 까지
+    for (int i = 0; i < 5; i++) {
+      assertThat(limiter.tryAcquire(Priority.BULK)).isTrue();
+    }
+    assertThat(limiter.tryAcquire(Priority.BULK)).isFalse();
+    for (int i = 0; i < 3; i++) {
+      assertThat(limiter.tryAcquire(Priority.NORMAL)).isTrue();
+    }
+    assertThat(limiter.tryAcquire(Priority.NORMAL)).isFalse();
+    assertThat(limiter.tryAcquire(Priority.CRITICAL)).isTrue();
+    assertThat(limiter.tryAcquire(Priority.CRITICAL)).isTrue();
+    assertThat(limiter.tryAcquire(Priority.CRITICAL)).isFalse();
+
+    limiter.release();
+    assertThat(limiter.tryAcquire(Priority.CRITICAL)).isTrue();
+    assertThat(limiter.getRejectedCount(Priority.BULK)).isEqualTo(1);
+  }
+
+  @Test
+  void limitFollowsPoolWaitAndLatency() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, properties.getAdmission());
+
+    // 평상시 (커넥션 사용 5ms) : 기준 설정, 상한의 절반 이상을 사용했으므로 1 증가
+    fill(limiter, 5);
+    limiter.recordLatency(TimeUnit.MILLISECONDS.toNanos(5));
+    limiter.adjust();
+    assertThat(limiter.getLimit()).isEqualTo(11);
+
+    // 커넥션 대기 (기본 기준 20ms 초과) : backoff-ratio(0.8) 를 곱한다
+    limiter.recordPoolWait(TimeUnit.MILLISECONDS.toNanos(100));
+    limiter.recordLatency(TimeUnit.MILLISECONDS.toNanos(5));
+    limiter.adjust();
+    assertThat(limiter.getLimit()).isEqualTo(8);
+
+    // 커넥션 사용 시간 증가 (기준 약 5ms 의 2배보다 긴 40ms) : 약 10 / 40 = 0.25 -> 최소 비율 0.8 적용
+    limiter.recordLatency(TimeUnit.MILLISECONDS.toNanos(40));
+    limiter.adjust();
+    assertThat(limiter.getLimit()).isEqualTo(6);
+
+    // 하한 아래로는 줄지 않는다
+    for (int i = 0; i < 20; i++) {
+      limiter.recordPoolWait(TimeUnit.SECONDS.toNanos(1));
+      limiter.adjust();
+    }
+    assertThat(limiter.getLimit()).isEqualTo(2);
+
+    // DB 를 사용한 요청이 없으면 조정하지 않는다
+    limiter.adjust();
+    assertThat(limiter.getLimit()).isEqualTo(2);
+  }
+
+  @Test
+  void tokenBucketRefillsOverTime() {
+    long now = 0;
+    TokenBucket bucket = new TokenBucket(2, 1, now);
+    assertThat(bucket.tryAcquire(1, now)).isZero();
+    assertThat(bucket.tryAcquire(1, now)).isZero();
+    assertThat(bucket.tryAcquire(1, now)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+
+    now += TimeUnit.MILLISECONDS.toNanos(500);
+    assertThat(bucket.tryAcquire(1, now)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+    now += TimeUnit.MILLISECONDS.toNanos(500);
+    assertThat(bucket.tryAcquire(1, now)).isZero();
+
+    // 버킷보다 큰 요청은 가득 찼을 때 허용
+    now += TimeUnit.SECONDS.toNanos(2);
+    assertThat(bucket.isFull(now)).isTrue();
+    assertThat(bucket.tryAcquire(10, now)).isZero();
+  }
+
+  @Test
+  void rejectsWithRetryAfter() throws Exception {
+    startAdmission();
+
+    // 쓰기 허용량 (버킷 2, 초당 0.5) : 세 번째 요청은 429, 토큰 하나가 채워지는 2초
+    mockMvc.perform(post("/api/boards")).andExpect(status().isOk());
+    mockMvc.perform(post("/api/boards")).andExpect(status().isOk());
+    mockMvc.perform(post("/api/boards"))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+        .andExpect(jsonPath("$.code").value("TOO_MANY_REQUESTS"));
+    // 다른 클라이언트는 영향받지 않는다
+    mockMvc.perform(post("/api/boards").with(request -> {
+      request.setRemoteAddr("10.0.0.2");
+      return request;
+    })).andExpect(status().isOk());
+
+    // 동시 처리 상한(10)이 모두 사용 중이면 상세 조회도 503
+    for (int i = 0; i < 10; i++) {
+      admission.acquire(Priority.CRITICAL);
+    }
+    mockMvc.perform(get("/api/boards/1"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+        .andExpect(jsonPath("$.code").value("SERVICE_OVERLOADED"));
+
+    // 처리가 끝난 요청은 반환된다
+    admission.release();
+    mockMvc.perform(get("/api/boards/1")).andExpect(status().isOk());
+    assertThat(admission.getInflight()).isEqualTo(9);
+    assertThat(admission.getThrottledCount()).isEqualTo(1);
+    assertThat(admission.getShedCount()).isEqualTo(1);
+  }
+
+  // 503 으로 거절된 쓰기 요청은 쓰기 토큰을 쓰지 않는다
+  @Test
+  void shedWriteDoesNotConsumeToken() throws Exception {
+    startAdmission();
+    for (int i = 0; i < 10; i++) {
+      admission.acquire(Priority.CRITICAL);
+    }
+    for (int i = 0; i < 3; i++) {
+      mockMvc.perform(post("/api/boards")).andExpect(status().isServiceUnavailable());
+    }
+    for (int i = 0; i < 10; i++) {
+      admission.release();
+    }
+
+    // 버킷 2 개가 그대로 남아 있다
+    mockMvc.perform(post("/api/boards")).andExpect(status().isOk());
+    mockMvc.perform(post("/api/boards")).andExpect(status().isOk());
+    mockMvc.perform(post("/api/boards")).andExpect(status().isTooManyRequests());
+    // 429 로 거절된 요청은 받은 자리를 반환한다
+    assertThat(admission.getInflight()).isZero();
+  }
+
+  // 버킷은 max-clients 개까지만 유지하며, 넘으면 가장 먼저 만든 버킷을 제거한다
+  @Test
+  void bucketsAreBoundedByMaxClients() {
+    properties.getAdmission().setMaxClients(2);
+    startAdmission();
+
+    admission.checkWriteRate("a", 2);
+    admission.checkWriteRate("b", 2);
+    admission.checkWriteRate("c", 2);
+
+    assertThat(admission.status()).containsEntry("clients", 2).containsEntry("evictedClients", 1L);
+    // b 는 남아 있으므로 토큰이 없고, 제거된 a 는 가득 찬 버킷으로 다시 시작한다
+    assertThat(catchThrowable(() -> admission.checkWriteRate("b", 1))).isInstanceOf(RetryLaterException.class);
+    admission.checkWriteRate("a", 1);
+    assertThat(admission.status()).containsEntry("clients", 2).containsEntry("evictedClients", 2L);
+  }
+
+  private void startAdmission() {
+    AdmissionDataSource dataSource = new AdmissionDataSource(new DriverManagerDataSource("jdbc:h2:mem:admission"));
+    admission = new BoardAdmission(properties, new HikariConfig(), dataSource);
+    admission.init();
+    mockMvc = MockMvcBuilders.standaloneSetup(new BoardController())
+        .setControllerAdvice(new GlobalExceptionHandler())
+        .addMappedInterceptors(new String[] {"/api/boards", "/api/boards/**"}, new AdmissionInterceptor(admission))
+        .build();
+  }
+
+  private static void fill(ConcurrencyLimiter limiter, int count) {
+    for (int i = 0; i < count; i++) {
+      limiter.tryAcquire(Priority.CRITICAL);
+    }
+    for (int i = 0; i < count; i++) {
+      limiter.release();
+    }
+  }
+}
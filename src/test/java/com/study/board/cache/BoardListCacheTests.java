@@ -0,0 +1,204 @@
+package com.study.board.cache;
+
+import com.study.board.event.BoardEvent;
+import com.study.config.BoardProperties;
+import com.study.paging.CommonParams;
+import com.study.paging.Pagination;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BoardListCacheTests {
+
+  private BoardProperties properties;
+  private BoardVersion boardVersion;
+  private BoardListCache cache;
+
+  @BeforeEach
+  void setUp() {
+    properties = new BoardProperties();
+    properties.getCache().getList().setEnabled(true);
+    boardVersion = new BoardVersion();
+    cache = new BoardListCache(properties, boardVersion, new SimpleMeterRegistry());
+    cache.init();
+  }
+
+  // 앞뒤 공백만 다른 키워드는 같은 키를 사용하고, 쿼리에 전달되는 키워드도 같다
+  @Test
+  void keywordIsNormalizedOnceForKeyAndQuery() {
+    CommonParams padded = params(1, "  스프링 ");
+    CommonParams trimmed = params(1, "스프링");
+
+    assertThat(padded.getKeyword()).isEqualTo("스프링");
+    assertThat(cache.key(padded)).isEqualTo(cache.key(trimmed));
+    assertThat(cache.key(params(2, "스프링"))).isNotEqualTo(cache.key(trimmed));
+    assertThat(cache.key(params(1, null))).isNotEqualTo(cache.key(trimmed));
+  }
+
+  // 적중한 요청에는 처음 조회한 요청의 params 가 아닌 자신의 params 에 페이지네이션 정보를 담아 응답한다
+  @Test
+  void hitReturnsRequesterParams() {
+    CommonParams first = params(1, null);
+    first.setPagination(new Pagination(25, first));
+    String key = cache.key(first);
+    cache.put(key, cache.version(), response(first), false);
+
+    CommonParams second = params(1, null);
+    Map<String, Object> cached = cache.get(key, second);
+
+    assertThat(cached).isNotNull();
+    Object params = cached.get("params");
+    assertThat(params).isSameAs(second);
+    assertThat(second.getPagination()).isSameAs(first.getPagination());
+    assertThat(cached.get("list")).isEqualTo(new ArrayList<>());
+  }
+
+  // 전체 페이지 수보다 큰 페이지를 요청하면 적중한 요청도 미적중 경로(Pagination)와 같이 마지막 페이지로 줄어든다
+  @Test
+  void hitClampsPageLikeMiss() {
+    CommonParams first = params(9, null);
+    first.setPagination(new Pagination(25, first));
+    assertThat(first.getPage()).isEqualTo(3);
+    cache.put(cache.key(params(9, null)), cache.version(), response(first), false);
+
+    CommonParams second = params(9, null);
+    assertThat(cache.get(cache.key(second), second)).isNotNull();
+
+    assertThat(second.getPage()).isEqualTo(3);
+  }
+
+  // 적중, 미적중 응답 시간을 따로 기록하고, 초기화하면 다시 0 부터 센다
+  @Test
+  void recordsHitAndMissLatency() {
+    cache.recordHit(System.nanoTime());
+    cache.recordMiss(System.nanoTime() - 5_000_000);
+    cache.recordMiss(System.nanoTime() - 5_000_000);
+
+    Map<String, Object> hit = latency("hitLatency");
+    Map<String, Object> miss = latency("missLatency");
+    assertThat(hit.get("count")).isEqualTo(1L);
+    assertThat(miss.get("count")).isEqualTo(2L);
+    assertThat((double) miss.get("p99Ms")).isGreaterThanOrEqualTo(4.0);
+    assertThat(miss).containsOnlyKeys("count", "meanMs", "p50Ms", "p90Ms", "p99Ms", "p999Ms", "maxMs");
+
+    cache.resetLatency();
+
+    assertThat(latency("missLatency").get("count")).isEqualTo(0L);
+  }
+
+  // 게시글이 변경되어 버전이 올라가면 이전 버전으로 저장된 결과는 사용하지 않는다
+  @Test
+  void boardEventInvalidatesStoredResults() {
+    CommonParams params = params(1, null);
+    params.setPagination(new Pagination(25, params));
+    String key = cache.key(params);
+    cache.put(key, cache.version(), response(params), false);
+    assertThat(cache.get(key, params(1, null))).isNotNull();
+
+    boardVersion.onBoardEvent(BoardEvent.deleted(1L));
+
+    assertThat(cache.get(key, params(1, null))).isNull();
+  }
+
+  // 조회 도중 버전이 올라가면(조회 전에 받은 버전과 다르면) 결과를 저장하지 않는다
+  @Test
+  void resultReadBeforeChangeIsNotStored() {
+    CommonParams params = params(1, null);
+    params.setPagination(new Pagination(25, params));
+    String key = cache.key(params);
+    long version = cache.version();
+
+    boardVersion.onBoardEvent(BoardEvent.deleted(1L));
+    cache.put(key, version, response(params), false);
+
+    assertThat(cache.get(key, params(1, null))).isNull();
+  }
+
+  // 검색 결과는 search-ttl-ms, 그 외에는 ttl-ms 가 지나면 사용하지 않는다
+  @Test
+  void searchResultsExpireAfterSearchTtl() throws Exception {
+    properties.getCache().getList().setTtlMs(60_000);
+    properties.getCache().getList().setSearchTtlMs(0);
+    CommonParams list = params(1, null);
+    CommonParams search = params(1, "스프링");
+    cache.put(cache.key(list), cache.version(), response(list), false);
+    cache.put(cache.key(search), cache.version(), response(search), true);
+
+    Thread.sleep(5);
+
+    assertThat(cache.get(cache.key(list), params(1, null))).isNotNull();
+    assertThat(cache.get(cache.key(search), params(1, "스프링"))).isNull();
+  }
+
+  // 무게의 합이 max-weight-bytes 를 넘으면 가장 오래 사용하지 않은 결과부터 제거한다
+  @Test
+  void evictsLeastRecentlyUsedOverMaxWeight() {
+    // 게시글이 없는 결과의 무게는 고정 크기(500 byte)이므로 두 개까지 저장된다
+    properties.getCache().getList().setMaxWeightBytes(1200);
+    String first = cache.key(params(1, null));
+    String second = cache.key(params(2, null));
+    String third = cache.key(params(3, null));
+    cache.put(first, cache.version(), response(params(1, null)), false);
+    cache.put(second, cache.version(), response(params(2, null)), false);
+    assertThat(cache.get(first, params(1, null))).isNotNull();
+
+    cache.put(third, cache.version(), response(params(3, null)), false);
+
+    assertThat(cache.get(second, params(2, null))).isNull();
+    assertThat(cache.get(first, params(1, null))).isNotNull();
+    assertThat(cache.get(third, params(3, null))).isNotNull();
+    assertThat(cache.stats()).containsEntry("size", 2).containsEntry("evictions", 1L);
+  }
+
+  // 혼자서 max-weight-bytes 를 넘는 결과는 저장하지 않는다 (다른 결과를 제거하지 않는다)
+  @Test
+  void oversizedResultIsNotStored() {
+    String key = cache.key(params(1, null));
+    cache.put(key, cache.version(), response(params(1, null)), false);
+    properties.getCache().getList().setMaxWeightBytes(400);
+
+    cache.put(cache.key(params(2, null)), cache.version(), response(params(2, null)), false);
+
+    assertThat(cache.get(cache.key(params(2, null)), params(2, null))).isNull();
+    assertThat(cache.get(key, params(1, null))).isNotNull();
+    assertThat(cache.stats()).containsEntry("size", 1).containsEntry("evictions", 0L);
+  }
+
+  // 조회 결과가 없는 경우(빈 응답)도 저장하여 적중으로 응답하고, 적중, 미적중 횟수를 센다
+  @Test
+  void emptyResultIsCachedAndCounted() {
+    String key = cache.key(params(1, "없는 제목"));
+    assertThat(cache.get(key, params(1, "없는 제목"))).isNull();
+    cache.put(key, cache.version(), new HashMap<>(), true);
+
+    assertThat(cache.get(key, params(1, "없는 제목"))).isEmpty();
+    assertThat(cache.stats()).containsEntry("hits", 1L).containsEntry("misses", 1L);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> latency(String name) {
+    return (Map<String, Object>) cache.stats().get(name);
+  }
+
+  private CommonParams params(int page, String keyword) {
+    CommonParams params = new CommonParams();
+    params.setPage(page);
+    params.setRecordPerPage(10);
+    params.setPageSize(10);
+    params.setKeyword(keyword);
+    return params;
+  }
+
+  private Map<String, Object> response(CommonParams params) {
+    Map<String, Object> response = new HashMap<>();
+    response.put("params", params);
+    response.put("list", new ArrayList<>());
+    return response;
+  }
+}
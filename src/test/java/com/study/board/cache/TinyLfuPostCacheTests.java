@@ -0,0 +1,98 @@
+package com.study.board.cache;
+
+import com.study.board.dto.BoardResponseDto;
+import com.study.board.entity.Board;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TinyLfuPostCacheTests {
+
+  // 무게 약 1KB (내용 400자 * 2 byte + 고정 크기)
+  private BoardResponseDto board() {
+    Board entity = Board.builder()
+        .title("제목")
+        .content("가".repeat(400))
+        .writer("작성자")
+        .hits(0)
+        .deleteYn('N')
+        .build();
+    return new BoardResponseDto(entity);
+  }
+
+  private void read(PostCache cache, long id) {
+    if (cache.get(id) == null) {
+      cache.put(id, board(), cache.stamp(id));
+    }
+  }
+
+  @Test
+  // 자주 조회되는 게시글은 한 번씩만 조회되는 게시글이 대량으로 들어와도 캐시에 남는다
+  void resistsScan() {
+    PostCache cache = new TinyLfuPostCache(10 * 1024);
+    for (int i = 0; i < 20; i++) {
+      for (long id = 1; id <= 5; id++) {
+        read(cache, id);
+      }
+    }
+
+    for (long id = 1000; id < 2000; id++) {
+      read(cache, id);
+    }
+
+    for (long id = 1; id <= 5; id++) {
+      assertThat(cache.get(id)).isNotNull();
+    }
+    assertThat((long) cache.stats().get("rejections")).isPositive();
+  }
+
+  @Test
+  // 무효화 이전에 읽은 데이터는 캐시에 저장되지 않는다
+  void invalidateWhileLoading() {
+    PostCache cache = new TinyLfuPostCache(10 * 1024);
+    long stamp = cache.stamp(1L);
+    cache.invalidate(1L);
+    cache.put(1L, board(), stamp);
+    assertThat(cache.get(1L)).isNull();
+  }
+
+  @Test
+  // 다른 게시글의 무효화는 읽는 중인 게시글의 저장을 막지 않는다
+  void invalidatingOtherPostDoesNotDropLoad() {
+    PostCache cache = new TinyLfuPostCache(10 * 1024);
+    long stamp = cache.stamp(1L);
+    cache.invalidate(2L);
+    cache.put(1L, board(), stamp);
+    assertThat(cache.get(1L)).isNotNull();
+  }
+
+  @Test
+  // 조회 수가 반영되면 캐시된 게시글을 제거하지 않고 조회 수만 더한다
+  void hitsFlushUpdatesCachedPost() {
+    PostCache cache = new TinyLfuPostCache(10 * 1024);
+    read(cache, 1L);
+
+    cache.beginHits(1L);
+    cache.addHits(1L, 3);
+
+    assertThat(cache.get(1L).getHits()).isEqualTo(3);
+  }
+
+  @Test
+  // 조회 수를 반영하는 도중에 읽은 게시글과, 반영 이전에 읽기 시작한 게시글은 저장하지 않는다 (조회 수가 두 번 더해지지 않도록)
+  void loadsOverlappingHitsFlushAreNotStored() {
+    PostCache cache = new TinyLfuPostCache(10 * 1024);
+    long before = cache.stamp(1L);
+    cache.beginHits(1L);
+    long during = cache.stamp(1L);
+    cache.put(1L, board(), during);
+    assertThat(cache.get(1L)).isNull();
+
+    cache.addHits(1L, 3);
+    cache.put(1L, board(), before);
+    assertThat(cache.get(1L)).isNull();
+
+    read(cache, 1L);
+    assertThat(cache.get(1L).getHits()).isZero();
+  }
+}
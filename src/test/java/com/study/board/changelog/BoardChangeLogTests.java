@@ -0,0 +1,139 @@
+package com.study.board.changelog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.ApiBoardApplication;
+import com.study.board.cache.BoardVersion;
+import com.study.board.dto.BoardRequestDto;
+import com.study.board.event.BoardEvent;
+import com.study.board.index.BoardIdIndex;
+import com.study.board.model.BoardService;
+import com.study.support.H2TestDatabase;
+import com.study.support.TestClassesExcludeFilter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 인스턴스 간 변경 전파
+// 같은 H2 인메모리 DB 를 사용하는 애플리케이션 컨텍스트 두 개(node-a, node-b)를 한 JVM 에 띄우고,
+// node-a 의 변경이 변경 로그를 거쳐 node-b 의 게시글 캐시, 게시글 번호 인덱스, 리스트 버전에 반영되는지 확인한다
+class BoardChangeLogTests {
+
+  private static final String JDBC_URL = H2TestDatabase.jdbcUrl("changelog");
+
+  private static ConfigurableApplicationContext nodeA;
+  private static ConfigurableApplicationContext nodeB;
+
+  @BeforeAll
+  static void start() throws Exception {
+    DriverManagerDataSource dataSource = new DriverManagerDataSource(JDBC_URL, "sa", "");
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    H2TestDatabase.createSchema(dataSource);
+    jdbcTemplate.execute("INSERT INTO board_id_seq (sequence_name, next_val) VALUES ('board', 1)");
+    jdbcTemplate.execute("CREATE TABLE board_change_log ("
+        + " seq BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,"
+        + " board_id BIGINT NOT NULL,"
+        + " change_type VARCHAR(10) NOT NULL,"
+        + " node_id VARCHAR(64) NOT NULL,"
+        + " created_date DATETIME(3) NOT NULL)");
+
+    nodeA = node("node-a");
+    nodeB = node("node-b");
+    // 시작 위치는 board-change-log 스레드에서 읽으므로, 읽기 전에 기록된 변경은 건너뛴다
+    await(() -> Boolean.TRUE.equals(nodeA.getBean(BoardChangeLogTailer.class).status().get("positioned")));
+    await(() -> Boolean.TRUE.equals(nodeB.getBean(BoardChangeLogTailer.class).status().get("positioned")));
+  }
+
+  @AfterAll
+  static void stop() {
+    if (nodeB != null) {
+      nodeB.close();
+    }
+    if (nodeA != null) {
+      nodeA.close();
+    }
+  }
+
+  // 조회 수 반영(BoardHitsFlushedEvent)으로 캐시가 비워지지 않도록 반영 주기를 길게 둔다
+  private static ConfigurableApplicationContext node(String nodeId) {
+    return TestClassesExcludeFilter.apply(new SpringApplicationBuilder(ApiBoardApplication.class))
+        .web(WebApplicationType.NONE)
+        .run("--spring.datasource.hikari.driver-class-name=org.h2.Driver",
+            "--spring.datasource.hikari.jdbc-url=" + JDBC_URL,
+            "--spring.datasource.hikari.username=sa",
+            "--spring.datasource.hikari.password=",
+            "--spring.jpa.database=h2",
+            "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+            "--spring.main.banner-mode=off",
+            "--board.change-log.enabled=true",
+            "--board.change-log.node-id=" + nodeId,
+            "--board.change-log.poll-interval-ms=50",
+            "--board.cache.post.enabled=true",
+            "--board.id-index.enabled=true",
+            "--board.hits.flush-interval-ms=600000");
+  }
+
+  @Test
+  void updateOnOneNodeRefreshesPostCacheOnOther() throws Exception {
+    BoardService serviceA = nodeA.getBean(BoardService.class);
+    BoardService serviceB = nodeB.getBean(BoardService.class);
+
+    Long id = serviceA.save(request("처음 제목"));
+    assertThat(serviceB.findById(id).getTitle()).isEqualTo("처음 제목");  // node-b 의 게시글 캐시에 저장
+
+    long versionB = nodeB.getBean(BoardVersion.class).current();
+    serviceA.update(id, request("수정된 제목"), null);
+
+    await(() -> "수정된 제목".equals(serviceB.findById(id).getTitle()));
+    assertThat(nodeB.getBean(BoardVersion.class).current()).isGreaterThan(versionB);
+
+    Map<String, Object> statusB = nodeB.getBean(BoardChangeLogTailer.class).status();
+    assertThat((Long) statusB.get("applied")).isPositive();
+    assertThat((Long) statusB.get("lastLagMs")).isNotNegative();
+    // 자신이 기록한 변경은 다시 반영하지 않는다
+    assertThat(nodeA.getBean(BoardChangeLogTailer.class).status()).containsEntry("applied", 0L);
+  }
+
+  @Test
+  void createAndDeleteOnOneNodeUpdateIdIndexOnOther() throws Exception {
+    BoardService serviceA = nodeA.getBean(BoardService.class);
+    BoardIdIndex indexB = nodeB.getBean(BoardIdIndex.class);
+
+    int before = indexB.size();
+    Long id = serviceA.save(request("삭제할 게시글"));
+    await(() -> indexB.size() == before + 1);
+
+    serviceA.delete(id, null);
+    await(() -> indexB.size() == before);
+  }
+
+  @Test
+  void coalescesConsecutiveChangesOfSamePost() {
+    assertThat(BoardChangeLog.coalesce(BoardEvent.Type.CREATED, BoardEvent.Type.UPDATED)).isEqualTo(BoardEvent.Type.CREATED);
+    assertThat(BoardChangeLog.coalesce(BoardEvent.Type.UPDATED, BoardEvent.Type.UPDATED)).isEqualTo(BoardEvent.Type.UPDATED);
+    assertThat(BoardChangeLog.coalesce(BoardEvent.Type.CREATED, BoardEvent.Type.DELETED)).isEqualTo(BoardEvent.Type.DELETED);
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (condition.getAsBoolean() == false) {
+      assertThat(System.nanoTime()).as("change was not propagated within 10s").isLessThan(deadline);
+      Thread.sleep(20);
+    }
+  }
+
+  private static BoardRequestDto request(String title) throws Exception {
+    return new ObjectMapper().readValue("{\"title\":\"" + title + "\",\"content\":\"내용\",\"writer\":\"writer\",\"deleteYn\":\"N\"}",
+        BoardRequestDto.class);
+  }
+}
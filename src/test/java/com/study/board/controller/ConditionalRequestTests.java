@@ -0,0 +1,56 @@
+package com.study.board.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConditionalRequestTests {
+
+  private static final String ETAG = "W/\"p1-abc-N\"";
+  private static final long LAST_MODIFIED = 1_600_000_000_123L;
+
+  @Test
+  void requestWithoutValidatorsIsModified() {
+    ConditionalRequest conditional = ConditionalRequest.of(new MockHttpServletRequest());
+
+    assertThat(conditional.isConditional()).isFalse();
+    assertThat(conditional.isNotModified(ETAG, LAST_MODIFIED)).isFalse();
+  }
+
+  @Test
+  void ifNoneMatchUsesWeakComparison() {
+    assertThat(ifNoneMatch("\"p1-abc-N\"").isNotModified(ETAG, LAST_MODIFIED)).isTrue();
+    assertThat(ifNoneMatch("W/\"p2-abc-N\", " + ETAG).isNotModified(ETAG, LAST_MODIFIED)).isTrue();
+    assertThat(ifNoneMatch("*").isNotModified(ETAG, LAST_MODIFIED)).isTrue();
+    assertThat(ifNoneMatch("W/\"p1-abc-Y\"").isNotModified(ETAG, LAST_MODIFIED)).isFalse();
+  }
+
+  @Test
+  void ifModifiedSinceComparesSeconds() {
+    assertThat(ifModifiedSince(LAST_MODIFIED - 123).isNotModified(ETAG, LAST_MODIFIED)).isTrue();
+    assertThat(ifModifiedSince(LAST_MODIFIED - 1_000).isNotModified(ETAG, LAST_MODIFIED)).isFalse();
+  }
+
+  @Test
+  void ifNoneMatchTakesPrecedenceOverIfModifiedSince() {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"p1-old-N\"");
+    request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED);
+
+    assertThat(ConditionalRequest.of(request).isNotModified(ETAG, LAST_MODIFIED)).isFalse();
+  }
+
+  private static ConditionalRequest ifNoneMatch(String value) {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, value);
+    return ConditionalRequest.of(request);
+  }
+
+  private static ConditionalRequest ifModifiedSince(long millis) {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, millis);
+    return ConditionalRequest.of(request);
+  }
+}
@@ -0,0 +1,113 @@
+package com.study.board.feed;
+
+import com.study.board.event.BoardEvent;
+import com.study.config.BoardProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// 게시글 변경 피드 (SSE) 전송, 재연결 이어받기, reset
+// 피드를 구독하는 컨트롤러만 MockMvc 로 띄우고, 비동기 응답 본문에 쓰인 이벤트를 확인한다
+class BoardChangeFeedTests {
+
+  private BoardChangeFeed feed;
+  private MockMvc mockMvc;
+
+  @RestController
+  static class FeedController {
+    private final BoardChangeFeed feed;
+
+    FeedController(BoardChangeFeed feed) {
+      this.feed = feed;
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter changes(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+      return feed.subscribe(lastEventId);
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    BoardProperties properties = new BoardProperties();
+    properties.getFeed().setBufferSize(4);
+    feed = new BoardChangeFeed(properties);
+    feed.start();
+    mockMvc = MockMvcBuilders.standaloneSetup(new FeedController(feed)).build();
+  }
+
+  @AfterEach
+  void tearDown() {
+    feed.stop();
+  }
+
+  @Test
+  void sendsChangesCommittedAfterSubscribing() throws Exception {
+    MockHttpServletResponse response = subscribe(null);
+    assertThat(body(response)).contains("event:ready");
+
+    feed.onBoardEvent(BoardEvent.remote(BoardEvent.Type.UPDATED, 7L, "수정된 제목", "내용", "writer", 'N'));
+    feed.onBoardEvent(BoardEvent.deleted(8L));
+
+    awaitBody(response, "event:deleted");
+    String body = body(response);
+    assertThat(body).contains("event:updated", "\"id\":7", "수정된 제목", "id:" + feed.currentVersion());
+    assertThat(body.indexOf("event:updated")).isLessThan(body.indexOf("event:deleted"));
+  }
+
+  @Test
+  void resumesFromLastEventIdOrResets() throws Exception {
+    String start = feed.currentVersion();  // {epoch}-0
+    String epoch = start.substring(0, start.lastIndexOf('-'));
+    feed.onBoardEvent(BoardEvent.deleted(1L));
+    feed.onBoardEvent(BoardEvent.deleted(2L));
+
+    // 1번 변경까지 받은 클라이언트는 2번 변경부터 이어받는다
+    MockHttpServletResponse resumed = subscribe(epoch + "-1");
+    awaitBody(resumed, "id:" + epoch + "-2");
+    assertThat(body(resumed)).doesNotContain("id:" + epoch + "-1\nevent:deleted").doesNotContain("event:reset");
+
+    // 다른 인스턴스(재시작 포함)의 이벤트 id
+    assertThat(body(subscribe("other-1"))).contains("event:reset", "unknown-version");
+
+    // 버퍼(4건)에서 밀려난 변경
+    for (long id = 3; id <= 8; id++) {
+      feed.onBoardEvent(BoardEvent.deleted(id));
+    }
+    assertThat(body(subscribe(epoch + "-1"))).contains("event:reset", "expired");
+  }
+
+  private MockHttpServletResponse subscribe(String lastEventId) throws Exception {
+    return (lastEventId == null ? mockMvc.perform(get("/changes")) : mockMvc.perform(get("/changes").header("Last-Event-ID", lastEventId)))
+        .andExpect(request().asyncStarted())
+        .andReturn()
+        .getResponse();
+  }
+
+  private static String body(MockHttpServletResponse response) throws Exception {
+    return response.getContentAsString(StandardCharsets.UTF_8);
+  }
+
+  private static void awaitBody(MockHttpServletResponse response, String expected) throws Exception {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (body(response).contains(expected) == false) {
+      assertThat(System.nanoTime()).as("event not sent : " + expected).isLessThan(deadline);
+      Thread.sleep(10);
+    }
+  }
+}
@@ -0,0 +1,236 @@
+package com.study.board.hits;
+
+import com.study.board.event.BoardHitsFlushedEvent;
+import com.study.config.BoardProperties;
+import com.study.support.H2TestDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 조회 수 카운터 (H2 인메모리 DB, MySQL 모드)
+// 여러 스레드가 조회 수를 올리는 동안 1ms 마다 반영하여, 반영 도중의 증가나 게시글 제거와 겹친 증가가 사라지거나 두 번 반영되지 않는지 확인한다
+class BoardHitsCounterTests {
+
+  private static final int POSTS = 200;
+
+  private HikariDataSource dataSource;
+  private JdbcTemplate jdbcTemplate;
+  private BoardHitsCounter counter;
+
+  @BeforeEach
+  void setUp() {
+    dataSource = H2TestDatabase.dataSource("hits", 4);
+
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    H2TestDatabase.createSchema(dataSource);
+    List<Object[]> rows = new ArrayList<>();
+    for (long id = 1; id <= POSTS; id++) {
+      rows.add(new Object[] {id});
+    }
+    jdbcTemplate.batchUpdate("INSERT INTO board (id, title, content, writer, created_date)"
+        + " VALUES (?, '제목', '내용', 'writer', TIMESTAMP '2020-01-01 00:00:00')", rows);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    if (counter != null) {
+      counter.stop();
+    }
+    dataSource.close();
+  }
+
+  // 조회가 몰리는 게시글이 계속 바뀌도록(이전 게시글은 한 주기 동안 조회가 없어 맵에서 제거된다) 스레드마다 구간을 옮겨 가며 올린다
+  @Test
+  void concurrentIncreasesAreFlushedExactlyOnce() throws Exception {
+    counter = counter(event -> { }, 1, 8);
+    int threads = 8;
+    int increments = 20_000;
+    AtomicLongArray expected = new AtomicLongArray(POSTS + 1);
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      futures.add(executor.submit(() -> {
+        start.await();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < increments; i++) {
+          long id = (i / 500 * 7 + random.nextInt(3)) % POSTS + 1;
+          counter.increase(id);
+          expected.incrementAndGet((int) id);
+        }
+        return null;
+      }));
+    }
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get(60, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    counter.flush();
+    long total = 0;
+    for (long id = 1; id <= POSTS; id++) {
+      assertThat(hits(id)).as("post %d", id).isEqualTo(expected.get((int) id));
+      assertThat(counter.pending(id)).as("post %d", id).isZero();
+      total += hits(id);
+    }
+    assertThat(total).isEqualTo((long) threads * increments);
+  }
+
+  // 반영 이벤트를 받은 시점(캐시가 DB 값을 다시 읽는 시점)에는 커밋된 증가분이 pending() 에서 빠져 있어야 한다
+  @Test
+  void pendingExcludesCommittedHitsWhenEventIsPublished() {
+    List<Long> observed = new ArrayList<>();
+    counter = counter(event -> {
+      if (event instanceof BoardHitsFlushedEvent) {
+        observed.add(hits(1L) + counter.pending(1L));
+      }
+    }, 600_000, 10_000);
+    for (int i = 0; i < 5; i++) {
+      counter.increase(1L);
+    }
+    assertThat(counter.pending(1L)).isEqualTo(5);
+
+    counter.flush();
+
+    assertThat(observed).containsExactly(5L);
+    assertThat(counter.pending(1L)).isZero();
+  }
+
+  // 이벤트 발행에 실패해도 이미 커밋된 증가분은 다시 반영하지 않는다
+  @Test
+  void failedEventDoesNotReapplyCommittedHits() {
+    counter = counter(event -> {
+      throw new IllegalStateException("listener unavailable");
+    }, 600_000, 10_000);
+    counter.increase(1L);
+    counter.increase(1L);
+
+    counter.flush();
+    counter.flush();
+
+    assertThat(hits(1L)).isEqualTo(2);
+    assertThat(counter.pending(1L)).isZero();
+  }
+
+  // 종료한 뒤의 조회는 예외 없이 누적된다 (대기 게시글 수를 넘어도 반영 작업을 등록하지 않는다)
+  @Test
+  void increaseAfterStopDoesNotThrow() throws Exception {
+    counter = counter(event -> { }, 600_000, 1);
+    counter.stop();
+
+    assertThatCode(() -> counter.increase(1L)).doesNotThrowAnyException();
+    assertThat(counter.pending(1L)).isEqualTo(1);
+  }
+
+  // flush-batch-size(50) 개의 게시글마다 따로 커밋하고, 커밋할 때마다 반영 이벤트를 발행한다
+  @Test
+  void flushCommitsEveryFlushBatchSizePosts() {
+    List<Integer> chunks = new ArrayList<>();
+    counter = counter(event -> {
+      if (event instanceof BoardHitsFlushedEvent) {
+        chunks.add(((BoardHitsFlushedEvent) event).getDeltas().size());
+      }
+    }, 600_000, 10_000);
+    for (long id = 1; id <= 120; id++) {
+      counter.increase(id);
+      counter.increase(id);
+    }
+
+    counter.flush();
+
+    assertThat(chunks).containsExactly(50, 50, 20);
+    assertThat(jdbcTemplate.queryForObject("SELECT SUM(hits) FROM board", Long.class)).isEqualTo(240);
+  }
+
+  // 반영에 실패한 증가분은 대기 상태로 남아 다음 반영에서 한 번만 반영된다
+  @Test
+  void failedWriteKeepsHitsPending() {
+    List<Long> published = new ArrayList<>();
+    counter = counter(event -> {
+      if (event instanceof BoardHitsFlushedEvent) {
+        published.add(((BoardHitsFlushedEvent) event).getDeltas().get(1L));
+      }
+    }, 600_000, 10_000);
+    counter.increase(1L);
+    counter.increase(1L);
+
+    jdbcTemplate.execute("ALTER TABLE board RENAME TO board_unavailable");
+    assertThatThrownBy(() -> counter.flush()).isInstanceOf(RuntimeException.class);
+    assertThat(counter.pending(1L)).isEqualTo(2);
+
+    jdbcTemplate.execute("ALTER TABLE board_unavailable RENAME TO board");
+    counter.increase(1L);
+    counter.flush();
+
+    assertThat(published).containsExactly(0L, 3L);
+    assertThat(hits(1L)).isEqualTo(3);
+    assertThat(counter.pending(1L)).isZero();
+  }
+
+  // 대기 중인 게시글이 max-pending-posts 에 도달하면 주기(flush-interval-ms)를 기다리지 않고 반영한다
+  @Test
+  void maxPendingPostsTriggersEarlyFlush() throws Exception {
+    counter = counter(event -> { }, 600_000, 10);
+    for (long id = 1; id <= 10; id++) {
+      counter.increase(id);
+    }
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (counter.pending(10L) != 0 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(hits(1L)).isEqualTo(1);
+    assertThat(hits(10L)).isEqualTo(1);
+  }
+
+  // 종료할 때 남아 있는 증가분을 모두 반영한다
+  @Test
+  void stopFlushesRemainingHits() throws Exception {
+    counter = counter(event -> { }, 600_000, 10_000);
+    for (int i = 0; i < 3; i++) {
+      counter.increase(1L);
+    }
+    counter.increase(2L);
+
+    counter.stop();
+
+    assertThat(hits(1L)).isEqualTo(3);
+    assertThat(hits(2L)).isEqualTo(1);
+  }
+
+  private BoardHitsCounter counter(ApplicationEventPublisher publisher, long flushIntervalMs, int maxPendingPosts) {
+    BoardProperties properties = new BoardProperties();
+    properties.getHits().setFlushIntervalMs(flushIntervalMs);
+    properties.getHits().setFlushBatchSize(50);
+    properties.getHits().setMaxPendingPosts(maxPendingPosts);
+    try {
+      BoardHitsCounter hitsCounter = new BoardHitsCounter(H2TestDatabase.sqlSessionFactory(dataSource), new DataSourceTransactionManager(dataSource),
+          properties, publisher);
+      hitsCounter.start();
+      return hitsCounter;
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private long hits(long id) {
+    return jdbcTemplate.queryForObject("SELECT hits FROM board WHERE id = ?", Long.class, id);
+  }
+}
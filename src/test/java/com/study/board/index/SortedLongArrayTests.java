@@ -0,0 +1,37 @@
+package com.study.board.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SortedLongArrayTests {
+
+  @Test
+  // 순서와 관계없이 추가해도 오름차순이 유지되며, 중복은 무시된다
+  void addAndRemove() {
+    SortedLongArray array = new SortedLongArray(0);
+    array.add(1);
+    array.add(5);
+    array.add(3);
+    assertThat(array.add(3)).isFalse();
+    assertThat(array.size()).isEqualTo(3);
+
+    assertThat(array.remove(3)).isTrue();
+    assertThat(array.remove(3)).isFalse();
+    assertThat(array.contains(5)).isTrue();
+    assertThat(array.sum()).isEqualTo(6);
+  }
+
+  @Test
+  // 페이지 슬라이스는 id DESC 기준으로 잘라낸다
+  void sliceDescending() {
+    SortedLongArray array = new SortedLongArray(0);
+    for (long id = 1; id <= 25; id++) {
+      array.add(id);
+    }
+
+    assertThat(array.sliceDescending(0, 10)).containsExactly(25, 24, 23, 22, 21, 20, 19, 18, 17, 16);
+    assertThat(array.sliceDescending(20, 10)).containsExactly(5, 4, 3, 2, 1);
+    assertThat(array.sliceDescending(30, 10)).isEmpty();
+  }
+}
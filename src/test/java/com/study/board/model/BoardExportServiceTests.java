@@ -0,0 +1,162 @@
+package com.study.board.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.exception.CustomException;
+import com.study.paging.CommonParams;
+import com.study.support.H2TestDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// H2(MySQL 모드) 인메모리 DB 의 게시글을 NDJSON, CSV 로 내보내고 응답 본문을 확인한다
+class BoardExportServiceTests {
+
+  private static final String INSERT = "INSERT INTO board (id, title, content, writer, delete_yn, created_date)"
+      + " VALUES (?, ?, ?, 'writer', ?, TIMESTAMP '2020-01-01 00:00:00')";
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+  private HikariDataSource dataSource;
+  private JdbcTemplate jdbcTemplate;
+  private BoardExportService exportService;
+  private TransactionTemplate readOnly;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    dataSource = H2TestDatabase.dataSource("export", 2);
+    H2TestDatabase.createSchema(dataSource);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    exportService = new BoardExportService(H2TestDatabase.boardMapper(dataSource), objectMapper);
+    // 애플리케이션에서는 @Transactional(readOnly = true) 가 Cursor 를 읽는 동안 트랜잭션을 유지한다
+    readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    readOnly.setReadOnly(true);
+  }
+
+  @AfterEach
+  void tearDown() {
+    dataSource.close();
+  }
+
+  // 쉼표, 큰따옴표, 줄바꿈이 포함된 값은 큰따옴표로 감싸고 내부의 큰따옴표는 두 번 쓴다 (RFC 4180)
+  @Test
+  void csvEscapesQuotesCommasAndNewlines() {
+    insert(1, "쉼표, 제목", "첫 줄\n둘째 줄", "N");
+    insert(2, "\"따옴표\" 제목", "일반 내용", "N");
+
+    String csv = export(new CommonParams(), BoardExportService.CSV);
+
+    assertThat(csv).startsWith("\uFEFFid,");
+    assertThat(csv.substring(1).split("\r\n")).containsExactly(
+        "id,title,content,writer,hits,created_date,modified_date",
+        "2,\"\"\"따옴표\"\" 제목\",일반 내용,writer,0,2020-01-01T00:00,",
+        "1,\"쉼표, 제목\",\"첫 줄\n둘째 줄\",writer,0,2020-01-01T00:00,");
+  }
+
+  // 게시글 하나를 한 줄의 JSON 으로 쓴다 (내용의 줄바꿈은 JSON 문자열 안에서 \n 으로 쓰인다)
+  @Test
+  void ndjsonWritesOneObjectPerLine() throws Exception {
+    insert(1, "제목 1", "첫 줄\n둘째 줄", "N");
+    insert(2, "제목 2", "내용 2", "N");
+
+    String ndjson = export(new CommonParams(), BoardExportService.NDJSON);
+
+    String[] lines = ndjson.split("\n");
+    assertThat(ndjson).endsWith("\n");
+    assertThat(lines).hasSize(2);
+    JsonNode first = objectMapper.readTree(lines[0]);
+    JsonNode second = objectMapper.readTree(lines[1]);
+    assertThat(first.get("id").asLong()).isEqualTo(2);
+    assertThat(second.get("id").asLong()).isEqualTo(1);
+    assertThat(second.get("content").asText()).isEqualTo("첫 줄\n둘째 줄");
+  }
+
+  // 리스트 조회와 같은 검색 조건(conditions)을 사용하며, 삭제된 게시글은 내보내지 않는다
+  @Test
+  void appliesListSearchConditions() {
+    insert(1, "공지 사항", "내용", "N");
+    insert(2, "질문", "공지 관련 내용", "N");
+    insert(3, "공지 삭제됨", "내용", "Y");
+    insert(4, "잡담", "내용", "N");
+
+    CommonParams titleSearch = new CommonParams();
+    titleSearch.setKeyword("공지");
+    titleSearch.setSearchType("title");
+    CommonParams allSearch = new CommonParams();
+    allSearch.setKeyword(" 공지 ");
+
+    assertThat(ids(export(titleSearch, BoardExportService.NDJSON))).containsExactly(1L);
+    assertThat(ids(export(allSearch, BoardExportService.NDJSON))).containsExactly(2L, 1L);
+    assertThat(ids(export(new CommonParams(), BoardExportService.NDJSON))).containsExactly(4L, 2L, 1L);
+  }
+
+  // fetchSize(1000)보다 많은 게시글도 Cursor 로 끝까지 읽어 순서대로 내보낸다
+  @Test
+  void exportsMoreRowsThanFetchSize() {
+    List<Object[]> rows = new ArrayList<>();
+    for (long id = 1; id <= 2500; id++) {
+      rows.add(new Object[] {id, "제목 " + id, "내용 " + id, "N"});
+    }
+    jdbcTemplate.batchUpdate(INSERT, rows);
+
+    StringWriter writer = new StringWriter();
+    Long count = readOnly.execute(status -> export(new CommonParams(), BoardExportService.CSV, writer));
+
+    String[] lines = writer.toString().split("\r\n");
+    assertThat(count).isEqualTo(2500);
+    assertThat(lines).hasSize(2501);
+    assertThat(lines[1]).startsWith("2500,");
+    assertThat(lines[2500]).startsWith("1,");
+  }
+
+  @Test
+  void rejectsUnknownFormat() {
+    assertThat(exportService.format(null)).isEqualTo(BoardExportService.NDJSON);
+    assertThat(exportService.format(" CSV ")).isEqualTo(BoardExportService.CSV);
+    assertThatThrownBy(() -> exportService.format("xml")).isInstanceOf(CustomException.class);
+  }
+
+  private void insert(long id, String title, String content, String deleteYn) {
+    jdbcTemplate.update(INSERT, id, title, content, deleteYn);
+  }
+
+  private String export(CommonParams params, String format) {
+    StringWriter writer = new StringWriter();
+    readOnly.execute(status -> export(params, format, writer));
+    return writer.toString();
+  }
+
+  private Long export(CommonParams params, String format, StringWriter writer) {
+    try {
+      return exportService.export(params, format, writer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private List<Long> ids(String ndjson) {
+    List<Long> ids = new ArrayList<>();
+    for (String line : ndjson.split("\n")) {
+      if (line.isEmpty() == false) {
+        try {
+          ids.add(objectMapper.readTree(line).get("id").asLong());
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    }
+    return ids;
+  }
+}
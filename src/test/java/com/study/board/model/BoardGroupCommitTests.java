@@ -0,0 +1,221 @@
+package com.study.board.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.board.dto.BoardBatchUpdateDto;
+import com.study.board.dto.BoardRequestDto;
+import com.study.board.dto.BoardResponseDto;
+import com.study.config.BoardProperties;
+import com.study.datasource.DataSourceRouting;
+import com.study.exception.CustomException;
+import com.study.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BoardGroupCommitTests {
+
+  private final FakeBoardStore boardStore = new FakeBoardStore();
+  private final BoardProperties properties = new BoardProperties();
+  private BoardGroupCommit groupCommit;
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    boardStore.release.countDown();
+    DataSourceRouting.end();
+    if (groupCommit != null) {
+      groupCommit.destroy();
+    }
+  }
+
+  // window-ms 안에 들어온 요청은 하나의 트랜잭션으로 저장되고, 요청마다 자신의 게시글 번호를 받는다
+  @Test
+  void concurrentRequestsShareOneCommit() throws Exception {
+    start(100, 200, 100);
+
+    List<CompletableFuture<Long>> futures = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      futures.add(groupCommit.submit(request("제목 " + i)));
+    }
+
+    for (int i = 0; i < futures.size(); i++) {
+      assertThat(futures.get(i).get(5, TimeUnit.SECONDS)).isEqualTo(i + 1L);
+    }
+    assertThat(boardStore.groups).containsExactly(5);
+    assertThat(groupCommit.getGroupCount()).isEqualTo(1);
+    assertThat(groupCommit.getCommittedCount()).isEqualTo(5);
+  }
+
+  // 묶음이 실패하면 한 건씩 다시 저장하여 실패한 요청만 오류로 응답한다
+  @Test
+  void failedPostFailsOnlyItsRequest() throws Exception {
+    start(100, 200, 100);
+
+    CompletableFuture<Long> first = groupCommit.submit(request("제목 1"));
+    CompletableFuture<Long> bad = groupCommit.submit(request(FakeBoardStore.BAD));
+    CompletableFuture<Long> last = groupCommit.submit(request("제목 2"));
+
+    assertThat(first.get(5, TimeUnit.SECONDS)).isNotNull();
+    assertThat(last.get(5, TimeUnit.SECONDS)).isNotNull().isNotEqualTo(first.get());
+    assertThat(catchThrowable(() -> bad.get(5, TimeUnit.SECONDS)))
+        .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(IllegalStateException.class);
+    assertThat(boardStore.groups).containsExactly(3, 1, 1, 1);
+    assertThat(groupCommit.getCommittedCount()).isEqualTo(2);
+    assertThat(groupCommit.getFailedCount()).isEqualTo(1);
+  }
+
+  // 대기열이 가득 차면 기다리지 않고 503 으로 응답한다
+  @Test
+  void rejectsWhenQueueIsFull() throws Exception {
+    start(1, 0, 1);
+
+    CompletableFuture<Long> committing = groupCommit.submit(request(FakeBoardStore.BLOCK));
+    assertThat(boardStore.entered.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<Long> queued = groupCommit.submit(request("제목"));
+    CompletableFuture<Long> rejected = groupCommit.submit(request("제목"));
+
+    Throwable thrown = catchThrowable(() -> rejected.get(5, TimeUnit.SECONDS));
+    assertThat(thrown).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(CustomException.class);
+    assertThat(((CustomException) thrown.getCause()).getErrorCode()).isEqualTo(ErrorCode.SERVICE_BUSY);
+    assertThat(ErrorCode.SERVICE_BUSY.getStatus().value()).isEqualTo(503);
+
+    boardStore.release.countDown();
+    assertThat(committing.get(5, TimeUnit.SECONDS)).isEqualTo(1L);
+    assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo(2L);
+  }
+
+  // 커밋 스레드가 저장한 게시글도 요청의 쓰기로 기록되어 read-your-writes 쿠키가 발급된다
+  @Test
+  void marksWriteOnRequestContext() throws Exception {
+    start(100, 0, 100);
+    DataSourceRouting.begin(false, null);
+    DataSourceRouting.Context context = DataSourceRouting.current();
+
+    CompletableFuture<Long> future = groupCommit.submit(request("제목"));
+
+    assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo(1L);
+    assertThat(context.isWritten()).isTrue();
+    assertThat(DataSourceRouting.isPrimaryForced()).isTrue();
+  }
+
+  private void start(int maxBatchSize, long windowMs, int queueCapacity) {
+    BoardProperties.GroupCommit config = properties.getGroupCommit();
+    config.setEnabled(true);
+    config.setMaxBatchSize(maxBatchSize);
+    config.setWindowMs(windowMs);
+    config.setQueueCapacity(queueCapacity);
+    groupCommit = new BoardGroupCommit(boardStore, new NoOpTransactionManager(), properties, event -> { }, new SimpleMeterRegistry());
+    groupCommit.init();
+  }
+
+  private static BoardRequestDto request(String title) {
+    try {
+      return new ObjectMapper().readValue("{\"title\":\"" + title + "\",\"content\":\"내용\",\"writer\":\"writer\",\"deleteYn\":\"N\"}",
+          BoardRequestDto.class);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  // 게시글 번호를 차례로 할당하는 저장소
+  //  - BAD 제목이 포함된 묶음은 실패한다
+  //  - BLOCK 제목이 포함된 묶음은 release 될 때까지 기다린다
+  private static final class FakeBoardStore implements BoardStore {
+    private static final String BAD = "bad";
+    private static final String BLOCK = "block";
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Integer> groups = new CopyOnWriteArrayList<>();
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Override
+    public List<Long> saveAll(List<BoardRequestDto> params) {
+      groups.add(params.size());
+      List<Long> ids = new ArrayList<>(params.size());
+      for (BoardRequestDto item : params) {
+        if (BAD.equals(item.getTitle())) {
+          throw new IllegalStateException("invalid post");
+        }
+        if (BLOCK.equals(item.getTitle())) {
+          entered.countDown();
+          try {
+            release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      }
+      for (int i = 0; i < params.size(); i++) {
+        ids.add(sequence.incrementAndGet());
+      }
+      return ids;
+    }
+
+    @Override
+    public Long save(BoardRequestDto params) {
+      return saveAll(Collections.singletonList(params)).get(0);
+    }
+
+    @Override
+    public Optional<BoardResponseDto> findById(Long id) {
+      return Optional.empty();
+    }
+
+    @Override
+    public List<BoardResponseDto> findAll() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public List<BoardResponseDto> findAllByDeleteYn(char deleteYn) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public Set<Long> updateAll(List<BoardBatchUpdateDto> items) {
+      return Collections.emptySet();
+    }
+
+    @Override
+    public Set<Long> deleteAll(List<Long> ids) {
+      return Collections.emptySet();
+    }
+
+    @Override
+    public void flush() {
+    }
+  }
+
+  private static final class NoOpTransactionManager implements PlatformTransactionManager {
+    @Override
+    public TransactionStatus getTransaction(TransactionDefinition definition) {
+      return new SimpleTransactionStatus();
+    }
+
+    @Override
+    public void commit(TransactionStatus status) {
+    }
+
+    @Override
+    public void rollback(TransactionStatus status) {
+    }
+  }
+}
@@ -0,0 +1,164 @@
+package com.study.board.model;
+
+import com.study.board.dto.BoardSummaryDto;
+import com.study.config.BoardProperties;
+import com.study.paging.CommonParams;
+import com.study.support.H2TestDatabase;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+// H2(MySQL 모드) 인메모리 DB 에 게시글 95건(그 중 5건 삭제 상태)을 저장하고, 조회 방식별 결과가 같은지 확인한다
+class BoardListQueryTests {
+
+  private HikariDataSource dataSource;
+  private BoardMapper boardMapper;
+  private DataSourceTransactionManager transactionManager;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // 커넥션 하나 : 요청 스레드가 커넥션을 잡은 채 다른 커넥션을 기다리면 바로 시간 초과로 실패한다
+    HikariConfig config = H2TestDatabase.config("list", 1);
+    config.setConnectionTimeout(2000);
+    dataSource = new HikariDataSource(config);
+
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    H2TestDatabase.createSchema(dataSource);
+    List<Object[]> rows = new ArrayList<>();
+    for (long id = 1; id <= 95; id++) {
+      rows.add(new Object[] {id, "제목 " + id, "내용 " + id, id % 19 == 0 ? "Y" : "N"});
+    }
+    jdbcTemplate.batchUpdate("INSERT INTO board (id, title, content, writer, delete_yn, created_date)"
+        + " VALUES (?, ?, ?, 'writer', ?, TIMESTAMP '2020-01-01 00:00:00')", rows);
+
+    // 애플리케이션과 같이 트랜잭션 시작 시점이 아닌 첫 쿼리에서 커넥션을 가져온다 (DatabaseConfig)
+    DataSource lazyDataSource = new LazyConnectionDataSourceProxy(dataSource);
+    boardMapper = H2TestDatabase.boardMapper(lazyDataSource);
+    transactionManager = new DataSourceTransactionManager(lazyDataSource);
+  }
+
+  @AfterEach
+  void tearDown() {
+    dataSource.close();
+  }
+
+  @Test
+  void windowAndParallelReturnPageAndTotal() {
+    for (String strategy : new String[] {BoardListQuery.WINDOW, BoardListQuery.PARALLEL}) {
+      CommonParams params = params(3);
+      List<Long> ids = ids(findPage(strategy, params));
+
+      assertThat(params.getPagination().getTotalRecordCount()).as(strategy).isEqualTo(90);
+      assertThat(params.getPagination().getTotalPageCount()).as(strategy).isEqualTo(9);
+      assertThat(ids).as(strategy).containsExactly(73L, 72L, 71L, 70L, 69L, 68L, 67L, 66L, 65L, 64L);
+    }
+  }
+
+  @Test
+  void pageBeyondLastPageIsClampedToLastPage() {
+    for (String strategy : new String[] {BoardListQuery.WINDOW, BoardListQuery.PARALLEL}) {
+      CommonParams params = params(20);
+      List<Long> ids = ids(findPage(strategy, params));
+
+      assertThat(params.getPage()).as(strategy).isEqualTo(9);
+      assertThat(ids).as(strategy).hasSize(10).endsWith(1L);
+    }
+  }
+
+  // (page - 1) * recordPerPage 가 int 범위를 넘는 페이지 번호도 마지막 페이지로 보정된다
+  @Test
+  void hugePageNumberDoesNotOverflowOffset() {
+    for (String strategy : new String[] {BoardListQuery.WINDOW, BoardListQuery.PARALLEL}) {
+      CommonParams params = params(Integer.MAX_VALUE);
+      assertThat(params.getOffset()).as(strategy).isEqualTo(Integer.MAX_VALUE);
+
+      List<Long> ids = ids(findPage(strategy, params));
+
+      assertThat(params.getPage()).as(strategy).isEqualTo(9);
+      assertThat(ids).as(strategy).hasSize(10).endsWith(1L);
+    }
+  }
+
+  // 요청 스레드는 커넥션을 잡지 않고 기다리므로, 동시 요청이 풀 크기를 넘어도 커넥션 대기 시간 초과 없이 조회된다
+  @Test
+  void parallelRequestsBeyondPoolSizeDoNotWaitForConnections() throws Exception {
+    BoardProperties properties = new BoardProperties();
+    properties.getList().setCountStrategy(BoardListQuery.PARALLEL);
+    BoardListQuery listQuery = new BoardListQuery(boardMapper, properties, transactionManager);
+    listQuery.init();
+    TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+
+    ExecutorService callers = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        results.add(callers.submit(() -> {
+          CommonParams params = params(3);
+          readOnly.execute(status -> listQuery.findPage(params));
+          return params.getPagination().getTotalRecordCount();
+        }));
+      }
+      for (Future<Integer> result : results) {
+        assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo(90);
+      }
+      assertThat(listQuery.status()).containsEntry("availableQueryThreads", 4);
+    } finally {
+      callers.shutdownNow();
+      listQuery.destroy();
+    }
+  }
+
+  @Test
+  void noMatchingPostsReturnsNull() {
+    CommonParams params = params(1);
+    params.setKeyword("없는 제목");
+    params.setSearchType("title");
+
+    assertThat(findPage(BoardListQuery.WINDOW, params)).isNull();
+  }
+
+  // 조회 방식별로 BoardListQuery 를 만들어 읽기 전용 트랜잭션에서 조회
+  private List<BoardSummaryDto> findPage(String strategy, CommonParams params) {
+    BoardProperties properties = new BoardProperties();
+    properties.getList().setCountStrategy(strategy);
+    BoardListQuery listQuery = new BoardListQuery(boardMapper, properties, transactionManager);
+    listQuery.init();
+    try {
+      TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+      readOnly.setReadOnly(true);
+      return readOnly.execute(status -> listQuery.findPage(params));
+    } finally {
+      listQuery.destroy();
+    }
+  }
+
+  private static CommonParams params(int page) {
+    CommonParams params = new CommonParams();
+    params.setPage(page);
+    params.setRecordPerPage(10);
+    params.setPageSize(10);
+    return params;
+  }
+
+  private static List<Long> ids(List<BoardSummaryDto> list) {
+    return list.stream().map(BoardSummaryDto::getId).collect(Collectors.toList());
+  }
+}
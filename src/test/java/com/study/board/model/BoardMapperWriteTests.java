@@ -0,0 +1,80 @@
+package com.study.board.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.board.dto.BoardRequestDto;
+import com.study.board.dto.BoardResponseDto;
+import com.study.support.H2TestDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 게시글 수정, 삭제 UPDATE 의 영향받은 행 수와 버전 증가를 H2(MySQL 모드) 인메모리 DB 로 확인한다
+class BoardMapperWriteTests {
+
+  private HikariDataSource dataSource;
+  private BoardMapper boardMapper;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    dataSource = H2TestDatabase.dataSource("write", 2);
+
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    H2TestDatabase.createSchema(dataSource);
+    jdbcTemplate.execute("INSERT INTO board (id, title, content, writer, created_date)"
+        + " VALUES (1, '제목', '내용', 'writer', TIMESTAMP '2020-01-01 00:00:00')");
+
+    boardMapper = H2TestDatabase.boardMapper(dataSource);
+  }
+
+  @AfterEach
+  void tearDown() {
+    dataSource.close();
+  }
+
+  @Test
+  void updateIncrementsVersionAndChecksExpectedVersion() throws Exception {
+    assertThat(boardMapper.updateById(1L, request("수정 1"), LocalDateTime.now(), 0L)).isEqualTo(1);
+    // 같은 버전(0)으로 다시 수정하면 다른 사용자가 먼저 수정한 것이므로 수정되지 않는다
+    assertThat(boardMapper.updateById(1L, request("수정 2"), LocalDateTime.now(), 0L)).isZero();
+    // 버전을 확인하지 않는 수정
+    assertThat(boardMapper.updateById(1L, request("수정 3"), LocalDateTime.now(), null)).isEqualTo(1);
+
+    BoardResponseDto board = boardMapper.findValidatorById(1L);
+    assertThat(board.getVersion()).isEqualTo(2);
+    assertThat(board.getModifiedDate()).isNotNull();
+  }
+
+  @Test
+  void deletedPostIsNotUpdated() throws Exception {
+    assertThat(boardMapper.deleteById(1L, LocalDateTime.now(), null)).isEqualTo(1);
+
+    assertThat(boardMapper.deleteById(1L, LocalDateTime.now(), null)).isZero();
+    assertThat(boardMapper.updateById(1L, request("수정"), LocalDateTime.now(), null)).isZero();
+    assertThat(boardMapper.updateById(2L, request("수정"), LocalDateTime.now(), null)).isZero();
+    assertThat(boardMapper.findValidatorById(1L).getDeleteYn()).isEqualTo('Y');
+  }
+
+  // 삭제하면 수정일이 바뀌어 이전 Last-Modified 로 보낸 If-Modified-Since 가 304 가 되지 않는다
+  @Test
+  void deleteSetsModifiedDate() throws Exception {
+    new JdbcTemplate(dataSource).execute("INSERT INTO board (id, title, content, writer, created_date)"
+        + " VALUES (2, '제목', '내용', 'writer', TIMESTAMP '2020-01-01 00:00:00')");
+    LocalDateTime deletedAt = LocalDateTime.of(2030, 1, 1, 0, 0);
+    assertThat(boardMapper.deleteById(1L, deletedAt, null)).isEqualTo(1);
+    assertThat(boardMapper.deleteByIds(Collections.singletonList(2L), deletedAt)).isEqualTo(1);
+
+    assertThat(boardMapper.findValidatorById(1L).getModifiedDate()).isEqualTo(deletedAt);
+    assertThat(boardMapper.findValidatorById(2L).getModifiedDate()).isEqualTo(deletedAt);
+  }
+
+  private static BoardRequestDto request(String title) throws Exception {
+    return new ObjectMapper().readValue("{\"title\":\"" + title + "\",\"content\":\"내용\",\"writer\":\"writer\"}", BoardRequestDto.class);
+  }
+}
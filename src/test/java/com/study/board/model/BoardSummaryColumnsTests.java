@@ -0,0 +1,118 @@
+package com.study.board.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.board.dto.BoardSummaryDto;
+import com.study.paging.CommonParams;
+import com.study.paging.CursorPagination;
+import com.study.support.H2TestDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 리스트 조회 컬럼(listColumns)에 따라 요약(BoardSummaryDto)에 담기는 미리보기, 내용을 확인한다
+// 리스트를 조회하는 쿼리(findAll, findAllWithCount, findAllByCursor, findAllByIds)가 모두 같은 컬럼을 사용한다
+class BoardSummaryColumnsTests {
+
+  private static final String CONTENT = "가나다라마바사아자차".repeat(30);  // 300자
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+  private HikariDataSource dataSource;
+  private BoardMapper boardMapper;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    dataSource = H2TestDatabase.dataSource("summary", 2);
+    H2TestDatabase.createSchema(dataSource);
+    new JdbcTemplate(dataSource).update("INSERT INTO board (id, title, content, writer, created_date)"
+        + " VALUES (1, '제목', ?, 'writer', TIMESTAMP '2020-01-01 00:00:00')", CONTENT);
+    boardMapper = H2TestDatabase.boardMapper(dataSource);
+  }
+
+  @AfterEach
+  void tearDown() {
+    dataSource.close();
+  }
+
+  // 기본 응답에는 내용과 미리보기가 모두 없다 (JSON 에서도 필드가 빠진다)
+  @Test
+  void defaultSummaryHasNoContent() throws Exception {
+    for (BoardSummaryDto board : findAll(params(false, 0))) {
+      assertThat(board.getContent()).isNull();
+      assertThat(board.getPreview()).isNull();
+      assertThat(board.getTitle()).isEqualTo("제목");
+
+      JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(board));
+      assertThat(json.has("content")).isFalse();
+      assertThat(json.has("preview")).isFalse();
+      assertThat(json.get("id").asLong()).isEqualTo(1);
+    }
+  }
+
+  // previewLength 글자만 SQL 에서 잘라서 조회한다 (LEFT(content, n))
+  @Test
+  void previewIsCutToPreviewLength() {
+    for (BoardSummaryDto board : findAll(params(false, 15))) {
+      assertThat(board.getPreview()).isEqualTo(CONTENT.substring(0, 15));
+      assertThat(board.getContent()).isNull();
+    }
+  }
+
+  // 미리보기는 최대 200자이며, 음수는 미리보기 없음으로 처리한다
+  @Test
+  void previewLengthIsCappedAt200() {
+    assertThat(params(false, 5000).getPreviewLength()).isEqualTo(CommonParams.MAX_PREVIEW_LENGTH).isEqualTo(200);
+    assertThat(params(false, -1).getPreviewLength()).isZero();
+
+    for (BoardSummaryDto board : findAll(params(false, 5000))) {
+      assertThat(board.getPreview()).hasSize(200).isEqualTo(CONTENT.substring(0, 200));
+    }
+    for (BoardSummaryDto board : findAll(params(false, -1))) {
+      assertThat(board.getPreview()).isNull();
+    }
+  }
+
+  // includeContent=true 이면 내용 전체를 조회하며, 미리보기는 담지 않는다
+  @Test
+  void includeContentReturnsFullContent() throws Exception {
+    for (BoardSummaryDto board : findAll(params(true, 15))) {
+      assertThat(board.getContent()).isEqualTo(CONTENT);
+      assertThat(board.getPreview()).isNull();
+
+      JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(board));
+      assertThat(json.get("content").asText()).isEqualTo(CONTENT);
+      assertThat(json.has("preview")).isFalse();
+    }
+  }
+
+  // 리스트를 조회하는 쿼리마다 한 건씩, 같은 조건으로 조회
+  private List<BoardSummaryDto> findAll(CommonParams params) {
+    List<BoardSummaryDto> list = new ArrayList<>();
+    list.addAll(boardMapper.findAll(params));
+    list.addAll(boardMapper.findAllWithCount(params));
+    params.setCursorPagination(new CursorPagination(params));
+    list.addAll(boardMapper.findAllByCursor(params));
+    list.addAll(boardMapper.findAllByIds(Arrays.asList(1L), params.isIncludeContent(), params.getPreviewLength()));
+    assertThat(list).hasSize(4);
+    return list;
+  }
+
+  private static CommonParams params(boolean includeContent, int previewLength) {
+    CommonParams params = new CommonParams();
+    params.setPage(1);
+    params.setRecordPerPage(10);
+    params.setPageSize(10);
+    params.setIncludeContent(includeContent);
+    params.setPreviewLength(previewLength);
+    return params;
+  }
+}
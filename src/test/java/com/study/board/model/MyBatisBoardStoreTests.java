@@ -0,0 +1,159 @@
+package com.study.board.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.board.dto.BoardBatchUpdateDto;
+import com.study.board.dto.BoardRequestDto;
+import com.study.board.dto.BoardResponseDto;
+import com.study.support.H2TestDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+// MyBatis 전용 모드의 게시글 저장소, 게시글 번호 할당을 H2(MySQL 모드) 인메모리 DB 로 확인한다
+// 게시글 번호는 Hibernate pooled 방식(Board 엔티티의 @TableGenerator)과 같은 구간으로 할당되어야 한다
+class MyBatisBoardStoreTests {
+
+  private HikariDataSource dataSource;
+  private JdbcTemplate jdbcTemplate;
+  private BoardMapper boardMapper;
+  private DataSourceTransactionManager transactionManager;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    dataSource = H2TestDatabase.dataSource("store", 4);
+
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    H2TestDatabase.createSchema(dataSource);
+
+    boardMapper = H2TestDatabase.boardMapper(dataSource);
+    transactionManager = new DataSourceTransactionManager(dataSource);
+  }
+
+  @AfterEach
+  void tearDown() {
+    dataSource.close();
+  }
+
+  @Test
+  void allocatesSamePooledRangesAsHibernate() {
+    // db/board_id_seq.sql 의 초기값 (MAX(id) + 50) : 첫 구간 = 1 ~ 50
+    jdbcTemplate.update("INSERT INTO board_id_seq (sequence_name, next_val) VALUES ('board', 50)");
+    BoardIdAllocator allocator = allocator();
+    assertThat(allocator.next(60)).containsExactlyElementsOf(range(1, 60));
+    assertThat(jdbcTemplate.queryForObject("SELECT next_val FROM board_id_seq", Long.class)).isEqualTo(150);
+  }
+
+  @Test
+  void allocatesFromInitialValueLikeHibernate() {
+    // 초기값(1) 으로 만든 경우 : 한 번 더 읽어 1 ~ 51 을 사용한다
+    jdbcTemplate.update("INSERT INTO board_id_seq (sequence_name, next_val) VALUES ('board', 1)");
+    BoardIdAllocator allocator = allocator();
+    assertThat(allocator.next(52)).containsExactlyElementsOf(range(1, 52));
+
+    // 행이 없으면 초기값으로 만든다
+    jdbcTemplate.update("DELETE FROM board_id_seq");
+    assertThat(allocator().next()).isEqualTo(1L);
+  }
+
+  @Test
+  void savesUpdatesAndDeletesWithinTransaction() throws Exception {
+    jdbcTemplate.update("INSERT INTO board_id_seq (sequence_name, next_val) VALUES ('board', 50)");
+    MyBatisBoardStore store = new MyBatisBoardStore(boardMapper, allocator());
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+    List<Long> ids = transaction.execute(status -> store.saveAll(Arrays.asList(request("첫 번째"), request("두 번째"))));
+    Long third = transaction.execute(status -> store.save(request("세 번째")));
+    assertThat(ids).containsExactly(1L, 2L);
+    assertThat(third).isEqualTo(3L);
+    assertThat(store.findAll()).extracting(BoardResponseDto::getId).containsExactly(3L, 2L, 1L);
+
+    Set<Long> deleted = transaction.execute(status -> store.deleteAll(Arrays.asList(2L, 99L)));
+    assertThat(deleted).containsExactly(2L);
+    assertThat(store.findAllByDeleteYn('N')).extracting(BoardResponseDto::getId).containsExactly(3L, 1L);
+
+    // 삭제된 게시글, 없는 게시글은 수정되지 않는다
+    Set<Long> updatedIds = transaction.execute(status -> store.updateAll(Arrays.asList(update(1L), update(2L), update(99L))));
+    assertThat(updatedIds).containsExactly(1L);
+    BoardResponseDto updated = store.findById(1L).orElseThrow(IllegalStateException::new);
+    assertThat(updated.getTitle()).isEqualTo("수정");
+    assertThat(updated.getVersion()).isEqualTo(1);
+    assertThat(store.findById(2L)).hasValueSatisfying(board -> assertThat(board.getDeleteYn()).isEqualTo('Y'));
+    assertThat(store.findById(99L)).isEmpty();
+  }
+
+  // 이미 삭제된 게시글은 다시 삭제한 것으로 보고하지 않는다 (JpaBoardStore 와 같음, 삭제 이벤트가 다시 발행되지 않도록)
+  @Test
+  void alreadyDeletedPostIsNotReportedAgain() {
+    jdbcTemplate.update("INSERT INTO board_id_seq (sequence_name, next_val) VALUES ('board', 50)");
+    MyBatisBoardStore store = new MyBatisBoardStore(boardMapper, allocator());
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    List<Long> ids = transaction.execute(status -> store.saveAll(Arrays.asList(request("첫 번째"), request("두 번째"))));
+
+    Set<Long> deleted = transaction.execute(status -> store.deleteAll(Collections.singletonList(ids.get(0))));
+    assertThat(deleted).containsExactly(ids.get(0));
+    Set<Long> deletedAgain = transaction.execute(status -> store.deleteAll(ids));
+
+    assertThat(deletedAgain).containsExactly(ids.get(1));
+    assertThat(jdbcTemplate.queryForObject("SELECT version FROM board WHERE id = ?", Long.class, ids.get(0))).isEqualTo(1L);
+  }
+
+  @Test
+  void rolledBackInsertDoesNotReuseAllocatedIds() {
+    jdbcTemplate.update("INSERT INTO board_id_seq (sequence_name, next_val) VALUES ('board', 50)");
+    MyBatisBoardStore store = new MyBatisBoardStore(boardMapper, allocator());
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+    // 구간 할당은 별도 트랜잭션이므로 게시글 저장이 롤백되어도 board_id_seq 는 되돌아가지 않는다
+    assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+      store.saveAll(Collections.singletonList(request("롤백")));
+      throw new IllegalStateException("rollback");
+    })).isInstanceOf(IllegalStateException.class);
+    assertThat(jdbcTemplate.queryForObject("SELECT next_val FROM board_id_seq", Long.class)).isEqualTo(100);
+    Long next = transaction.execute(status -> store.save(request("다음")));
+    assertThat(next).isEqualTo(2L);
+  }
+
+  private BoardIdAllocator allocator() {
+    BoardIdAllocator allocator = new BoardIdAllocator(boardMapper, transactionManager);
+    allocator.init();
+    return allocator;
+  }
+
+  private static List<Long> range(long from, long to) {
+    List<Long> ids = new ArrayList<>();
+    for (long id = from; id <= to; id++) {
+      ids.add(id);
+    }
+    return ids;
+  }
+
+  private static BoardRequestDto request(String title) {
+    try {
+      return new ObjectMapper().readValue("{\"title\":\"" + title + "\",\"content\":\"내용\",\"writer\":\"writer\",\"deleteYn\":\"N\"}",
+          BoardRequestDto.class);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static BoardBatchUpdateDto update(Long id) {
+    try {
+      return new ObjectMapper().readValue("{\"id\":" + id + ",\"title\":\"수정\",\"content\":\"내용\",\"writer\":\"writer\"}",
+          BoardBatchUpdateDto.class);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.study.board.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class NgramIndexTests {
+
+  private NgramIndex index() {
+    NgramIndex index = new NgramIndex(true);
+    index.put(1, "스프링 게시판", "JPA 와 MyBatis", "도뎡이");
+    index.put(2, "Hello World", "게시판 내용입니다", "writer");
+    index.put(3, "게시판 만들기", "내용", "도뎡이");
+    return index;
+  }
+
+  @Test
+  // 검색 유형별로 LIKE '%keyword%' 와 동일한 게시글을 id DESC 로 찾는다
+  void search() {
+    NgramIndex index = index();
+    assertThat(index.search("게시판", null)).containsExactly(3, 2, 1);
+    assertThat(index.search("게시판", "title")).containsExactly(3, 1);
+    assertThat(index.search("게시판", "content")).containsExactly(2);
+    assertThat(index.search("도뎡", "writer")).containsExactly(3, 1);
+    assertThat(index.search("hello", "title")).containsExactly(2);
+  }
+
+  @Test
+  // 수정 이전 세대의 색인은 검색 결과에서 제외되고, 삭제된 게시글도 제외된다
+  void updateAndRemove() {
+    NgramIndex index = index();
+    index.put(3, "다른 제목", "내용", "도뎡이");
+    index.remove(1);
+    assertThat(index.search("게시판", "title")).isEmpty();
+    assertThat(index.staleEntries()).isPositive();
+
+    index.compact();
+    assertThat(index.staleEntries()).isZero();
+    assertThat(index.search("게시판", null)).containsExactly(2);
+  }
+
+  @Test
+  // 2-gram 을 모두 포함해도 키워드가 연속으로 나타나지 않으면 LIKE 와 같이 제외한다 (내용 포함)
+  void verifiesMatchesAgainstText() {
+    NgramIndex index = index();
+    index.put(4, "게시 시판", "게시 시판", "writer");
+    assertThat(index.search("게시판", "title")).containsExactly(3, 1);
+    assertThat(index.search("게시판", "content")).containsExactly(2);
+    assertThat(index.search("게시판", null)).containsExactly(3, 2, 1);
+  }
+
+  @Test
+  // keyword 안에 같은 2-gram 이 반복되어도 연속된 위치에 있는 경우만 찾는다
+  void repeatedGrams() {
+    NgramIndex index = new NgramIndex(true);
+    index.put(1, "하하 하하", "내용", "writer");
+    index.put(2, "하하하", "내용", "writer");
+    index.put(3, "abab", "내용", "writer");
+    index.put(4, "ab ba ab", "내용", "writer");
+    assertThat(index.search("하하하", "title")).containsExactly(2);
+    assertThat(index.search("abab", "title")).containsExactly(3);
+    assertThat(index.search("bab", "title")).containsExactly(3);
+  }
+
+  @Test
+  // 오래된 게시글이 수정되어 포스팅 리스트 중간에 다시 색인되어도 번호 순으로 찾는다
+  void searchAfterUpdatingOlderPosts() {
+    NgramIndex index = new NgramIndex(true);
+    for (long id = 1; id <= 200; id++) {
+      index.put(id, "제목 " + id, "내용", "writer");
+    }
+    for (long id = 1; id <= 100; id++) {
+      index.put(id, "수정된 제목 " + id, "내용", "writer");
+    }
+    assertThat(index.search("수정", "title")).hasSize(100).startsWith(100L, 99L).endsWith(1L);
+    assertThat(index.search("제목", "title")).hasSize(200).startsWith(200L).endsWith(1L);
+    assertThat(index.search("수정된 제목 7", "title")).containsExactly(79L, 78L, 77L, 76L, 75L, 74L, 73L, 72L, 71L, 70L, 7L);
+  }
+
+  @Test
+  // 한 글자 키워드나 알 수 없는 검색 유형은 DB 에서 처리하도록 NULL 을 리턴한다
+  void unsupported() {
+    NgramIndex index = index();
+    assertThat(index.search("게", null)).isNull();
+    assertThat(index.search("게시판", "unknown")).isNull();
+  }
+}
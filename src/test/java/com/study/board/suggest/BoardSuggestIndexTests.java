@@ -0,0 +1,38 @@
+package com.study.board.suggest;
+
+import com.study.config.BoardProperties;
+import com.study.exception.CustomException;
+import com.study.exception.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 자동완성 요청의 상태별 응답 (색인 구성 전에는 DB 를 읽지 않으므로 매퍼 없이 확인한다)
+class BoardSuggestIndexTests {
+
+  @Test
+  void disabledFeatureIsNotFound() {
+    BoardProperties properties = new BoardProperties();
+    properties.getSuggest().setEnabled(false);
+    BoardSuggestIndex index = new BoardSuggestIndex(null, properties);
+
+    assertThat(errorCode(index)).isEqualTo(ErrorCode.FEATURE_DISABLED);
+    assertThat(ErrorCode.FEATURE_DISABLED.getStatus().value()).isEqualTo(404);
+  }
+
+  @Test
+  void notReadyIndexIsServiceUnavailable() {
+    BoardProperties properties = new BoardProperties();
+    properties.getSuggest().setEnabled(true);
+    BoardSuggestIndex index = new BoardSuggestIndex(null, properties);
+
+    assertThat(errorCode(index)).isEqualTo(ErrorCode.INDEX_NOT_READY);
+    assertThat(ErrorCode.INDEX_NOT_READY.getStatus().value()).isEqualTo(503);
+  }
+
+  private ErrorCode errorCode(BoardSuggestIndex index) {
+    Throwable thrown = catchThrowable(() -> index.suggest("게시", 10));
+    assertThat(thrown).isInstanceOf(CustomException.class);
+    return ((CustomException) thrown).getErrorCode();
+  }
+}
@@ -0,0 +1,86 @@
+package com.study.board.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SuggestIndexTests {
+
+  private SuggestIndex index() {
+    SuggestIndex index = new SuggestIndex();
+    index.put(1, "스프링 게시판", "도뎡이", 5);
+    index.put(2, "게시판 만들기", "writer", 10);
+    index.put(3, "게임 후기", "도뎡이", 1);
+    index.put(4, "Hello World", "writer", 7);
+    return index;
+  }
+
+  @Test
+  // 입력 중인 한글(받침으로 붙은 다음 초성, 덜 입력된 겹모음)도 완성된 글자의 앞부분으로 찾는다
+  void jamoNormalization() {
+    assertThat(HangulJamo.normalize("겟", 24)).isEqualTo(HangulJamo.normalize("게ㅅ", 24)).isEqualTo("ㄱㅔㅅ");
+    assertThat(HangulJamo.normalize("게시판", 24)).startsWith(HangulJamo.normalize("겟", 24));
+    assertThat(HangulJamo.normalize("과", 24)).startsWith(HangulJamo.normalize("고", 24));
+    assertThat(HangulJamo.normalize("닭", 24)).isEqualTo(HangulJamo.normalize("달ㄱ", 24));
+    assertThat(HangulJamo.normalize("  Hello   World ", 24)).isEqualTo("hello world");
+    assertThat(SuggestIndex.titleKeys("스프링 게시판")).hasSize(2);
+  }
+
+  @Test
+  // 접두어로 시작하는 단어가 있는 제목을 조회 수 순으로 찾는다 (추가 직후, 정리 이후 모두)
+  void titlesByHits() {
+    SuggestIndex index = index();
+    assertThat(ids(index.titles("겟", 10))).containsExactly(2L, 1L);
+    assertThat(ids(index.titles("ㄱ", 10))).containsExactly(2L, 1L, 3L);
+    assertThat(ids(index.titles("hel", 10))).containsExactly(4L);
+
+    index.compact();
+    assertThat(ids(index.titles("ㄱ", 2))).containsExactly(2L, 1L);
+    assertThat(ids(index.titles("WORLD", 10))).containsExactly(4L);
+    assertThat(index.titles(" ", 10)).isEmpty();
+  }
+
+  @Test
+  // 조회 수, 수정, 삭제가 정리 전후의 결과에 바로 반영된다
+  void updatesAreIncremental() {
+    SuggestIndex index = index();
+    index.compact();
+
+    index.addHits(3, 100);
+    assertThat(ids(index.titles("게", 10))).containsExactly(3L, 2L, 1L);
+
+    index.put(2, "다른 제목", "writer");
+    index.remove(1);
+    index.put(5, "게시글 작성", "새 작성자");
+    assertThat(ids(index.titles("게", 10))).containsExactly(3L, 5L);
+    assertThat(index.titles("다른", 10).get(0)).containsEntry("hits", 10L);
+    assertThat(index.pendingEntries()).isPositive();
+
+    index.compact();
+    assertThat(index.pendingEntries()).isZero();
+    assertThat(ids(index.titles("게", 10))).containsExactly(3L, 5L);
+    assertThat(index.size()).isEqualTo(4);
+  }
+
+  @Test
+  // 작성자는 게시글 조회 수 합계 순이며, 게시글이 모두 삭제되면 제외된다
+  void writers() {
+    SuggestIndex index = index();
+    assertThat(index.writers("ㄷ", 10)).singleElement()
+        .satisfies(writer -> assertThat(writer).containsEntry("writer", "도뎡이").containsEntry("posts", 2).containsEntry("hits", 6L));
+    assertThat(index.writers("w", 10)).singleElement().satisfies(writer -> assertThat(writer).containsEntry("hits", 17L));
+
+    index.remove(1);
+    index.remove(3);
+    assertThat(index.writers("도", 10)).isEmpty();
+    assertThat(index.writers()).isEqualTo(1);
+  }
+
+  private static List<Long> ids(List<Map<String, Object>> rows) {
+    return rows.stream().map(row -> (Long) row.get("id")).collect(Collectors.toList());
+  }
+}
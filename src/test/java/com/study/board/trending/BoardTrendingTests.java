@@ -0,0 +1,82 @@
+package com.study.board.trending;
+
+import com.study.board.dto.BoardResponseDto;
+import com.study.board.entity.Board;
+import com.study.config.BoardProperties;
+import com.study.exception.CustomException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BoardTrendingTests {
+
+  private BoardTrending trending;
+
+  @BeforeEach
+  void setUp() {
+    BoardProperties properties = new BoardProperties();
+    properties.getTrending().setStripes(2);
+    properties.getTrending().setDrainIntervalMs(60_000);  // 테스트에서 직접 drain() 호출
+    trending = new BoardTrending(properties);
+    trending.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    trending.stop();
+  }
+
+  @Test
+  void ranksRecordedViewsWithinWindow() {
+    record(1L, "첫 번째", 3);
+    record(2L, "두 번째", 5);
+    record(3L, "세 번째", 1);
+    trending.drain();
+
+    List<Map<String, Object>> list = list(trending.top("1h", 2));
+
+    assertThat(list).extracting(post -> post.get("id")).containsExactly(2L, 1L);
+    assertThat(list.get(0)).containsEntry("title", "두 번째").containsEntry("views", 5L).containsEntry("error", 0L);
+  }
+
+  @Test
+  void rejectsWindowLongerThanRetention() {
+    assertThatThrownBy(() -> trending.top("2h", 10)).isInstanceOf(CustomException.class);
+    assertThatThrownBy(() -> trending.top("soon", 10)).isInstanceOf(CustomException.class);
+    // long 범위를 넘는 숫자도 400 (NumberFormatException 이 아님)
+    assertThatThrownBy(() -> trending.top("99999999999999999999d", 10)).isInstanceOf(CustomException.class);
+  }
+
+  // 같은 기간의 다른 표기는 결과를 함께 쓰지만, 응답의 window 는 요청한 값
+  @Test
+  void sameWindowInDifferentNotationSharesResult() {
+    record(1L, "첫 번째", 2);
+    trending.drain();
+
+    Map<String, Object> hour = trending.top("1h", 10);
+    Map<String, Object> minutes = trending.top("60m", 10);
+
+    assertThat(minutes.get("list")).isSameAs(hour.get("list"));
+    assertThat(minutes).containsEntry("window", "60m").containsEntry("windowSeconds", hour.get("windowSeconds"));
+  }
+
+  private void record(Long id, String title, int views) {
+    Board entity = Board.builder().title(title).content("내용").writer("writer").deleteYn('N').build();
+    ReflectionTestUtils.setField(entity, "id", id);
+    BoardResponseDto board = new BoardResponseDto(entity);
+    for (int i = 0; i < views; i++) {
+      trending.record(board);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<Map<String, Object>> list(Map<String, Object> response) {
+    return (List<Map<String, Object>>) response.get("list");
+  }
+}
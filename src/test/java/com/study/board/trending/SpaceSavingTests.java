@@ -0,0 +1,66 @@
+package com.study.board.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SpaceSavingTests {
+
+  @Test
+  void keepsHeavyHittersWithinBoundedCounters() {
+    SpaceSaving summary = new SpaceSaving(20);
+    Map<Long, Long> actual = new HashMap<>();
+    Random random = new Random(42);
+
+    // 게시글 1~5 는 전체 조회의 절반, 나머지는 10,000개 게시글에 고르게 분산
+    for (int i = 0; i < 100_000; i++) {
+      long id = random.nextBoolean() ? 1 + random.nextInt(5) : 100 + random.nextInt(10_000);
+      summary.offer(id, 1, null);
+      actual.merge(id, 1L, Long::sum);
+    }
+
+    assertThat(summary.size()).isEqualTo(20);
+    Map<Long, Integer> slots = slots(summary);
+    for (long id = 1; id <= 5; id++) {
+      assertThat(slots).containsKey(id);
+      int slot = slots.get(id);
+      // 실제 조회 수는 count - error 이상 count 이하
+      assertThat(actual.get(id)).isBetween(summary.count(slot) - summary.error(slot), summary.count(slot));
+    }
+  }
+
+  @Test
+  void removeKeepsHeapAndSlotsConsistent() {
+    SpaceSaving summary = new SpaceSaving(4);
+    summary.offer(1, 10, "a");
+    summary.offer(2, 3, "b");
+    summary.offer(3, 7, "c");
+    summary.offer(4, 5, "d");
+
+    summary.remove(2);
+    assertThat(summary.size()).isEqualTo(3);
+    assertThat(summary.isFull()).isFalse();
+
+    // 가득 찬 상태에서 새 게시글은 가장 작은 카운터(4번, 5)를 넘겨받는다
+    summary.offer(5, 6, "e");
+    summary.offer(6, 1, "f");
+    Map<Long, Integer> slots = slots(summary);
+    assertThat(slots).containsOnlyKeys(1L, 3L, 5L, 6L);
+    assertThat(summary.count(slots.get(6L))).isEqualTo(6);
+    assertThat(summary.error(slots.get(6L))).isEqualTo(5);
+    assertThat(summary.title(slots.get(6L))).isEqualTo("f");
+    assertThat(summary.minCount()).isEqualTo(6);
+  }
+
+  private static Map<Long, Integer> slots(SpaceSaving summary) {
+    Map<Long, Integer> slots = new HashMap<>();
+    for (int slot = 0; slot < summary.size(); slot++) {
+      slots.put(summary.id(slot), slot);
+    }
+    return slots;
+  }
+}
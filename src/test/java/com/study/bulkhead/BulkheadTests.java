@@ -0,0 +1,132 @@
+package com.study.bulkhead;
+
+import com.study.datasource.DataSourceRouting;
+import com.study.exception.CustomException;
+import com.study.exception.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BulkheadTests {
+
+  private ScheduledExecutorService timer;
+  private Bulkhead bulkhead;
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @BeforeEach
+  void setUp() {
+    timer = Executors.newSingleThreadScheduledExecutor();
+    // 작업 스레드 1개, 대기열 1개
+    bulkhead = new Bulkhead("test", 1, 1, 5000, 200, 1000, new ContextPropagatingTaskDecorator(), timer);
+  }
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    DataSourceRouting.end();
+    bulkhead.shutdown();
+    timer.shutdownNow();
+  }
+
+  @Test
+  void rejectsWhenQueueIsFull() {
+    CompletableFuture<Boolean> running = bulkhead.submit(this::await);
+    CompletableFuture<Boolean> queued = bulkhead.submit(this::await);
+    CompletableFuture<Boolean> rejected = bulkhead.submit(this::await);
+
+    assertThat(errorCode(rejected)).isEqualTo(ErrorCode.SERVICE_BUSY);
+    assertThat(running).isNotDone();
+    assertThat(queued).isNotDone();
+    assertThat(bulkhead.getRejectedCount()).isEqualTo(1);
+  }
+
+  @Test
+  void timesOutSlowTask() throws Exception {
+    CompletableFuture<Boolean> slow = bulkhead.submit(this::await);
+
+    assertThat(errorCode(slow)).isEqualTo(ErrorCode.SERVICE_TIMEOUT);
+    // 응답은 시간 초과 작업이 완료시킨 직후에 끝나고 건수는 그 다음에 올라가므로, 타이머 스레드의 작업이 끝나기를 기다린다
+    timer.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    assertThat(bulkhead.getTimedOutCount()).isEqualTo(1);
+  }
+
+  // 응답 제한 시간이 없으면(쓰기 격벽) 오래 걸리는 작업도 503 으로 끝내지 않고 작업 결과로 응답한다
+  @Test
+  void taskWithoutTimeoutIsNeverTimedOut() throws Exception {
+    Bulkhead write = new Bulkhead("write", 1, 1, 5000, 0, 1000, new ContextPropagatingTaskDecorator(), timer);
+    try {
+      CountDownLatch started = new CountDownLatch(1);
+      CompletableFuture<Boolean> slow = write.submit(() -> {
+        started.countDown();
+        return await();
+      });
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+      // 읽기 격벽의 제한 시간(200ms)이 지나도 끝나지 않는다
+      assertThat(catchThrowable(() -> slow.get(400, TimeUnit.MILLISECONDS))).isInstanceOf(TimeoutException.class);
+      release.countDown();
+      assertThat(slow.get(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(write.getTimedOutCount()).isZero();
+    } finally {
+      write.shutdown();
+    }
+  }
+
+  // 종료 시 응답 제한 시간(쓰기는 0)과 관계없이 drainTimeoutMs 동안 실행 중인 작업을 기다린다
+  @Test
+  void shutdownDrainsRunningTask() throws Exception {
+    Bulkhead write = new Bulkhead("write", 1, 1, 5000, 0, 5000, new ContextPropagatingTaskDecorator(), timer);
+    CountDownLatch started = new CountDownLatch(1);
+    CompletableFuture<Boolean> slow = write.submit(() -> {
+      started.countDown();
+      try {
+        Thread.sleep(1500);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+      return true;
+    });
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    write.shutdown();
+
+    assertThat(slow).isCompletedWithValue(true);
+  }
+
+  @Test
+  void propagatesRoutingContextToWorker() throws Exception {
+    DataSourceRouting.begin(true, null);
+
+    CompletableFuture<Boolean> forced = bulkhead.submit(DataSourceRouting::isPrimaryForced);
+
+    assertThat(forced.get(1, TimeUnit.SECONDS)).isTrue();
+    DataSourceRouting.end();
+    assertThat(bulkhead.submit(DataSourceRouting::isPrimaryForced).get(1, TimeUnit.SECONDS)).isFalse();
+  }
+
+  private boolean await() {
+    try {
+      return release.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static ErrorCode errorCode(CompletableFuture<?> future) {
+    Throwable thrown = catchThrowable(() -> future.get(5, TimeUnit.SECONDS));
+    assertThat(thrown).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(CustomException.class);
+    return ((CustomException) thrown.getCause()).getErrorCode();
+  }
+}
@@ -0,0 +1,196 @@
+package com.study.datasource;
+
+import com.study.support.H2TestDatabase;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 두 개의 H2(MySQL 모드) 인메모리 DB 를 primary, replica 로 사용하여 라우팅을 확인한다
+// 각 DB 의 node 테이블에 DB 이름을 저장해 두고, 조회된 값으로 어느 DB 로 라우팅되었는지 판단
+class ReplicaRoutingDataSourceTests {
+
+  private ReplicaRoutingDataSource routingDataSource;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate readWrite;
+  private TransactionTemplate readOnly;
+  private TransactionTemplate readOnlyRequiresNew;
+
+  @BeforeEach
+  void setUp() {
+    routing(ReplicaRoutingDataSource.ROUND_ROBIN, "replica-a");
+  }
+
+  @AfterEach
+  void tearDown() {
+    DataSourceRouting.end();
+    routingDataSource.close();
+  }
+
+  @Test
+  void readOnlyTransactionGoesToReplica() {
+    String readNode = readOnly.execute(status -> node());
+    String writeNode = readWrite.execute(status -> node());
+    assertThat(readNode).isEqualTo("replica-a");
+    assertThat(writeNode).isEqualTo("primary");
+  }
+
+  @Test
+  void queryOutsideTransactionGoesToPrimary() {
+    assertThat(node()).isEqualTo("primary");
+  }
+
+  @Test
+  void replicasAreSelectedRoundRobin() {
+    routingDataSource.close();
+    routing(ReplicaRoutingDataSource.ROUND_ROBIN, "replica-a", "replica-b");
+
+    List<String> nodes = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      nodes.add(readOnly.execute(status -> node()));
+    }
+    assertThat(nodes).containsExactly("replica-a", "replica-b", "replica-a", "replica-b");
+  }
+
+  @Test
+  void leastBusyReplicaIsSelected() {
+    routingDataSource.close();
+    routing(ReplicaRoutingDataSource.LEAST_BUSY, "replica-a", "replica-b");
+
+    // replica-a 의 커넥션을 사용 중인 상태에서는 round-robin 순서와 관계없이 replica-b 가 선택된다
+    List<String> inner = readOnly.execute(outer -> {
+      assertThat(node()).isEqualTo("replica-a");
+      List<String> nodes = new ArrayList<>();
+      for (int i = 0; i < 2; i++) {
+        nodes.add(readOnlyRequiresNew.execute(status -> node()));
+      }
+      return nodes;
+    });
+    assertThat(inner).containsExactly("replica-b", "replica-b");
+  }
+
+  @Test
+  void readsStickToPrimaryAfterWrite() {
+    AtomicInteger cookies = new AtomicInteger();
+    DataSourceRouting.begin(false, cookies::incrementAndGet);
+
+    String beforeWrite = readOnly.execute(status -> node());
+    assertThat(beforeWrite).isEqualTo("replica-a");
+    readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET updated = updated + 1"));
+    String afterWrite = readOnly.execute(status -> node());
+    assertThat(afterWrite).isEqualTo("primary");
+    readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET updated = updated + 1"));
+    assertThat(cookies.get()).isEqualTo(1);
+
+    // 쿠키가 유효한 다음 요청도 primary 로 조회
+    DataSourceRouting.end();
+    DataSourceRouting.begin(true, null);
+    String nextRequest = readOnly.execute(status -> node());
+    assertThat(nextRequest).isEqualTo("primary");
+  }
+
+  // 격벽의 작업 스레드에서 쓰기를 하면 쿠키 발급(onWrite)은 실행하지 않고 written 으로만 남긴다 (ReadYourWritesFilter 가 비동기 디스패치에서 발급)
+  @Test
+  void writeOnWorkerThreadIsRecordedWithoutCallback() throws Exception {
+    AtomicInteger cookies = new AtomicInteger();
+    DataSourceRouting.begin(false, cookies::incrementAndGet);
+    DataSourceRouting.Context context = DataSourceRouting.current();
+
+    Thread worker = new Thread(() -> {
+      DataSourceRouting.attach(context);
+      try {
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET updated = updated + 1"));
+      } finally {
+        DataSourceRouting.end();
+      }
+    });
+    worker.start();
+    worker.join(TimeUnit.SECONDS.toMillis(5));
+
+    assertThat(context.isWritten()).isTrue();
+    assertThat(cookies.get()).isZero();
+    String afterWrite = readOnly.execute(status -> node());
+    assertThat(afterWrite).isEqualTo("primary");
+  }
+
+  // primary 의 버전(변경 피드 버전 등)과 함께 응답하는 조회는 복제가 지연된 replica 대신 primary 에서 읽는다
+  // 격벽의 작업 스레드로 이어받아도 primary 로 가며, 쓰기가 아니므로 쿠키는 발급하지 않는다
+  @Test
+  void forcedPrimaryReadSkipsLaggingReplica() throws Exception {
+    // replica 에 아직 복제되지 않은 쓰기 (다른 요청)
+    readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET updated = updated + 1"));
+
+    AtomicInteger cookies = new AtomicInteger();
+    DataSourceRouting.begin(false, cookies::incrementAndGet);
+    DataSourceRouting.Context context = DataSourceRouting.current();
+    int replicaUpdated = readOnly.execute(status -> updated());
+    assertThat(replicaUpdated).isZero();
+
+    DataSourceRouting.forcePrimary();
+    AtomicInteger updated = new AtomicInteger(-1);
+    Thread worker = new Thread(() -> {
+      DataSourceRouting.attach(context);
+      try {
+        updated.set(readOnly.execute(status -> updated()));
+      } finally {
+        DataSourceRouting.end();
+      }
+    });
+    worker.start();
+    worker.join(TimeUnit.SECONDS.toMillis(5));
+
+    assertThat(updated.get()).isEqualTo(1);
+    assertThat(context.isWritten()).isFalse();
+    assertThat(cookies.get()).isZero();
+  }
+
+  private String node() {
+    return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+  }
+
+  private int updated() {
+    return jdbcTemplate.queryForObject("SELECT updated FROM node", Integer.class);
+  }
+
+  private void routing(String selection, String... replicaNames) {
+    List<HikariDataSource> replicas = new ArrayList<>();
+    for (String name : replicaNames) {
+      replicas.add(database(name));
+    }
+    routingDataSource = new ReplicaRoutingDataSource(database("primary"), replicas, selection);
+
+    LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    readWrite = new TransactionTemplate(transactionManager);
+    readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+    readOnlyRequiresNew = new TransactionTemplate(transactionManager);
+    readOnlyRequiresNew.setReadOnly(true);
+    readOnlyRequiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  private static HikariDataSource database(String name) {
+    HikariConfig config = H2TestDatabase.config(name, 2);
+    config.setPoolName(name);
+    HikariDataSource dataSource = new HikariDataSource(config);
+
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20) NOT NULL, updated INT NOT NULL)");
+    jdbcTemplate.update("INSERT INTO node (name, updated) VALUES (?, 0)", name);
+    return dataSource;
+  }
+}
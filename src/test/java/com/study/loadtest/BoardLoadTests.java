@@ -0,0 +1,398 @@
+package com.study.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.*;
+
+// BoardApiController 부하 테스트
+// 애플리케이션을 임의 포트로 띄우고 H2 인메모리 DB(MySQL 모드)에 합성 게시글을 저장한 뒤,
+// 여러 클라이언트 스레드가 목표 처리량(rate)에 맞춰 리스트, 검색, 상세, 생성, 수정, 삭제 요청을 가중치에 따라 보낸다
+//  - 응답 시간은 요청을 "보내야 했던" 시각부터 측정 (서버가 느려져 요청이 밀린 시간도 포함, coordinated omission 보정)
+//  - 엔드포인트별 p50/p99/p999, 처리량, 오류율을 출력하고 build/reports/loadtest/report.json 에 저장
+//  - loadtest.slo 에 설정한 기준을 넘으면 실패
+//  - 측정 중 톰캣 요청 스레드, 격벽 작업 스레드 수의 최대값을 함께 기록 (loadtest.bulkhead=true 이면 격벽 사용)
+// 동기 실행과 격벽(비동기) 실행 비교 : -Dloadtest.bulkhead=false, true 로 각각 실행한 뒤 report.json 의 p99, p999, threads 비교
+//   측정 결과 (1 vCPU, 클라이언트와 서버가 같은 JVM, rows=20000, warmup 20 s, 30 s, 기본 요청 비율, p99 ms)
+//     rate(clients)  bulkhead  list     search   detail   create   오류  tomcatBusyPeak  bulkheadBusyPeak  jvmLivePeak
+//     10 (16)        false       56.3     92.1     26.8     23.9      0         1                0               64
+//     10 (16)        true       143.4    264.8     61.4     57.0      0         1                2               78
+//     30 (32)        false    11010.1  11346.4   9961.5  10376.5      0        32                0              108
+//     30 (32)        true      9175.0   8714.5   8912.9   8038.8     19         6               10              103
+//   처리 용량(이 환경에서 약 20 rps) 이하에서는 작업 스레드로 넘기는 비용만큼 느려지고, 용량을 넘으면 톰캣 스레드가 모두 묶이는 대신
+//   격벽 스레드 수(커넥션 풀 크기)로 제한되며 대기 시간 초과 요청은 503 으로 끝난다. 응답 시간은 클라이언트 쪽 대기가 대부분이라 크게 줄지 않는다
+// 게시글 생성 그룹 커밋 비교 : -Dloadtest.group-commit=false, true 와 -Dloadtest.mix=list=0,search=0,detail=0,create=100,update=0,delete=0 으로 각각 실행한 뒤 create 의 처리량, p99 비교
+// 기본 test 태스크에서는 제외되며, ./gradlew loadtest -Dloadtest.rate=500 -Dloadtest.duration-sec=60 으로 실행한다
+@Tag("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.hikari.driver-class-name=org.h2.Driver",
+    "spring.datasource.hikari.jdbc-url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.hikari.username=sa",
+    "spring.datasource.hikari.password=",
+    "spring.jpa.database=h2",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.study=INFO"
+})
+class BoardLoadTests {
+
+  // 요청 종류 (기본 가중치)
+  enum Operation {
+    LIST(50), SEARCH(10), DETAIL(30), CREATE(5), UPDATE(3), DELETE(2);
+
+    private final int defaultWeight;
+
+    Operation(int defaultWeight) {
+      this.defaultWeight = defaultWeight;
+    }
+  }
+
+  private static final int SEED_BATCH_SIZE = 1000;  // 합성 게시글 INSERT 배치 크기
+
+  @DynamicPropertySource
+  static void bulkhead(DynamicPropertyRegistry registry) {
+    registry.add("board.bulkhead.enabled", () -> System.getProperty("loadtest.bulkhead", "false"));
+    registry.add("board.group-commit.enabled", () -> System.getProperty("loadtest.group-commit", "false"));
+  }
+
+  @LocalServerPort
+  int port;
+
+  @Autowired
+  DataSource dataSource;
+
+  @Autowired
+  ObjectMapper objectMapper;
+
+  private final long rows = Long.getLong("loadtest.rows", 100_000L);
+  private final int clients = Integer.getInteger("loadtest.clients", 32);
+  private final double rate = Double.parseDouble(System.getProperty("loadtest.rate", "300"));
+  private final int warmupSec = Integer.getInteger("loadtest.warmup-sec", 5);
+  private final int durationSec = Integer.getInteger("loadtest.duration-sec", 30);
+  private final String mix = System.getProperty("loadtest.mix", "");
+  private final String slo = System.getProperty("loadtest.slo", "*.p99Ms=500,*.errorRate=0.01");
+
+  // 응답 시간은 애플리케이션 지표와 섞이지 않도록 별도의 레지스트리에 기록한다
+  private final SimpleMeterRegistry latencyRegistry = new SimpleMeterRegistry();
+  private final Map<Operation, Timer> latencies = new LinkedHashMap<>();
+  private final Map<Operation, LongAdder> errors = new LinkedHashMap<>();
+  private final Map<String, Integer> peakThreads = new LinkedHashMap<>();
+  private final ConcurrentLinkedQueue<Long> createdIds = new ConcurrentLinkedQueue<>();
+  private HttpClient httpClient;
+  private volatile boolean recording;
+
+  @BeforeAll
+  void seed() {
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("DROP TABLE IF EXISTS board");
+    jdbcTemplate.execute("DROP TABLE IF EXISTS board_id_seq");
+    new ResourceDatabasePopulator(new ClassPathResource("db/schema-h2.sql")).execute(dataSource);
+    // H2 1.4.200 은 DATABASE_TO_LOWER=TRUE 에서 SYSTEM_RANGE 의 열(X)을 찾지 못하므로 JDBC 배치로 저장한다
+    String filler = " " + "가나다라마바사아자차카타파하 ".repeat(20);
+    LocalDateTime createdDate = LocalDateTime.of(2020, 1, 1, 0, 0);
+    List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+    for (long id = 1; id <= rows; id++) {
+      batch.add(new Object[] {id, "게시글 제목 " + id, "게시글 내용 " + id + filler, "writer" + id % 1000, id % 500,
+          Timestamp.valueOf(createdDate.plusSeconds(id))});
+      if (batch.size() == SEED_BATCH_SIZE || id == rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO board (id, title, content, writer, hits, delete_yn, created_date)"
+            + " VALUES (?, ?, ?, ?, ?, 'N', ?)", batch);
+        batch.clear();
+      }
+    }
+    jdbcTemplate.update("INSERT INTO board_id_seq (sequence_name, next_val) VALUES ('board', ?)", rows + 50);  // pooled : 첫 구간 = rows + 1 ~ rows + 50
+
+    for (Operation operation : Operation.values()) {
+      // 백분위수는 최근 구간이 아닌 측정 전체의 값이어야 하므로 만료 시간을 측정 시간보다 길게 둔다
+      latencies.put(operation, Timer.builder("loadtest.latency")
+          .tag("operation", operation.name().toLowerCase())
+          .publishPercentiles(0.5, 0.99, 0.999)
+          .percentilePrecision(2)
+          .distributionStatisticExpiry(Duration.ofSeconds(warmupSec + durationSec).multipliedBy(2).plusMinutes(1))
+          .distributionStatisticBufferLength(1)
+          .register(latencyRegistry));
+      errors.put(operation, new LongAdder());
+    }
+    httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+  }
+
+  @Test
+  void replayTrafficMix() throws Exception {
+    Map<Operation, Integer> weights = weights();
+    int totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+
+    // 클라이언트마다 rate / clients 의 속도로 요청 (요청 간격 = intervalNanos)
+    long intervalNanos = (long) (clients * 1_000_000_000L / rate);
+    long begin = System.nanoTime();
+    long warmupEnd = begin + TimeUnit.SECONDS.toNanos(warmupSec);
+    long end = warmupEnd + TimeUnit.SECONDS.toNanos(durationSec);
+    CountDownLatch done = new CountDownLatch(clients);
+
+    for (int c = 0; c < clients; c++) {
+      long offset = intervalNanos * c / clients;  // 클라이언트별 시작 시각을 분산
+      Thread thread = new Thread(() -> {
+        try {
+          long intended = begin + offset;
+          while (intended < end) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+              LockSupport.parkNanos(wait);
+            }
+            execute(pick(weights, totalWeight), intended, intended >= warmupEnd);
+            intended += intervalNanos;
+          }
+        } finally {
+          done.countDown();
+        }
+      }, "loadtest-client-" + c);
+      thread.setDaemon(true);
+      thread.start();
+    }
+    Thread monitor = new Thread(() -> monitorThreads(warmupEnd, end), "loadtest-thread-monitor");
+    monitor.setDaemon(true);
+    monitor.start();
+    assertThat(done.await(warmupSec + durationSec + 120L, TimeUnit.SECONDS)).isTrue();
+    monitor.join();
+
+    Map<String, Map<String, Object>> report = report();
+    List<String> violations = violations(report);
+    assertThat(violations).as("SLO violations").isEmpty();
+  }
+
+  // 측정 구간 동안 100ms 마다 스레드 수를 세어 최대값 기록
+  //  - tomcat : 요청을 처리 중인 톰캣 작업 스레드 (DB 나 커넥션 풀을 기다리는 스레드 포함)
+  //  - bulkhead : 격벽 작업 스레드 (board-read-*, board-write-*)
+  private void monitorThreads(long from, long until) {
+    int tomcat = 0;
+    int bulkhead = 0;
+    while (System.nanoTime() < until) {
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+      if (System.nanoTime() < from) {
+        continue;
+      }
+      int busyTomcat = 0;
+      int busyBulkhead = 0;
+      for (Map.Entry<Thread, StackTraceElement[]> entry : Thread.getAllStackTraces().entrySet()) {
+        String name = entry.getKey().getName();
+        if (name.startsWith("http-nio-") && name.contains("-exec-") && isBusy(entry.getValue())) {
+          busyTomcat++;
+        } else if ((name.startsWith("board-read-") || name.startsWith("board-write-")) && isBusy(entry.getValue())) {
+          busyBulkhead++;
+        }
+      }
+      tomcat = Math.max(tomcat, busyTomcat);
+      bulkhead = Math.max(bulkhead, busyBulkhead);
+    }
+    peakThreads.put("tomcatBusyPeak", tomcat);
+    peakThreads.put("bulkheadBusyPeak", bulkhead);
+    peakThreads.put("jvmLivePeak", ManagementFactory.getThreadMXBean().getPeakThreadCount());
+  }
+
+  // 스레드 풀에서 다음 작업을 기다리는 중(ThreadPoolExecutor.getTask)이 아니면 사용 중
+  private static boolean isBusy(StackTraceElement[] stack) {
+    for (StackTraceElement element : stack) {
+      if ("getTask".equals(element.getMethodName()) && element.getClassName().endsWith("ThreadPoolExecutor")) {
+        return false;
+      }
+    }
+    return stack.length > 0;
+  }
+
+  // 가중치 (loadtest.mix=list=50,search=10,... 로 변경 가능)
+  private Map<Operation, Integer> weights() {
+    Map<Operation, Integer> weights = new LinkedHashMap<>();
+    for (Operation operation : Operation.values()) {
+      weights.put(operation, operation.defaultWeight);
+    }
+    for (String entry : mix.split(",")) {
+      String[] pair = entry.trim().split("=");
+      if (pair.length == 2) {
+        weights.put(Operation.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+      }
+    }
+    return weights;
+  }
+
+  private static Operation pick(Map<Operation, Integer> weights, int totalWeight) {
+    int value = ThreadLocalRandom.current().nextInt(totalWeight);
+    for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+      value -= entry.getValue();
+      if (value < 0) {
+        return entry.getKey();
+      }
+    }
+    return Operation.LIST;
+  }
+
+  private void execute(Operation operation, long intendedNanos, boolean record) {
+    boolean ok;
+    try {
+      HttpResponse<String> response = httpClient.send(request(operation), HttpResponse.BodyHandlers.ofString());
+      ok = response.statusCode() < 400;
+      if (ok && operation == Operation.CREATE) {
+        createdIds.add(Long.parseLong(response.body().trim()));
+      }
+    } catch (Exception e) {
+      ok = false;
+    }
+    if (record) {
+      latencies.get(operation).record(System.nanoTime() - intendedNanos, TimeUnit.NANOSECONDS);
+      if (ok == false) {
+        errors.get(operation).increment();
+      }
+    }
+  }
+
+  private HttpRequest request(Operation operation) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    String base = "http://localhost:" + port + "/api/boards";
+    HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30));
+    long id = random.nextLong(1, rows + 1);
+    switch (operation) {
+      case LIST:
+        return builder.uri(URI.create(base + "?page=" + random.nextInt(1, 1001) + "&recordPerPage=10&pageSize=10")).GET().build();
+      case SEARCH:
+        String keyword = URLEncoder.encode("제목 " + random.nextInt(1, 1000), StandardCharsets.UTF_8);
+        return builder.uri(URI.create(base + "?page=1&recordPerPage=10&pageSize=10&searchType=title&keyword=" + keyword)).GET().build();
+      case CREATE:
+        return json(builder.uri(URI.create(base)), "POST", body("부하 테스트 게시글"));
+      case UPDATE:
+        return json(builder.uri(URI.create(base + "/" + id)), "PATCH", body("부하 테스트 수정 " + id));
+      case DELETE:
+        // 부하 테스트에서 생성한 게시글만 삭제 (없으면 임의의 게시글)
+        Long created = createdIds.poll();
+        return builder.uri(URI.create(base + "/" + (created == null ? id : created))).DELETE().build();
+      default:
+        return builder.uri(URI.create(base + "/" + id)).GET().build();
+    }
+  }
+
+  private static HttpRequest json(HttpRequest.Builder builder, String method, String body) {
+    return builder.header("Content-Type", "application/json")
+        .method(method, HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+        .build();
+  }
+
+  private String body(String title) {
+    Map<String, Object> params = new LinkedHashMap<>();
+    params.put("title", title);
+    params.put("content", title + " 내용");
+    params.put("writer", "loadtest");
+    params.put("deleteYn", "N");
+    try {
+      return objectMapper.writeValueAsString(params);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  // 요약 정보 (밀리초)
+  private static Map<String, Object> snapshot(Timer timer) {
+    HistogramSnapshot histogram = timer.takeSnapshot();
+    ValueAtPercentile[] percentiles = histogram.percentileValues();
+    Map<String, Object> snapshot = new LinkedHashMap<>();
+    snapshot.put("count", histogram.count());
+    snapshot.put("meanMs", histogram.mean(TimeUnit.MILLISECONDS));
+    snapshot.put("p50Ms", percentiles[0].value(TimeUnit.MILLISECONDS));
+    snapshot.put("p99Ms", percentiles[1].value(TimeUnit.MILLISECONDS));
+    snapshot.put("p999Ms", percentiles[2].value(TimeUnit.MILLISECONDS));
+    snapshot.put("maxMs", histogram.max(TimeUnit.MILLISECONDS));
+    return snapshot;
+  }
+
+  // 엔드포인트별 결과 출력, 저장
+  private Map<String, Map<String, Object>> report() throws Exception {
+    Map<String, Map<String, Object>> report = new LinkedHashMap<>();
+    for (Operation operation : Operation.values()) {
+      Map<String, Object> snapshot = snapshot(latencies.get(operation));
+      long count = (long) snapshot.get("count");
+      long errorCount = errors.get(operation).sum();
+      snapshot.put("throughput", count / (double) durationSec);
+      snapshot.put("errors", errorCount);
+      snapshot.put("errorRate", count == 0 ? 0.0 : errorCount / (double) count);
+      report.put(operation.name().toLowerCase(), snapshot);
+      System.out.printf("%-7s count=%-7d rps=%-8.1f p50=%-8.2f p99=%-8.2f p999=%-8.2f max=%-8.2f errors=%d%n",
+          operation.name().toLowerCase(), count, (double) snapshot.get("throughput"), (double) snapshot.get("p50Ms"),
+          (double) snapshot.get("p99Ms"), (double) snapshot.get("p999Ms"), (double) snapshot.get("maxMs"), errorCount);
+    }
+
+    Map<String, Object> server = new LinkedHashMap<>();
+    server.put("bulkhead", Boolean.parseBoolean(System.getProperty("loadtest.bulkhead", "false")));
+    server.put("groupCommit", Boolean.parseBoolean(System.getProperty("loadtest.group-commit", "false")));
+    server.putAll(peakThreads);
+    System.out.println("server  " + server);
+
+    Map<String, Object> output = new LinkedHashMap<>(report);
+    output.put("server", server);
+    File file = new File("build/reports/loadtest/report.json");
+    file.getParentFile().mkdirs();
+    objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, output);
+    return report;
+  }
+
+  // SLO 검사 (loadtest.slo=list.p99Ms=50,*.p999Ms=500,*.errorRate=0.01)
+  // 엔드포인트 이름 대신 * 를 사용하면 모든 엔드포인트에 적용되며, 요청이 없었던 엔드포인트는 건너뛴다
+  private List<String> violations(Map<String, Map<String, Object>> report) {
+    List<String> violations = new ArrayList<>();
+    for (String entry : slo.split(",")) {
+      String[] pair = entry.trim().split("=");
+      if (pair.length != 2) {
+        continue;
+      }
+      int dot = pair[0].indexOf('.');
+      String endpoint = pair[0].substring(0, dot).trim().toLowerCase();
+      String metric = pair[0].substring(dot + 1).trim();
+      double limit = Double.parseDouble(pair[1].trim());
+
+      for (Map.Entry<String, Map<String, Object>> result : report.entrySet()) {
+        if (("*".equals(endpoint) || endpoint.equals(result.getKey())) == false || (long) result.getValue().get("count") == 0) {
+          continue;
+        }
+        Object value = result.getValue().get(metric);
+        if (value instanceof Number && ((Number) value).doubleValue() > limit) {
+          violations.add(result.getKey() + "." + metric + "=" + value + " > " + limit);
+        }
+      }
+    }
+    return violations;
+  }
+}
@@ -0,0 +1,117 @@
+package com.study.metrics;
+
+import com.study.board.model.BoardMapper;
+import com.study.paging.CommonParams;
+import com.study.support.H2TestDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+// H2(MySQL 모드) 인메모리 DB 에서 BoardMapper 구문을 실행하고, 구문별로 기록된 Timer, DistributionSummary 를 확인한다
+class MapperMetricsInterceptorTests {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private HikariDataSource dataSource;
+  private JdbcTemplate jdbcTemplate;
+  private SqlSessionFactory sqlSessionFactory;
+  private BoardMapper boardMapper;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    dataSource = H2TestDatabase.dataSource("mapper-metrics", 2);
+    H2TestDatabase.createSchema(dataSource);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    for (long id = 1; id <= 3; id++) {
+      jdbcTemplate.update("INSERT INTO board (id, title, content, writer, created_date)"
+          + " VALUES (?, '제목', '내용', 'writer', TIMESTAMP '2020-01-01 00:00:00')", id);
+    }
+
+    sqlSessionFactory = H2TestDatabase.sqlSessionFactory(dataSource);
+    sqlSessionFactory.getConfiguration().addInterceptor(new MapperMetricsInterceptor(registry));
+    boardMapper = new SqlSessionTemplate(sqlSessionFactory).getMapper(BoardMapper.class);
+  }
+
+  @AfterEach
+  void tearDown() {
+    dataSource.close();
+  }
+
+  // 구문 이름은 매퍼 이름과 구문 id 만 사용하고, 조회된 행 수를 기록한다
+  @Test
+  void recordsTimerAndRowsPerStatement() {
+    boardMapper.findAll(params());
+    boardMapper.findAll(params());
+    boardMapper.findAllByIds(Arrays.asList(1L, 2L), false, 0);
+
+    assertThat(timer("BoardMapper.findAll", "success").count()).isEqualTo(2);
+    assertThat(timer("BoardMapper.findAllByIds", "success").count()).isEqualTo(1);
+    assertThat(rows("BoardMapper.findAll").count()).isEqualTo(2);
+    assertThat(rows("BoardMapper.findAll").totalAmount()).isEqualTo(6);
+    assertThat(rows("BoardMapper.findAllByIds").totalAmount()).isEqualTo(2);
+  }
+
+  // 변경 구문은 영향받은 행 수를 기록한다
+  @Test
+  void recordsAffectedRowsOfUpdate() {
+    boardMapper.deleteByIds(Arrays.asList(1L, 2L, 4L), LocalDateTime.now());
+
+    assertThat(timer("BoardMapper.deleteByIds", "success").count()).isEqualTo(1);
+    assertThat(rows("BoardMapper.deleteByIds").totalAmount()).isEqualTo(2);
+  }
+
+  // 실행에 실패한 구문은 outcome=error 로 기록하고, 행 수는 기록하지 않는다
+  @Test
+  void recordsErrorOutcome() {
+    jdbcTemplate.execute("DROP TABLE board");
+
+    assertThatThrownBy(() -> boardMapper.findAll(params())).isInstanceOf(RuntimeException.class);
+
+    assertThat(timer("BoardMapper.findAll", "error").count()).isEqualTo(1);
+    assertThat(registry.find("board.mapper.statement").tag("outcome", "success").timer()).isNull();
+    assertThat(registry.find("board.mapper.rows").summary()).isNull();
+  }
+
+  // ResultHandler 로 전달받는 구문과 배치 실행은 행 수를 알 수 없으므로 시간만 기록한다
+  @Test
+  void skipsRowsForResultHandlerAndBatch() {
+    AtomicInteger handled = new AtomicInteger();
+    boardMapper.findAllIds(context -> handled.incrementAndGet());
+
+    SqlSessionTemplate batch = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+    batch.getMapper(BoardMapper.class).deleteByIds(Arrays.asList(1L), LocalDateTime.now());
+
+    assertThat(handled).hasValue(3);
+    assertThat(timer("BoardMapper.findAllIds", "success").count()).isEqualTo(1);
+    assertThat(timer("BoardMapper.deleteByIds", "success").count()).isEqualTo(1);
+    assertThat(registry.find("board.mapper.rows").summary()).isNull();
+  }
+
+  private Timer timer(String statement, String outcome) {
+    return registry.get("board.mapper.statement").tag("statement", statement).tag("outcome", outcome).timer();
+  }
+
+  private DistributionSummary rows(String statement) {
+    return registry.get("board.mapper.rows").tag("statement", statement).summary();
+  }
+
+  private static CommonParams params() {
+    CommonParams params = new CommonParams();
+    params.setPage(1);
+    params.setRecordPerPage(10);
+    return params;
+  }
+}
@@ -0,0 +1,86 @@
+package com.study.metrics;
+
+import com.study.board.entity.Board;
+import com.study.board.entity.BoardRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.Sort;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+// BoardRepository 에 RepositoryMetricsAspect 를 적용한 프록시로 메서드별 Timer, DistributionSummary 를 확인한다
+// 저장소는 메서드 이름에 따라 정해진 결과를 반환하는 가짜 구현을 사용한다
+class RepositoryMetricsAspectTests {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final BoardRepository repository = metered(fakeRepository());
+
+  // Collection 은 크기, Optional 은 0 또는 1 을 결과 건수로 기록한다
+  @Test
+  void recordsTimerAndRowsPerMethod() {
+    repository.findAllByDeleteYn('N', Sort.by("id"));
+    repository.findById(1L);
+    repository.findById(2L);
+
+    assertThat(timer("findAllByDeleteYn", "success").count()).isEqualTo(1);
+    assertThat(timer("findById", "success").count()).isEqualTo(2);
+    assertThat(rows("findAllByDeleteYn").totalAmount()).isEqualTo(3);
+    assertThat(rows("findById").count()).isEqualTo(2);
+    assertThat(rows("findById").totalAmount()).isEqualTo(1);
+  }
+
+  // 건수를 알 수 없는 반환값(long 등)은 시간만 기록한다
+  @Test
+  void skipsRowsForOtherResults() {
+    assertThat(repository.count()).isEqualTo(3);
+
+    assertThat(timer("count", "success").count()).isEqualTo(1);
+    assertThat(registry.find("board.repository.rows").summary()).isNull();
+  }
+
+  // 예외가 발생하면 outcome=error 로 기록하고, 예외는 그대로 전달한다
+  @Test
+  void recordsErrorOutcome() {
+    assertThatThrownBy(() -> repository.deleteById(1L)).isInstanceOf(IllegalStateException.class);
+
+    assertThat(timer("deleteById", "error").count()).isEqualTo(1);
+    assertThat(registry.find("board.repository.invocation").tag("outcome", "success").timer()).isNull();
+  }
+
+  private BoardRepository metered(BoardRepository target) {
+    AspectJProxyFactory factory = new AspectJProxyFactory(target);
+    factory.addAspect(new RepositoryMetricsAspect(registry));
+    return factory.getProxy();
+  }
+
+  private static BoardRepository fakeRepository() {
+    return (BoardRepository) Proxy.newProxyInstance(BoardRepository.class.getClassLoader(), new Class<?>[] {BoardRepository.class},
+        (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "findAllByDeleteYn":
+              return Arrays.asList(Board.builder().build(), Board.builder().build(), Board.builder().build());
+            case "findById":
+              return Long.valueOf(1).equals(args[0]) ? Optional.of(Board.builder().build()) : Optional.empty();
+            case "count":
+              return 3L;
+            default:
+              throw new IllegalStateException(method.getName());
+          }
+        });
+  }
+
+  private Timer timer(String method, String outcome) {
+    return registry.get("board.repository.invocation").tag("method", method).tag("outcome", outcome).timer();
+  }
+
+  private DistributionSummary rows(String method) {
+    return registry.get("board.repository.rows").tag("method", method).summary();
+  }
+}
@@ -0,0 +1,86 @@
+package com.study.metrics;
+
+import com.study.support.H2TestDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+// MeteredDataSourceTransactionManager 로 시작한 트랜잭션이 완료될 때 board.transaction 타이머에 기록되는지 확인한다
+class TransactionTimersTests {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private HikariDataSource dataSource;
+  private MeteredDataSourceTransactionManager transactionManager;
+
+  @BeforeEach
+  void setUp() {
+    dataSource = H2TestDatabase.dataSource("transaction-timers", 2);
+    transactionManager = new MeteredDataSourceTransactionManager(dataSource, registry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    dataSource.close();
+  }
+
+  // 트랜잭션 이름은 클래스 이름과 메서드 이름만 사용하며, 이름이 없으면 unnamed 로 기록한다
+  @Test
+  void recordsCommitWithNameAndReadOnly() {
+    TransactionTemplate named = new TransactionTemplate(transactionManager);
+    named.setName("com.study.board.model.BoardService.save");
+    TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+
+    named.executeWithoutResult(status -> { });
+    readOnly.executeWithoutResult(status -> { });
+    readOnly.executeWithoutResult(status -> { });
+
+    assertThat(timer("BoardService.save", false, "commit").count()).isEqualTo(1);
+    assertThat(timer("unnamed", true, "commit").count()).isEqualTo(2);
+  }
+
+  // 롤백된 트랜잭션도 outcome=rollback 으로 기록한다 (setRollbackOnly, 예외)
+  @Test
+  void recordsRollback() {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+    transaction.executeWithoutResult(status -> status.setRollbackOnly());
+    assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+      throw new IllegalStateException("rollback");
+    })).isInstanceOf(IllegalStateException.class);
+
+    assertThat(timer("unnamed", false, "rollback").count()).isEqualTo(2);
+    assertThat(registry.find("board.transaction").tag("outcome", "commit").timer()).isNull();
+  }
+
+  // 기존 트랜잭션에 참여한 경우는 바깥 트랜잭션만 기록하고, 새 트랜잭션(REQUIRES_NEW)은 따로 기록한다
+  @Test
+  void recordsOnlyNewTransactions() {
+    TransactionTemplate outer = new TransactionTemplate(transactionManager);
+    TransactionTemplate joined = new TransactionTemplate(transactionManager);
+    joined.setName("joined");
+    TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+    requiresNew.setName("requiresNew");
+    requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+    outer.executeWithoutResult(status -> {
+      joined.executeWithoutResult(inner -> { });
+      requiresNew.executeWithoutResult(inner -> { });
+    });
+
+    assertThat(timer("unnamed", false, "commit").count()).isEqualTo(1);
+    assertThat(timer("requiresNew", false, "commit").count()).isEqualTo(1);
+    assertThat(registry.find("board.transaction").tag("name", "joined").timer()).isNull();
+  }
+
+  private Timer timer(String name, boolean readOnly, String outcome) {
+    return registry.get("board.transaction").tag("name", name).tag("readOnly", String.valueOf(readOnly)).tag("outcome", outcome).timer();
+  }
+}
@@ -0,0 +1,52 @@
+package com.study.paging;
+
+import com.study.exception.CustomException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CursorPaginationTests {
+
+  private CommonParams params(String cursor) {
+    CommonParams params = new CommonParams();
+    params.setRecordPerPage(10);
+    params.setCursor(cursor);
+    return params;
+  }
+
+  @Test
+  // 첫 페이지는 커서 없이 조회하며, 이전 페이지는 존재하지 않는다
+  void firstPage() {
+    CursorPagination pagination = new CursorPagination(params(null));
+    assertThat(pagination.getCursorId()).isNull();
+    assertThat(pagination.getFetchSize()).isEqualTo(11);
+
+    pagination.calculation(true, 100L, 91L);
+    assertThat(pagination.isExistPrevPage()).isFalse();
+    assertThat(pagination.isExistNextPage()).isTrue();
+    assertThat(pagination.getPrevCursor()).isNull();
+  }
+
+  @Test
+  // 응답으로 전달된 커서를 그대로 다시 전달하면 기준 게시글과 방향이 복원된다
+  void roundTrip() {
+    CursorPagination first = new CursorPagination(params(null));
+    first.calculation(true, 100L, 91L);
+
+    CursorPagination next = new CursorPagination(params(first.getNextCursor()));
+    assertThat(next.getCursorId()).isEqualTo(91L);
+    assertThat(next.isBackward()).isFalse();
+
+    next.calculation(true, 90L, 81L);
+    CursorPagination prev = new CursorPagination(params(next.getPrevCursor()));
+    assertThat(prev.getCursorId()).isEqualTo(90L);
+    assertThat(prev.isBackward()).isTrue();
+  }
+
+  @Test
+  // 잘못된 커서는 400 BAD_REQUEST 로 처리된다
+  void invalidCursor() {
+    assertThatThrownBy(() -> new CursorPagination(params("invalid-cursor!")))
+        .isInstanceOf(CustomException.class);
+  }
+}
@@ -0,0 +1,135 @@
+package com.study.sqltrace;
+
+import com.study.config.BoardProperties;
+import com.study.support.H2TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+// H2(MySQL 모드) 인메모리 DB 를 SqlTraceDataSource 로 감싸서 기록 대상 선택과 기록 내용을 확인한다
+class SqlTraceDataSourceTests {
+
+  private SqlTracer tracer;
+  private SqlTraceDataSource dataSource;
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    BoardProperties properties = new BoardProperties();
+    properties.getSqlTrace().setBufferSize(64);
+    properties.getSqlTrace().setSlowThresholdMs(10_000);  // 느린 구문 기준은 필요한 테스트에서만 낮춘다
+    tracer = new SqlTracer(properties);
+    tracer.start();
+
+    dataSource = new SqlTraceDataSource(H2TestDatabase.dataSource("trace", 2), tracer);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("CREATE TABLE board (id BIGINT NOT NULL PRIMARY KEY, title VARCHAR(200) NULL)");
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    SqlTraceContext.clear();
+    tracer.stop();
+    dataSource.close();
+  }
+
+  @Test
+  void statementsAreNotRecordedWithoutSampling() {
+    jdbcTemplate.update("INSERT INTO board (id, title) VALUES (?, ?)", 1L, "제목");
+
+    assertThat(tracer.recent(10)).isEmpty();
+  }
+
+  @Test
+  void sampledStatementKeepsParametersAndRows() {
+    tracer.update(null, 1.0, null);
+    jdbcTemplate.update("INSERT INTO board (id, title) VALUES (?, ?)", 1L, null);
+
+    List<Map<String, Object>> recent = tracer.recent(10);
+    assertThat(recent).hasSize(1);
+    assertThat((String) recent.get(0).get("trace"))
+        .startsWith("[SAMPLED]")
+        .contains("rows=1")
+        .contains("params=[1, NULL]");
+  }
+
+  // 파라미터 배열은 두 배씩 늘어나지만, 설정된 번호까지만 기록한다
+  @Test
+  void parametersAreRecordedUpToHighestIndex() {
+    tracer.update(null, 1.0, null);
+    jdbcTemplate.queryForList("SELECT id FROM board WHERE id = ? OR title = ? OR title = ?", 1L, "제목", "내용");
+
+    assertThat((String) tracer.recent(10).get(0).get("trace")).contains("params=[1, '제목', '내용']");
+  }
+
+  @Test
+  void batchIsRecordedOnceWithItsSize() {
+    tracer.update(null, 1.0, null);
+    jdbcTemplate.batchUpdate("INSERT INTO board (id, title) VALUES (?, ?)",
+        Arrays.asList(new Object[] {1L, "a"}, new Object[] {2L, "b"}, new Object[] {3L, "c"}));
+
+    List<Map<String, Object>> recent = tracer.recent(10);
+    assertThat(recent).hasSize(1);
+    assertThat((String) recent.get(0).get("trace")).contains("rows=3").contains("batch=3");
+  }
+
+  @Test
+  void forcedRequestIsRecordedRegardlessOfSampling() {
+    SqlTraceContext.force();
+    jdbcTemplate.queryForList("SELECT id FROM board WHERE title = ?", "제목");
+
+    List<Map<String, Object>> recent = tracer.recent(10);
+    assertThat(recent).hasSize(1);
+    assertThat((String) recent.get(0).get("trace")).startsWith("[FORCED]").contains("params=['제목']");
+  }
+
+  @Test
+  void slowThresholdRecordsEveryStatementWhenZero() {
+    tracer.update(null, null, 0L);
+    jdbcTemplate.queryForList("SELECT id FROM board");
+
+    assertThat((String) tracer.recent(10).get(0).get("trace")).startsWith("[SLOW]");
+  }
+
+  // 느린 구문은 실행이 끝나야 알 수 있으므로 처음에는 파라미터 없이 기록하고, 같은 SQL 의 다음 실행부터 파라미터를 보관한다
+  @Test
+  void slowStatementCapturesParametersFromNextExecution() {
+    tracer.update(null, null, 0L);
+    jdbcTemplate.queryForList("SELECT id FROM board WHERE title = ?", "첫 번째");
+    jdbcTemplate.queryForList("SELECT id FROM board WHERE title = ?", "두 번째");
+
+    List<Map<String, Object>> recent = tracer.recent(10);
+    assertThat((String) recent.get(0).get("trace")).startsWith("[SLOW]").contains("params=['두 번째']");
+    assertThat((String) recent.get(1).get("trace")).startsWith("[SLOW]").doesNotContain("params=");
+  }
+
+  // 요청 헤더로 추적을 켜는 기능은 기본으로 꺼져 있다 (익명 요청이 모든 SQL 을 기록하게 만들 수 없도록)
+  @Test
+  void requestHeaderIsIgnoredByDefault() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(SqlTraceFilter.HEADER_NAME, "on");
+    AtomicBoolean forced = new AtomicBoolean();
+
+    new SqlTraceFilter(new BoardProperties()).doFilter(request, new MockHttpServletResponse(),
+        (req, res) -> forced.set(SqlTraceContext.isForced()));
+
+    assertThat(forced).isFalse();
+  }
+
+  @Test
+  void disabledTracerRecordsNothing() {
+    tracer.update(false, 1.0, null);
+    jdbcTemplate.queryForList("SELECT id FROM board");
+    assertThat(tracer.recent(10)).isEmpty();
+  }
+}
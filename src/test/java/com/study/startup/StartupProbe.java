@@ -0,0 +1,92 @@
+package com.study.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.ApiBoardApplication;
+import com.study.support.H2TestDatabase;
+import com.study.support.TestClassesExcludeFilter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 구동 측정 (BoardStartupTests 가 모드마다 새 JVM 으로 실행한다)
+// H2 인메모리 DB(MySQL 모드)에 테이블을 만들고 애플리케이션을 임의 포트로 띄운 뒤 다음을 측정하여 한 줄(RESULT_PREFIX + JSON)로 출력한다
+//  - startupMs : SpringApplication.run() 시작부터 완료까지
+//  - jvmReadyMs : JVM 시작부터 구동 완료까지 (클래스 로딩 포함)
+//  - firstRequestMs : 구동 이후 첫 GET /api/boards 응답까지
+//  - idleHeapMb : 첫 요청 이후 GC 를 실행한 뒤의 힙 사용량
+public final class StartupProbe {
+
+  static final String RESULT_PREFIX = "STARTUP_RESULT ";
+
+  private static final String JDBC_URL = H2TestDatabase.jdbcUrl("startup");
+
+  private StartupProbe() {
+  }
+
+  // args[0] : jpa, mybatis
+  public static void main(String[] args) throws Exception {
+    String mode = args[0];
+    createSchema();
+
+    SpringApplicationBuilder builder = TestClassesExcludeFilter.apply(new SpringApplicationBuilder(ApiBoardApplication.class));
+    if ("mybatis".equals(mode)) {
+      builder.profiles("mybatis");
+    }
+    long start = System.nanoTime();
+    ServletWebServerApplicationContext context = (ServletWebServerApplicationContext) builder.run(
+        "--server.port=0",
+        "--spring.datasource.hikari.driver-class-name=org.h2.Driver",
+        "--spring.datasource.hikari.jdbc-url=" + JDBC_URL,
+        "--spring.datasource.hikari.username=sa",
+        "--spring.datasource.hikari.password=",
+        "--spring.jpa.database=h2",
+        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "--spring.main.banner-mode=off",
+        "--logging.level.root=WARN");
+    long startupMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    long jvmReadyMs = ManagementFactory.getRuntimeMXBean().getUptime();
+
+    start = System.nanoTime();
+    HttpResponse<String> response = HttpClient.newHttpClient().send(
+        HttpRequest.newBuilder(URI.create("http://localhost:" + context.getWebServer().getPort() + "/api/boards")).GET().build(),
+        HttpResponse.BodyHandlers.ofString());
+    long firstRequestMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException("first request failed : " + response.statusCode());
+    }
+
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      Thread.sleep(200);
+    }
+    long idleHeap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("mode", mode);
+    result.put("startupMs", startupMs);
+    result.put("jvmReadyMs", jvmReadyMs);
+    result.put("firstRequestMs", firstRequestMs);
+    result.put("idleHeapMb", Math.round(idleHeap / 1024.0 / 1024.0 * 10) / 10.0);
+    System.out.println(RESULT_PREFIX + new ObjectMapper().writeValueAsString(result));
+
+    context.close();
+    System.exit(0);
+  }
+
+  private static void createSchema() {
+    DriverManagerDataSource dataSource = new DriverManagerDataSource(JDBC_URL, "sa", "");
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    H2TestDatabase.createSchema(dataSource);
+    jdbcTemplate.execute("INSERT INTO board_id_seq (sequence_name, next_val) VALUES ('board', 50)");
+  }
+}
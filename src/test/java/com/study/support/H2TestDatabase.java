@@ -0,0 +1,59 @@
+package com.study.support;
+
+import com.study.board.model.BoardMapper;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+
+// 테스트용 H2(MySQL 모드) 인메모리 DB
+// 테스트마다 이름 뒤에 System.nanoTime() 을 붙인 새 DB 를 사용하며, 커넥션이 모두 닫혀도 DB 를 유지한다(DB_CLOSE_DELAY=-1)
+// 스키마(db/schema-h2.sql)는 JMH 벤치마크, 부하 테스트(BoardLoadTests)와 같은 파일을 사용하므로, 컬럼을 바꾸면 함께 확인한다
+// 사용하는 테스트 : BoardHitsCounterTests, BoardListQueryTests, BoardMapperWriteTests, MyBatisBoardStoreTests, BoardChangeLogTests,
+//                 ReplicaRoutingDataSourceTests, SqlTraceDataSourceTests, StartupProbe, BoardExportServiceTests, BoardSummaryColumnsTests,
+//                 MapperMetricsInterceptorTests, TransactionTimersTests
+public final class H2TestDatabase {
+
+  private H2TestDatabase() {
+  }
+
+  public static String jdbcUrl(String name) {
+    return "jdbc:h2:mem:" + name + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+  }
+
+  // 풀 이름, 시간 초과 등을 바꿀 때 사용 (new HikariDataSource(config))
+  public static HikariConfig config(String name, int maximumPoolSize) {
+    HikariConfig config = new HikariConfig();
+    config.setJdbcUrl(jdbcUrl(name));
+    config.setUsername("sa");
+    config.setMaximumPoolSize(maximumPoolSize);
+    return config;
+  }
+
+  public static HikariDataSource dataSource(String name, int maximumPoolSize) {
+    return new HikariDataSource(config(name, maximumPoolSize));
+  }
+
+  // board, board_id_seq 테이블 생성 (db/schema-h2.sql)
+  public static void createSchema(DataSource dataSource) {
+    new ResourceDatabasePopulator(new ClassPathResource("db/schema-h2.sql")).execute(dataSource);
+  }
+
+  // mappers/BoardMapper.xml 을 읽은 SqlSessionFactory
+  public static SqlSessionFactory sqlSessionFactory(DataSource dataSource) throws Exception {
+    SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+    factoryBean.setDataSource(dataSource);
+    factoryBean.setMapperLocations(new ClassPathResource("mappers/BoardMapper.xml"));
+    return factoryBean.getObject();
+  }
+
+  // 스프링 트랜잭션(DataSourceTransactionManager)에 참여하는 BoardMapper
+  public static BoardMapper boardMapper(DataSource dataSource) throws Exception {
+    return new SqlSessionTemplate(sqlSessionFactory(dataSource)).getMapper(BoardMapper.class);
+  }
+}
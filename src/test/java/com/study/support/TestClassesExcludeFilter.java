@@ -0,0 +1,26 @@
+package com.study.support;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+
+import java.io.IOException;
+
+// 테스트 클래스패스로 애플리케이션을 띄울 때(StartupProbe, BoardChangeLogTests) 테스트 클래스가 컴포넌트 스캔에 포함되지 않도록 한다
+// 테스트 안에 MockMvc 용으로 둔 @RestController 등이 빈으로 등록되면 애플리케이션의 컨트롤러와 매핑이 겹친다
+// 이 클래스와 같은 위치(테스트 클래스 디렉터리)에서 읽은 클래스를 제외하며, @SpringBootApplication 의 TypeExcludeFilter 가 빈으로 등록된 필터를 사용한다
+public final class TestClassesExcludeFilter extends TypeExcludeFilter {
+
+  private final String testClasses = TestClassesExcludeFilter.class.getProtectionDomain().getCodeSource().getLocation().toString();
+
+  public static SpringApplicationBuilder apply(SpringApplicationBuilder builder) {
+    return builder.initializers(context ->
+        context.getBeanFactory().registerSingleton(TestClassesExcludeFilter.class.getName(), new TestClassesExcludeFilter()));
+  }
+
+  @Override
+  public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) throws IOException {
+    return metadataReader.getResource().getURL().toString().startsWith(testClasses);
+  }
+}
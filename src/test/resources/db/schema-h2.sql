@@ -0,0 +1,19 @@
+-- 테스트, 벤치마크용 게시판 스키마 (H2, MODE=MySQL;DATABASE_TO_LOWER=TRUE)
+-- 운영 스키마(MariaDB)와 같은 컬럼이며, 게시글 번호는 board_id_seq 에서 할당하므로(pooled) AUTO_INCREMENT 를 사용하지 않는다
+-- 테스트 데이터와 board_id_seq 의 시작값은 사용하는 쪽에서 넣는다
+CREATE TABLE board (
+  id BIGINT NOT NULL PRIMARY KEY,
+  title VARCHAR(200) NOT NULL,
+  content TEXT NOT NULL,
+  writer VARCHAR(20) NOT NULL,
+  hits INT NOT NULL DEFAULT 0,
+  delete_yn CHAR(1) NOT NULL DEFAULT 'N',
+  created_date DATETIME NOT NULL,
+  modified_date DATETIME NULL,
+  version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE board_id_seq (
+  sequence_name VARCHAR(50) NOT NULL PRIMARY KEY,
+  next_val BIGINT NOT NULL
+);